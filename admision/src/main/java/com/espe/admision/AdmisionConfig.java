@@ -0,0 +1,32 @@
+package com.espe.admision;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Aplica {@link ControlAdmision} a la API; Actuator y Swagger quedan fuera para poder observar el servicio
+ * aunque esté rechazando peticiones. Se desactiva con admision.activa=false. Las lecturas del perfil reactivo
+ * de micro_curadores, en su propio puerto, no pasan por Spring MVC y no tienen control de admisión.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@EnableConfigurationProperties(PropiedadesAdmision.class)
+public class AdmisionConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private PropiedadesAdmision propiedades;
+
+    @Autowired
+    private ControlAdmision controlAdmision;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (propiedades.isActiva()) {
+            registry.addInterceptor(controlAdmision).addPathPatterns("/api/**");
+        }
+    }
+}
@@ -0,0 +1,276 @@
+package com.espe.admision;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Control de admisión de /api/**: antes de ejecutar el controlador, cada petición pasa por los límites de la
+ * clase de su ruta (ver {@link PropiedadesAdmision}), en este orden:
+ * <ol>
+ *     <li>cubo de tokens del cliente en esa clase: si está vacío, 429 con Retry-After;</li>
+ *     <li>cubo de tokens de la clase: si está vacío, 503 con Retry-After;</li>
+ *     <li>límite adaptativo de peticiones simultáneas de la clase: si está lleno, 503 con Retry-After.</li>
+ * </ol>
+ * Si un paso rechaza la petición se devuelven los tokens que tomaron los anteriores, para que la saturación del
+ * servicio no gaste el cupo del cliente. Las llamadas de otro microservicio (ver {@link LlamadasInternas}) van a
+ * la clase {@code admision.clase-interna} sea cual sea su ruta.
+ * Así una petición que no va a poder atenderse a tiempo se rechaza enseguida en lugar de esperar en la cola de
+ * Tomcat, y las rutas costosas (listados completos, búsquedas) no consumen la capacidad de las baratas.
+ * <p>
+ * Métricas: admision.rechazos (por clase y motivo), admision.concurrencia.limite y .en-curso,
+ * admision.clientes (cubos por cliente en memoria) y admision.tasa (límites configurados).
+ */
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class ControlAdmision implements HandlerInterceptor, DisposableBean {
+
+    private static final String ATRIBUTO_ENTRADA = ControlAdmision.class.getName() + ".entrada";
+
+    private final ObjectMapper objectMapper;
+    private final String cabeceraCliente;
+    private final Map<String, ClaseAdmision> clases = new LinkedHashMap<>();
+    private final Map<String, ClaseAdmision> porRuta = new HashMap<>();
+    private final Map<String, ClaseAdmision> porRutaSinPaginar = new HashMap<>();
+    private final ClaseAdmision porDefecto;
+    private final ClaseAdmision interna;
+    private final LlamadasInternas llamadasInternas;
+    // Clase ya resuelta de cada método + patrón, para no recorrer las rutas en cada petición
+    private final ConcurrentMap<String, ClaseAdmision> resueltas = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService limpieza = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread hilo = new Thread(runnable, "admision-limpieza");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    public ControlAdmision(PropiedadesAdmision propiedades, LlamadasInternas llamadasInternas, MeterRegistry registry,
+                           ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.llamadasInternas = llamadasInternas;
+        this.cabeceraCliente = propiedades.getCabeceraCliente();
+        for (Map.Entry<String, PropiedadesAdmision.Clase> entrada : propiedades.getClases().entrySet()) {
+            ClaseAdmision clase = new ClaseAdmision(entrada.getKey(), entrada.getValue(), registry);
+            clases.put(clase.nombre, clase);
+            registrarRutas(entrada.getValue().getRutas(), clase, porRuta);
+            registrarRutas(entrada.getValue().getRutasSinPaginar(), clase, porRutaSinPaginar);
+        }
+        ClaseAdmision configurada = clases.get(propiedades.getClasePorDefecto());
+        this.porDefecto = configurada != null ? configurada
+                : new ClaseAdmision(propiedades.getClasePorDefecto(), new PropiedadesAdmision.Clase(), registry);
+        // Sin la clase configurada, las llamadas internas se clasifican por su ruta como las demás
+        this.interna = clases.get(propiedades.getClaseInterna());
+        // Un cubo de cliente lleno equivale a uno nuevo: se quitan para que los clientes de paso no se acumulen
+        limpieza.scheduleWithFixedDelay(this::limpiarClientes, 30, 30, TimeUnit.SECONDS);
+    }
+
+    private static void registrarRutas(List<String> rutas, ClaseAdmision clase, Map<String, ClaseAdmision> destino) {
+        for (String ruta : rutas) {
+            String normalizada = ruta.trim().replaceAll("\\s+", " ");
+            if (destino.put(normalizada, clase) != null) {
+                throw new IllegalStateException("La ruta " + normalizada + " está en más de una clase de admisión");
+            }
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        ClaseAdmision clase = interna != null && llamadasInternas.esInterna(request) ? interna : clasificar(request);
+        CuboTokens cuboCliente = null;
+        if (clase.tasaCliente > 0) {
+            cuboCliente = clase.cuboCliente(cliente(request));
+            long espera = cuboCliente.intentar();
+            if (espera > 0) {
+                clase.rechazosCliente.increment();
+                return rechazar(response, HttpStatus.TOO_MANY_REQUESTS, espera,
+                        "Demasiadas solicitudes; intente de nuevo más tarde");
+            }
+        }
+        if (clase.cubo != null) {
+            long espera = clase.cubo.intentar();
+            if (espera > 0) {
+                devolver(cuboCliente);
+                clase.rechazosClase.increment();
+                return rechazar(response, HttpStatus.SERVICE_UNAVAILABLE, espera,
+                        "El servicio está saturado; intente de nuevo más tarde");
+            }
+        }
+        if (clase.limite != null) {
+            if (!clase.limite.intentarEntrar()) {
+                devolver(cuboCliente);
+                devolver(clase.cubo);
+                clase.rechazosConcurrencia.increment();
+                return rechazar(response, HttpStatus.SERVICE_UNAVAILABLE, TimeUnit.SECONDS.toNanos(1),
+                        "El servicio está saturado; intente de nuevo más tarde");
+            }
+            request.setAttribute(ATRIBUTO_ENTRADA, new Entrada(clase.limite, System.nanoTime()));
+        }
+        return true;
+    }
+
+    private static void devolver(CuboTokens cubo) {
+        if (cubo != null) {
+            cubo.devolver();
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Object atributo = request.getAttribute(ATRIBUTO_ENTRADA);
+        if (atributo instanceof Entrada) {
+            request.removeAttribute(ATRIBUTO_ENTRADA);
+            Entrada entrada = (Entrada) atributo;
+            entrada.limite.salir(System.nanoTime() - entrada.inicio, ex != null || response.getStatus() >= 500);
+        }
+    }
+
+    private ClaseAdmision clasificar(HttpServletRequest request) {
+        Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String ruta = request.getMethod() + " " + patron;
+        // Un listado con cursor o size lee una página, no la tabla entera
+        boolean paginada = request.getParameter("cursor") != null || request.getParameter("size") != null;
+        String clave = paginada ? ruta + " (pagina)" : ruta;
+        ClaseAdmision clase = resueltas.get(clave);
+        if (clase == null) {
+            if (!paginada) {
+                clase = porRutaSinPaginar.get(ruta);
+                if (clase == null) {
+                    clase = porRutaSinPaginar.get(String.valueOf(patron));
+                }
+            }
+            if (clase == null) {
+                clase = porRuta.get(ruta);
+            }
+            if (clase == null) {
+                clase = porRuta.get(String.valueOf(patron));
+            }
+            if (clase == null) {
+                clase = porDefecto;
+            }
+            resueltas.putIfAbsent(clave, clase);
+        }
+        return clase;
+    }
+
+    private String cliente(HttpServletRequest request) {
+        if (!cabeceraCliente.isEmpty()) {
+            String valor = request.getHeader(cabeceraCliente);
+            if (valor != null && !valor.trim().isEmpty()) {
+                // En X-Forwarded-For el primero es el cliente original
+                int coma = valor.indexOf(',');
+                return (coma < 0 ? valor : valor.substring(0, coma)).trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private boolean rechazar(HttpServletResponse response, HttpStatus status, long esperaNanos, String mensaje)
+            throws IOException {
+        long segundos = Math.max(1, (esperaNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(segundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getWriter(), Collections.singletonMap("message", mensaje));
+        return false;
+    }
+
+    private void limpiarClientes() {
+        long ahora = System.nanoTime();
+        for (ClaseAdmision clase : clases.values()) {
+            clase.clientes.values().removeIf(cubo -> cubo.isLleno(ahora));
+        }
+    }
+
+    @Override
+    public void destroy() {
+        limpieza.shutdown();
+    }
+
+    private static final class Entrada {
+        private final LimiteConcurrencia limite;
+        private final long inicio;
+
+        private Entrada(LimiteConcurrencia limite, long inicio) {
+            this.limite = limite;
+            this.inicio = inicio;
+        }
+    }
+
+    private static final class ClaseAdmision {
+        private final String nombre;
+        private final CuboTokens cubo;
+        private final double tasaCliente;
+        private final int rafagaCliente;
+        private final ConcurrentMap<String, CuboTokens> clientes = new ConcurrentHashMap<>();
+        private final LimiteConcurrencia limite;
+        private final Counter rechazosCliente;
+        private final Counter rechazosClase;
+        private final Counter rechazosConcurrencia;
+
+        private ClaseAdmision(String nombre, PropiedadesAdmision.Clase propiedades, MeterRegistry registry) {
+            this.nombre = nombre;
+            this.cubo = propiedades.getTasa() > 0 ? new CuboTokens(propiedades.getTasa(), propiedades.getRafaga()) : null;
+            this.tasaCliente = propiedades.getTasaCliente();
+            this.rafagaCliente = propiedades.getRafagaCliente();
+            PropiedadesAdmision.Concurrencia concurrencia = propiedades.getConcurrencia();
+            this.limite = concurrencia.getMaxima() > 0
+                    ? new LimiteConcurrencia(concurrencia.getInicial(), concurrencia.getMinima(), concurrencia.getMaxima(),
+                    concurrencia.getLatenciaObjetivo().toNanos())
+                    : null;
+            this.rechazosCliente = rechazos(registry, "cliente");
+            this.rechazosClase = rechazos(registry, "clase");
+            this.rechazosConcurrencia = rechazos(registry, "concurrencia");
+            Gauge.builder("admision.tasa", propiedades, PropiedadesAdmision.Clase::getTasa)
+                    .tag("clase", nombre).tag("ambito", "clase").register(registry);
+            Gauge.builder("admision.tasa", propiedades, PropiedadesAdmision.Clase::getTasaCliente)
+                    .tag("clase", nombre).tag("ambito", "cliente").register(registry);
+            Gauge.builder("admision.clientes", clientes, Map::size).tag("clase", nombre).register(registry);
+            if (limite != null) {
+                Gauge.builder("admision.concurrencia.limite", limite, LimiteConcurrencia::getLimite)
+                        .tag("clase", nombre).register(registry);
+                Gauge.builder("admision.concurrencia.en-curso", limite, LimiteConcurrencia::getEnCurso)
+                        .tag("clase", nombre).register(registry);
+            }
+        }
+
+        private Counter rechazos(MeterRegistry registry, String motivo) {
+            return Counter.builder("admision.rechazos").tag("clase", nombre).tag("motivo", motivo).register(registry);
+        }
+
+        private CuboTokens cuboCliente(String cliente) {
+            // get antes de computeIfAbsent: el caso habitual (cliente conocido) no bloquea
+            CuboTokens cuboCliente = clientes.get(cliente);
+            if (cuboCliente == null) {
+                cuboCliente = clientes.computeIfAbsent(cliente, clave -> new CuboTokens(tasaCliente, rafagaCliente));
+            }
+            return cuboCliente;
+        }
+    }
+}
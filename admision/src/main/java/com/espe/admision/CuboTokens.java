@@ -0,0 +1,65 @@
+package com.espe.admision;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Cubo de tokens sin bloqueos: admite {@code tasa} peticiones por segundo con ráfagas de hasta {@code rafaga}.
+ * <p>
+ * En lugar de guardar tokens y la hora de la última recarga (dos valores que habría que cambiar juntos), guarda
+ * solo el instante teórico en que el cubo volvería a estar lleno (algoritmo GCRA, equivalente a un cubo de
+ * tokens). Cada petición lo adelanta un intervalo con un compareAndSet; se rechaza si eso lo llevaría más allá
+ * de la ráfaga permitida.
+ */
+public class CuboTokens {
+
+    private final long intervalo;
+    private final long tolerancia;
+    private final AtomicLong lleno;
+
+    public CuboTokens(double tasa, int rafaga) {
+        if (tasa <= 0 || rafaga < 1) {
+            throw new IllegalArgumentException("La tasa debe ser positiva y la ráfaga al menos 1");
+        }
+        this.intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / tasa);
+        this.tolerancia = intervalo * (rafaga - 1);
+        this.lleno = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Toma un token si lo hay.
+     * @return 0 si se admite la petición; si no, los nanosegundos que faltan para que haya un token.
+     */
+    public long intentar() {
+        return intentar(System.nanoTime());
+    }
+
+    long intentar(long ahora) {
+        while (true) {
+            long actual = lleno.get();
+            long base = actual - ahora > 0 ? actual : ahora;
+            long espera = base - tolerancia - ahora;
+            if (espera > 0) {
+                return espera;
+            }
+            if (lleno.compareAndSet(actual, base + intervalo)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Devuelve el token de una petición admitida aquí pero rechazada después por otro límite.
+     */
+    public void devolver() {
+        // Si con esto el cubo queda "más que lleno", intentar() lo trata igual que lleno
+        lleno.addAndGet(-intervalo);
+    }
+
+    /**
+     * Un cubo lleno se comporta igual que uno nuevo, así que puede descartarse.
+     */
+    boolean isLleno(long ahora) {
+        return lleno.get() - ahora <= 0;
+    }
+}
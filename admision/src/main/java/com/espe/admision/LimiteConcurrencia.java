@@ -0,0 +1,90 @@
+package com.espe.admision;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Límite adaptativo de peticiones simultáneas (AIMD): cada petición que termina dentro de la latencia objetivo
+ * sube el límite 1/límite (un punto por cada ronda completa) y una que la supera o falla lo multiplica por
+ * {@value #REDUCCION}, como mucho una vez por cada latencia objetivo para que una ráfaga de respuestas lentas
+ * no lo hunda de golpe. Solo sube si se está usando al menos la mitad, para no crecer sin carga.
+ * <p>
+ * Con latencia objetivo 0, o con mínimo igual al máximo, el límite es fijo.
+ */
+public class LimiteConcurrencia {
+
+    private static final double REDUCCION = 0.9;
+
+    private final int minimo;
+    private final int maximo;
+    private final long objetivoNanos;
+    private final AtomicInteger enCurso = new AtomicInteger();
+    // double guardado como bits para actualizarlo con compareAndSet
+    private final AtomicLong limite;
+    private final AtomicLong ultimaReduccion = new AtomicLong(System.nanoTime());
+
+    public LimiteConcurrencia(int inicial, int minimo, int maximo, long objetivoNanos) {
+        if (minimo < 1 || maximo < minimo) {
+            throw new IllegalArgumentException("El mínimo debe ser al menos 1 y no mayor que el máximo");
+        }
+        this.minimo = minimo;
+        this.maximo = maximo;
+        this.objetivoNanos = objetivoNanos;
+        this.limite = new AtomicLong(Double.doubleToLongBits(Math.max(minimo, Math.min(maximo, inicial))));
+    }
+
+    /**
+     * @return true si la petición entra; en ese caso hay que llamar a {@link #salir} al terminar.
+     */
+    public boolean intentarEntrar() {
+        int permitidas = getLimite();
+        while (true) {
+            int actual = enCurso.get();
+            if (actual >= permitidas) {
+                return false;
+            }
+            if (enCurso.compareAndSet(actual, actual + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public void salir(long duracionNanos, boolean fallida) {
+        int simultaneas = enCurso.getAndDecrement();
+        if (objetivoNanos <= 0 || minimo == maximo) {
+            return;
+        }
+        if (fallida || duracionNanos > objetivoNanos) {
+            reducir(System.nanoTime());
+        } else if (simultaneas * 2 >= getLimite()) {
+            ajustar(1.0, true);
+        }
+    }
+
+    void reducir(long ahora) {
+        long anterior = ultimaReduccion.get();
+        if (ahora - anterior >= objetivoNanos && ultimaReduccion.compareAndSet(anterior, ahora)) {
+            ajustar(REDUCCION, false);
+        }
+    }
+
+    private void ajustar(double valor, boolean sumar) {
+        while (true) {
+            long bits = limite.get();
+            double actual = Double.longBitsToDouble(bits);
+            double nuevo = sumar ? actual + valor / actual : actual * valor;
+            nuevo = Math.max(minimo, Math.min(maximo, nuevo));
+            if (nuevo == actual || limite.compareAndSet(bits, Double.doubleToLongBits(nuevo))) {
+                return;
+            }
+        }
+    }
+
+    public int getLimite() {
+        return (int) Double.longBitsToDouble(limite.get());
+    }
+
+    public int getEnCurso() {
+        return enCurso.get();
+    }
+}
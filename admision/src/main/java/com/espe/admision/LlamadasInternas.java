@@ -0,0 +1,55 @@
+package com.espe.admision;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Reconoce las llamadas entre los microservicios: llevan en la cabecera {@code llamadas-internas.cabecera} la
+ * clave compartida {@code llamadas-internas.clave}. Lo interno es quien llama, no la ruta: un cliente externo
+ * que pide la misma ruta sigue sujeto a sus límites. Sin clave configurada ninguna petición es interna.
+ */
+@Component
+public class LlamadasInternas {
+
+    private final String cabecera;
+    private final String clave;
+    private final byte[] claveBytes;
+
+    public LlamadasInternas(@Value("${llamadas-internas.cabecera:X-Clave-Interna}") String cabecera,
+                            @Value("${llamadas-internas.clave:}") String clave) {
+        this.cabecera = cabecera;
+        this.clave = clave;
+        this.claveBytes = clave.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public boolean esInterna(HttpServletRequest request) {
+        return esClave(request.getHeader(cabecera));
+    }
+
+    public boolean esClave(String valor) {
+        if (claveBytes.length == 0 || valor == null) {
+            return false;
+        }
+        // Comparación en tiempo constante para que la latencia no revele cuánto de la clave coincide
+        return MessageDigest.isEqual(claveBytes, valor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Si hay clave; sin ella las llamadas a otro microservicio no envían la cabecera.
+     */
+    public boolean isConfigurada() {
+        return claveBytes.length > 0;
+    }
+
+    public String getCabecera() {
+        return cabecera;
+    }
+
+    public String getClave() {
+        return clave;
+    }
+}
@@ -0,0 +1,212 @@
+package com.espe.admision;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Propiedades admision.* de {@link ControlAdmision}. Cada clase agrupa rutas con el mismo coste y tiene sus
+ * propios límites; una ruta se escribe como el método y el patrón del mapping del controlador
+ * (p. ej. {@code GET /api/museos/{id}}), o solo el patrón para cualquier método.
+ */
+@ConfigurationProperties("admision")
+public class PropiedadesAdmision {
+
+    private boolean activa = true;
+
+    /**
+     * Cabecera que identifica al cliente (p. ej. X-Forwarded-For detrás de un proxy de confianza).
+     * Vacía, se usa la IP remota.
+     */
+    private String cabeceraCliente = "";
+
+    /**
+     * Clase de las rutas que no aparecen en ninguna otra.
+     */
+    private String clasePorDefecto = "general";
+
+    /**
+     * Clase de las llamadas de otro microservicio (ver {@link LlamadasInternas}), en lugar de la de su ruta.
+     */
+    private String claseInterna = "interna";
+
+    private Map<String, Clase> clases = new LinkedHashMap<>();
+
+    public static class Clase {
+
+        private List<String> rutas = new ArrayList<>();
+
+        /**
+         * Rutas que son de la clase solo cuando piden la tabla entera: con cursor o size son una página y van
+         * a la clase que les toque por {@code rutas} o a la clase por defecto.
+         */
+        private List<String> rutasSinPaginar = new ArrayList<>();
+
+        /**
+         * Peticiones por segundo de la clase entre todos los clientes; 0 sin límite.
+         */
+        private double tasa;
+        private int rafaga = 1;
+
+        /**
+         * Peticiones por segundo de la clase para cada cliente; 0 sin límite.
+         */
+        private double tasaCliente;
+        private int rafagaCliente = 1;
+
+        private Concurrencia concurrencia = new Concurrencia();
+
+        // Getters y Setters
+
+        public List<String> getRutas() {
+            return rutas;
+        }
+
+        public void setRutas(List<String> rutas) {
+            this.rutas = rutas;
+        }
+
+        public List<String> getRutasSinPaginar() {
+            return rutasSinPaginar;
+        }
+
+        public void setRutasSinPaginar(List<String> rutasSinPaginar) {
+            this.rutasSinPaginar = rutasSinPaginar;
+        }
+
+        public double getTasa() {
+            return tasa;
+        }
+
+        public void setTasa(double tasa) {
+            this.tasa = tasa;
+        }
+
+        public int getRafaga() {
+            return rafaga;
+        }
+
+        public void setRafaga(int rafaga) {
+            this.rafaga = rafaga;
+        }
+
+        public double getTasaCliente() {
+            return tasaCliente;
+        }
+
+        public void setTasaCliente(double tasaCliente) {
+            this.tasaCliente = tasaCliente;
+        }
+
+        public int getRafagaCliente() {
+            return rafagaCliente;
+        }
+
+        public void setRafagaCliente(int rafagaCliente) {
+            this.rafagaCliente = rafagaCliente;
+        }
+
+        public Concurrencia getConcurrencia() {
+            return concurrencia;
+        }
+
+        public void setConcurrencia(Concurrencia concurrencia) {
+            this.concurrencia = concurrencia;
+        }
+    }
+
+    /**
+     * Límite de peticiones simultáneas de la clase; máximo 0 sin límite.
+     */
+    public static class Concurrencia {
+
+        private int inicial = 20;
+        private int minima = 1;
+        private int maxima;
+
+        /**
+         * Latencia a partir de la cual el límite baja; 0 lo deja fijo en {@code inicial}.
+         */
+        private Duration latenciaObjetivo = Duration.ZERO;
+
+        // Getters y Setters
+
+        public int getInicial() {
+            return inicial;
+        }
+
+        public void setInicial(int inicial) {
+            this.inicial = inicial;
+        }
+
+        public int getMinima() {
+            return minima;
+        }
+
+        public void setMinima(int minima) {
+            this.minima = minima;
+        }
+
+        public int getMaxima() {
+            return maxima;
+        }
+
+        public void setMaxima(int maxima) {
+            this.maxima = maxima;
+        }
+
+        public Duration getLatenciaObjetivo() {
+            return latenciaObjetivo;
+        }
+
+        public void setLatenciaObjetivo(Duration latenciaObjetivo) {
+            this.latenciaObjetivo = latenciaObjetivo;
+        }
+    }
+
+    // Getters y Setters
+
+    public boolean isActiva() {
+        return activa;
+    }
+
+    public void setActiva(boolean activa) {
+        this.activa = activa;
+    }
+
+    public String getCabeceraCliente() {
+        return cabeceraCliente;
+    }
+
+    public void setCabeceraCliente(String cabeceraCliente) {
+        this.cabeceraCliente = cabeceraCliente;
+    }
+
+    public String getClasePorDefecto() {
+        return clasePorDefecto;
+    }
+
+    public void setClasePorDefecto(String clasePorDefecto) {
+        this.clasePorDefecto = clasePorDefecto;
+    }
+
+    public String getClaseInterna() {
+        return claseInterna;
+    }
+
+    public void setClaseInterna(String claseInterna) {
+        this.claseInterna = claseInterna;
+    }
+
+    public Map<String, Clase> getClases() {
+        return clases;
+    }
+
+    public void setClases(Map<String, Clase> clases) {
+        this.clases = clases;
+    }
+}
@@ -0,0 +1,190 @@
+package com.espe.admision;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class ControlAdmisionTest {
+
+    private static final long SEGUNDO = TimeUnit.SECONDS.toNanos(1);
+    private static final LlamadasInternas SIN_CLAVE = new LlamadasInternas("X-Clave-Interna", "");
+
+    private ControlAdmision control;
+
+    @AfterEach
+    void tearDown() {
+        if (control != null) {
+            control.destroy();
+        }
+    }
+
+    @Test
+    void elCuboAdmiteLaRafagaYSeRecargaALaTasa() {
+        CuboTokens cubo = new CuboTokens(10, 3);
+        long ahora = System.nanoTime() + SEGUNDO;
+        assertEquals(0, cubo.intentar(ahora));
+        assertEquals(0, cubo.intentar(ahora));
+        assertEquals(0, cubo.intentar(ahora));
+        assertEquals(SEGUNDO / 10, cubo.intentar(ahora));
+        assertEquals(0, cubo.intentar(ahora + SEGUNDO / 10));
+        assertFalse(cubo.isLleno(ahora + SEGUNDO / 10));
+        assertTrue(cubo.isLleno(ahora + SEGUNDO));
+    }
+
+    @Test
+    void elLimiteBajaConRespuestasLentasYSubeConRapidas() {
+        long objetivo = TimeUnit.MILLISECONDS.toNanos(100);
+        LimiteConcurrencia limite = new LimiteConcurrencia(10, 2, 20, objetivo);
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limite.intentarEntrar());
+        }
+        assertFalse(limite.intentarEntrar());
+
+        limite.reducir(System.nanoTime() + SEGUNDO);
+        assertEquals(9, limite.getLimite());
+        // Una sola reducción por ventana aunque lleguen muchas respuestas lentas
+        limite.salir(2 * objetivo, false);
+        assertEquals(9, limite.getLimite());
+
+        for (int i = 0; i < 9; i++) {
+            limite.salir(objetivo / 2, false);
+        }
+        assertTrue(limite.getLimite() >= 9);
+        for (int ronda = 0; ronda < 40; ronda++) {
+            int permitidas = limite.getLimite();
+            for (int i = 0; i < permitidas; i++) {
+                limite.intentarEntrar();
+            }
+            for (int i = 0; i < permitidas; i++) {
+                limite.salir(objetivo / 2, false);
+            }
+        }
+        assertEquals(20, limite.getLimite());
+        assertEquals(0, limite.getEnCurso());
+    }
+
+    @Test
+    void rechazaPorClienteConRetryAfterYNoMezclaLasClases() throws Exception {
+        PropiedadesAdmision propiedades = new PropiedadesAdmision();
+        PropiedadesAdmision.Clase costosa = new PropiedadesAdmision.Clase();
+        costosa.setRutas(Arrays.asList("GET /api/recursos"));
+        costosa.setTasaCliente(0.5);
+        costosa.setRafagaCliente(2);
+        propiedades.getClases().put("costosa", costosa);
+        PropiedadesAdmision.Clase general = new PropiedadesAdmision.Clase();
+        general.getConcurrencia().setInicial(1);
+        general.getConcurrencia().setMaxima(1);
+        propiedades.getClases().put("general", general);
+        control = new ControlAdmision(propiedades, SIN_CLAVE, new SimpleMeterRegistry(), new ObjectMapper());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new Recursos())
+                .addMappedInterceptors(new String[]{"/api/**"}, control)
+                .build();
+
+        mockMvc.perform(get("/api/recursos")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/recursos")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/recursos"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+        // Otro cliente tiene su propio cubo
+        mockMvc.perform(get("/api/recursos").with(request -> {
+            request.setRemoteAddr("10.0.0.2");
+            return request;
+        })).andExpect(status().isOk());
+        // Las consultas por ID son de otra clase y siguen entrando; su límite de 1 se libera al terminar
+        mockMvc.perform(get("/api/recursos/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/recursos/2")).andExpect(status().isOk());
+    }
+
+    @Test
+    void elListadoSoloEsCostosoSinPaginar() throws Exception {
+        PropiedadesAdmision propiedades = new PropiedadesAdmision();
+        PropiedadesAdmision.Clase costosa = new PropiedadesAdmision.Clase();
+        costosa.setRutasSinPaginar(Arrays.asList("GET /api/recursos"));
+        costosa.setTasaCliente(0.5);
+        propiedades.getClases().put("costosa", costosa);
+        control = new ControlAdmision(propiedades, SIN_CLAVE, new SimpleMeterRegistry(), new ObjectMapper());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new Recursos())
+                .addMappedInterceptors(new String[]{"/api/**"}, control)
+                .build();
+
+        mockMvc.perform(get("/api/recursos")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/recursos")).andExpect(status().isTooManyRequests());
+        mockMvc.perform(get("/api/recursos").param("size", "20")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/recursos").param("cursor", "40").param("size", "20")).andExpect(status().isOk());
+    }
+
+    @Test
+    void lasLlamadasInternasSeReconocenPorSuClaveNoPorSuRuta() throws Exception {
+        PropiedadesAdmision propiedades = new PropiedadesAdmision();
+        PropiedadesAdmision.Clase costosa = new PropiedadesAdmision.Clase();
+        costosa.setRutas(Arrays.asList("GET /api/recursos/{id}"));
+        costosa.setTasaCliente(0.5);
+        propiedades.getClases().put("costosa", costosa);
+        propiedades.getClases().put("interna", new PropiedadesAdmision.Clase());
+        control = new ControlAdmision(propiedades, new LlamadasInternas("X-Clave-Interna", "secreta"),
+                new SimpleMeterRegistry(), new ObjectMapper());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new Recursos())
+                .addMappedInterceptors(new String[]{"/api/**"}, control)
+                .build();
+
+        mockMvc.perform(get("/api/recursos/1")).andExpect(status().isOk());
+        mockMvc.perform(get("/api/recursos/1")).andExpect(status().isTooManyRequests());
+        // Una clave equivocada no exime de los límites
+        mockMvc.perform(get("/api/recursos/1").header("X-Clave-Interna", "otra"))
+                .andExpect(status().isTooManyRequests());
+        for (int i = 0; i < 5; i++) {
+            mockMvc.perform(get("/api/recursos/1").header("X-Clave-Interna", "secreta")).andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    void unRechazoPorSaturacionDevuelveElTokenDelCliente() throws Exception {
+        PropiedadesAdmision propiedades = new PropiedadesAdmision();
+        PropiedadesAdmision.Clase general = new PropiedadesAdmision.Clase();
+        general.setTasa(0.5);
+        general.setTasaCliente(0.5);
+        general.setRafagaCliente(2);
+        propiedades.getClases().put("general", general);
+        control = new ControlAdmision(propiedades, SIN_CLAVE, new SimpleMeterRegistry(), new ObjectMapper());
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new Recursos())
+                .addMappedInterceptors(new String[]{"/api/**"}, control)
+                .build();
+
+        mockMvc.perform(get("/api/recursos")).andExpect(status().isOk());
+        // La clase se agotó con la primera: sin devolver el token, la tercera ya sería un 429 del cliente
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/api/recursos")).andExpect(status().isServiceUnavailable());
+        }
+    }
+
+    @RestController
+    static class Recursos {
+
+        @GetMapping("/api/recursos")
+        String listar() {
+            return "[]";
+        }
+
+        @GetMapping("/api/recursos/{id}")
+        String obtener(@PathVariable Long id) {
+            return "{}";
+        }
+    }
+}
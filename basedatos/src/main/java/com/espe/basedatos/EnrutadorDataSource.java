@@ -0,0 +1,134 @@
+package com.espe.basedatos;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongConsumer;
+
+/**
+ * Elige el pool de cada conexión: las transacciones {@code readOnly} van a la réplica y todo lo demás
+ * (transacciones de escritura y sentencias fuera de transacción) al primario.
+ * <p>
+ * Durante {@code ventanaEscritura} después del commit de una transacción de escritura, las de solo lectura del
+ * mismo cliente también van al primario, para que quien acaba de escribir no lea de una réplica que aún no tiene
+ * el cambio. El cliente es el hilo que escribió y, en peticiones HTTP, quien devuelve en la cabecera
+ * {@value #CABECERA} la hora de su última escritura, que recibió en la respuesta (ver {@link EscrituraRecienteFilter}).
+ * Así las escrituras de otros clientes o de tareas en segundo plano no sacan de la réplica a todos los lectores.
+ * La hora viaja en milisegundos de reloj, así que entre instancias la ventana absorbe pequeños desfases de reloj.
+ * <p>
+ * La clave se decide al usar la conexión, así que este DataSource debe ir envuelto en un
+ * {@code LazyConnectionDataSourceProxy}: el JpaTransactionManager pide la conexión antes de marcar la
+ * transacción como de solo lectura. Publica {@code datasource.enrutamiento} por destino y motivo.
+ */
+public class EnrutadorDataSource extends AbstractRoutingDataSource {
+
+    public static final String CABECERA = "X-Ultima-Escritura";
+
+    static final String PRIMARIA = "primaria";
+    static final String REPLICA = "replica";
+
+    private final long ventanaMillis;
+    // Hora (ms) hasta la que las lecturas del hilo van al primario
+    private final ThreadLocal<Long> primarioHasta = new ThreadLocal<>();
+    // Aviso de la petición en curso para devolver la hora de la escritura al cliente
+    private final ThreadLocal<LongConsumer> avisoEscritura = new ThreadLocal<>();
+    private final Counter escrituras;
+    private final Counter sinTransaccion;
+    private final Counter escrituraReciente;
+    private final Counter lecturas;
+
+    public EnrutadorDataSource(DataSource primaria, DataSource replica, Duration ventanaEscritura,
+                               MeterRegistry registry) {
+        Map<Object, Object> destinos = new HashMap<>();
+        destinos.put(PRIMARIA, primaria);
+        destinos.put(REPLICA, replica);
+        setTargetDataSources(destinos);
+        setDefaultTargetDataSource(primaria);
+        setLenientFallback(false);
+        this.ventanaMillis = ventanaEscritura.toMillis();
+        this.escrituras = contador(registry, PRIMARIA, "escritura");
+        this.sinTransaccion = contador(registry, PRIMARIA, "sin-transaccion");
+        this.escrituraReciente = contador(registry, PRIMARIA, "escritura-reciente");
+        this.lecturas = contador(registry, REPLICA, "lectura");
+    }
+
+    private static Counter contador(MeterRegistry registry, String destino, String motivo) {
+        return Counter.builder("datasource.enrutamiento")
+                .tag("destino", destino)
+                .tag("motivo", motivo)
+                .register(registry);
+    }
+
+    /**
+     * Empieza una petición HTTP en el hilo actual.
+     * @param ultimaEscrituraCliente hora (ms) de la última escritura del cliente, o nulo si no la envió.
+     * @param alConfirmarEscritura recibe la hora de cada escritura confirmada durante la petición.
+     */
+    public void iniciarPeticion(Long ultimaEscrituraCliente, LongConsumer alConfirmarEscritura) {
+        if (ultimaEscrituraCliente == null) {
+            primarioHasta.remove();
+        } else {
+            // Una hora futura no puede alargar la ventana más allá de la de una escritura de ahora
+            primarioHasta.set(Math.min(ultimaEscrituraCliente, System.currentTimeMillis()) + ventanaMillis);
+        }
+        avisoEscritura.set(alConfirmarEscritura);
+    }
+
+    public void terminarPeticion() {
+        primarioHasta.remove();
+        avisoEscritura.remove();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            sinTransaccion.increment();
+            return PRIMARIA;
+        }
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            escrituras.increment();
+            registrarEscritura();
+            return PRIMARIA;
+        }
+        if (isEscrituraReciente()) {
+            escrituraReciente.increment();
+            return PRIMARIA;
+        }
+        lecturas.increment();
+        return REPLICA;
+    }
+
+    boolean isEscrituraReciente() {
+        Long hasta = primarioHasta.get();
+        return hasta != null && System.currentTimeMillis() < hasta;
+    }
+
+    // La ventana empieza en el commit; se marca también ahora por si la transacción no tiene sincronización
+    private void registrarEscritura() {
+        marcarEscritura();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    marcarEscritura();
+                }
+            });
+        }
+    }
+
+    private void marcarEscritura() {
+        long ahora = System.currentTimeMillis();
+        primarioHasta.set(ahora + ventanaMillis);
+        LongConsumer aviso = avisoEscritura.get();
+        if (aviso != null) {
+            aviso.accept(ahora);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.espe.basedatos;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Lleva la ventana de lectura tras escritura de {@link EnrutadorDataSource} por cliente: la respuesta de una
+ * petición que escribe incluye {@value EnrutadorDataSource#CABECERA} con la hora del commit, y las lecturas
+ * que la devuelven dentro de la ventana van al primario en lugar de a la réplica.
+ */
+public class EscrituraRecienteFilter extends OncePerRequestFilter {
+
+    private final EnrutadorDataSource enrutador;
+
+    public EscrituraRecienteFilter(EnrutadorDataSource enrutador) {
+        this.enrutador = enrutador;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        enrutador.iniciarPeticion(ultimaEscritura(request), hora -> {
+            // El commit ocurre antes de escribir el cuerpo, así que normalmente la cabecera aún se puede poner
+            if (!response.isCommitted()) {
+                response.setHeader(EnrutadorDataSource.CABECERA, String.valueOf(hora));
+            }
+        });
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            enrutador.terminarPeticion();
+        }
+    }
+
+    private static Long ultimaEscritura(HttpServletRequest request) {
+        String valor = request.getHeader(EnrutadorDataSource.CABECERA);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(valor.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
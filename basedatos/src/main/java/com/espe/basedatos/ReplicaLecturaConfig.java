@@ -0,0 +1,69 @@
+package com.espe.basedatos;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Separa lecturas y escrituras cuando hay una réplica configurada ({@code datasource.replica.jdbc-url}).
+ * <p>
+ * El pool {@code primaria} se crea con {@code spring.datasource.*} y se ajusta con
+ * {@code spring.datasource.hikari.*}; el pool {@code replica} se configura entero con
+ * {@code datasource.replica.*} (propiedades de HikariDataSource) y entrega conexiones de solo lectura.
+ * El DataSource que usan JPA, JdbcTemplate y los TransactionTemplate es {@link EnrutadorDataSource}, y
+ * {@link EscrituraRecienteFilter} le indica qué cliente acaba de escribir.
+ * Las métricas hikaricp.* de cada pool llevan su nombre en la etiqueta {@code pool}.
+ * <p>
+ * Sin réplica configurada no se crea nada y Spring Boot configura el DataSource único de siempre.
+ */
+@Configuration
+@ConditionalOnProperty("datasource.replica.jdbc-url")
+public class ReplicaLecturaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaria(DataSourceProperties propiedades) {
+        HikariDataSource pool = propiedades.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        pool.setPoolName(EnrutadorDataSource.PRIMARIA);
+        return pool;
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource replica() {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setPoolName(EnrutadorDataSource.REPLICA);
+        pool.setReadOnly(true);
+        return pool;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaria") DataSource primaria,
+                                 @Qualifier("replica") DataSource replica,
+                                 @Value("${datasource.enrutamiento.ventana-escritura:PT1S}") Duration ventanaEscritura,
+                                 MeterRegistry registry) {
+        EnrutadorDataSource enrutador = new EnrutadorDataSource(primaria, replica, ventanaEscritura, registry);
+        enrutador.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(enrutador);
+    }
+
+    @Bean
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public EscrituraRecienteFilter escrituraRecienteFilter(DataSource dataSource) throws SQLException {
+        return new EscrituraRecienteFilter(dataSource.unwrap(EnrutadorDataSource.class));
+    }
+}
@@ -0,0 +1,92 @@
+package com.espe.basedatos;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Elección de la base de cada lectura según la transacción y la ventana tras una escritura. Solo se mira la
+ * clave elegida, así que no hace falta conectarse; las lecturas reales están en EnrutadorDataSourceTest de
+ * micro_museos.
+ */
+class EnrutadorDataSourceTest {
+
+    private static final DataSource DATOS = new DriverManagerDataSource();
+
+    @AfterEach
+    void limpiar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    void trasUnCommitLeeDelPrimarioDuranteLaVentana() {
+        EnrutadorDataSource enrutador = new EnrutadorDataSource(DATOS, DATOS, Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(EnrutadorDataSource.REPLICA, enrutador.determineCurrentLookupKey());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        assertEquals(EnrutadorDataSource.PRIMARIA, enrutador.determineCurrentLookupKey());
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertEquals(EnrutadorDataSource.PRIMARIA, enrutador.determineCurrentLookupKey());
+        assertTrue(enrutador.isEscrituraReciente());
+    }
+
+    @Test
+    void laVentanaEsDeCadaClienteYNoDeTodaLaInstancia() throws Exception {
+        EnrutadorDataSource enrutador = new EnrutadorDataSource(DATOS, DATOS, Duration.ofMinutes(1),
+                new SimpleMeterRegistry());
+        AtomicLong avisada = new AtomicLong();
+        enrutador.iniciarPeticion(null, avisada::set);
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        enrutador.determineCurrentLookupKey();
+        TransactionSynchronizationUtils.triggerAfterCommit();
+        enrutador.terminarPeticion();
+        assertTrue(avisada.get() > 0);
+
+        // Otro hilo sin la cabecera lee de la réplica; con la hora devuelta, del primario
+        AtomicBoolean sinCabecera = new AtomicBoolean();
+        AtomicBoolean conCabecera = new AtomicBoolean();
+        Thread otro = new Thread(() -> {
+            enrutador.iniciarPeticion(null, hora -> { });
+            sinCabecera.set(enrutador.isEscrituraReciente());
+            enrutador.iniciarPeticion(avisada.get(), hora -> { });
+            conCabecera.set(enrutador.isEscrituraReciente());
+            enrutador.terminarPeticion();
+        });
+        otro.start();
+        otro.join();
+        assertFalse(sinCabecera.get());
+        assertTrue(conCabecera.get());
+    }
+
+    @Test
+    void unaHoraFuturaNoAlargaLaVentana() throws Exception {
+        EnrutadorDataSource enrutador = new EnrutadorDataSource(DATOS, DATOS, Duration.ofMillis(50),
+                new SimpleMeterRegistry());
+        enrutador.iniciarPeticion(System.currentTimeMillis() + Duration.ofHours(1).toMillis(), hora -> { });
+        assertTrue(enrutador.isEscrituraReciente());
+        Thread.sleep(100);
+        assertFalse(enrutador.isEscrituraReciente());
+        enrutador.terminarPeticion();
+    }
+}
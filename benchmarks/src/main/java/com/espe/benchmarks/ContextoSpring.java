@@ -0,0 +1,52 @@
+package com.espe.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Arranca el contexto de un microservicio sin servidor web y sobre H2 en memoria.
+ * <p>
+ * Los dos microservicios traen su propio application.properties en la raíz del jar; se carga
+ * explícitamente el del jar de la aplicación arrancada para conservar su configuración real
+ * (lotes JDBC, caché, resilience4j...) y solo se sustituyen la base de datos y el log de SQL.
+ */
+final class ContextoSpring {
+
+    private ContextoSpring() {
+    }
+
+    static ConfigurableApplicationContext arrancar(Class<?> aplicacion, String baseDatos, Map<String, String> propiedades) {
+        List<String> args = new ArrayList<>();
+        args.add("--spring.config.location=" + propiedadesDe(aplicacion));
+        args.add("--spring.datasource.url=jdbc:h2:mem:" + baseDatos + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        args.add("--spring.datasource.username=sa");
+        args.add("--spring.datasource.password=");
+        args.add("--spring.datasource.driver-class-name=org.h2.Driver");
+        args.add("--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect");
+        args.add("--spring.jpa.hibernate.ddl-auto=create-drop");
+        // El log de cada sentencia saturaría la salida de JMH y falsearía las mediciones
+        args.add("--logging.level.org.hibernate.SQL=warn");
+        args.add("--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=warn");
+        args.add("--logging.level.root=warn");
+        propiedades.forEach((clave, valor) -> args.add("--" + clave + "=" + valor));
+        return new SpringApplicationBuilder(aplicacion)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(new String[0]));
+    }
+
+    private static String propiedadesDe(Class<?> aplicacion) {
+        URL origen = aplicacion.getProtectionDomain().getCodeSource().getLocation();
+        String ubicacion = origen.toExternalForm();
+        if (ubicacion.endsWith(".jar")) {
+            return "jar:" + ubicacion + "!/application.properties";
+        }
+        // Ejecución desde target/classes (IDE)
+        return ubicacion + (ubicacion.endsWith("/") ? "" : "/") + "application.properties";
+    }
+}
@@ -0,0 +1,104 @@
+package com.espe.benchmarks;
+
+import com.espe.micro_curadores.MicroCuradoresApplication;
+import com.espe.micro_curadores.models.Pagina;
+import com.espe.micro_curadores.models.entities.Curador;
+import com.espe.micro_curadores.services.CuradorService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de {@link CuradorService} sobre H2 con {@code curadores} filas
+ * ({@code -p curadores=...}): la búsqueda por ID que hace micro_museos en cada asignación,
+ * el /batch de {@code porLote} IDs y una página por cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CuradorServiceBenchmark {
+
+    private static final int LOTE = 500;
+    private static final int TAMANIO_PAGINA = 50;
+
+    @Param({"1000", "50000"})
+    private int curadores;
+
+    @Param({"100"})
+    private int porLote;
+
+    private ConfigurableApplicationContext contexto;
+    private CuradorService service;
+    private List<Long> curadorIds;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = ContextoSpring.arrancar(MicroCuradoresApplication.class, "bench_curadores", Collections.emptyMap());
+        service = contexto.getBean(CuradorService.class);
+
+        curadorIds = new ArrayList<>(curadores);
+        List<Curador> lote = new ArrayList<>(LOTE);
+        for (int i = 0; i < curadores; i++) {
+            Curador curador = new Curador();
+            curador.setNombre("Curador Benchmark");
+            curador.setEspecialidad(i % 2 == 0 ? "Arte Moderno" : "Historia");
+            curador.setFechaNacimiento(LocalDate.of(1960, 1, 1).plusDays(i % 10000));
+            lote.add(curador);
+            if (lote.size() == LOTE || i == curadores - 1) {
+                service.saveLote(lote);
+                lote.forEach(guardado -> curadorIds.add(guardado.getId()));
+                lote.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public Optional<Curador> findById() {
+        return service.findById(idAlAzar());
+    }
+
+    @Benchmark
+    public List<Curador> findAllById() {
+        List<Long> ids = new ArrayList<>(porLote);
+        for (int i = 0; i < porLote; i++) {
+            ids.add(idAlAzar());
+        }
+        return service.findAllById(ids);
+    }
+
+    @Benchmark
+    public Pagina<Curador> findPagina() {
+        return service.findPagina(idAlAzar(), TAMANIO_PAGINA);
+    }
+
+    private Long idAlAzar() {
+        return curadorIds.get(ThreadLocalRandom.current().nextInt(curadorIds.size()));
+    }
+}
@@ -0,0 +1,114 @@
+package com.espe.benchmarks;
+
+import com.espe.micro_museos.models.Curador;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Coste de una respuesta de /api/curadores/batch con {@code curadores} elementos en JSON y en CBOR,
+ * con y sin gzip: {@code codificar} es el trabajo de micro_curadores por petición y {@code decodificar}
+ * el de micro_museos. Los bytes de cada combinación se imprimen al preparar el benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatoCableBenchmark {
+
+    private static final TypeReference<List<Curador>> LISTA_CURADORES = new TypeReference<List<Curador>>() {
+    };
+
+    @Param({"json", "cbor"})
+    private String formato;
+
+    @Param({"false", "true"})
+    private boolean gzip;
+
+    @Param({"100", "1000"})
+    private int curadores;
+
+    private ObjectMapper mapper;
+    private List<Curador> lista;
+    private byte[] codificado;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        // Misma configuración que spring.jackson.* en micro_museos; CborConfig solo cambia la fábrica
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.FAIL_ON_SELF_REFERENCES,
+                        SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("cbor".equals(formato)) {
+            builder.factory(new CBORFactory());
+        }
+        mapper = builder.build();
+
+        LocalDateTime ahora = LocalDateTime.now();
+        lista = new ArrayList<>(curadores);
+        for (int i = 0; i < curadores; i++) {
+            Curador curador = new Curador();
+            curador.setId(100_000L + i);
+            curador.setNombre("Curador " + (i + 1));
+            curador.setEspecialidad(i % 2 == 0 ? "Arte Moderno" : "Historia");
+            curador.setFechaNacimiento(LocalDate.of(1960, 1, 1).plusDays(i % 10000));
+            curador.setVersion(i % 5);
+            curador.setFechaCreacion(ahora);
+            lista.add(curador);
+        }
+        codificado = codificar();
+        System.out.printf("%n%s%s, %d curadores: %d bytes (%.1f por curador)%n", formato, gzip ? "+gzip" : "",
+                curadores, codificado.length, (double) codificado.length / curadores);
+    }
+
+    @Benchmark
+    public byte[] codificar() throws IOException {
+        if (!gzip) {
+            return mapper.writeValueAsBytes(lista);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream salida = new GZIPOutputStream(bytes)) {
+            mapper.writeValue(salida, lista);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public List<Curador> decodificar() throws IOException {
+        InputStream entrada = new ByteArrayInputStream(codificado);
+        if (gzip) {
+            entrada = new GZIPInputStream(entrada);
+        }
+        try (InputStream cuerpo = entrada) {
+            return mapper.readValue(cuerpo, LISTA_CURADORES);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.espe.benchmarks;
+
+import com.espe.busqueda.IndiceTexto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Una página de GET /api/curadores/search (o /api/museos/search) sobre {@code filas} documentos sintéticos
+ * con nombre y especialidad: solo el índice, sin la carga de las entidades de la página.
+ * <p>
+ * Las consultas van de la más frecuente a la que no coincide con nada: {@code arte} llena la página con las
+ * primeras filas, {@code mena} (uno de 40 apellidos) y {@code vera tor} tienen que intersecar listas largas,
+ * {@code ro} es un prefijo de dos letras y {@code xochitl} tiene un trigrama que no está en el índice.
+ * Cada prueba vuelve a construir el índice (unos 15 s con un millón de filas).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class IndiceTextoBenchmark {
+
+    private static final int[] TODOS_LOS_CAMPOS = {0, 1};
+    private static final int TAMANIO_PAGINA = 50;
+
+    private static final String[] NOMBRES = {"Ana", "Luis", "Rosa", "Juan", "Carla", "Pedro", "Lucía", "Jorge",
+            "Elena", "Andrés", "Sofía", "Diego", "Paula", "Mateo", "Valeria", "Tomás", "Gabriela", "Martín",
+            "Camila", "Santiago"};
+    private static final String[] APELLIDOS = {"Torres", "Mena", "Vera", "Ruiz", "Andrade", "Benítez", "Cevallos",
+            "Duarte", "Espinosa", "Flores", "García", "Herrera", "Iturralde", "Jaramillo", "López", "Moreno",
+            "Naranjo", "Ortega", "Paredes", "Quiroga", "Rosales", "Salazar", "Tapia", "Ulloa", "Valencia",
+            "Villacís", "Yépez", "Zambrano", "Arteaga", "Bravo", "Castro", "Dávila", "Egas", "Franco", "Guerrero",
+            "Hidalgo", "Ibarra", "Játiva", "Larrea", "Montalvo"};
+    private static final String[] ESPECIALIDADES = {"Arte colonial", "Arte contemporáneo", "Arqueología",
+            "Historia natural", "Fotografía", "Numismática", "Etnografía", "Arte textil", "Cerámica precolombina",
+            "Pintura quiteña"};
+
+    @Param({"100000", "1000000"})
+    private int filas;
+
+    @Param({"arte", "mena", "vera tor", "ro", "xochitl"})
+    private String consulta;
+
+    private IndiceTexto indice;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        indice = new IndiceTexto(2);
+        Random aleatorio = new Random(42);
+        long inicio = System.nanoTime();
+        for (int id = 1; id <= filas; id++) {
+            String nombre = NOMBRES[aleatorio.nextInt(NOMBRES.length)] + " "
+                    + APELLIDOS[aleatorio.nextInt(APELLIDOS.length)] + " "
+                    + APELLIDOS[aleatorio.nextInt(APELLIDOS.length)];
+            indice.indexar(id, 0, nombre, ESPECIALIDADES[aleatorio.nextInt(ESPECIALIDADES.length)]);
+        }
+        System.out.printf("%nÍndice de %d filas construido en %d ms%n", filas, (System.nanoTime() - inicio) / 1_000_000);
+    }
+
+    @Benchmark
+    public List<Long> contiene() {
+        return indice.buscar(consulta, false, TODOS_LOS_CAMPOS, 0, TAMANIO_PAGINA);
+    }
+
+    @Benchmark
+    public List<Long> prefijo() {
+        return indice.buscar(consulta, true, TODOS_LOS_CAMPOS, 0, TAMANIO_PAGINA);
+    }
+
+    // Página intermedia: el cursor obliga a saltar la mitad de cada lista con la búsqueda binaria
+    @Benchmark
+    public List<Long> contieneDesdeLaMitad() {
+        return indice.buscar(consulta, false, TODOS_LOS_CAMPOS, filas / 2, TAMANIO_PAGINA);
+    }
+}
@@ -0,0 +1,112 @@
+package com.espe.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tiempo hasta la primera respuesta correcta: arranca el comando recibido, pide {@code url} cada 50 ms
+ * hasta obtener un 200 y mide desde el lanzamiento del proceso. Se repite {@code repeticiones} veces con
+ * un proceso nuevo cada vez.
+ * <p>
+ * Uso: {@code MedidorArranque <url> <repeticiones> <comando...>}, p. ej.
+ * {@code http://localhost:8005/api/museos 5 java -jar ../micro_museos/target/micro_museos-0.0.1-SNAPSHOT-exec.jar}.
+ * Cada medida se añade a target/arranque-resultados.csv para comparar entre versiones y la salida de los
+ * procesos queda en target/arranque.log. No es un benchmark JMH: lo que se mide es la JVM entera.
+ */
+public final class MedidorArranque {
+
+    private static final Duration ESPERA_MAXIMA = Duration.ofMinutes(3);
+    private static final long INTERVALO_MS = 50;
+
+    private MedidorArranque() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 3) {
+            System.err.println("Uso: MedidorArranque <url> <repeticiones> <comando...>");
+            System.exit(2);
+        }
+        URI url = URI.create(args[0]);
+        int repeticiones = Integer.parseInt(args[1]);
+        List<String> comando = Arrays.asList(Arrays.copyOfRange(args, 2, args.length));
+        Path directorio = Paths.get(System.getProperty("arranque.directorio", "target"));
+        Files.createDirectories(directorio);
+        Path log = directorio.resolve("arranque.log");
+        Path resultados = directorio.resolve("arranque-resultados.csv");
+        if (!Files.exists(resultados)) {
+            Files.writeString(resultados, "fecha,url,comando,repeticion,ms\n", StandardCharsets.UTF_8);
+        }
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+        long[] tiempos = new long[repeticiones];
+        for (int i = 0; i < repeticiones; i++) {
+            tiempos[i] = medir(cliente, url, comando, log);
+            System.out.printf("Arranque %d/%d: %d ms%n", i + 1, repeticiones, tiempos[i]);
+            try (PrintWriter csv = new PrintWriter(Files.newBufferedWriter(resultados, StandardCharsets.UTF_8,
+                    StandardOpenOption.APPEND))) {
+                csv.printf("%s,%s,\"%s\",%d,%d%n", LocalDateTime.now(), url,
+                        String.join(" ", comando).replace("\"", "\"\""), i + 1, tiempos[i]);
+            }
+        }
+        Arrays.sort(tiempos);
+        System.out.printf("%s -> mínimo %d ms, mediana %d ms, máximo %d ms (%d arranques)%n",
+                url, tiempos[0], tiempos[repeticiones / 2], tiempos[repeticiones - 1], repeticiones);
+    }
+
+    private static long medir(HttpClient cliente, URI url, List<String> comando, Path log) throws Exception {
+        HttpRequest peticion = HttpRequest.newBuilder(url).timeout(Duration.ofSeconds(5)).GET().build();
+        long inicio = System.nanoTime();
+        Process proceso = new ProcessBuilder(comando)
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.appendTo(log.toFile()))
+                .start();
+        try {
+            while (System.nanoTime() - inicio < ESPERA_MAXIMA.toNanos()) {
+                if (!proceso.isAlive()) {
+                    throw new IllegalStateException("El proceso terminó con código " + proceso.exitValue()
+                            + " antes de responder; ver " + log);
+                }
+                if (respondeBien(cliente, peticion)) {
+                    return (System.nanoTime() - inicio) / 1_000_000;
+                }
+                Thread.sleep(INTERVALO_MS);
+            }
+            throw new IllegalStateException(url + " no respondió 200 en " + ESPERA_MAXIMA.toSeconds() + " s");
+        } finally {
+            detener(proceso);
+        }
+    }
+
+    private static boolean respondeBien(HttpClient cliente, HttpRequest peticion) throws InterruptedException {
+        try {
+            return cliente.send(peticion, HttpResponse.BodyHandlers.discarding()).statusCode() == 200;
+        } catch (IOException e) {
+            // Todavía no escucha en el puerto o cerró la conexión durante el arranque
+            return false;
+        }
+    }
+
+    // Para también los hijos (p. ej. si el comando es un script) y espera a que liberen el puerto
+    private static void detener(Process proceso) throws InterruptedException {
+        proceso.descendants().forEach(ProcessHandle::destroy);
+        proceso.destroy();
+        if (!proceso.waitFor(30, TimeUnit.SECONDS)) {
+            proceso.descendants().forEach(ProcessHandle::destroyForcibly);
+            proceso.destroyForcibly().waitFor();
+        }
+    }
+}
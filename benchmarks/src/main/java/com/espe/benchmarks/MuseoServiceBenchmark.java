@@ -0,0 +1,138 @@
+package com.espe.benchmarks;
+
+import com.espe.micro_museos.MicroMuseosApplication;
+import com.espe.micro_museos.clients.CuradorCache;
+import com.espe.micro_museos.models.Curador;
+import com.espe.micro_museos.models.entities.Museo;
+import com.espe.micro_museos.services.MuseoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rutas calientes de {@link MuseoService} sobre H2 con un conjunto de datos de tamaño configurable
+ * ({@code -p museos=... -p curadoresPorMuseo=...}). Las llamadas a micro_curadores las atiende
+ * {@link StubCuradores} y los curadores se precargan en la caché, de modo que se mide el servicio
+ * y los repositorios, no la red.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MuseoServiceBenchmark {
+
+    // Curadores que aparecen en las asignaciones iniciales
+    private static final int CURADORES_DISTINTOS = 500;
+    // Curadores sin asignar que usa addCuradorToMuseo
+    private static final long LIBRES_DESDE = 1_000_000;
+    private static final int LIBRES = 500;
+    private static final int LOTE = 500;
+
+    @Param({"100", "1000"})
+    private int museos;
+
+    @Param({"5"})
+    private int curadoresPorMuseo;
+
+    private StubCuradores stub;
+    private ConfigurableApplicationContext contexto;
+    private MuseoService service;
+    private List<Long> museoIds;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        stub = new StubCuradores();
+        Map<String, String> propiedades = new HashMap<>();
+        propiedades.put("curadores.url", stub.url());
+        propiedades.put("curadores.cache.warmup-size", "0");
+        // El stub no sirve /eventos: se mide la lectura remota a través de la caché
+        propiedades.put("curadores.replica.activa", "false");
+        contexto = ContextoSpring.arrancar(MicroMuseosApplication.class, "bench_museos", propiedades);
+        service = contexto.getBean(MuseoService.class);
+
+        CuradorCache cache = contexto.getBean(CuradorCache.class);
+        cache.findAllById(rango(1, CURADORES_DISTINTOS));
+        cache.findAllById(rango(LIBRES_DESDE, LIBRES));
+
+        museoIds = new ArrayList<>(museos);
+        List<Museo> lote = new ArrayList<>(LOTE);
+        for (int i = 0; i < museos; i++) {
+            Museo museo = new Museo();
+            museo.setNombre("Museo " + i);
+            museo.setUbicacion("Ciudad " + (i % 50));
+            lote.add(museo);
+            if (lote.size() == LOTE || i == museos - 1) {
+                service.saveLote(lote);
+                lote.forEach(guardado -> museoIds.add(guardado.getId()));
+                lote.clear();
+            }
+        }
+        for (int i = 0; i < museoIds.size(); i++) {
+            List<Long> curadores = new ArrayList<>(curadoresPorMuseo);
+            for (int j = 0; j < curadoresPorMuseo; j++) {
+                curadores.add((long) ((i * 7 + j * 31) % CURADORES_DISTINTOS) + 1);
+            }
+            service.addCuradoresToMuseo(museoIds.get(i), curadores);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+        stub.close();
+    }
+
+    @Benchmark
+    public List<Museo> findAll() {
+        return service.findAll();
+    }
+
+    @Benchmark
+    public List<Museo> findMuseosByCuradorId() {
+        return service.findMuseosByCuradorId(ThreadLocalRandom.current().nextLong(1, CURADORES_DISTINTOS + 1));
+    }
+
+    /**
+     * Asigna un curador libre a un museo al azar y lo desasigna para que el conjunto de datos
+     * no crezca entre iteraciones; el tiempo incluye ambas operaciones.
+     */
+    @Benchmark
+    public Optional<Curador> addCuradorToMuseo() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Long museoId = museoIds.get(random.nextInt(museoIds.size()));
+        Long curadorId = LIBRES_DESDE + random.nextInt(LIBRES);
+        Optional<Curador> asignado = service.addCuradorToMuseo(museoId, curadorId);
+        service.removeCuradorFromMuseo(museoId, curadorId);
+        return asignado;
+    }
+
+    private static List<Long> rango(long desde, int cantidad) {
+        List<Long> ids = new ArrayList<>(cantidad);
+        for (int i = 0; i < cantidad; i++) {
+            ids.add(desde + i);
+        }
+        return ids;
+    }
+}
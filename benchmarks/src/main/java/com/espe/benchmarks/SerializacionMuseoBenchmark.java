@@ -0,0 +1,87 @@
+package com.espe.benchmarks;
+
+import com.espe.micro_museos.models.Curador;
+import com.espe.micro_museos.models.MuseoDetalle;
+import com.espe.micro_museos.models.entities.Museo;
+import com.espe.micro_museos.models.entities.MuseoCurador;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización Jackson de un {@link Museo} con {@code hijos} asignaciones de curador, tal como la
+ * escribe MuseoController (entidad) o con expand=curadores ({@link MuseoDetalle}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializacionMuseoBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int hijos;
+
+    private ObjectMapper mapper;
+    private Museo museo;
+    private MuseoDetalle detalle;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        // Misma configuración que spring.jackson.* en el application.properties de micro_museos
+        mapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.FAIL_ON_SELF_REFERENCES,
+                        SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        LocalDateTime ahora = LocalDateTime.now();
+        museo = new Museo();
+        museo.setId(1L);
+        museo.setNombre("Museo Nacional");
+        museo.setUbicacion("Quito");
+        museo.setFechaCreacion(ahora);
+        List<Curador> curadores = new ArrayList<>(hijos);
+        for (int i = 0; i < hijos; i++) {
+            MuseoCurador asignacion = new MuseoCurador(museo, (long) i + 1);
+            asignacion.setId((long) i + 1);
+            asignacion.setFechaAsignacion(ahora);
+            museo.getMuseoCuradores().add(asignacion);
+
+            Curador curador = new Curador();
+            curador.setId((long) i + 1);
+            curador.setNombre("Curador " + (i + 1));
+            curador.setEspecialidad("Arte");
+            curadores.add(curador);
+        }
+        detalle = new MuseoDetalle(museo, curadores);
+    }
+
+    @Benchmark
+    public byte[] serializarMuseo() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(museo);
+    }
+
+    @Benchmark
+    public byte[] serializarMuseoDetalle() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(detalle);
+    }
+}
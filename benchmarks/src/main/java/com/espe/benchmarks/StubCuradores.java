@@ -0,0 +1,67 @@
+package com.espe.benchmarks;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.StringJoiner;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sustituto local de micro_curadores para los benchmarks de micro_museos: responde a
+ * GET /api/curadores/{id} y POST /api/curadores/batch con un curador por cada ID pedido.
+ */
+final class StubCuradores implements AutoCloseable {
+
+    private static final Pattern NUMERO = Pattern.compile("\\d+");
+
+    private final HttpServer servidor;
+
+    StubCuradores() throws IOException {
+        servidor = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        servidor.createContext("/api/curadores/batch", exchange -> {
+            StringJoiner curadores = new StringJoiner(",", "[", "]");
+            try (InputStream cuerpo = exchange.getRequestBody()) {
+                Matcher ids = NUMERO.matcher(new String(cuerpo.readAllBytes(), StandardCharsets.UTF_8));
+                while (ids.find()) {
+                    curadores.add(curador(ids.group()));
+                }
+            }
+            responder(exchange, curadores.toString());
+        });
+        servidor.createContext("/api/curadores/", exchange -> {
+            String ruta = exchange.getRequestURI().getPath();
+            responder(exchange, curador(ruta.substring(ruta.lastIndexOf('/') + 1)));
+        });
+        servidor.setExecutor(Executors.newCachedThreadPool());
+        servidor.start();
+    }
+
+    String url() {
+        return "http://localhost:" + servidor.getAddress().getPort() + "/api/curadores";
+    }
+
+    private static String curador(String id) {
+        return "{\"id\":" + id + ",\"nombre\":\"Curador " + id + "\",\"especialidad\":\"Arte\"}";
+    }
+
+    private static void responder(HttpExchange exchange, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+    }
+}
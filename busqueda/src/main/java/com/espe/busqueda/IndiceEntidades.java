@@ -0,0 +1,206 @@
+package com.espe.busqueda;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice de búsqueda de una tabla sobre los campos de texto indicados. Se construye en segundo plano al
+ * arrancar leyendo la tabla por lotes y, a partir de ahí, el servicio lo mantiene al día en cada escritura.
+ * Mientras se construye, {@link #isListo()} es falso y las búsquedas no se atienden. Si la carga falla (p. ej. la
+ * base aún no responde) se reintenta con espera exponencial hasta {@value #ESPERA_MAXIMA_MS} ms.
+ * <p>
+ * Las escrituras del servicio solo llegan al índice de su propia instancia. Para ver las de las demás, cada
+ * subclase lo alimenta con {@link #cadaCierto} (p. ej. desde una tabla de eventos) o lo vuelve a construir con
+ * {@link #reconstruir}: la reconstrucción llena un índice nuevo, al que también van las escrituras mientras
+ * tanto, y lo cambia por el actual al terminar, así que las búsquedas se siguen atendiendo.
+ * <p>
+ * Cada servicio lo extiende con su componente (IndiceMuseos, IndiceCuradores), que indica cómo leer un lote
+ * y cómo sacar los textos de su entidad.
+ */
+public abstract class IndiceEntidades {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceEntidades.class);
+
+    private static final long ESPERA_INICIAL_MS = 1_000;
+    private static final long ESPERA_MAXIMA_MS = 60_000;
+
+    private final String nombre;
+    private final List<String> campos;
+    private final int[] todosLosCampos;
+    // Compartido por las escrituras; exclusivo al empezar o terminar una carga, para que ninguna se pierda
+    private final ReadWriteLock cambio = new ReentrantReadWriteLock();
+    private volatile IndiceTexto indice;
+    private IndiceTexto enConstruccion;
+    private volatile boolean listo;
+    private ScheduledExecutorService ejecutor;
+
+    /**
+     * @param nombre nombre en plural de la entidad, para el hilo de carga y los mensajes.
+     */
+    protected IndiceEntidades(String nombre, List<String> campos) {
+        this.nombre = nombre;
+        this.campos = campos;
+        this.todosLosCampos = new int[campos.size()];
+        for (int i = 0; i < todosLosCampos.length; i++) {
+            todosLosCampos[i] = i;
+        }
+        this.indice = new IndiceTexto(campos.size());
+    }
+
+    /**
+     * Hasta {@code lote} filas con ID mayor que {@code cursor}, ordenadas por ID: cada una con el ID, la versión
+     * y los textos de los campos, en ese orden.
+     */
+    protected abstract List<Object[]> leerDesde(long cursor, int lote);
+
+    /**
+     * Se llama al empezar cada carga, antes de leer la primera fila; si lanza una excepción la carga falla.
+     */
+    protected void alIniciarCarga() {
+    }
+
+    protected void construirEnSegundoPlano(int lote) {
+        ejecutor().execute(() -> construirConReintentos(lote, ESPERA_INICIAL_MS));
+    }
+
+    private void construirConReintentos(int lote, long espera) {
+        if (!cargar(lote)) {
+            log.warn("Se reintentará construir el índice de búsqueda de {} en {} ms", nombre, espera);
+            ejecutor().schedule(() -> construirConReintentos(lote, Math.min(2 * espera, ESPERA_MAXIMA_MS)),
+                    espera, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Vuelve a construir el índice desde la tabla en segundo plano; el actual sigue atendiendo mientras tanto.
+     */
+    public void reconstruir(int lote) {
+        ejecutor().execute(() -> cargar(lote));
+    }
+
+    /**
+     * Ejecuta {@code tarea} cada {@code periodo} en el hilo del índice, nunca a la vez que una carga.
+     * Las excepciones se registran y no cancelan las siguientes ejecuciones.
+     */
+    protected void cadaCierto(Duration periodo, Runnable tarea) {
+        long millis = Math.max(1, periodo.toMillis());
+        ejecutor().scheduleWithFixedDelay(() -> {
+            try {
+                tarea.run();
+            } catch (Exception e) {
+                log.error("Falló una tarea periódica del índice de búsqueda de " + nombre, e);
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized ScheduledExecutorService ejecutor() {
+        if (ejecutor == null) {
+            ejecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread hilo = new Thread(runnable, "indice-" + nombre);
+                hilo.setDaemon(true);
+                return hilo;
+            });
+        }
+        return ejecutor;
+    }
+
+    protected synchronized void detener() {
+        if (ejecutor != null) {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    boolean cargar(int lote) {
+        long inicio = System.nanoTime();
+        IndiceTexto nuevo = new IndiceTexto(campos.size());
+        nuevo.iniciarCarga();
+        cambio.writeLock().lock();
+        try {
+            enConstruccion = nuevo;
+        } finally {
+            cambio.writeLock().unlock();
+        }
+        boolean completa = false;
+        try {
+            alIniciarCarga();
+            long cursor = 0;
+            List<Object[]> filas;
+            do {
+                filas = leerDesde(cursor, lote);
+                for (Object[] fila : filas) {
+                    cursor = (Long) fila[0];
+                    String[] textos = new String[campos.size()];
+                    for (int campo = 0; campo < textos.length; campo++) {
+                        textos[campo] = (String) fila[campo + 2];
+                    }
+                    nuevo.indexar(cursor, (Long) fila[1], textos);
+                }
+            } while (filas.size() == lote);
+            completa = true;
+            log.info("Índice de búsqueda de {} construido con {} {} en {} ms",
+                    nombre, nuevo.size(), nombre, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (Exception e) {
+            log.error("No se pudo construir el índice de búsqueda de " + nombre, e);
+        } finally {
+            cambio.writeLock().lock();
+            try {
+                enConstruccion = null;
+                if (completa) {
+                    indice = nuevo;
+                    listo = true;
+                }
+            } finally {
+                cambio.writeLock().unlock();
+            }
+            nuevo.terminarCarga();
+        }
+        return completa;
+    }
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    /**
+     * Los textos nulos conservan el indexado (actualización parcial); ver {@link IndiceTexto#indexar}.
+     */
+    protected void indexar(Long id, long version, String... textos) {
+        cambio.readLock().lock();
+        try {
+            indice.indexar(id, version, textos);
+            if (enConstruccion != null) {
+                enConstruccion.indexar(id, version, textos);
+            }
+        } finally {
+            cambio.readLock().unlock();
+        }
+    }
+
+    public void eliminar(Long id) {
+        cambio.readLock().lock();
+        try {
+            indice.eliminar(id);
+            if (enConstruccion != null) {
+                enConstruccion.eliminar(id);
+            }
+        } finally {
+            cambio.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param campo uno de los campos del índice o nulo para buscar en todos.
+     */
+    public List<Long> buscar(String consulta, boolean prefijo, String campo, long cursor, int limite) {
+        int[] buscados = campo == null ? todosLosCampos : new int[]{campos.indexOf(campo)};
+        return indice.buscar(consulta, prefijo, buscados, cursor, limite);
+    }
+}
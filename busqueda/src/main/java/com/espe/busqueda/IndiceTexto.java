@@ -0,0 +1,323 @@
+package com.espe.busqueda;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas en memoria sobre uno o más campos de texto.
+ * <p>
+ * Los textos se normalizan (minúsculas, sin tildes ni signos) y cada palabra se indexa con sus
+ * trigramas, rellenada con dos espacios delante y uno detrás para reconocer el inicio de palabra.
+ * Una búsqueda interseca las listas de IDs de los trigramas de la consulta empezando por la más
+ * corta y confirma cada candidato contra el texto guardado, así que nunca devuelve falsos positivos.
+ * Las listas están ordenadas por ID, lo que permite paginar por cursor y parar al llenar la página.
+ * <p>
+ * Cada documento guarda su versión: una escritura con una versión anterior a la indexada se ignora,
+ * de modo que la carga inicial puede convivir con las actualizaciones incrementales.
+ */
+public class IndiceTexto {
+
+    private static final Pattern MARCAS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final int campos;
+    private final Map<Long, Documento> documentos = new HashMap<>();
+    private final List<Map<String, ListaIds>> trigramas = new ArrayList<>();
+    // Durante la carga inicial se recuerdan los IDs eliminados para no volver a indexarlos
+    private Set<Long> eliminadosDuranteCarga;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public IndiceTexto(int campos) {
+        this.campos = campos;
+        for (int i = 0; i < campos; i++) {
+            trigramas.add(new HashMap<String, ListaIds>());
+        }
+    }
+
+    /**
+     * Convierte un texto a la forma indexada: minúsculas, sin tildes y con las palabras separadas por un espacio.
+     */
+    public static String normalizar(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        String sinTildes = MARCAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(sinTildes.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    public void iniciarCarga() {
+        lock.writeLock().lock();
+        try {
+            eliminadosDuranteCarga = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void terminarCarga() {
+        lock.writeLock().lock();
+        try {
+            eliminadosDuranteCarga = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Indexa o reemplaza un documento. Los campos nulos conservan su texto indexado, lo que sirve
+     * para aplicar actualizaciones parciales; una actualización parcial de un documento que aún no
+     * está en el índice se ignora, y la carga inicial lo traerá completo.
+     */
+    public void indexar(long id, long version, String... textos) {
+        lock.writeLock().lock();
+        try {
+            if (eliminadosDuranteCarga != null && eliminadosDuranteCarga.contains(id)) {
+                return;
+            }
+            Documento actual = documentos.get(id);
+            if (actual != null && actual.version > version) {
+                return;
+            }
+            if (actual == null && Arrays.asList(textos).contains(null)) {
+                return;
+            }
+            String[] nuevos = new String[campos];
+            for (int campo = 0; campo < campos; campo++) {
+                String texto = campo < textos.length ? textos[campo] : null;
+                if (texto != null) {
+                    nuevos[campo] = normalizar(texto);
+                } else {
+                    nuevos[campo] = actual == null ? "" : actual.textos[campo];
+                }
+                String anterior = actual == null ? null : actual.textos[campo];
+                if (!nuevos[campo].equals(anterior)) {
+                    if (anterior != null) {
+                        for (String trigrama : trigramasTexto(anterior)) {
+                            quitar(campo, trigrama, id);
+                        }
+                    }
+                    for (String trigrama : trigramasTexto(nuevos[campo])) {
+                        ListaIds lista = trigramas.get(campo).get(trigrama);
+                        if (lista == null) {
+                            lista = new ListaIds();
+                            trigramas.get(campo).put(trigrama, lista);
+                        }
+                        lista.agregar(id);
+                    }
+                }
+            }
+            documentos.put(id, new Documento(version, nuevos));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void eliminar(long id) {
+        lock.writeLock().lock();
+        try {
+            if (eliminadosDuranteCarga != null) {
+                eliminadosDuranteCarga.add(id);
+            }
+            Documento actual = documentos.remove(id);
+            if (actual == null) {
+                return;
+            }
+            for (int campo = 0; campo < campos; campo++) {
+                for (String trigrama : trigramasTexto(actual.textos[campo])) {
+                    quitar(campo, trigrama, id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Devuelve hasta {@code limite} IDs mayores que {@code cursor}, en orden ascendente, cuyo texto en
+     * alguno de los campos indicados contiene la consulta (o, con {@code prefijo}, tiene una palabra que
+     * empieza por ella). Las consultas de menos de tres caracteres siempre se tratan como prefijo de palabra.
+     */
+    public List<Long> buscar(String consulta, boolean prefijo, int[] camposBuscados, long cursor, int limite) {
+        String normalizada = normalizar(consulta);
+        if (normalizada.isEmpty() || limite <= 0) {
+            return Collections.emptyList();
+        }
+        boolean soloPrefijo = prefijo || !contieneTrigrama(normalizada);
+        List<String> claves = trigramasConsulta(normalizada, soloPrefijo);
+        lock.readLock().lock();
+        try {
+            if (camposBuscados.length == 1) {
+                return buscarEnCampo(camposBuscados[0], normalizada, soloPrefijo, claves, cursor, limite);
+            }
+            // Los primeros "limite" IDs del total están entre los primeros "limite" de cada campo
+            TreeSet<Long> union = new TreeSet<>();
+            for (int campo : camposBuscados) {
+                union.addAll(buscarEnCampo(campo, normalizada, soloPrefijo, claves, cursor, limite));
+            }
+            List<Long> resultado = new ArrayList<>(limite);
+            for (Long id : union) {
+                if (resultado.size() == limite) {
+                    break;
+                }
+                resultado.add(id);
+            }
+            return resultado;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentos.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<Long> buscarEnCampo(int campo, String consulta, boolean prefijo, List<String> claves, long cursor, int limite) {
+        ListaIds[] listas = new ListaIds[claves.size()];
+        for (int i = 0; i < listas.length; i++) {
+            listas[i] = trigramas.get(campo).get(claves.get(i));
+            if (listas[i] == null) {
+                return Collections.emptyList();
+            }
+        }
+        // La lista más corta marca los candidatos; las demás solo se consultan por búsqueda binaria
+        Arrays.sort(listas, (a, b) -> Integer.compare(a.tamanio, b.tamanio));
+        ListaIds base = listas[0];
+        List<Long> resultado = new ArrayList<>();
+        for (int i = base.desde(cursor + 1); i < base.tamanio && resultado.size() < limite; i++) {
+            long id = base.ids[i];
+            boolean enTodas = true;
+            for (int j = 1; j < listas.length && enTodas; j++) {
+                enTodas = listas[j].contiene(id);
+            }
+            if (enTodas && coincide(documentos.get(id).textos[campo], consulta, prefijo)) {
+                resultado.add(id);
+            }
+        }
+        return resultado;
+    }
+
+    private static boolean coincide(String texto, String consulta, boolean prefijo) {
+        if (prefijo) {
+            return texto.startsWith(consulta) || texto.contains(" " + consulta);
+        }
+        return texto.contains(consulta);
+    }
+
+    private static boolean contieneTrigrama(String consulta) {
+        for (String palabra : consulta.split(" ")) {
+            if (palabra.length() >= 3) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Basta con un subconjunto de los trigramas que todo texto coincidente debe tener: la confirmación final es exacta
+    private static List<String> trigramasConsulta(String consulta, boolean prefijo) {
+        Set<String> claves = new LinkedHashSet<>();
+        for (String palabra : consulta.split(" ")) {
+            if (prefijo) {
+                claves.addAll(trigramasPalabra("  " + palabra));
+            } else if (palabra.length() >= 3) {
+                claves.addAll(trigramasPalabra(palabra));
+            }
+        }
+        return new ArrayList<>(claves);
+    }
+
+    private static Set<String> trigramasTexto(String texto) {
+        Set<String> claves = new LinkedHashSet<>();
+        if (texto.isEmpty()) {
+            return claves;
+        }
+        for (String palabra : texto.split(" ")) {
+            claves.addAll(trigramasPalabra("  " + palabra + " "));
+        }
+        return claves;
+    }
+
+    private static List<String> trigramasPalabra(String palabra) {
+        List<String> claves = new ArrayList<>();
+        for (int i = 0; i + 3 <= palabra.length(); i++) {
+            claves.add(palabra.substring(i, i + 3));
+        }
+        return claves;
+    }
+
+    private void quitar(int campo, String trigrama, long id) {
+        ListaIds lista = trigramas.get(campo).get(trigrama);
+        if (lista != null && lista.quitar(id) && lista.tamanio == 0) {
+            trigramas.get(campo).remove(trigrama);
+        }
+    }
+
+    private static final class Documento {
+        private final long version;
+        private final String[] textos;
+
+        private Documento(long version, String[] textos) {
+            this.version = version;
+            this.textos = textos;
+        }
+    }
+
+    /**
+     * Lista ordenada de IDs sobre un long[]; como los IDs nuevos son crecientes, agregar suele ser añadir al final.
+     */
+    private static final class ListaIds {
+        private long[] ids = new long[4];
+        private int tamanio;
+
+        private void agregar(long id) {
+            int posicion = tamanio > 0 && ids[tamanio - 1] < id ? tamanio : Arrays.binarySearch(ids, 0, tamanio, id);
+            if (posicion >= 0 && posicion < tamanio) {
+                return; // Ya estaba
+            }
+            int insercion = posicion == tamanio ? tamanio : -posicion - 1;
+            if (tamanio == ids.length) {
+                ids = Arrays.copyOf(ids, tamanio * 2);
+            }
+            System.arraycopy(ids, insercion, ids, insercion + 1, tamanio - insercion);
+            ids[insercion] = id;
+            tamanio++;
+        }
+
+        private boolean quitar(long id) {
+            int posicion = Arrays.binarySearch(ids, 0, tamanio, id);
+            if (posicion < 0) {
+                return false;
+            }
+            System.arraycopy(ids, posicion + 1, ids, posicion, tamanio - posicion - 1);
+            tamanio--;
+            return true;
+        }
+
+        private boolean contiene(long id) {
+            return Arrays.binarySearch(ids, 0, tamanio, id) >= 0;
+        }
+
+        // Posición del primer ID mayor o igual que el indicado
+        private int desde(long id) {
+            int posicion = Arrays.binarySearch(ids, 0, tamanio, id);
+            return posicion >= 0 ? posicion : -posicion - 1;
+        }
+    }
+}
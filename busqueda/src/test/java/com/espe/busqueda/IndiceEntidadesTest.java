@@ -0,0 +1,122 @@
+package com.espe.busqueda;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IndiceEntidadesTest {
+
+    /**
+     * Tabla en memoria con filas (id, version, nombre, especialidad), como las de findTextosDesde.
+     */
+    private static class IndicePrueba extends IndiceEntidades {
+        private final List<Object[]> filas = new ArrayList<>();
+        private Runnable alLeer = () -> { };
+
+        IndicePrueba() {
+            super("curadores", Arrays.asList("nombre", "especialidad"));
+        }
+
+        void fila(long id, long version, String nombre, String especialidad) {
+            filas.add(new Object[]{id, version, nombre, especialidad});
+        }
+
+        @Override
+        protected List<Object[]> leerDesde(long cursor, int lote) {
+            alLeer.run();
+            List<Object[]> resultado = new ArrayList<>();
+            for (Object[] fila : filas) {
+                if ((Long) fila[0] > cursor && resultado.size() < lote) {
+                    resultado.add(fila);
+                }
+            }
+            return resultado;
+        }
+    }
+
+    @Test
+    void cargaLaTablaPorLotes() {
+        IndicePrueba indice = new IndicePrueba();
+        indice.fila(1, 0, "Ana Torres", "Arte colonial");
+        indice.fila(2, 0, "Luis Arteaga", "Arqueología");
+        indice.fila(3, 0, "Rosa Vera", "Arte contemporáneo");
+        indice.fila(5, 0, "Juan Mena", "Fotografía");
+        indice.fila(8, 0, "Carla Ruiz", "Arte textil");
+        assertFalse(indice.isListo());
+
+        indice.cargar(2);
+
+        assertTrue(indice.isListo());
+        assertEquals(Arrays.asList(1L, 2L, 3L, 8L), indice.buscar("arte", false, null, 0, 10));
+        assertEquals(Arrays.asList(1L, 3L, 8L), indice.buscar("arte", true, "especialidad", 0, 10));
+        assertEquals(Collections.singletonList(2L), indice.buscar("arte", false, "nombre", 0, 10));
+    }
+
+    @Test
+    void noIndexaLoEliminadoNiLoCambiadoDuranteLaCarga() {
+        IndicePrueba indice = new IndicePrueba();
+        indice.fila(1, 0, "Ana Torres", "Arte colonial");
+        indice.fila(2, 0, "Luis Arteaga", "Arqueología");
+        indice.fila(3, 0, "Rosa Vera", "Arte contemporáneo");
+        // Escrituras que confirman mientras se lee el primer lote: la carga trae después las filas viejas
+        indice.alLeer = () -> {
+            indice.eliminar(3L);
+            indice.indexar(2L, 1, "Luis Arteaga", "Pintura");
+            indice.alLeer = () -> { };
+        };
+
+        indice.cargar(1);
+
+        assertEquals(Collections.singletonList(1L), indice.buscar("arte", false, "especialidad", 0, 10));
+        assertEquals(Collections.singletonList(2L), indice.buscar("pintura", false, null, 0, 10));
+    }
+
+    @Test
+    void reintentaLaCargaSiLaPrimeraFalla() throws Exception {
+        IndicePrueba indice = new IndicePrueba();
+        indice.fila(1, 0, "Ana Torres", "Arte colonial");
+        indice.alLeer = () -> {
+            indice.alLeer = () -> { };
+            throw new IllegalStateException("Base de datos no disponible");
+        };
+
+        indice.construirEnSegundoPlano(10);
+
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!indice.isListo() && System.nanoTime() < limite) {
+            Thread.sleep(50);
+        }
+        assertTrue(indice.isListo());
+        assertEquals(Collections.singletonList(1L), indice.buscar("arte", false, null, 0, 10));
+        indice.detener();
+    }
+
+    @Test
+    void reconstruirRecogeLoEscritoPorOtrasInstancias() {
+        IndicePrueba indice = new IndicePrueba();
+        indice.fila(1, 0, "Ana Torres", "Arte colonial");
+        indice.fila(2, 0, "Luis Arteaga", "Arqueología");
+        indice.cargar(10);
+
+        // Otra instancia borra el 1 y crea el 3; esta solo lo ve al reconstruir
+        indice.filas.remove(0);
+        indice.fila(3, 0, "Rosa Vera", "Arte contemporáneo");
+        indice.alLeer = () -> {
+            // Mientras se reconstruye se sigue buscando en el índice anterior, y las escrituras llegan a ambos
+            assertEquals(Collections.singletonList(1L), indice.buscar("arte", false, "especialidad", 0, 10));
+            indice.indexar(2L, 1, "Luis Arteaga", "Arte rupestre");
+            indice.alLeer = () -> { };
+        };
+        indice.cargar(10);
+
+        assertEquals(Arrays.asList(2L, 3L), indice.buscar("arte", false, "especialidad", 0, 10));
+    }
+}
@@ -0,0 +1,56 @@
+package com.espe.busqueda;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IndiceTextoTest {
+
+    private static final int[] TODOS = {0, 1};
+
+    private IndiceTexto indice;
+
+    @BeforeEach
+    void setUp() {
+        indice = new IndiceTexto(2);
+        indice.indexar(1, 0, "Museo Nacional", "Quito");
+        indice.indexar(2, 0, "Museo de Arte Colonial", "Quito");
+        indice.indexar(3, 0, "Pumapungo", "Cuenca");
+    }
+
+    @Test
+    void ignoraMayusculasYTildes() {
+        assertEquals(Collections.singletonList(3L), indice.buscar("CUENCA", false, TODOS, 0, 10));
+        indice.indexar(4, 0, "Casa de la Cultura", "Ibarra");
+        assertEquals(Collections.singletonList(4L), indice.buscar("cultúra", false, TODOS, 0, 10));
+    }
+
+    @Test
+    void distingueContieneDePrefijo() {
+        assertEquals(Arrays.asList(1L, 2L), indice.buscar("useo", false, new int[]{0}, 0, 10));
+        assertEquals(Collections.emptyList(), indice.buscar("useo", true, new int[]{0}, 0, 10));
+        assertEquals(Collections.singletonList(2L), indice.buscar("col", true, new int[]{0}, 0, 10));
+    }
+
+    @Test
+    void paginaPorCursor() {
+        assertEquals(Collections.singletonList(1L), indice.buscar("quito", false, TODOS, 0, 1));
+        assertEquals(Collections.singletonList(2L), indice.buscar("quito", false, TODOS, 1, 1));
+    }
+
+    @Test
+    void seMantieneAlDiaConActualizacionesYBorrados() {
+        indice.indexar(1, 1, null, "Guayaquil");
+        assertEquals(Collections.singletonList(2L), indice.buscar("quito", false, TODOS, 0, 10));
+        // Una versión anterior (p. ej. leída por la carga inicial) no pisa la actual
+        indice.indexar(1, 0, "Museo Nacional", "Quito");
+        assertEquals(Collections.singletonList(1L), indice.buscar("guayaquil", false, TODOS, 0, 10));
+
+        indice.eliminar(2);
+        assertEquals(Collections.emptyList(), indice.buscar("quito", false, TODOS, 0, 10));
+    }
+}
@@ -0,0 +1,95 @@
+package com.espe.carga;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resultados de una operación. Las latencias se guardan en microsegundos y se miden desde el instante en
+ * que la petición debía salir según la tasa, no desde que salió: si el servicio o el propio generador se
+ * atrasan, la espera cuenta en la latencia (sin omisión coordinada).
+ */
+final class Estadisticas {
+
+    private static final long MAXIMO_MICROS = TimeUnit.MINUTES.toMicros(5);
+    private static final String DESCARTADA = "descartada";
+
+    private final Operacion operacion;
+    private final Histogram latencias = new ConcurrentHistogram(MAXIMO_MICROS, 3);
+    private final LongAdder correctas = new LongAdder();
+    private final Map<String, LongAdder> errores = new ConcurrentHashMap<>();
+
+    Estadisticas(Operacion operacion) {
+        this.operacion = operacion;
+    }
+
+    /**
+     * Respuesta recibida, correcta o no.
+     */
+    void registrar(int status, long micros) {
+        latencias.recordValue(Math.min(micros, MAXIMO_MICROS));
+        if (operacion.esCorrecta(status)) {
+            correctas.increment();
+        } else {
+            error(String.valueOf(status));
+        }
+    }
+
+    /**
+     * Petición sin respuesta (tiempo de espera, conexión rechazada): su latencia también cuenta.
+     */
+    void registrarFallo(String motivo, long micros) {
+        latencias.recordValue(Math.min(micros, MAXIMO_MICROS));
+        error(motivo);
+    }
+
+    /**
+     * Petición que no llegó a enviarse porque había demasiadas en curso. Se registra con la latencia que
+     * habría visto un cliente real, que deja de esperar al vencer su tiempo de espera; sin ella los
+     * percentiles mejorarían justo cuando el servicio está saturado.
+     */
+    void descartar(long micros) {
+        latencias.recordValue(Math.min(micros, MAXIMO_MICROS));
+        error(DESCARTADA);
+    }
+
+    private void error(String motivo) {
+        errores.computeIfAbsent(motivo, clave -> new LongAdder()).increment();
+    }
+
+    Operacion getOperacion() {
+        return operacion;
+    }
+
+    Histogram getLatencias() {
+        return latencias;
+    }
+
+    long getCorrectas() {
+        return correctas.sum();
+    }
+
+    long getErrores() {
+        long total = 0;
+        for (LongAdder contador : errores.values()) {
+            total += contador.sum();
+        }
+        return total;
+    }
+
+    long getDescartadas() {
+        LongAdder descartadas = errores.get(DESCARTADA);
+        return descartadas == null ? 0 : descartadas.sum();
+    }
+
+    Map<String, Long> getErroresPorMotivo() {
+        Map<String, Long> porMotivo = new TreeMap<>();
+        errores.forEach((motivo, contador) -> porMotivo.put(motivo, contador.sum()));
+        return porMotivo;
+    }
+}
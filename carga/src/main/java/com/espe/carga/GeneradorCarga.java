@@ -0,0 +1,350 @@
+package com.espe.carga;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Generador de carga de modelo abierto: lanza {@code tasa} peticiones por segundo repartidas según la
+ * {@code mezcla}, a intervalos fijos y sin esperar a que terminen las anteriores, durante {@code duracion}.
+ * Así un servicio lento recibe la misma carga que uno rápido y sus esperas aparecen en los percentiles,
+ * en lugar de frenar al generador.
+ * <p>
+ * Al empezar lee los IDs de museos y curadores existentes (hasta {@code precarga}) y crea algunos si no hay.
+ * Lo que se mide durante {@code calentamiento} se descarta. Al terminar imprime los percentiles de cada
+ * operación y los guarda en {@code resultados} (un .hgrm por operación y resumen.csv).
+ * <p>
+ * Con {@code stub=true} arranca también {@link StubCuradores}, que recibe sus propias opciones, para probar
+ * micro_museos sin micro_curadores.
+ * <p>
+ * Ejemplo: {@code tasa=300 duracion=PT2M mezcla=museos.listar=3,museos.obtener=1 stub=true latencia=PT0.02S}
+ */
+public final class GeneradorCarga {
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final int LOTE_PRECARGA = 500;
+    private static final int INTENTOS_PREPARACION = 5;
+
+    private final HttpClient cliente;
+    private final String museosUrl;
+    private final String curadoresUrl;
+    private final Duration timeout;
+    private final Map<Operacion, Estadisticas> estadisticas = new EnumMap<>(Operacion.class);
+    private final Identificadores museos = new Identificadores();
+    private final Identificadores curadores = new Identificadores();
+    // Asignaciones hechas durante la prueba, para que las desasignaciones quiten algo que existe
+    private final BlockingQueue<long[]> asignaciones = new ArrayBlockingQueue<>(10_000);
+    private final AtomicLong creados = new AtomicLong();
+    private final AtomicLong enviadas = new AtomicLong();
+    private final AtomicLong completadas = new AtomicLong();
+
+    GeneradorCarga(String museosUrl, String curadoresUrl, Duration timeout) {
+        this.museosUrl = museosUrl;
+        this.curadoresUrl = curadoresUrl;
+        this.timeout = timeout;
+        // HTTP/1.1 como los clientes reales: con HTTP/2 cada petición intentaría primero el upgrade h2c
+        this.cliente = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+        for (Operacion operacion : Operacion.values()) {
+            estadisticas.put(operacion, new Estadisticas(operacion));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        Opciones opciones = new Opciones(args);
+        StubCuradores stub = opciones.activa("stub") ? new StubCuradores(opciones) : null;
+        try {
+            String curadoresUrl = opciones.texto("curadores.url",
+                    stub != null ? stub.url() : "http://localhost:8004/api/curadores");
+            GeneradorCarga generador = new GeneradorCarga(
+                    opciones.texto("museos.url", "http://localhost:8005/api/museos"), curadoresUrl,
+                    opciones.duracion("timeout", Duration.ofSeconds(10)));
+            if (stub != null) {
+                System.out.println("Sustituto de micro_curadores en " + stub.url()
+                        + " (micro_museos debe arrancar con curadores.url apuntando a él)");
+            }
+            Mezcla mezcla = new Mezcla(opciones.texto("mezcla", Operacion.MEZCLA_POR_DEFECTO));
+            generador.precargar(opciones.entero("precarga", 10_000), opciones.entero("iniciales", 20));
+            generador.ejecutar(mezcla, opciones.decimal("tasa", 100),
+                    opciones.duracion("duracion", Duration.ofMinutes(1)),
+                    opciones.duracion("calentamiento", Duration.ofSeconds(10)),
+                    opciones.entero("max-en-curso", 2_000));
+            generador.informar(System.out, Paths.get(opciones.texto("resultados", "target/carga")));
+        } finally {
+            if (stub != null) {
+                stub.close();
+            }
+        }
+    }
+
+    void precargar(int maximo, int iniciales) throws IOException, InterruptedException {
+        leerIds(museosUrl, museos, maximo);
+        leerIds(curadoresUrl, curadores, maximo);
+        for (int i = museos.tamanio(); i < iniciales; i++) {
+            crear(museosUrl, cuerpoMuseo(), museos);
+        }
+        for (int i = curadores.tamanio(); i < iniciales; i++) {
+            crear(curadoresUrl, cuerpoCurador(), curadores);
+        }
+        System.out.printf("IDs de partida: %d museos, %d curadores%n", museos.tamanio(), curadores.tamanio());
+    }
+
+    private void leerIds(String url, Identificadores ids, int maximo) throws IOException, InterruptedException {
+        String cursor = null;
+        while (ids.tamanio() < maximo) {
+            String pagina = url + "?size=" + LOTE_PRECARGA + (cursor == null ? "" : "&cursor=" + cursor);
+            HttpResponse<String> respuesta = enviarPreparacion(get(pagina));
+            if (respuesta.statusCode() != 200) {
+                throw new IllegalStateException("GET " + pagina + " respondió " + respuesta.statusCode());
+            }
+            JsonNode cuerpo = JSON.readTree(respuesta.body());
+            for (JsonNode elemento : cuerpo.path("content")) {
+                ids.agregar(elemento.path("id").asLong());
+            }
+            if (cuerpo.path("next").isNull() || cuerpo.path("next").isMissingNode()) {
+                return;
+            }
+            cursor = cuerpo.path("next").asText();
+        }
+    }
+
+    private void crear(String url, String cuerpo, Identificadores ids) throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = enviarPreparacion(post(url, cuerpo));
+        if (respuesta.statusCode() != 201) {
+            throw new IllegalStateException("POST " + url + " respondió " + respuesta.statusCode() + ": " + respuesta.body());
+        }
+        ids.agregar(JSON.readTree(respuesta.body()).path("id").asLong());
+    }
+
+    // La preparación reintenta los 5xx: con el sustituto inyectando errores, uno suelto no debe abortar la prueba
+    private HttpResponse<String> enviarPreparacion(HttpRequest peticion) throws IOException, InterruptedException {
+        HttpResponse<String> respuesta = null;
+        for (int intento = 0; intento < INTENTOS_PREPARACION; intento++) {
+            respuesta = cliente.send(peticion, HttpResponse.BodyHandlers.ofString());
+            if (respuesta.statusCode() < 500) {
+                break;
+            }
+            Thread.sleep(200);
+        }
+        return respuesta;
+    }
+
+    void ejecutar(Mezcla mezcla, double tasa, Duration duracion, Duration calentamiento, int maxEnCurso)
+            throws InterruptedException {
+        System.out.printf("%.0f peticiones/s durante %s (+%s de calentamiento): %s%n", tasa, duracion, calentamiento, mezcla);
+        long intervalo = (long) (TimeUnit.SECONDS.toNanos(1) / tasa);
+        long inicio = System.nanoTime();
+        long inicioMedida = inicio + calentamiento.toNanos();
+        long fin = inicioMedida + duracion.toNanos();
+        Semaphore enCurso = new Semaphore(maxEnCurso);
+        ScheduledExecutorService progreso = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread hilo = new Thread(runnable, "carga-progreso");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        progreso.scheduleAtFixedRate(() -> System.out.printf("  %d s: %d enviadas, %d completadas, %d en curso%n",
+                        TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - inicio), enviadas.get(), completadas.get(),
+                        maxEnCurso - enCurso.availablePermits()),
+                5, 5, TimeUnit.SECONDS);
+        try {
+            // Cada petición tiene su instante previsto; si el generador se retrasa, sale en cuanto puede
+            // pero su latencia se sigue contando desde ese instante
+            for (long previsto = inicio; previsto < fin; previsto += intervalo) {
+                long espera = previsto - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(espera);
+                }
+                Operacion operacion = mezcla.elegir(ThreadLocalRandom.current().nextDouble());
+                Estadisticas destino = previsto >= inicioMedida ? estadisticas.get(operacion) : null;
+                if (!enCurso.tryAcquire()) {
+                    if (destino != null) {
+                        // Lo que ya lleva de retraso, y como mínimo el tiempo de espera de una petición enviada
+                        long retraso = System.nanoTime() - previsto;
+                        destino.descartar(TimeUnit.NANOSECONDS.toMicros(Math.max(retraso, timeout.toNanos())));
+                    }
+                    continue;
+                }
+                enviar(operacion, previsto, destino, enCurso);
+            }
+            // Las que siguen en curso terminan, como mucho, al vencer su tiempo de espera
+            if (!enCurso.tryAcquire(maxEnCurso, timeout.toMillis() + 1000, TimeUnit.MILLISECONDS)) {
+                System.out.println("Algunas peticiones no terminaron al acabar la prueba");
+            }
+        } finally {
+            progreso.shutdownNow();
+        }
+    }
+
+    private void enviar(Operacion operacion, long previsto, Estadisticas destino, Semaphore enCurso) {
+        Consumer<HttpResponse<String>> alResponder = respuesta -> { };
+        HttpRequest peticion;
+        switch (operacion) {
+            case MUSEOS_LISTAR:
+                peticion = get(museosUrl + "?size=50&cursor=" + Math.max(0, museos.aleatorio() - 1));
+                break;
+            case MUSEOS_OBTENER:
+                peticion = get(museosUrl + "/" + museos.aleatorio());
+                break;
+            case MUSEOS_CREAR:
+                peticion = post(museosUrl, cuerpoMuseo());
+                alResponder = respuesta -> agregarCreado(respuesta, museos);
+                break;
+            case MUSEOS_ASIGNAR:
+                long[] asignacion = {museos.aleatorio(), curadores.aleatorio()};
+                peticion = post(museosUrl + "/" + asignacion[0] + "/curadores", "{\"id\":" + asignacion[1] + "}");
+                alResponder = respuesta -> {
+                    if (respuesta.statusCode() == 201) {
+                        asignaciones.offer(asignacion);
+                    }
+                };
+                break;
+            case MUSEOS_DESASIGNAR:
+                long[] existente = asignaciones.poll();
+                if (existente == null) {
+                    existente = new long[]{museos.aleatorio(), curadores.aleatorio()};
+                }
+                peticion = HttpRequest.newBuilder(URI.create(museosUrl + "/" + existente[0] + "/curadores/" + existente[1]))
+                        .timeout(timeout).DELETE().build();
+                break;
+            case CURADORES_LISTAR:
+                peticion = get(curadoresUrl + "?size=50&cursor=" + Math.max(0, curadores.aleatorio() - 1));
+                break;
+            case CURADORES_OBTENER:
+                peticion = get(curadoresUrl + "/" + curadores.aleatorio());
+                break;
+            case CURADORES_CREAR:
+                peticion = post(curadoresUrl, cuerpoCurador());
+                alResponder = respuesta -> agregarCreado(respuesta, curadores);
+                break;
+            default:
+                throw new IllegalStateException("Operación sin petición: " + operacion);
+        }
+        Consumer<HttpResponse<String>> procesar = alResponder;
+        enviadas.incrementAndGet();
+        cliente.sendAsync(peticion, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                .whenComplete((respuesta, error) -> {
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - previsto);
+                    try {
+                        if (error == null) {
+                            procesar.accept(respuesta);
+                            if (destino != null) {
+                                destino.registrar(respuesta.statusCode(), micros);
+                            }
+                        } else if (destino != null) {
+                            destino.registrarFallo(motivo(error), micros);
+                        }
+                    } finally {
+                        completadas.incrementAndGet();
+                        enCurso.release();
+                    }
+                });
+    }
+
+    private static String motivo(Throwable error) {
+        Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return causa instanceof HttpTimeoutException ? "timeout" : causa.getClass().getSimpleName();
+    }
+
+    private static void agregarCreado(HttpResponse<String> respuesta, Identificadores ids) {
+        if (respuesta.statusCode() == 201) {
+            try {
+                ids.agregar(JSON.readTree(respuesta.body()).path("id").asLong());
+            } catch (IOException e) {
+                // Respuesta sin ID: la creación cuenta igual, solo que el museo o curador no se reutiliza
+            }
+        }
+    }
+
+    void informar(PrintStream salida, Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        StringBuilder csv = new StringBuilder("operacion,correctas,errores,p50_ms,p90_ms,p99_ms,p99_9_ms,max_ms\n");
+        salida.printf("%n%-19s %10s %8s %9s %9s %9s %9s %9s%n",
+                "operación", "correctas", "errores", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "máx ms");
+        for (Estadisticas resultado : estadisticas.values()) {
+            Histogram latencias = resultado.getLatencias();
+            if (latencias.getTotalCount() == 0 && resultado.getErrores() == 0) {
+                continue;
+            }
+            String nombre = resultado.getOperacion().getNombre();
+            double[] percentiles = {
+                    ms(latencias.getValueAtPercentile(50)), ms(latencias.getValueAtPercentile(90)),
+                    ms(latencias.getValueAtPercentile(99)), ms(latencias.getValueAtPercentile(99.9)),
+                    ms(latencias.getMaxValue())};
+            salida.printf("%-19s %10d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n", nombre, resultado.getCorrectas(),
+                    resultado.getErrores(), percentiles[0], percentiles[1], percentiles[2], percentiles[3], percentiles[4]);
+            if (resultado.getErrores() > 0) {
+                salida.printf("%-19s errores: %s%n", "", resultado.getErroresPorMotivo());
+            }
+            csv.append(String.format(Locale.ROOT, "%s,%d,%d,%.3f,%.3f,%.3f,%.3f,%.3f%n", nombre,
+                    resultado.getCorrectas(), resultado.getErrores(), percentiles[0], percentiles[1], percentiles[2],
+                    percentiles[3], percentiles[4]));
+            // Distribución completa en milisegundos, en el formato que dibuja HdrHistogram Plotter
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(directorio.resolve(nombre + ".hgrm")),
+                    false, StandardCharsets.UTF_8)) {
+                latencias.outputPercentileDistribution(hgrm, 1000.0);
+            }
+        }
+        Files.writeString(directorio.resolve("resumen.csv"), csv, StandardCharsets.UTF_8);
+        salida.println("Distribuciones completas en " + directorio.toAbsolutePath());
+        long descartadas = 0;
+        for (Estadisticas resultado : estadisticas.values()) {
+            descartadas += resultado.getDescartadas();
+        }
+        if (descartadas > 0) {
+            salida.printf("AVISO: %d peticiones descartadas por max-en-curso; cuentan en los percentiles con el "
+                    + "tiempo de espera (%s) y la tasa pedida no llegó al servicio%n", descartadas, timeout);
+        }
+    }
+
+    private static double ms(long micros) {
+        return micros / 1000.0;
+    }
+
+    private HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(timeout).header("Accept", "application/json").GET().build();
+    }
+
+    private HttpRequest post(String url, String json) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(timeout)
+                .header("Content-Type", "application/json").header("Accept", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8)).build();
+    }
+
+    private String cuerpoMuseo() {
+        return "{\"nombre\":\"Museo de carga " + creados.incrementAndGet() + "\",\"ubicacion\":\"Quito\"}";
+    }
+
+    private String cuerpoCurador() {
+        return "{\"nombre\":\"Curador de carga " + creados.incrementAndGet() + "\",\"especialidad\":\"Arte\","
+                + "\"fechaNacimiento\":\"1980-01-01\"}";
+    }
+}
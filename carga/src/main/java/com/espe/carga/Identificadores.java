@@ -0,0 +1,32 @@
+package com.espe.carga;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * IDs conocidos de museos o curadores: los leídos al empezar y los creados durante la prueba. Las operaciones
+ * que necesitan un ID existente eligen uno al azar.
+ */
+final class Identificadores {
+
+    private long[] ids = new long[1024];
+    private int tamanio;
+
+    synchronized void agregar(long id) {
+        if (tamanio == ids.length) {
+            ids = Arrays.copyOf(ids, tamanio * 2);
+        }
+        ids[tamanio++] = id;
+    }
+
+    /**
+     * @return Un ID al azar, o -1 si todavía no hay ninguno.
+     */
+    synchronized long aleatorio() {
+        return tamanio == 0 ? -1 : ids[ThreadLocalRandom.current().nextInt(tamanio)];
+    }
+
+    synchronized int tamanio() {
+        return tamanio;
+    }
+}
@@ -0,0 +1,69 @@
+package com.espe.carga;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Proporción de cada operación, leída de una lista {@code nombre=peso} separada por comas. Los pesos son
+ * relativos: {@code museos.listar=3,museos.obtener=1} lanza tres listados por cada consulta.
+ */
+final class Mezcla {
+
+    private final Operacion[] operaciones;
+    private final double[] acumulados;
+
+    Mezcla(String definicion) {
+        Map<Operacion, Double> pesos = new LinkedHashMap<>();
+        for (String parte : definicion.split(",")) {
+            String[] nombrePeso = parte.trim().split("=");
+            if (nombrePeso.length != 2) {
+                throw new IllegalArgumentException("Elemento de mezcla sin el formato nombre=peso: " + parte);
+            }
+            double peso = Double.parseDouble(nombrePeso[1]);
+            if (peso > 0) {
+                pesos.merge(Operacion.porNombre(nombrePeso[0].trim()), peso, Double::sum);
+            }
+        }
+        if (pesos.isEmpty()) {
+            throw new IllegalArgumentException("La mezcla no tiene ninguna operación con peso positivo");
+        }
+        operaciones = pesos.keySet().toArray(new Operacion[0]);
+        acumulados = new double[operaciones.length];
+        double total = 0;
+        int i = 0;
+        for (double peso : pesos.values()) {
+            total += peso;
+            acumulados[i++] = total;
+        }
+        for (i = 0; i < acumulados.length; i++) {
+            acumulados[i] /= total;
+        }
+    }
+
+    /**
+     * @param aleatorio Número uniforme en [0, 1).
+     */
+    Operacion elegir(double aleatorio) {
+        for (int i = 0; i < acumulados.length - 1; i++) {
+            if (aleatorio < acumulados[i]) {
+                return operaciones[i];
+            }
+        }
+        return operaciones[operaciones.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder();
+        double anterior = 0;
+        for (int i = 0; i < operaciones.length; i++) {
+            if (i > 0) {
+                texto.append(", ");
+            }
+            texto.append(operaciones[i].getNombre()).append(' ')
+                    .append(Math.round((acumulados[i] - anterior) * 1000) / 10.0).append('%');
+            anterior = acumulados[i];
+        }
+        return texto.toString();
+    }
+}
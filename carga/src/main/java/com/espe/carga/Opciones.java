@@ -0,0 +1,50 @@
+package com.espe.carga;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Opciones de línea de comandos con la forma {@code clave=valor}. Las que no se indican toman el valor
+ * por defecto que pasa quien las lee.
+ */
+final class Opciones {
+
+    private final Map<String, String> valores = new HashMap<>();
+
+    Opciones(String[] args) {
+        for (String arg : args) {
+            int igual = arg.indexOf('=');
+            if (igual <= 0) {
+                throw new IllegalArgumentException("Opción sin el formato clave=valor: " + arg);
+            }
+            valores.put(arg.substring(0, igual), arg.substring(igual + 1));
+        }
+    }
+
+    String texto(String clave, String porDefecto) {
+        return valores.getOrDefault(clave, porDefecto);
+    }
+
+    int entero(String clave, int porDefecto) {
+        String valor = valores.get(clave);
+        return valor == null ? porDefecto : Integer.parseInt(valor);
+    }
+
+    double decimal(String clave, double porDefecto) {
+        String valor = valores.get(clave);
+        return valor == null ? porDefecto : Double.parseDouble(valor);
+    }
+
+    boolean activa(String clave) {
+        return Boolean.parseBoolean(valores.get(clave));
+    }
+
+    /**
+     * Duración en formato ISO-8601, como en los application.properties (PT30S, PT0.05S).
+     */
+    Duration duracion(String clave, Duration porDefecto) {
+        String valor = valores.get(clave);
+        return valor == null ? porDefecto : Duration.parse(valor);
+    }
+}
@@ -0,0 +1,48 @@
+package com.espe.carga;
+
+/**
+ * Operaciones que puede lanzar el generador, con el nombre que se usa en la opción {@code mezcla}.
+ */
+enum Operacion {
+
+    MUSEOS_LISTAR("museos.listar"),
+    MUSEOS_OBTENER("museos.obtener"),
+    MUSEOS_CREAR("museos.crear"),
+    MUSEOS_ASIGNAR("museos.asignar"),
+    MUSEOS_DESASIGNAR("museos.desasignar"),
+    CURADORES_LISTAR("curadores.listar"),
+    CURADORES_OBTENER("curadores.obtener"),
+    CURADORES_CREAR("curadores.crear");
+
+    /**
+     * Mezcla por defecto: sobre todo lecturas, como el tráfico normal de los dos servicios.
+     */
+    static final String MEZCLA_POR_DEFECTO = "museos.listar=25,museos.obtener=30,museos.crear=5,museos.asignar=10,"
+            + "museos.desasignar=8,curadores.listar=7,curadores.obtener=12,curadores.crear=3";
+
+    private final String nombre;
+
+    Operacion(String nombre) {
+        this.nombre = nombre;
+    }
+
+    String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Un 409 al asignar (el curador ya estaba asignado) es una respuesta normal con IDs elegidos al azar.
+     */
+    boolean esCorrecta(int status) {
+        return (status >= 200 && status < 300) || (this == MUSEOS_ASIGNAR && status == 409);
+    }
+
+    static Operacion porNombre(String nombre) {
+        for (Operacion operacion : values()) {
+            if (operacion.nombre.equals(nombre)) {
+                return operacion;
+            }
+        }
+        throw new IllegalArgumentException("Operación desconocida: " + nombre);
+    }
+}
@@ -0,0 +1,198 @@
+package com.espe.carga;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.StringJoiner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Sustituto de micro_curadores para probar micro_museos sin él (arrancar micro_museos con
+ * {@code curadores.url=http://localhost:<puerto>/api/curadores}). Responde a las rutas que usa micro_museos y
+ * el generador de carga: GET /api/curadores (lista o página), GET /api/curadores/{id}, POST /api/curadores,
+ * POST /api/curadores/batch y GET /api/curadores/eventos (siempre vacío, así que micro_museos lee los
+ * curadores de aquí y no de su réplica).
+ * <p>
+ * Los curadores 1..{@code curadores} existen desde el arranque y los creados se suman a ellos. Cada respuesta
+ * espera {@code latencia} más un extra uniforme de hasta {@code latencia.variacion}; con probabilidad
+ * {@code lentas} espera {@code latencia.lenta}, y con probabilidad {@code errores} responde
+ * {@code errores.codigo} sin cuerpo útil.
+ */
+public final class StubCuradores implements AutoCloseable {
+
+    private static final Pattern NUMERO = Pattern.compile("\\d+");
+
+    private final HttpServer servidor;
+    private final ExecutorService hilos = Executors.newCachedThreadPool(runnable -> {
+        Thread hilo = new Thread(runnable, "stub-curadores");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final AtomicLong ultimoId;
+    private final long latenciaNanos;
+    private final long variacionNanos;
+    private final long lentaNanos;
+    private final double lentas;
+    private final double errores;
+    private final int codigoError;
+
+    StubCuradores(Opciones opciones) throws IOException {
+        ultimoId = new AtomicLong(opciones.entero("curadores", 10_000));
+        latenciaNanos = opciones.duracion("latencia", Duration.ofMillis(5)).toNanos();
+        variacionNanos = opciones.duracion("latencia.variacion", Duration.ZERO).toNanos();
+        lentaNanos = opciones.duracion("latencia.lenta", Duration.ofSeconds(3)).toNanos();
+        lentas = opciones.decimal("lentas", 0);
+        errores = opciones.decimal("errores", 0);
+        codigoError = opciones.entero("errores.codigo", 503);
+
+        servidor = HttpServer.create(new InetSocketAddress(opciones.entero("puerto", 8004)), 0);
+        // Cada respuesta duerme su latencia en su propio hilo, como un servidor con un hilo por petición
+        servidor.setExecutor(hilos);
+        servidor.createContext("/api/curadores", this::atender);
+        servidor.start();
+    }
+
+    public static void main(String[] args) throws Exception {
+        StubCuradores stub = new StubCuradores(new Opciones(args));
+        System.out.println("Sustituto de micro_curadores en " + stub.url());
+        Thread.currentThread().join();
+    }
+
+    String url() {
+        return "http://localhost:" + servidor.getAddress().getPort() + "/api/curadores";
+    }
+
+    private void atender(HttpExchange exchange) throws IOException {
+        try {
+            esperar();
+            if (errores > 0 && ThreadLocalRandom.current().nextDouble() < errores) {
+                responder(exchange, codigoError, "{\"message\":\"Error simulado\"}");
+                return;
+            }
+            String metodo = exchange.getRequestMethod();
+            URI uri = exchange.getRequestURI();
+            String ruta = uri.getPath().replaceAll("/+$", "");
+            if ("POST".equals(metodo) && ruta.endsWith("/batch")) {
+                responder(exchange, 200, batch(leer(exchange)));
+            } else if ("POST".equals(metodo) && ruta.endsWith("/api/curadores")) {
+                leer(exchange);
+                responder(exchange, 201, curador(ultimoId.incrementAndGet()));
+            } else if ("GET".equals(metodo) && ruta.endsWith("/eventos")) {
+                responder(exchange, 200, "[]");
+            } else if ("GET".equals(metodo) && ruta.endsWith("/api/curadores")) {
+                responder(exchange, 200, lista(uri.getRawQuery()));
+            } else if ("GET".equals(metodo) && NUMERO.matcher(ruta.substring(ruta.lastIndexOf('/') + 1)).matches()) {
+                long id = Long.parseLong(ruta.substring(ruta.lastIndexOf('/') + 1));
+                if (existe(id)) {
+                    responder(exchange, 200, curador(id));
+                } else {
+                    responder(exchange, 404, "{\"message\":\"Curador no encontrado\"}");
+                }
+            } else {
+                responder(exchange, 404, "{\"message\":\"Ruta no soportada por el sustituto\"}");
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void esperar() {
+        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+        long nanos = lentas > 0 && aleatorio.nextDouble() < lentas
+                ? lentaNanos
+                : latenciaNanos + (variacionNanos > 0 ? aleatorio.nextLong(variacionNanos) : 0);
+        if (nanos > 0) {
+            try {
+                Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private String batch(String cuerpo) {
+        StringJoiner curadores = new StringJoiner(",", "[", "]");
+        Matcher ids = NUMERO.matcher(cuerpo);
+        while (ids.find()) {
+            long id = Long.parseLong(ids.group());
+            if (existe(id)) {
+                curadores.add(curador(id));
+            }
+        }
+        return curadores.toString();
+    }
+
+    // Sin cursor ni size, la lista entera como micro_curadores; si no, una página por ID
+    private String lista(String query) {
+        Long cursor = parametro(query, "cursor");
+        Long size = parametro(query, "size");
+        long ultimo = ultimoId.get();
+        long desde = cursor == null ? 0 : cursor;
+        long hasta = cursor == null && size == null
+                ? ultimo
+                : Math.min(ultimo, desde + Math.max(1, Math.min(size == null ? 50 : size, 500)));
+        StringJoiner contenido = new StringJoiner(",", "[", "]");
+        for (long id = desde + 1; id <= hasta; id++) {
+            contenido.add(curador(id));
+        }
+        if (cursor == null && size == null) {
+            return contenido.toString();
+        }
+        String next = hasta < ultimo ? String.valueOf(hasta) : "null";
+        return "{\"content\":" + contenido + ",\"size\":" + Math.max(0, hasta - desde) + ",\"next\":" + next + "}";
+    }
+
+    private static Long parametro(String query, String nombre) {
+        if (query == null) {
+            return null;
+        }
+        for (String par : query.split("&")) {
+            if (par.startsWith(nombre + "=")) {
+                return Long.valueOf(par.substring(nombre.length() + 1));
+            }
+        }
+        return null;
+    }
+
+    private boolean existe(long id) {
+        return id >= 1 && id <= ultimoId.get();
+    }
+
+    private static String curador(long id) {
+        return "{\"id\":" + id + ",\"nombre\":\"Curador " + id + "\",\"especialidad\":\"Arte\","
+                + "\"fechaNacimiento\":\"1980-01-01\",\"version\":0}";
+    }
+
+    private static String leer(HttpExchange exchange) throws IOException {
+        try (InputStream cuerpo = exchange.getRequestBody()) {
+            return new String(cuerpo.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void responder(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    @Override
+    public void close() {
+        servidor.stop(0);
+        hilos.shutdownNow();
+    }
+}
@@ -0,0 +1,152 @@
+package com.espe.formatos;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.StringJoiner;
+
+/**
+ * Da a cada formato de respuesta su propio ETag. JSON y CBOR son representaciones distintas del mismo estado, así
+ * que no pueden compartir un ETag fuerte: una caché que guardó el JSON respondería 304 a quien pide CBOR.
+ * <p>
+ * Los controladores siguen calculando el ETag a partir del estado (ID y versión, consulta agregada, página). En las
+ * peticiones que se responden en CBOR este filtro le añade {@value #SUFIJO_CBOR} al escribirlo, y se lo quita a los
+ * If-None-Match e If-Match recibidos antes de que los compare el controlador. Un ETag del otro formato nunca
+ * coincide: el de CBOR en una petición JSON conserva el sufijo y el de JSON en una petición CBOR recibe
+ * {@value #SUFIJO_OTRO_FORMATO}. Todas las respuestas llevan Vary: Accept.
+ */
+@Component
+public class EtagPorFormato extends OncePerRequestFilter {
+
+    static final String SUFIJO_CBOR = "-cbor";
+    static final String SUFIJO_OTRO_FORMATO = "-json";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (!pideCbor(request.getHeader(HttpHeaders.ACCEPT))) {
+            chain.doFilter(request, response);
+            return;
+        }
+        chain.doFilter(new PeticionCbor(request), new RespuestaCbor(response));
+    }
+
+    /**
+     * Si la respuesta irá en CBOR: el tipo preferido del Accept (por calidad y luego por especificidad) que admite
+     * JSON o CBOR admite solo CBOR. Sin Accept o con comodines se responde JSON, igual que la negociación de Spring,
+     * que tiene el conversor JSON antes que el de CBOR.
+     */
+    public static boolean pideCbor(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return false;
+        }
+        List<MediaType> tipos;
+        try {
+            tipos = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+        MimeTypeUtils.sortBySpecificity(tipos);
+        for (MediaType tipo : tipos) {
+            if (tipo.getQualityValue() == 0) {
+                continue;
+            }
+            boolean json = tipo.isCompatibleWith(MediaType.APPLICATION_JSON);
+            if (json || tipo.isCompatibleWith(MediaType.APPLICATION_CBOR)) {
+                return !json;
+            }
+        }
+        return false;
+    }
+
+    private static boolean esCondicional(String cabecera) {
+        return HttpHeaders.IF_NONE_MATCH.equalsIgnoreCase(cabecera) || HttpHeaders.IF_MATCH.equalsIgnoreCase(cabecera);
+    }
+
+    /**
+     * Quita el sufijo CBOR a los ETag recibidos; a los que no lo tienen les pone el del otro formato.
+     */
+    static String etagsRecibidos(String valor) {
+        List<ETag> etags = ETag.parse(valor);
+        if (etags.isEmpty()) {
+            return valor;
+        }
+        StringJoiner resultado = new StringJoiner(", ");
+        for (ETag etag : etags) {
+            if (etag.isWildcard()) {
+                resultado.add(etag.formattedTag());
+                continue;
+            }
+            String tag = etag.tag();
+            tag = tag.endsWith(SUFIJO_CBOR)
+                    ? tag.substring(0, tag.length() - SUFIJO_CBOR.length())
+                    : tag + SUFIJO_OTRO_FORMATO;
+            resultado.add(new ETag(tag, etag.weak()).formattedTag());
+        }
+        return resultado.toString();
+    }
+
+    static String etagCbor(String valor) {
+        ETag etag = ETag.create(valor);
+        return new ETag(etag.tag() + SUFIJO_CBOR, etag.weak()).formattedTag();
+    }
+
+    private static class PeticionCbor extends HttpServletRequestWrapper {
+
+        PeticionCbor(HttpServletRequest request) {
+            super(request);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            String valor = super.getHeader(name);
+            return valor != null && esCondicional(name) ? etagsRecibidos(valor) : valor;
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            if (!esCondicional(name)) {
+                return super.getHeaders(name);
+            }
+            List<String> valores = new ArrayList<>();
+            for (String valor : Collections.list(super.getHeaders(name))) {
+                valores.add(etagsRecibidos(valor));
+            }
+            return Collections.enumeration(valores);
+        }
+    }
+
+    private static class RespuestaCbor extends HttpServletResponseWrapper {
+
+        RespuestaCbor(HttpServletResponse response) {
+            super(response);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            super.setHeader(name, value != null && HttpHeaders.ETAG.equalsIgnoreCase(name) ? etagCbor(value) : value);
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            super.addHeader(name, value != null && HttpHeaders.ETAG.equalsIgnoreCase(name) ? etagCbor(value) : value);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.espe.formatos;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Cada formato tiene su ETag: el de CBOR lleva sufijo, el controlador compara siempre el ETag del estado y el
+ * ETag de un formato no vale para el otro.
+ */
+class EtagPorFormatoTest {
+
+    private final EtagPorFormato filtro = new EtagPorFormato();
+
+    @Test
+    void jsonConservaElEtagYNoAceptaElDeCbor() throws Exception {
+        MockHttpServletRequest request = peticion("application/json");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"5-3-cbor\"");
+        List<String> recibidos = new ArrayList<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, controlador(recibidos));
+
+        assertEquals(List.of("\"5-3-cbor\""), recibidos);
+        assertEquals("\"5-3\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    void cborLlevaSufijoYNoAceptaElDeJson() throws Exception {
+        MockHttpServletRequest request = peticion("application/cbor");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"5-3-cbor\", \"5-3\", W/\"5-2-cbor\"");
+        request.addHeader(HttpHeaders.IF_MATCH, "*");
+        List<String> recibidos = new ArrayList<>();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filtro.doFilter(request, response, controlador(recibidos));
+
+        assertEquals(List.of("\"5-3\", \"5-3-json\", W/\"5-2\"", "*"), recibidos);
+        assertEquals("\"5-3-cbor\"", response.getHeader(HttpHeaders.ETAG));
+        assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+    }
+
+    @Test
+    void elFormatoSaleDelTipoPreferidoDelAccept() {
+        assertFalse(EtagPorFormato.pideCbor(null));
+        assertFalse(EtagPorFormato.pideCbor("*/*"));
+        assertFalse(EtagPorFormato.pideCbor("application/json, application/cbor"));
+        assertFalse(EtagPorFormato.pideCbor("application/cbor;q=0.5, application/json"));
+        assertFalse(EtagPorFormato.pideCbor("application/cbor;q=0, */*"));
+        assertFalse(EtagPorFormato.pideCbor("no es un tipo"));
+        assertTrue(EtagPorFormato.pideCbor("application/cbor"));
+        assertTrue(EtagPorFormato.pideCbor("application/cbor, */*"));
+        assertTrue(EtagPorFormato.pideCbor("application/json;q=0.5, application/cbor"));
+    }
+
+    private static MockHttpServletRequest peticion(String accept) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/curadores/5");
+        request.addHeader(HttpHeaders.ACCEPT, accept);
+        return request;
+    }
+
+    /**
+     * Hace de controlador: anota los If-None-Match e If-Match que ve y responde con el ETag del estado.
+     */
+    private static FilterChain controlador(List<String> recibidos) {
+        return (request, response) -> {
+            HttpServletRequest http = (HttpServletRequest) request;
+            if (http.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+                recibidos.add(http.getHeaders(HttpHeaders.IF_NONE_MATCH).nextElement());
+            }
+            if (http.getHeader(HttpHeaders.IF_MATCH) != null) {
+                recibidos.add(http.getHeader(HttpHeaders.IF_MATCH));
+            }
+            ((HttpServletResponse) response).setHeader(HttpHeaders.ETAG, "\"5-3\"");
+        };
+    }
+}
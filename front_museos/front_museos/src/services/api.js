@@ -15,10 +15,30 @@ const curadoresApi = axios.create({
   headers: { "Content-Type": "application/json" },
 });
 
+// Tras una escritura, el backend devuelve su hora en X-Ultima-Escritura; reenviarla hace que las lecturas
+// siguientes vayan a la base de datos principal y no a una réplica que aún no tiene el cambio
+let ultimaEscritura = null;
+[axios, museosApi, curadoresApi].forEach((cliente) => {
+  cliente.interceptors.request.use((config) => {
+    if (ultimaEscritura) {
+      config.headers["X-Ultima-Escritura"] = ultimaEscritura;
+    }
+    return config;
+  });
+  cliente.interceptors.response.use((response) => {
+    const hora = response.headers["x-ultima-escritura"];
+    if (hora) {
+      ultimaEscritura = hora;
+    }
+    return response;
+  });
+});
+
 // 📌 Función para obtener la lista de museos
 export const fetchMuseos = async () => {
   try {
-    const response = await axios.get(API_MUSEOS_URL); // Llamado directo a la API
+    // Solo los campos que muestra la tabla; el backend no lee ni envía el resto
+    const response = await axios.get(API_MUSEOS_URL, { params: { fields: "id,nombre,ubicacion" } });
     console.log("Museos recibidos:", response.data); // Depuración
     return response.data;
   } catch (error) {
@@ -71,7 +91,7 @@ export const updateMuseo = async (id, museo) => {
 // 📌 Función para obtener la lista de curadores
 export const fetchCuradores = async () => {
   try {
-    const response = await axios.get(API_CURADORES_URL);
+    const response = await axios.get(API_CURADORES_URL, { params: { fields: "id,nombre,especialidad" } });
     console.log("Curadores recibidos:", response.data); // Depuración
     return response.data;
   } catch (error) {
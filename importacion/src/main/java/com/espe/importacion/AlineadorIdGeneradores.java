@@ -0,0 +1,63 @@
+package com.espe.importacion;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Ajusta la tabla id_generadores al arrancar para que los IDs reservados por el
+ * generador de tabla (en bloques de {@value #ALLOCATION_SIZE}) nunca choquen con filas
+ * creadas antes, cuando los IDs venían del AUTO_INCREMENT de la tabla.
+ */
+@Component
+public class AlineadorIdGeneradores implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(AlineadorIdGeneradores.class);
+
+    // Debe coincidir con allocationSize de los @TableGenerator
+    private static final int ALLOCATION_SIZE = 50;
+
+    // Tablas cuyos IDs vienen de id_generadores; su clave ahí es el mismo nombre de la tabla
+    @Value("${id-generadores.tablas:}")
+    private List<String> tablas;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Se ejecuta con el esquema ya actualizado por Hibernate y antes de que el servidor acepte peticiones
+    @Override
+    public void afterSingletonsInstantiated() {
+        tablas.forEach(this::alinear);
+    }
+
+    private void alinear(String tabla) {
+        String entidad = tabla;
+        Long maximo = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + tabla, Long.class);
+        // El optimizador pooled entrega el bloque (valor - ALLOCATION_SIZE, valor]
+        long minimo = maximo + ALLOCATION_SIZE + 1;
+
+        List<Long> actual = jdbcTemplate.queryForList(
+                "SELECT siguiente_valor FROM id_generadores WHERE entidad = ?", Long.class, entidad);
+        if (actual.isEmpty()) {
+            try {
+                jdbcTemplate.update("INSERT INTO id_generadores (entidad, siguiente_valor) VALUES (?, ?)", entidad, minimo);
+                log.info("Generador de IDs de {} inicializado en {}", tabla, minimo);
+                return;
+            } catch (DuplicateKeyException e) {
+                // Otra instancia lo creó al mismo tiempo; se ajusta abajo
+            }
+        }
+        int ajustadas = jdbcTemplate.update(
+                "UPDATE id_generadores SET siguiente_valor = ? WHERE entidad = ? AND siguiente_valor < ?", minimo, entidad, minimo);
+        if (ajustadas > 0) {
+            log.info("Generador de IDs de {} ajustado a {}", tabla, minimo);
+        }
+    }
+}
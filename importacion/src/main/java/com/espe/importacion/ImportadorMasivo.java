@@ -0,0 +1,87 @@
+package com.espe.importacion;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Lee una importación masiva como arreglo JSON o NDJSON (un objeto por línea) sin cargarla
+ * entera en memoria, valida cada elemento y entrega los válidos en lotes del tamaño del
+ * batch de JDBC para que se inserten con una sola ida y vuelta por lote.
+ */
+@Component
+public class ImportadorMasivo {
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Value("${importacion.lote:500}")
+    private int tamanioLote;
+
+    /**
+     * @param guardarLote guarda un lote de elementos válidos y devuelve cuántos se crearon.
+     * @throws IOException si la entrada no es JSON bien formado; los lotes anteriores ya quedaron guardados.
+     */
+    public <T> ResultadoImportacion importar(InputStream entrada, Class<T> tipo, Function<List<T>, Integer> guardarLote,
+                                             ResultadoImportacion resultado) throws IOException {
+        List<T> lote = new ArrayList<>(tamanioLote);
+        // readValues recorre tanto los elementos de un arreglo raíz como valores separados por saltos de línea
+        try (MappingIterator<JsonNode> elementos = objectMapper.readerFor(JsonNode.class).readValues(entrada)) {
+            long indice = 0;
+            while (elementos.hasNextValue()) {
+                JsonNode nodo = elementos.nextValue();
+                resultado.registrarRecibido();
+                convertir(nodo, tipo, indice, lote, resultado);
+                if (lote.size() >= tamanioLote) {
+                    resultado.registrarCreados(guardarLote.apply(lote));
+                    lote.clear();
+                }
+                indice++;
+            }
+        }
+        if (!lote.isEmpty()) {
+            resultado.registrarCreados(guardarLote.apply(lote));
+        }
+        return resultado;
+    }
+
+    private <T> void convertir(JsonNode nodo, Class<T> tipo, long indice, List<T> lote, ResultadoImportacion resultado) {
+        T elemento;
+        try {
+            elemento = objectMapper.treeToValue(nodo, tipo);
+        } catch (JsonProcessingException e) {
+            resultado.registrarError(indice, Collections.singletonMap("json", e.getOriginalMessage()));
+            return;
+        } catch (IllegalArgumentException e) {
+            resultado.registrarError(indice, Collections.singletonMap("json", e.getMessage()));
+            return;
+        }
+        Map<String, String> errores = new HashMap<>();
+        for (ConstraintViolation<T> violacion : validator.validate(elemento)) {
+            errores.put(violacion.getPropertyPath().toString(), violacion.getMessage());
+        }
+        if (errores.isEmpty()) {
+            lote.add(elemento);
+        } else {
+            resultado.registrarError(indice, errores);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.espe.importacion;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resultado de una importación masiva: cuántos elementos se recibieron y crearon,
+ * y los errores de validación de cada elemento rechazado (por su posición en la entrada).
+ */
+public class ResultadoImportacion {
+
+    // Se limita el detalle para que una entrada muy defectuosa no genere una respuesta enorme
+    private static final int MAX_ERRORES_DETALLADOS = 1000;
+
+    private long recibidos;
+    private long creados;
+    private long rechazados;
+    private List<Map<String, Object>> errores = new ArrayList<>();
+
+    public void registrarRecibido() {
+        recibidos++;
+    }
+
+    public void registrarCreados(int cantidad) {
+        creados += cantidad;
+    }
+
+    public void registrarError(long indice, Map<String, String> detalle) {
+        rechazados++;
+        if (errores.size() < MAX_ERRORES_DETALLADOS) {
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("indice", indice);
+            error.put("errores", detalle);
+            errores.add(error);
+        }
+    }
+
+    // Getters
+    public long getRecibidos() {
+        return recibidos;
+    }
+
+    public long getCreados() {
+        return creados;
+    }
+
+    public long getRechazados() {
+        return rechazados;
+    }
+
+    public List<Map<String, Object>> getErrores() {
+        return errores;
+    }
+}
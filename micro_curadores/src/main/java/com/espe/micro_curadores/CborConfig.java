@@ -0,0 +1,22 @@
+package com.espe.micro_curadores;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Respuestas en CBOR (application/cbor) para los clientes que lo pidan en Accept, con la misma
+ * configuración de Jackson que JSON. micro_museos lo usa en todas sus llamadas a este servicio.
+ * Las respuestas CBOR llevan su propio ETag (ver {@link com.espe.formatos.EtagPorFormato}).
+ */
+@Configuration
+public class CborConfig {
+
+    // El builder de Spring Boot ya trae los módulos y las propiedades spring.jackson.*
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
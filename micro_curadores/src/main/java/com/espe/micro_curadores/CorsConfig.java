@@ -10,8 +10,9 @@ public class CorsConfig implements WebMvcConfigurer {
     public void addCorsMappings(CorsRegistry registry) {
         registry.addMapping("/**") // Aplica a todos los endpoints
                 .allowedOrigins("http://localhost:5173") // Permite solicitudes desde tu frontend
-                .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS") // Métodos permitidos
+                .allowedMethods("GET", "POST", "PUT", "PATCH", "DELETE", "OPTIONS") // Métodos permitidos
                 .allowedHeaders("*") // Permitir todos los encabezados
+                .exposedHeaders("ETag", "X-Ultima-Escritura") // Revalidar con If-None-Match y leer lo recién escrito
                 .allowCredentials(true); // Permitir uso de cookies o credenciales
     }
 }
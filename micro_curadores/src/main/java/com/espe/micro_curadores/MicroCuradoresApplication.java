@@ -2,8 +2,11 @@ package com.espe.micro_curadores;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableAsync;
 
-@SpringBootApplication
+@EnableAsync
+// Además del propio paquete, los componentes de los módulos compartidos
+@SpringBootApplication(scanBasePackages = {"com.espe.micro_curadores", "com.espe.admision", "com.espe.basedatos", "com.espe.monitoreo", "com.espe.importacion", "com.espe.formatos"})
 public class MicroCuradoresApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,105 @@
+package com.espe.micro_curadores.busqueda;
+
+import com.espe.busqueda.IndiceEntidades;
+import com.espe.micro_curadores.models.CambiosCurador;
+import com.espe.micro_curadores.models.entities.Curador;
+import com.espe.micro_curadores.models.entities.EventoCurador;
+import com.espe.micro_curadores.repositories.CuradorRepository;
+import com.espe.micro_curadores.repositories.EventoCuradorRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Índice de búsqueda de curadores por nombre y especialidad, que CuradorServiceImpl mantiene al día en cada escritura.
+ * Las escrituras de las demás instancias llegan por la tabla curador_eventos, que se lee cada
+ * {@code busqueda.eventos.intervalo} desde el último evento aplicado.
+ */
+@Component
+public class IndiceCuradores extends IndiceEntidades implements DisposableBean {
+
+    public static final List<String> CAMPOS = Arrays.asList("nombre", "especialidad");
+
+    @Autowired
+    private CuradorRepository repository;
+
+    @Autowired
+    private EventoCuradorRepository eventoRepository;
+
+    @Value("${busqueda.carga.lote:5000}")
+    private int lote;
+
+    @Value("${busqueda.eventos.intervalo:PT5S}")
+    private Duration intervaloEventos;
+
+    @Value("${curadores.eventos.retraso:PT2S}")
+    private Duration retrasoEventos;
+
+    // Solo lo usa el hilo del índice
+    private long ultimoEvento;
+
+    public IndiceCuradores() {
+        super("curadores", CAMPOS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        construirEnSegundoPlano(lote);
+        cadaCierto(intervaloEventos, this::aplicarEventos);
+    }
+
+    // Se toma antes de leer la tabla: lo que se confirme durante la carga llega después como evento
+    @Override
+    protected void alIniciarCarga() {
+        ultimoEvento = eventoRepository.findUltimoIdAnterior(retrasoEventos.getSeconds());
+    }
+
+    @Override
+    protected List<Object[]> leerDesde(long cursor, int lote) {
+        return repository.findTextosDesde(cursor, Limit.of(lote));
+    }
+
+    /**
+     * Aplica los eventos posteriores al último aplicado. Repetir los de esta instancia no cambia nada: el índice
+     * descarta las versiones anteriores a la que tiene. Un evento que se confirme más tarde que el retraso queda
+     * sin aplicar hasta que el curador vuelva a cambiar o el índice se reconstruya.
+     */
+    void aplicarEventos() {
+        if (!isListo()) {
+            return;
+        }
+        List<EventoCurador> eventos;
+        do {
+            eventos = eventoRepository.findDesde(ultimoEvento, retrasoEventos.getSeconds(), Limit.of(lote));
+            for (EventoCurador evento : eventos) {
+                if (EventoCurador.ELIMINADO.equals(evento.getTipo())) {
+                    eliminar(evento.getCuradorId());
+                } else {
+                    indexar(evento.getCuradorId(), evento.getVersion(), evento.getNombre(), evento.getEspecialidad());
+                }
+                ultimoEvento = evento.getId();
+            }
+        } while (eventos.size() == lote);
+    }
+
+    public void indexar(Curador curador) {
+        indexar(curador.getId(), curador.getVersion(), curador.getNombre(), curador.getEspecialidad());
+    }
+
+    public void actualizar(Long id, long version, CambiosCurador cambios) {
+        indexar(id, version, cambios.getNombre(), cambios.getEspecialidad());
+    }
+
+    @Override
+    public void destroy() {
+        detener();
+    }
+}
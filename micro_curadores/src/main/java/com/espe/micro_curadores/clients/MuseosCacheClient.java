@@ -0,0 +1,47 @@
+package com.espe.micro_curadores.clients;
+
+import com.espe.admision.LlamadasInternas;
+import com.espe.basedatos.EnrutadorDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Avisa a micro_museos de que un curador cambió para que lo saque de su caché.
+ * El aviso es asíncrono y de mejor esfuerzo: si falla, la entrada caduca igualmente
+ * por el TTL configurado en micro_museos.
+ */
+@Component
+public class MuseosCacheClient {
+
+    private static final Logger log = LoggerFactory.getLogger(MuseosCacheClient.class);
+
+    private final RestClient restClient;
+
+    // Sin el builder autoconfigurado (p. ej. en una aplicación no web) se usa uno por defecto
+    public MuseosCacheClient(ObjectProvider<RestClient.Builder> builder, LlamadasInternas llamadasInternas,
+                             @Value("${museos.cache.url:http://localhost:8005/api/cache/curadores}") String url) {
+        RestClient.Builder cliente = builder.getIfAvailable(RestClient::builder).baseUrl(url);
+        // Las invalidaciones son llamadas internas: van a la clase de admisión interna de micro_museos
+        if (llamadasInternas.isConfigurada()) {
+            cliente.defaultHeader(llamadasInternas.getCabecera(), llamadasInternas.getClave());
+        }
+        this.restClient = cliente.build();
+    }
+
+    @Async
+    public void invalidarCurador(Long id) {
+        try {
+            // La hora de la escritura hace que micro_museos vuelva a leer el curador del primario, no de la réplica
+            restClient.delete().uri("/{id}", id)
+                    .header(EnrutadorDataSource.CABECERA, String.valueOf(System.currentTimeMillis()))
+                    .retrieve().toBodilessEntity();
+        } catch (Exception e) {
+            log.warn("No se pudo invalidar el curador {} en la caché de micro_museos: {}", id, e.getMessage());
+        }
+    }
+}
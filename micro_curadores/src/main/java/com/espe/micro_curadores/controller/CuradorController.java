@@ -1,58 +1,324 @@
 package com.espe.micro_curadores.controller;
 
+import com.espe.micro_curadores.busqueda.IndiceCuradores;
+import com.espe.micro_curadores.models.CambiosCurador;
+import com.espe.micro_curadores.models.CuradorResumen;
+import com.espe.micro_curadores.models.EstadisticasCuradores;
+import com.espe.micro_curadores.models.EstadoColeccion;
+import com.espe.micro_curadores.models.Pagina;
+import com.espe.importacion.ResultadoImportacion;
 import com.espe.micro_curadores.models.entities.Curador;
 import com.espe.micro_curadores.services.CuradorService;
+import com.espe.micro_curadores.services.EstadisticasEspecialidades;
+import com.espe.importacion.ImportadorMasivo;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/curadores")
 @Tag(name = "Curadores API", description = "Operaciones relacionadas con la gestión de curadores")
 public class CuradorController {
 
+    private static final int MAX_BATCH = 1000;
+
     @Autowired
     private CuradorService service;
 
+    @Autowired
+    private ImportadorMasivo importador;
+
+    @Autowired
+    private EstadisticasEspecialidades estadisticas;
+
+    @Value("${paginacion.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${paginacion.max-size:500}")
+    private int maxPageSize;
+
     @GetMapping
     @Operation(
             summary = "Obtener todos los curadores",
-            description = "Devuelve una lista de todos los curadores registrados en el sistema.",
+            description = "Devuelve una lista de todos los curadores registrados en el sistema. Si se indica cursor o size, "
+                    + "devuelve una página ordenada por ID y el cursor next para pedir la siguiente. Devuelve un ETag y responde 304 "
+                    + "si coincide con If-None-Match. Con fields (p. ej. fields=id,nombre) cada curador trae solo esos campos, leídos sin "
+                    + "cargar el curador completo; se admiten id, nombre, especialidad, fechaNacimiento, creadoEn y version.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Lista obtenida correctamente"),
+                    @ApiResponse(responseCode = "304", description = "La lista no cambió desde el ETag indicado en If-None-Match"),
+                    @ApiResponse(responseCode = "400", description = "fields incluye un campo no admitido"),
                     @ApiResponse(responseCode = "500", description = "Error interno del servidor")
             }
     )
-    public ResponseEntity<?> findAll() {
-        return ResponseEntity.ok().body(service.findAll());
+    public ResponseEntity<?> findAll(@RequestParam(required = false) Long cursor,
+                                     @RequestParam(required = false) Integer size,
+                                     @RequestParam(required = false) String fields,
+                                     WebRequest request) {
+        if (fields != null) {
+            return listarResumen(cursor, size, fields, request);
+        }
+        if (cursor == null && size == null) {
+            // El ETag sale de una consulta agregada, así que un 304 no carga ningún curador
+            String etag = etagColeccion(service.findEstadoColeccion());
+            if (noModificado(request, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(service.findAll());
+        }
+        int tamanio = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        Pagina<Curador> pagina = service.findPagina(cursor, tamanio);
+        // Spring responde 304 sin serializar la página si el ETag coincide con If-None-Match
+        return ResponseEntity.ok().eTag(etagPagina(pagina)).body(pagina);
+    }
+
+    private ResponseEntity<?> listarResumen(Long cursor, Integer size, String fields, WebRequest request) {
+        Set<String> campos = campos(fields);
+        if (!camposValidos(campos)) {
+            return camposNoValidos();
+        }
+        if (cursor == null && size == null) {
+            String etag = etagConCampos(etagColeccion(service.findEstadoColeccion()), campos);
+            if (noModificado(request, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(service.findAllResumen(campos));
+        }
+        int tamanio = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        Pagina<CuradorResumen> pagina = service.findPaginaResumen(campos, cursor, tamanio);
+        return ResponseEntity.ok().eTag(etagPaginaResumen(pagina, campos)).body(pagina);
+    }
+
+    @GetMapping("/search")
+    @Operation(
+            summary = "Buscar curadores por nombre o especialidad",
+            description = "Busca sin distinguir mayúsculas ni tildes en un índice en memoria. Con modo=contiene (por defecto) "
+                    + "el texto debe contener la consulta; con modo=prefijo, alguna palabra debe empezar por ella. Las consultas "
+                    + "de menos de tres letras se tratan como prefijo. campo limita la búsqueda a nombre o especialidad. "
+                    + "Los resultados se paginan por cursor igual que GET /api/curadores.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Página de curadores encontrados"),
+                    @ApiResponse(responseCode = "400", description = "Consulta vacía, campo o modo no válidos"),
+                    @ApiResponse(responseCode = "503", description = "El índice de búsqueda se está construyendo")
+            }
+    )
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(required = false) String campo,
+                                    @RequestParam(defaultValue = "contiene") String modo,
+                                    @RequestParam(required = false) Long cursor,
+                                    @RequestParam(required = false) Integer size) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "La consulta no puede estar vacía"));
+        }
+        if (campo != null && !IndiceCuradores.CAMPOS.contains(campo)) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "El campo debe ser uno de " + IndiceCuradores.CAMPOS));
+        }
+        if (!"contiene".equals(modo) && !"prefijo".equals(modo)) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "El modo debe ser contiene o prefijo"));
+        }
+        int tamanio = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        Optional<Pagina<Curador>> pagina = service.buscar(q, "prefijo".equals(modo), campo, cursor, tamanio);
+        if (pagina.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Collections.singletonMap("message", "El índice de búsqueda se está construyendo, intente más tarde"));
+        }
+        return ResponseEntity.ok(pagina.get());
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Estadísticas de curadores",
+            description = "Devuelve el total de curadores y cuántos hay de cada especialidad. Se sirven desde memoria, "
+                    + "sin consultar la base de datos.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = EstadisticasCuradores.class))),
+                    @ApiResponse(responseCode = "503", description = "Las estadísticas se están calculando")
+            }
+    )
+    public ResponseEntity<?> stats() {
+        EstadisticasCuradores stats = estadisticas.getEstadisticas();
+        if (stats == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Collections.singletonMap("message", "Las estadísticas se están calculando, intente más tarde"));
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    @PostMapping("/stats/recalcular")
+    @Operation(
+            summary = "Recalcular las estadísticas",
+            description = "Vuelve a calcular en segundo plano las estadísticas a partir de la tabla curadores. "
+                    + "Mientras tanto GET /api/curadores/stats sigue devolviendo los valores actuales.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Recálculo iniciado"),
+                    @ApiResponse(responseCode = "409", description = "Ya hay un recálculo en curso")
+            }
+    )
+    public ResponseEntity<?> recalcularStats() {
+        if (!estadisticas.recalcularAhora()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Collections.singletonMap("message", "Ya hay un recálculo de estadísticas en curso"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(Collections.singletonMap("message", "Recálculo de estadísticas iniciado"));
     }
 
     @GetMapping("/{id}")
     @Operation(
             summary = "Obtener curador por ID",
-            description = "Devuelve un curador específico basado en su ID.",
+            description = "Devuelve un curador específico basado en su ID, con un ETag. Si If-None-Match coincide responde 304 "
+                    + "consultando solo la versión del curador. Con fields devuelve solo esos campos, como en el listado.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Curador encontrado",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = Curador.class))),
+                    @ApiResponse(responseCode = "304", description = "El curador no cambió desde el ETag indicado en If-None-Match"),
+                    @ApiResponse(responseCode = "400", description = "fields incluye un campo no admitido"),
                     @ApiResponse(responseCode = "404", description = "Curador no encontrado")
             }
     )
-    public ResponseEntity<?> findById(@PathVariable Long id) {
-        return ResponseEntity.of(service.findById(id));
+    public ResponseEntity<?> findById(@PathVariable Long id, @RequestParam(required = false) String fields, WebRequest request) {
+        if (fields != null) {
+            return obtenerResumen(id, fields, request);
+        }
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            // Revalidación (p. ej. la caché de micro_museos) con solo la columna version
+            Optional<Long> version = service.findVersion(id);
+            if (version.isPresent() && noModificado(request, etagCurador(id, version.get()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etagCurador(id, version.get())).build();
+            }
+        }
+        Optional<Curador> curador = service.findById(id);
+        if (curador.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().eTag(etagCurador(id, curador.get().getVersion())).body(curador.get());
+    }
+
+    private ResponseEntity<?> obtenerResumen(Long id, String fields, WebRequest request) {
+        Set<String> campos = campos(fields);
+        if (!camposValidos(campos)) {
+            return camposNoValidos();
+        }
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = service.findVersion(id);
+            if (version.isPresent() && noModificado(request, etagConCampos(etagCurador(id, version.get()), campos))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etagConCampos(etagCurador(id, version.get()), campos)).build();
+            }
+        }
+        Optional<CuradorResumen> curador = service.findResumenById(id, campos);
+        if (curador.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok().eTag(etagConCampos(etagCurador(id, curador.get().getVersion()), campos)).body(curador.get());
+    }
+
+    @GetMapping("/batch")
+    @Operation(
+            summary = "Obtener varios curadores por ID",
+            description = "Devuelve en una sola respuesta los curadores cuyos IDs se indican en el parámetro ids. Los IDs inexistentes se omiten.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Curadores encontrados"),
+                    @ApiResponse(responseCode = "400", description = "Demasiados IDs en la solicitud")
+            }
+    )
+    public ResponseEntity<?> findAllById(@RequestParam List<Long> ids) {
+        return findBatch(ids);
+    }
+
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Obtener varios curadores por ID (cuerpo)",
+            description = "Igual que GET /batch, pero recibe la lista de IDs en el cuerpo para evitar URLs demasiado largas.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Curadores encontrados"),
+                    @ApiResponse(responseCode = "400", description = "Demasiados IDs en la solicitud")
+            }
+    )
+    public ResponseEntity<?> findAllByIdPost(@RequestBody List<Long> ids) {
+        return findBatch(ids);
+    }
+
+    @GetMapping("/eventos")
+    @Operation(
+            summary = "Leer los eventos de cambios de curadores",
+            description = "Devuelve en orden de ID hasta size eventos con ID mayor que desde. Un evento GUARDADO trae el curador "
+                    + "completo tras el cambio y uno ELIMINADO solo su ID. El consumidor guarda el ID del último evento aplicado "
+                    + "y lo envía como desde en la siguiente lectura; si recibe size eventos, hay más pendientes.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Eventos encontrados")
+            }
+    )
+    public ResponseEntity<?> findEventos(@RequestParam(defaultValue = "0") long desde,
+                                         @RequestParam(required = false) Integer size) {
+        int tamanio = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        return ResponseEntity.ok(service.findEventos(desde, tamanio));
+    }
+
+    @PostMapping("/eventos/batch")
+    @Operation(
+            summary = "Releer eventos por ID",
+            description = "Devuelve, en orden de ID, los eventos indicados en el cuerpo que existen, sin esperar el retraso de GET /eventos. "
+                    + "El consumidor lo usa para los IDs que faltaban entre dos eventos recibidos, que pueden ser transacciones que "
+                    + "confirmaron tarde.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Eventos encontrados"),
+                    @ApiResponse(responseCode = "400", description = "Demasiados IDs en la solicitud")
+            }
+    )
+    public ResponseEntity<?> findEventosPorId(@RequestBody List<Long> ids) {
+        Set<Long> unicos = new LinkedHashSet<>(ids);
+        unicos.remove(null);
+        if (unicos.size() > MAX_BATCH) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "No se pueden consultar más de " + MAX_BATCH + " eventos a la vez"));
+        }
+        if (unicos.isEmpty()) {
+            return ResponseEntity.ok(Collections.emptyList());
+        }
+        return ResponseEntity.ok(service.findEventosPorId(unicos));
+    }
+
+    private ResponseEntity<?> findBatch(List<Long> ids) {
+        Set<Long> unicos = new LinkedHashSet<>(ids);
+        unicos.remove(null);
+        if (unicos.size() > MAX_BATCH) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "No se pueden consultar más de " + MAX_BATCH + " curadores a la vez"));
+        }
+        if (unicos.isEmpty()) {
+            return ResponseEntity.ok(Collections.emptyList());
+        }
+        return ResponseEntity.ok(service.findAllById(unicos));
     }
 
     @PostMapping
@@ -76,6 +342,31 @@ public class CuradorController {
         return ResponseEntity.status(HttpStatus.CREATED).body(curadorCreado);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(
+            summary = "Importar curadores de forma masiva",
+            description = "Recibe un arreglo JSON o NDJSON (un curador por línea), valida cada curador y guarda los válidos en lotes. "
+                    + "Devuelve cuántos se crearon y los errores de validación de cada elemento rechazado según su posición.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Importación procesada",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ResultadoImportacion.class))),
+                    @ApiResponse(responseCode = "400", description = "El cuerpo no es JSON válido; los lotes anteriores al error quedan guardados")
+            }
+    )
+    public ResponseEntity<?> createBulk(HttpServletRequest request) {
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        try {
+            importador.importar(request.getInputStream(), Curador.class, service::saveLote, resultado);
+        } catch (IOException e) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("message", "El cuerpo de la solicitud no es JSON válido: " + e.getMessage());
+            body.put("resultado", resultado);
+            return ResponseEntity.badRequest().body(body);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(resultado);
+    }
+
     @PutMapping("/{id}")
     @Operation(
             summary = "Actualizar un curador existente",
@@ -106,6 +397,79 @@ public class CuradorController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("message", "Curador no encontrado"));
     }
 
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Actualizar parcialmente un curador",
+            description = "Actualiza solo los campos enviados con una única sentencia UPDATE condicionada a la versión del curador. "
+                    + "La versión esperada se toma del ETag en If-Match o, si no se envía, del campo version del cuerpo. "
+                    + "Un If-Match que no coincide con la versión actual responde 412; un campo version desactualizado, 409.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Curador actualizado; el nuevo ETag va en la cabecera"),
+                    @ApiResponse(responseCode = "400", description = "Errores de validación o ningún campo para actualizar"),
+                    @ApiResponse(responseCode = "404", description = "Curador no encontrado"),
+                    @ApiResponse(responseCode = "409", description = "El curador fue modificado por otra petición (campo version)"),
+                    @ApiResponse(responseCode = "412", description = "If-Match no coincide con la versión actual o trae un ETag débil (W/\"...\")"),
+                    @ApiResponse(responseCode = "428", description = "Falta If-Match o el campo version")
+            }
+    )
+    public ResponseEntity<?> patch(@PathVariable Long id, @Valid @RequestBody CambiosCurador cambios, BindingResult result,
+                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (result.hasErrors()) {
+            Map<String, String> errors = new HashMap<>();
+            result.getFieldErrors().forEach(err -> errors.put(err.getField(), err.getDefaultMessage()));
+            return ResponseEntity.badRequest().body(errors);
+        }
+        if (cambios.isVacio()) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "No se indicó ningún campo para actualizar"));
+        }
+        Long version;
+        if (ifMatch != null) {
+            if (esEtagDebil(ifMatch)) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                        .body(Collections.singletonMap("message", "If-Match no admite ETags débiles (W/\"...\")"));
+            }
+            List<Long> versiones = versionesDeEtag(id, ifMatch);
+            if (versiones != null && versiones.size() == 1) {
+                version = versiones.get(0);
+            } else {
+                // * o varios ETags: se comparan con la versión actual, que pasa a ser la esperada
+                Optional<Long> actual = service.findVersion(id);
+                if (actual.isEmpty()) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("message", "Curador no encontrado"));
+                }
+                if (versiones != null && !versiones.contains(actual.get())) {
+                    return precondicionFallida(id, actual.get());
+                }
+                version = actual.get();
+            }
+        } else {
+            version = cambios.getVersion();
+            if (version == null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                        .body(Collections.singletonMap("message", "Indique la versión del curador en If-Match o en el campo version"));
+            }
+        }
+        if (service.actualizarParcial(id, version, cambios) > 0) {
+            return ResponseEntity.ok().eTag(etagCurador(id, version + 1))
+                    .body(Collections.singletonMap("message", "Curador actualizado correctamente"));
+        }
+        // Solo en el caso de fallo se consulta la versión, para distinguir 404 de 412 o 409
+        Optional<Long> actual = service.findVersion(id);
+        if (actual.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("message", "Curador no encontrado"));
+        }
+        if (ifMatch != null) {
+            return precondicionFallida(id, actual.get());
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).eTag(etagCurador(id, actual.get()))
+                .body(Collections.singletonMap("message", "El curador fue modificado por otra petición; vuelva a leerlo e intente de nuevo"));
+    }
+
+    private static ResponseEntity<?> precondicionFallida(Long id, long version) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(etagCurador(id, version))
+                .body(Collections.singletonMap("message", "If-Match no coincide con la versión actual del curador; vuelva a leerlo e intente de nuevo"));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Eliminar un curador",
@@ -123,4 +487,101 @@ public class CuradorController {
         }
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("message", "Curador no encontrado"));
     }
+
+    private static Set<String> campos(String fields) {
+        Set<String> campos = new LinkedHashSet<>();
+        for (String campo : fields.split(",")) {
+            if (!campo.isBlank()) {
+                campos.add(campo.trim());
+            }
+        }
+        return campos;
+    }
+
+    private static boolean camposValidos(Set<String> campos) {
+        return !campos.isEmpty() && CuradorResumen.CAMPOS.containsAll(campos);
+    }
+
+    private static ResponseEntity<?> camposNoValidos() {
+        return ResponseEntity.badRequest().body(Collections.singletonMap("message",
+                "fields debe ser una lista separada por comas de " + CuradorResumen.CAMPOS));
+    }
+
+    // Comparación débil de If-None-Match (RFC 9110), como la que hace Spring con los ResponseEntity
+    private static boolean noModificado(WebRequest request, String etag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag actual = ETag.create(etag);
+        for (ETag recibido : ETag.parse(ifNoneMatch)) {
+            if (recibido.isWildcard() || recibido.compare(actual, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ETags fuertes: la versión cambia con cualquier modificación del curador
+    private static String etagCurador(Long id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    // If-Match compara en modo fuerte: un ETag débil nunca coincide
+    private static boolean esEtagDebil(String ifMatch) {
+        for (ETag etag : ETag.parse(ifMatch)) {
+            if (etag.weak()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Extrae las versiones de los ETags "id-version" de If-Match; un ETag de otro curador o mal formado nunca
+    // coincide. Nulo si es *, que coincide con cualquier versión
+    private static List<Long> versionesDeEtag(Long id, String ifMatch) {
+        List<Long> versiones = new ArrayList<>();
+        String prefijo = id + "-";
+        for (ETag etag : ETag.parse(ifMatch)) {
+            if (etag.isWildcard()) {
+                return null;
+            }
+            String valor = etag.tag();
+            if (valor.startsWith(prefijo)) {
+                try {
+                    versiones.add(Long.parseLong(valor.substring(prefijo.length())));
+                } catch (NumberFormatException e) {
+                    // No es un ETag de este curador
+                }
+            }
+        }
+        return versiones;
+    }
+
+    private static String etagColeccion(EstadoColeccion estado) {
+        return "\"curadores-" + estado.getTotal() + "-" + estado.getMaxId() + "-" + estado.getSumaVersiones() + "\"";
+    }
+
+    private static String etagPagina(Pagina<Curador> pagina) {
+        StringBuilder firma = new StringBuilder();
+        for (Curador curador : pagina.getContent()) {
+            firma.append(curador.getId()).append(':').append(curador.getVersion()).append(',');
+        }
+        firma.append(pagina.getNext());
+        return "\"" + DigestUtils.md5DigestAsHex(firma.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static String etagPaginaResumen(Pagina<CuradorResumen> pagina, Set<String> campos) {
+        StringBuilder firma = new StringBuilder();
+        for (CuradorResumen curador : pagina.getContent()) {
+            firma.append(curador.getId()).append(':').append(curador.getVersion()).append(',');
+        }
+        firma.append(pagina.getNext());
+        return etagConCampos("\"" + DigestUtils.md5DigestAsHex(firma.toString().getBytes(StandardCharsets.UTF_8)) + "\"", campos);
+    }
+
+    // Cada combinación de fields es una representación distinta y necesita su propio ETag
+    private static String etagConCampos(String etag, Set<String> campos) {
+        return etag.substring(0, etag.length() - 1) + ";" + String.join("+", campos) + "\"";
+    }
 }
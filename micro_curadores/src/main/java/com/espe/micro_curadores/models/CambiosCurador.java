@@ -0,0 +1,72 @@
+package com.espe.micro_curadores.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Pattern;
+
+import java.time.LocalDate;
+
+/**
+ * Cuerpo de PATCH /api/curadores/{id}. Solo se actualizan los campos no nulos; {@code version}
+ * es la versión que el cliente leyó y se usa si la petición no trae If-Match.
+ */
+public class CambiosCurador {
+
+    @Pattern(regexp = "^[a-zA-ZáéíóúÁÉÍÓÚñÑ ]+$", message = "El nombre solo puede contener letras y espacios")
+    private String nombre;
+
+    @Pattern(regexp = "^[a-zA-ZáéíóúÁÉÍÓÚñÑ ]+$", message = "La especialidad solo puede contener letras y espacios")
+    private String especialidad;
+
+    @Past(message = "La fecha de nacimiento debe ser en el pasado")
+    private LocalDate fechaNacimiento;
+
+    private Long version;
+
+    // Misma regla que Curador.setFechaNacimiento, que aquí no se ejecuta porque no se carga la entidad
+    @JsonIgnore
+    @AssertTrue(message = "La fecha de nacimiento debe estar entre 1930 y el año actual")
+    public boolean isFechaNacimientoEnRango() {
+        return fechaNacimiento == null
+                || (!fechaNacimiento.isBefore(LocalDate.of(1930, 1, 1)) && !fechaNacimiento.isAfter(LocalDate.now()));
+    }
+
+    @JsonIgnore
+    public boolean isVacio() {
+        return nombre == null && especialidad == null && fechaNacimiento == null;
+    }
+
+    // Getters y Setters
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getEspecialidad() {
+        return especialidad;
+    }
+
+    public void setEspecialidad(String especialidad) {
+        this.especialidad = especialidad;
+    }
+
+    public LocalDate getFechaNacimiento() {
+        return fechaNacimiento;
+    }
+
+    public void setFechaNacimiento(LocalDate fechaNacimiento) {
+        this.fechaNacimiento = fechaNacimiento;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -0,0 +1,42 @@
+package com.espe.micro_curadores.models;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Curador con solo los campos pedidos en fields=, leídos con una consulta que selecciona esas columnas.
+ * Se serializa como un objeto con esos campos; el ID y la versión se leen siempre para el cursor y el ETag.
+ */
+public class CuradorResumen {
+
+    public static final List<String> CAMPOS = Arrays.asList("id", "nombre", "especialidad", "fechaNacimiento", "creadoEn", "version");
+
+    private final Long id;
+    private final long version;
+    private final Map<String, Object> campos;
+
+    public CuradorResumen(Long id, long version, Map<String, Object> campos) {
+        this.id = id;
+        this.version = version;
+        this.campos = campos;
+    }
+
+    @JsonIgnore
+    public Long getId() {
+        return id;
+    }
+
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getCampos() {
+        return campos;
+    }
+}
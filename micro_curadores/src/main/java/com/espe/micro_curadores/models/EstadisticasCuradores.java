@@ -0,0 +1,34 @@
+package com.espe.micro_curadores.models;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Respuesta de GET /api/curadores/stats. {@code recalculadas} es el momento de la última reconstrucción
+ * completa; desde entonces los valores se han mantenido con cada alta, modificación o baja.
+ */
+public class EstadisticasCuradores {
+
+    private final long curadores;
+    private final Map<String, Long> porEspecialidad;
+    private final LocalDateTime recalculadas;
+
+    public EstadisticasCuradores(long curadores, Map<String, Long> porEspecialidad, LocalDateTime recalculadas) {
+        this.curadores = curadores;
+        this.porEspecialidad = porEspecialidad;
+        this.recalculadas = recalculadas;
+    }
+
+    // Getters
+    public long getCuradores() {
+        return curadores;
+    }
+
+    public Map<String, Long> getPorEspecialidad() {
+        return porEspecialidad;
+    }
+
+    public LocalDateTime getRecalculadas() {
+        return recalculadas;
+    }
+}
@@ -2,15 +2,19 @@ package com.espe.micro_curadores.models.entities;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDate;
 import java.util.Date;
 
 @Entity
 @Table(name = "curadores")
+@DynamicUpdate // Los UPDATE solo incluyen las columnas que cambiaron
 public class Curador {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "curadores_gen")
+    @TableGenerator(name = "curadores_gen", table = "id_generadores", pkColumnName = "entidad",
+            valueColumnName = "siguiente_valor", pkColumnValue = "curadores", allocationSize = 50)
     private Long id;
 
     @NotEmpty(message = "El nombre no puede estar vacío")
@@ -32,6 +36,10 @@ public class Curador {
     @Temporal(TemporalType.TIMESTAMP)
     private Date creadoEn;
 
+    // Cambia con cada modificación del curador; de ella sale el ETag
+    @Version
+    private long version;
+
     @PrePersist
     public void prePersist() {
         this.creadoEn = new Date();
@@ -86,4 +94,12 @@ public class Curador {
     public void setCreadoEn(Date creadoEn) {
         this.creadoEn = creadoEn;
     }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
 }
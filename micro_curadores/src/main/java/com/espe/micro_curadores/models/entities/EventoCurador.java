@@ -0,0 +1,111 @@
+package com.espe.micro_curadores.models.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de la tabla de salida (outbox) de cambios de curadores. Se inserta en la misma transacción
+ * que el cambio, así que un evento existe si y solo si el cambio se confirmó. Los eventos GUARDADO
+ * llevan el estado completo del curador tras el cambio; los ELIMINADO solo el ID.
+ */
+@Entity
+@Table(name = "curador_eventos", indexes = {
+        @Index(name = "idx_curador_eventos_creado_en", columnList = "creado_en"),
+        @Index(name = "idx_curador_eventos_curador", columnList = "curador_id")
+})
+public class EventoCurador {
+
+    public static final String GUARDADO = "GUARDADO";
+    public static final String ELIMINADO = "ELIMINADO";
+
+    // IDENTITY: el orden de los IDs es el orden en que los consumidores leen los eventos
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "curador_id", nullable = false)
+    private Long curadorId;
+
+    @Column(nullable = false, length = 16)
+    private String tipo;
+
+    private Long version;
+
+    private String nombre;
+
+    private String especialidad;
+
+    @Column(name = "fecha_nacimiento")
+    private LocalDate fechaNacimiento;
+
+    @Column(name = "creado_en", nullable = false)
+    private LocalDateTime creadoEn;
+
+    // Getters y Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCuradorId() {
+        return curadorId;
+    }
+
+    public void setCuradorId(Long curadorId) {
+        this.curadorId = curadorId;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getEspecialidad() {
+        return especialidad;
+    }
+
+    public void setEspecialidad(String especialidad) {
+        this.especialidad = especialidad;
+    }
+
+    public LocalDate getFechaNacimiento() {
+        return fechaNacimiento;
+    }
+
+    public void setFechaNacimiento(LocalDate fechaNacimiento) {
+        this.fechaNacimiento = fechaNacimiento;
+    }
+
+    public LocalDateTime getCreadoEn() {
+        return creadoEn;
+    }
+
+    public void setCreadoEn(LocalDateTime creadoEn) {
+        this.creadoEn = creadoEn;
+    }
+}
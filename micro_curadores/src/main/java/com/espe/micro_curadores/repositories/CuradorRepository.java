@@ -1,9 +1,37 @@
 package com.espe.micro_curadores.repositories;
 
+import com.espe.micro_curadores.models.EstadoColeccion;
 import com.espe.micro_curadores.models.entities.Curador;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
-public interface CuradorRepository extends CrudRepository<Curador, Long> {
+import java.util.List;
+import java.util.Optional;
 
-}
+public interface CuradorRepository extends CrudRepository<Curador, Long>, PagingAndSortingRepository<Curador, Long> {
+
+    // Paginación keyset: usa el índice de la clave primaria sin OFFSET
+    List<Curador> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    // Carga del índice de búsqueda: solo las columnas indexadas, por lotes sobre la clave primaria
+    @Query("SELECT c.id, c.version, c.nombre, c.especialidad FROM Curador c WHERE c.id > :cursor ORDER BY c.id")
+    List<Object[]> findTextosDesde(@Param("cursor") Long cursor, Limit limit);
+
+    // Consultas de ETag: solo leen la columna version, sin cargar el curador
+    @Query("SELECT c.version FROM Curador c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
 
+    @Query("SELECT COUNT(c) AS total, MAX(c.id) AS maxId, SUM(c.version) AS sumaVersiones FROM Curador c")
+    EstadoColeccion findEstadoColeccion();
+
+    // Estadísticas: recuento por especialidad al recalcular y especialidad anterior al modificar un curador
+    @Query("SELECT c.especialidad, COUNT(c) FROM Curador c GROUP BY c.especialidad")
+    List<Object[]> findConteosPorEspecialidad();
+
+    @Query("SELECT c.especialidad FROM Curador c WHERE c.id = :id")
+    Optional<String> findEspecialidadById(@Param("id") Long id);
+
+}
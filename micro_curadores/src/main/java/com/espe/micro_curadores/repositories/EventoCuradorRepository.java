@@ -0,0 +1,58 @@
+package com.espe.micro_curadores.repositories;
+
+import com.espe.micro_curadores.models.entities.EventoCurador;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface EventoCuradorRepository extends CrudRepository<EventoCurador, Long> {
+
+    // INSERT ... SELECT: el evento copia el estado recién escrito sin volver a cargar los curadores
+    @Modifying
+    @Query("INSERT INTO EventoCurador (curadorId, tipo, version, nombre, especialidad, fechaNacimiento, creadoEn) "
+            + "SELECT c.id, 'GUARDADO', c.version, c.nombre, c.especialidad, c.fechaNacimiento, local datetime "
+            + "FROM Curador c WHERE c.id IN :ids")
+    int registrarGuardados(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("INSERT INTO EventoCurador (curadorId, tipo, creadoEn) VALUES (:id, 'ELIMINADO', local datetime)")
+    int registrarEliminacion(@Param("id") Long id);
+
+    // Estado inicial de los consumidores cuando la tabla de eventos todavía está vacía
+    @Modifying
+    @Query("INSERT INTO EventoCurador (curadorId, tipo, version, nombre, especialidad, fechaNacimiento, creadoEn) "
+            + "SELECT c.id, 'GUARDADO', c.version, c.nombre, c.especialidad, c.fechaNacimiento, local datetime "
+            + "FROM Curador c")
+    int registrarTodos();
+
+    /*
+     * Los IDs IDENTITY se asignan al insertar, no al confirmar: una transacción lenta puede confirmar un
+     * ID menor que otro ya visible. Solo se entregan los eventos con cierta antigüedad para que un
+     * consumidor que avanza su marca no se salte uno que aún no había confirmado. Una transacción abierta
+     * más que el retraso deja igualmente un hueco: el consumidor lo relee después con findByIdInOrderByIdAsc.
+     */
+    @Query("SELECT e FROM EventoCurador e WHERE e.id > :desde AND e.creadoEn <= local datetime - :retraso second ORDER BY e.id")
+    List<EventoCurador> findDesde(@Param("desde") Long desde, @Param("retraso") long retrasoSegundos, Limit limit);
+
+    // Marca desde la que un consumidor que acaba de leer la tabla de curadores aplica los eventos: deja fuera el
+    // retraso, así que los eventos de transacciones que aún podían no estar confirmadas se vuelven a aplicar
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM EventoCurador e WHERE e.creadoEn <= local datetime - :retraso second")
+    long findUltimoIdAnterior(@Param("retraso") long retrasoSegundos);
+
+    // Relectura de los IDs que un consumidor vio saltados, sin el filtro de antigüedad
+    List<EventoCurador> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    // Eventos antiguos ya reemplazados por otro posterior del mismo curador
+    @Query("SELECT e.id FROM EventoCurador e WHERE e.creadoEn < local datetime - :retencion second "
+            + "AND EXISTS (SELECT n.id FROM EventoCurador n WHERE n.curadorId = e.curadorId AND n.id > e.id) ORDER BY e.id")
+    List<Long> findIdsReemplazados(@Param("retencion") long retencionSegundos, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM EventoCurador e WHERE e.id IN :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
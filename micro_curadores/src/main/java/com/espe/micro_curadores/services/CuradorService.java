@@ -1,13 +1,33 @@
 package com.espe.micro_curadores.services;
 
+import com.espe.micro_curadores.models.CambiosCurador;
+import com.espe.micro_curadores.models.CuradorResumen;
+import com.espe.micro_curadores.models.EstadoColeccion;
+import com.espe.micro_curadores.models.Pagina;
 import com.espe.micro_curadores.models.entities.Curador;
+import com.espe.micro_curadores.models.entities.EventoCurador;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface CuradorService {
     List<Curador> findAll();
+    Pagina<Curador> findPagina(Long cursor, int size);
+    Optional<Pagina<Curador>> buscar(String consulta, boolean prefijo, String campo, Long cursor, int size);
     Optional<Curador> findById(Long id);
+    Optional<Long> findVersion(Long id);
+    EstadoColeccion findEstadoColeccion();
+    List<CuradorResumen> findAllResumen(Set<String> campos);
+    Pagina<CuradorResumen> findPaginaResumen(Set<String> campos, Long cursor, int size);
+    Optional<CuradorResumen> findResumenById(Long id, Set<String> campos);
+    List<Curador> findAllById(Collection<Long> ids);
+    List<EventoCurador> findEventos(long desde, int size);
+
+    List<EventoCurador> findEventosPorId(Collection<Long> ids);
     Curador save(Curador curador);
+    int saveLote(List<Curador> curadores);
+    int actualizarParcial(Long id, long version, CambiosCurador cambios);
     void deleteById(Long id);
 }
@@ -1,35 +1,336 @@
 package com.espe.micro_curadores.services;
 
+import com.espe.micro_curadores.busqueda.IndiceCuradores;
+import com.espe.micro_curadores.clients.MuseosCacheClient;
+import com.espe.micro_curadores.models.CambiosCurador;
+import com.espe.micro_curadores.models.CuradorResumen;
+import com.espe.micro_curadores.models.EstadoColeccion;
+import com.espe.micro_curadores.models.Pagina;
 import com.espe.micro_curadores.models.entities.Curador;
+import com.espe.micro_curadores.models.entities.EventoCurador;
 import com.espe.micro_curadores.repositories.CuradorRepository;
+import com.espe.micro_curadores.repositories.EventoCuradorRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class CuradorServiceImpl implements CuradorService {
     @Autowired
     private CuradorRepository repository;
 
+    @Autowired
+    private EventoCuradorRepository eventoRepository;
+
+    @Autowired
+    private MuseosCacheClient museosCacheClient;
+
+    @Autowired
+    private IndiceCuradores indice;
+
+    @Autowired
+    private EstadisticasEspecialidades estadisticas;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${curadores.eventos.retraso:PT2S}")
+    private Duration retrasoEventos;
+
     @Override
+    @Transactional(readOnly = true)
     public List<Curador> findAll() {
         return (List<Curador>) repository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Pagina<Curador> findPagina(Long cursor, int size) {
+        // Se pide un elemento de más para saber si existe una página siguiente
+        List<Curador> curadores = repository.findByIdGreaterThanOrderByIdAsc(cursor == null ? 0L : cursor, Limit.of(size + 1));
+        if (curadores.size() <= size) {
+            return new Pagina<>(curadores, null);
+        }
+        List<Curador> pagina = new ArrayList<>(curadores.subList(0, size));
+        return new Pagina<>(pagina, pagina.get(size - 1).getId());
+    }
+
+    /**
+     * Busca en el índice en memoria y carga de la base de datos solo los curadores de la página.
+     * Devuelve vacío mientras el índice se está construyendo.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Pagina<Curador>> buscar(String consulta, boolean prefijo, String campo, Long cursor, int size) {
+        if (!indice.isListo()) {
+            return Optional.empty();
+        }
+        List<Long> ids = indice.buscar(consulta, prefijo, campo, cursor == null ? 0L : cursor, size + 1);
+        Long next = null;
+        if (ids.size() > size) {
+            ids = ids.subList(0, size);
+            next = ids.get(size - 1);
+        }
+        List<Curador> curadores = new ArrayList<>((List<Curador>) repository.findAllById(ids));
+        curadores.sort(Comparator.comparing(Curador::getId));
+        return Optional.of(new Pagina<>(curadores, next));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Curador> findById(Long id) {
         return repository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        return repository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EstadoColeccion findEstadoColeccion() {
+        return repository.findEstadoColeccion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<CuradorResumen> findAllResumen(Set<String> campos) {
+        return resumir(campos, null, null, 0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<CuradorResumen> findPaginaResumen(Set<String> campos, Long cursor, int size) {
+        // Se pide un elemento de más para saber si existe una página siguiente
+        List<CuradorResumen> curadores = resumir(campos, cursor == null ? 0L : cursor, null, size + 1);
+        if (curadores.size() <= size) {
+            return new Pagina<>(curadores, null);
+        }
+        List<CuradorResumen> pagina = new ArrayList<>(curadores.subList(0, size));
+        return new Pagina<>(pagina, pagina.get(size - 1).getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<CuradorResumen> findResumenById(Long id, Set<String> campos) {
+        List<CuradorResumen> curadores = resumir(campos, null, id, 1);
+        return curadores.isEmpty() ? Optional.empty() : Optional.of(curadores.get(0));
+    }
+
+    /**
+     * SELECT de las columnas pedidas, más id y version, como tuplas: Hibernate no crea entidades ni las guarda
+     * en el contexto de persistencia. Se arma con Criteria porque fields admite cualquier combinación de
+     * {@link CuradorResumen#CAMPOS}, y una proyección por interfaz fija las columnas en el tipo.
+     */
+    private List<CuradorResumen> resumir(Set<String> campos, Long cursor, Long id, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Curador> curador = query.from(Curador.class);
+        Set<String> columnas = new LinkedHashSet<>(campos);
+        columnas.add("id");
+        columnas.add("version");
+        List<Selection<?>> seleccion = new ArrayList<>();
+        for (String columna : columnas) {
+            seleccion.add(curador.get(columna).alias(columna));
+        }
+        query.multiselect(seleccion);
+        if (id != null) {
+            query.where(cb.equal(curador.get("id"), id));
+        } else if (cursor != null) {
+            query.where(cb.greaterThan(curador.<Long>get("id"), cursor));
+        }
+        query.orderBy(cb.asc(curador.get("id")));
+        TypedQuery<Tuple> consulta = entityManager.createQuery(query);
+        if (limite > 0) {
+            consulta.setMaxResults(limite);
+        }
+        List<CuradorResumen> curadores = new ArrayList<>();
+        for (Tuple fila : consulta.getResultList()) {
+            Map<String, Object> valores = new LinkedHashMap<>();
+            for (String campo : campos) {
+                valores.put(campo, fila.get(campo));
+            }
+            curadores.add(new CuradorResumen(fila.get("id", Long.class), fila.get("version", Long.class), valores));
+        }
+        return curadores;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Curador> findAllById(Collection<Long> ids) {
+        // Una sola consulta IN (...) en lugar de una por ID
+        return (List<Curador>) repository.findAllById(ids);
+    }
+
+    /**
+     * Eventos de la tabla curador_eventos posteriores a {@code desde}, en orden de ID. Los más recientes
+     * que {@code curadores.eventos.retraso} se retienen hasta que no pueda quedar uno anterior sin confirmar.
+     * Se lee siempre del primario (transacción de escritura, como el recálculo de estadísticas): el filtro de
+     * antigüedad usa la hora actual, y una réplica atrasada más que ese retraso muestra un estado viejo del
+     * primario en el que un ID menor puede seguir sin confirmar mientras los mayores ya pasan el filtro; el
+     * consumidor avanzaría su marca por encima del hueco y perdería ese evento.
+     */
+    @Override
+    @Transactional
+    public List<EventoCurador> findEventos(long desde, int size) {
+        return eventoRepository.findDesde(desde, retrasoEventos.getSeconds(), Limit.of(size));
+    }
+
+    /**
+     * Eventos con los IDs indicados que ya existen. Los consumidores releen así los IDs que quedaron sin
+     * entregar entre dos eventos entregados: si ahora existen, eran una transacción que tardó más que el retraso.
+     */
+    @Override
+    @Transactional
+    public List<EventoCurador> findEventosPorId(Collection<Long> ids) {
+        return eventoRepository.findByIdInOrderByIdAsc(ids);
+    }
+
+    // Cada escritura registra su evento en la misma transacción; la caché y el índice se tocan tras el commit
     @Override
     public Curador save(Curador curador) {
-        return repository.save(curador);
+        boolean existente = curador.getId() != null;
+        String[] especialidadAnterior = new String[1];
+        Curador guardado = transactionTemplate.execute(status -> {
+            if (existente) {
+                especialidadAnterior[0] = repository.findEspecialidadById(curador.getId()).orElse(null);
+            }
+            Curador escrito = repository.save(curador);
+            // El INSERT ... SELECT del evento debe leer la fila ya escrita y con su nueva versión
+            entityManager.flush();
+            eventoRepository.registrarGuardados(Collections.singletonList(escrito.getId()));
+            return escrito;
+        });
+        indice.indexar(guardado);
+        if (especialidadAnterior[0] == null) {
+            estadisticas.creado(guardado.getEspecialidad());
+        } else {
+            estadisticas.cambiado(especialidadAnterior[0], guardado.getEspecialidad());
+        }
+        if (existente) {
+            museosCacheClient.invalidarCurador(guardado.getId());
+        }
+        return guardado;
+    }
+
+    @Override
+    @Transactional
+    public int saveLote(List<Curador> curadores) {
+        for (Curador curador : curadores) {
+            curador.setId(null); // Las importaciones siempre crean curadores nuevos
+            entityManager.persist(curador);
+        }
+        // flush envía los INSERT agrupados según hibernate.jdbc.batch_size; clear vacía el contexto de persistencia
+        entityManager.flush();
+        List<Long> ids = new ArrayList<>(curadores.size());
+        for (Curador curador : curadores) {
+            ids.add(curador.getId());
+        }
+        eventoRepository.registrarGuardados(ids);
+        // El índice y las estadísticas se tocan tras el commit, como en save: un lote que falla al confirmar no debe contar
+        List<Curador> guardados = new ArrayList<>(curadores);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Curador curador : guardados) {
+                    indice.indexar(curador);
+                    estadisticas.creado(curador.getEspecialidad());
+                }
+            }
+        });
+        entityManager.clear();
+        return curadores.size();
+    }
+
+    /**
+     * Actualiza solo los campos no nulos con un único UPDATE ... WHERE id = ? AND version = ?,
+     * sin leer antes el curador. Devuelve 0 si no existe o si su versión ya no es la indicada.
+     */
+    @Override
+    public int actualizarParcial(Long id, long version, CambiosCurador cambios) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Curador> update = cb.createCriteriaUpdate(Curador.class);
+        Root<Curador> curador = update.from(Curador.class);
+        if (cambios.getNombre() != null) {
+            update.set(curador.<String>get("nombre"), cambios.getNombre());
+        }
+        if (cambios.getEspecialidad() != null) {
+            update.set(curador.<String>get("especialidad"), cambios.getEspecialidad());
+        }
+        if (cambios.getFechaNacimiento() != null) {
+            update.set(curador.<LocalDate>get("fechaNacimiento"), cambios.getFechaNacimiento());
+        }
+        update.set(curador.<Long>get("version"), cb.sum(curador.<Long>get("version"), 1L));
+        update.where(cb.equal(curador.get("id"), id), cb.equal(curador.get("version"), version));
+
+        // Si la especialidad cambia, la anterior se lee en la misma transacción: si el UPDATE encuentra la
+        // versión indicada, nadie ha modificado el curador desde esa lectura
+        String[] especialidadAnterior = new String[1];
+        Integer actualizados = transactionTemplate.execute(status -> {
+            if (cambios.getEspecialidad() != null) {
+                especialidadAnterior[0] = repository.findEspecialidadById(id).orElse(null);
+            }
+            int filas = entityManager.createQuery(update).executeUpdate();
+            if (filas > 0) {
+                eventoRepository.registrarGuardados(Collections.singletonList(id));
+            }
+            return filas;
+        });
+        // La invalidación va después del commit para que micro_museos no recargue la versión anterior
+        if (actualizados != null && actualizados > 0) {
+            indice.actualizar(id, version + 1, cambios);
+            if (especialidadAnterior[0] != null) {
+                estadisticas.cambiado(especialidadAnterior[0], cambios.getEspecialidad());
+            }
+            museosCacheClient.invalidarCurador(id);
+        }
+        return actualizados == null ? 0 : actualizados;
     }
 
     @Override
     public void deleteById(Long id) {
-        repository.deleteById(id);
+        String especialidad = transactionTemplate.execute(status -> {
+            String anterior = repository.findEspecialidadById(id).orElse(null);
+            repository.deleteById(id);
+            eventoRepository.registrarEliminacion(id);
+            return anterior;
+        });
+        indice.eliminar(id);
+        if (especialidad != null) {
+            estadisticas.eliminado(especialidad);
+        }
+        museosCacheClient.invalidarCurador(id);
     }
 }
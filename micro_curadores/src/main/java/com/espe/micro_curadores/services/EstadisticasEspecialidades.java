@@ -0,0 +1,158 @@
+package com.espe.micro_curadores.services;
+
+import com.espe.micro_curadores.models.EstadisticasCuradores;
+import com.espe.micro_curadores.repositories.CuradorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Estadísticas de GET /api/curadores/stats: total de curadores y cuántos hay de cada especialidad.
+ * <p>
+ * Se calculan con un GROUP BY sobre curadores al arrancar y cuando se piden con
+ * POST /api/curadores/stats/recalcular; a partir de ahí CuradorServiceImpl las mantiene con cada alta,
+ * modificación o baja, así que leerlas no depende del tamaño de la tabla. Si algo cambia mientras se
+ * recalculan, el cálculo se repite hasta {@value #INTENTOS} veces. Cada instancia mantiene las suyas.
+ */
+@Component
+public class EstadisticasEspecialidades implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EstadisticasEspecialidades.class);
+
+    private static final int INTENTOS = 3;
+
+    private final CuradorRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService ejecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread hilo = new Thread(runnable, "estadisticas-curadores");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final AtomicBoolean recalculando = new AtomicBoolean();
+
+    // Protegidos por this
+    private Map<String, Long> porEspecialidad = new HashMap<>();
+    private long curadores;
+    private long cambios;
+    private LocalDateTime recalculadas;
+
+    public EstadisticasEspecialidades(CuradorRepository repository, TransactionTemplate transactionTemplate) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        recalcularAhora();
+    }
+
+    /**
+     * Lanza el recálculo en segundo plano. Devuelve false si ya hay uno en curso.
+     */
+    public boolean recalcularAhora() {
+        if (recalculando.get()) {
+            return false;
+        }
+        ejecutor.execute(this::recalcular);
+        return true;
+    }
+
+    /**
+     * Devuelve null hasta que termina el primer cálculo.
+     */
+    public synchronized EstadisticasCuradores getEstadisticas() {
+        if (recalculadas == null) {
+            return null;
+        }
+        return new EstadisticasCuradores(curadores, new TreeMap<>(porEspecialidad), recalculadas);
+    }
+
+    public synchronized void creado(String especialidad) {
+        sumar(especialidad, 1);
+        curadores++;
+        cambios++;
+    }
+
+    public synchronized void eliminado(String especialidad) {
+        sumar(especialidad, -1);
+        curadores--;
+        cambios++;
+    }
+
+    public synchronized void cambiado(String anterior, String nueva) {
+        if (!anterior.equals(nueva)) {
+            sumar(anterior, -1);
+            sumar(nueva, 1);
+            cambios++;
+        }
+    }
+
+    private void sumar(String especialidad, long delta) {
+        long cantidad = porEspecialidad.getOrDefault(especialidad, 0L) + delta;
+        if (cantidad > 0) {
+            porEspecialidad.put(especialidad, cantidad);
+        } else {
+            porEspecialidad.remove(especialidad);
+        }
+    }
+
+    void recalcular() {
+        if (!recalculando.compareAndSet(false, true)) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            for (int intento = 1; ; intento++) {
+                long cambiosAntes;
+                synchronized (this) {
+                    cambiosAntes = cambios;
+                }
+                // Transacción de escritura para leer del primario y no de una réplica atrasada
+                List<Object[]> filas = transactionTemplate.execute(status -> repository.findConteosPorEspecialidad());
+                Map<String, Long> nuevo = new HashMap<>();
+                long total = 0;
+                for (Object[] fila : filas) {
+                    long cantidad = ((Number) fila[1]).longValue();
+                    nuevo.put((String) fila[0], cantidad);
+                    total += cantidad;
+                }
+                synchronized (this) {
+                    if (cambios == cambiosAntes || intento == INTENTOS) {
+                        if (cambios != cambiosAntes) {
+                            log.warn("Los curadores cambiaron durante {} recálculos seguidos; las estadísticas "
+                                    + "pueden desviarse hasta el siguiente", INTENTOS);
+                        }
+                        porEspecialidad = nuevo;
+                        curadores = total;
+                        recalculadas = LocalDateTime.now();
+                        log.info("Estadísticas de curadores recalculadas: {} curadores en {} especialidades en {} ms",
+                                total, nuevo.size(), (System.nanoTime() - inicio) / 1_000_000);
+                        return;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("No se pudieron recalcular las estadísticas de curadores", e);
+        } finally {
+            recalculando.set(false);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ejecutor.shutdown();
+    }
+}
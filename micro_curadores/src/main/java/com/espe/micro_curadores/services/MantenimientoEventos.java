@@ -0,0 +1,100 @@
+package com.espe.micro_curadores.services;
+
+import com.espe.micro_curadores.repositories.EventoCuradorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantiene la tabla curador_eventos. Al arrancar con la tabla vacía registra un evento GUARDADO por
+ * cada curador existente, para que un consumidor que empieza desde cero reciba el estado completo.
+ * Cada {@code curadores.eventos.compactacion} borra, por lotes, los eventos más antiguos que
+ * {@code curadores.eventos.retencion} que ya tienen otro posterior del mismo curador: el último
+ * evento de cada curador, incluidas las eliminaciones, se conserva siempre.
+ */
+@Component
+public class MantenimientoEventos implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(MantenimientoEventos.class);
+
+    private final EventoCuradorRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final long retencionSegundos;
+    private final int lote;
+    private final ScheduledExecutorService ejecutor;
+
+    public MantenimientoEventos(EventoCuradorRepository repository,
+                                TransactionTemplate transactionTemplate,
+                                @Value("${curadores.eventos.retencion:P7D}") Duration retencion,
+                                @Value("${curadores.eventos.compactacion:PT10M}") Duration intervalo,
+                                @Value("${curadores.eventos.lote:1000}") int lote) {
+        this.repository = repository;
+        this.transactionTemplate = transactionTemplate;
+        this.retencionSegundos = retencion.getSeconds();
+        this.lote = lote;
+        this.ejecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread hilo = new Thread(runnable, "eventos-curadores");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = Math.max(1, intervalo.getSeconds());
+        ejecutor.scheduleWithFixedDelay(this::compactar, periodo, periodo, TimeUnit.SECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        ejecutor.execute(this::sembrar);
+    }
+
+    void sembrar() {
+        try {
+            // El conteo va en la misma transacción de escritura para leerlo del primario, no de la réplica
+            Integer registrados = transactionTemplate.execute(status ->
+                    repository.count() > 0 ? null : repository.registrarTodos());
+            if (registrados == null) {
+                return;
+            }
+            log.info("Tabla de eventos de curadores inicializada con {} curadores", registrados);
+        } catch (Exception e) {
+            log.error("No se pudo inicializar la tabla de eventos de curadores", e);
+        }
+    }
+
+    void compactar() {
+        try {
+            long borrados = 0;
+            List<Long> ids;
+            do {
+                ids = repository.findIdsReemplazados(retencionSegundos, Limit.of(lote));
+                if (!ids.isEmpty()) {
+                    List<Long> reemplazados = ids;
+                    transactionTemplate.executeWithoutResult(status -> repository.deleteByIdIn(reemplazados));
+                    borrados += ids.size();
+                }
+            } while (ids.size() == lote);
+            if (borrados > 0) {
+                log.info("Compactación de eventos de curadores: {} eventos reemplazados eliminados", borrados);
+            }
+        } catch (Exception e) {
+            // Se reintenta en la siguiente ejecución; una excepción cancelaría la tarea periódica
+            log.error("No se pudo compactar la tabla de eventos de curadores", e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ejecutor.shutdown();
+    }
+}
@@ -0,0 +1,142 @@
+package com.espe.micro_curadores.reactive;
+
+import com.espe.micro_curadores.models.Pagina;
+import com.espe.micro_curadores.models.entities.Curador;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Versión no bloqueante de los endpoints de lectura de CuradorController, con el mismo contrato JSON.
+ * Los parámetros que no son números dan 400, como en CuradorController.
+ */
+@Component
+@Profile("reactivo")
+public class CuradorReactiveHandler {
+
+    private static final int MAX_BATCH = 1000;
+
+    private final CuradorReactiveRepository repository;
+
+    @Value("${paginacion.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${paginacion.max-size:500}")
+    private int maxPageSize;
+
+    public CuradorReactiveHandler(CuradorReactiveRepository repository) {
+        this.repository = repository;
+    }
+
+    public Mono<ServerResponse> findAll(ServerRequest request) {
+        Optional<String> cursor = request.queryParam("cursor");
+        Optional<String> size = request.queryParam("size");
+        if (request.queryParam("fields").isPresent()) {
+            return sinFields();
+        }
+        if (cursor.isEmpty() && size.isEmpty()) {
+            // Se transmite el arreglo a medida que llegan las filas
+            return ServerResponse.ok().body(repository.findAll(), Curador.class);
+        }
+        int tamanio;
+        Long desde;
+        try {
+            tamanio = size.map(s -> Math.max(1, Math.min(Integer.parseInt(s), maxPageSize))).orElse(defaultPageSize);
+            desde = cursor.map(Long::valueOf).orElse(0L);
+        } catch (NumberFormatException e) {
+            return invalida("cursor y size deben ser números");
+        }
+        return repository.findByIdGreaterThan(desde, tamanio + 1)
+                .collectList()
+                .flatMap(curadores -> ServerResponse.ok().bodyValue(toPagina(curadores, tamanio)));
+    }
+
+    public Mono<ServerResponse> findById(ServerRequest request) {
+        if (request.queryParam("fields").isPresent()) {
+            return sinFields();
+        }
+        Long id;
+        try {
+            id = Long.valueOf(request.pathVariable("id"));
+        } catch (NumberFormatException e) {
+            return invalida("El ID debe ser un número");
+        }
+        return repository.findById(id)
+                .flatMap(curador -> {
+                    // Mismo ETag que CuradorController
+                    String etag = "\"" + curador.getId() + "-" + curador.getVersion() + "\"";
+                    if (noModificado(request, etag)) {
+                        return ServerResponse.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                    }
+                    return ServerResponse.ok().eTag(etag).bodyValue(curador);
+                })
+                .switchIfEmpty(ServerResponse.notFound().build());
+    }
+
+    public Mono<ServerResponse> findAllById(ServerRequest request) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (String valor : request.queryParams().getOrDefault("ids", Collections.emptyList())) {
+            for (String id : valor.split(",")) {
+                if (!id.isBlank()) {
+                    try {
+                        ids.add(Long.valueOf(id.trim()));
+                    } catch (NumberFormatException e) {
+                        return invalida("ids debe ser una lista de números separados por comas");
+                    }
+                }
+            }
+        }
+        if (ids.size() > MAX_BATCH) {
+            return invalida("No se pueden consultar más de " + MAX_BATCH + " curadores a la vez");
+        }
+        if (ids.isEmpty()) {
+            return ServerResponse.ok().bodyValue(Collections.emptyList());
+        }
+        return ServerResponse.ok().body(repository.findAllById(ids), Curador.class);
+    }
+
+    // Mismo 400 que da Spring MVC cuando un parámetro no se puede convertir
+    private static Mono<ServerResponse> invalida(String mensaje) {
+        return ServerResponse.badRequest().bodyValue(Collections.singletonMap("message", mensaje));
+    }
+
+    // Las proyecciones de fields= solo las sirve CuradorController, en el puerto principal
+    private static Mono<ServerResponse> sinFields() {
+        return invalida("fields no se admite en la ruta reactiva; pedirlo a CuradorController en el puerto principal");
+    }
+
+    private static boolean noModificado(ServerRequest request, String etag) {
+        String ifNoneMatch = request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag actual = ETag.create(etag);
+        for (ETag recibido : ETag.parse(ifNoneMatch)) {
+            if (recibido.isWildcard() || recibido.compare(actual, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Pagina<Curador> toPagina(List<Curador> curadores, int size) {
+        if (curadores.size() <= size) {
+            return new Pagina<>(curadores, null);
+        }
+        List<Curador> pagina = new ArrayList<>(curadores.subList(0, size));
+        return new Pagina<>(pagina, pagina.get(size - 1).getId());
+    }
+}
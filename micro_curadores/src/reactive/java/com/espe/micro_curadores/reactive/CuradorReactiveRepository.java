@@ -0,0 +1,101 @@
+package com.espe.micro_curadores.reactive;
+
+import com.espe.micro_curadores.models.entities.Curador;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Date;
+
+/**
+ * Lecturas de curadores con R2DBC. Las filas se convierten a la misma entidad {@link Curador}
+ * que usa la ruta bloqueante, así que el JSON y las reglas de sus setters son idénticos.
+ * <p>
+ * El pool R2DBC no se publica como bean: si existiera un bean ConnectionFactory, Spring Boot
+ * no configuraría el DataSource que siguen usando JPA y las escrituras.
+ */
+@Repository
+@Profile("reactivo")
+public class CuradorReactiveRepository implements DisposableBean {
+
+    private static final String SELECT = "SELECT id, nombre, especialidad, fecha_nacimiento, creado_en, version FROM curadores ";
+
+    private final ConnectionPool pool;
+    private final DatabaseClient client;
+
+    public CuradorReactiveRepository(@Value("${spring.r2dbc.url}") String url,
+                                     @Value("${spring.r2dbc.username:}") String username,
+                                     @Value("${spring.r2dbc.password:}") String password,
+                                     @Value("${spring.r2dbc.pool.initial-size:10}") int initialSize,
+                                     @Value("${spring.r2dbc.pool.max-size:50}") int maxSize) {
+        ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                .option(ConnectionFactoryOptions.USER, username)
+                .option(ConnectionFactoryOptions.PASSWORD, password)
+                .build();
+        this.pool = new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options))
+                .initialSize(initialSize)
+                .maxSize(maxSize)
+                .build());
+        this.client = DatabaseClient.create(pool);
+    }
+
+    @Override
+    public void destroy() {
+        pool.dispose();
+    }
+
+    public Mono<Curador> findById(Long id) {
+        return client.sql(SELECT + "WHERE id = :id")
+                .bind("id", id)
+                .map(this::toCurador)
+                .one();
+    }
+
+    public Flux<Curador> findAll() {
+        return client.sql(SELECT + "ORDER BY id")
+                .map(this::toCurador)
+                .all();
+    }
+
+    // Paginación keyset, igual que CuradorRepository.findByIdGreaterThanOrderByIdAsc
+    public Flux<Curador> findByIdGreaterThan(Long cursor, int limite) {
+        return client.sql(SELECT + "WHERE id > :cursor ORDER BY id LIMIT :limite")
+                .bind("cursor", cursor)
+                .bind("limite", limite)
+                .map(this::toCurador)
+                .all();
+    }
+
+    public Flux<Curador> findAllById(Collection<Long> ids) {
+        return client.sql(SELECT + "WHERE id IN (:ids)")
+                .bind("ids", ids)
+                .map(this::toCurador)
+                .all();
+    }
+
+    private Curador toCurador(Readable row) {
+        Curador curador = new Curador();
+        curador.setId(row.get("id", Long.class));
+        curador.setNombre(row.get("nombre", String.class));
+        curador.setEspecialidad(row.get("especialidad", String.class));
+        curador.setFechaNacimiento(row.get("fecha_nacimiento", LocalDate.class));
+        LocalDateTime creadoEn = row.get("creado_en", LocalDateTime.class);
+        // Hibernate guarda creado_en en UTC (hibernate.jdbc.time_zone)
+        curador.setCreadoEn(creadoEn == null ? null : Date.from(creadoEn.toInstant(ZoneOffset.UTC)));
+        curador.setVersion(row.get("version", Long.class));
+        return curador;
+    }
+}
@@ -0,0 +1,44 @@
+package com.espe.micro_curadores.reactive;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import java.util.List;
+
+/**
+ * Rutas de lectura no bloqueantes; las sirve {@link ServidorLecturaReactiva} en su propio puerto.
+ */
+@Configuration
+@Profile("reactivo")
+public class CuradorReactiveRouter {
+
+    @Bean
+    public RouterFunction<ServerResponse> rutasCuradores(CuradorReactiveHandler handler) {
+        return RouterFunctions.route()
+                .GET("/api/curadores/batch", handler::findAllById)
+                .GET("/api/curadores/{id}", handler::findById)
+                .GET("/api/curadores", handler::findAll)
+                .build();
+    }
+
+    // Equivalente reactivo de CorsConfig
+    @Bean
+    public CorsWebFilter corsWebFilter() {
+        CorsConfiguration config = new CorsConfiguration();
+        config.setAllowedOrigins(List.of("http://localhost:5173"));
+        config.setAllowedMethods(List.of("GET", "OPTIONS"));
+        config.addAllowedHeader("*");
+        config.addExposedHeader("ETag");
+        config.setAllowCredentials(true);
+        UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+        source.registerCorsConfiguration("/**", config);
+        return new CorsWebFilter(source);
+    }
+}
@@ -0,0 +1,75 @@
+package com.espe.micro_curadores.reactive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import org.springframework.web.server.adapter.WebHttpHandlerBuilder;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+/**
+ * Sirve las rutas de {@link CuradorReactiveRouter} con Reactor Netty en {@code curadores.reactivo.puerto}.
+ * <p>
+ * La aplicación sigue siendo de Spring MVC: escrituras, PATCH, estadísticas, fields=, eventos e importación
+ * continúan en CuradorController, con su control de admisión, en el puerto principal. Este servidor solo
+ * cambia la ruta de lectura y usa el mismo ObjectMapper, así que el JSON es idéntico en ambos puertos.
+ */
+@Component
+@Profile("reactivo")
+public class ServidorLecturaReactiva implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ServidorLecturaReactiva.class);
+
+    private final HttpHandler handler;
+    private final int puerto;
+
+    private volatile DisposableServer servidor;
+
+    public ServidorLecturaReactiva(RouterFunction<ServerResponse> rutasCuradores,
+                                   CorsWebFilter corsWebFilter,
+                                   ObjectMapper objectMapper,
+                                   @Value("${curadores.reactivo.puerto:8014}") int puerto) {
+        HandlerStrategies estrategias = HandlerStrategies.builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                })
+                .build();
+        this.handler = WebHttpHandlerBuilder.webHandler(RouterFunctions.toWebHandler(rutasCuradores, estrategias))
+                .filter(corsWebFilter)
+                .build();
+        this.puerto = puerto;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        servidor = HttpServer.create()
+                .port(puerto)
+                .handle(new ReactorHttpHandlerAdapter(handler))
+                .bindNow();
+        log.info("Lecturas reactivas de curadores en el puerto {}", servidor.port());
+    }
+
+    @Override
+    public void destroy() {
+        DisposableServer actual = servidor;
+        if (actual != null) {
+            actual.disposeNow();
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.espe.micro_curadores.benchmark;
+
+import org.HdrHistogram.Histogram;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la ruta bloqueante (CuradorController) con la reactiva (perfil {@code reactivo}, que la sirve en
+ * {@code curadores.reactivo.puerto}) pidiendo {@code GET /api/curadores/{id}} con N clientes en bucle cerrado.
+ * <p>
+ * No es un test: surefire no lo ejecuta. Con ambas instancias levantadas contra la misma base:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.espe.micro_curadores.benchmark.LecturaCuradoresBenchmark \
+ *     -Dexec.args="http://localhost:8004 http://localhost:8014 [concurrencia] [segundos] [maxId]"
+ * </pre>
+ * Imprime peticiones por segundo, p50, p99 y errores (respuestas distintas de 200/404) de cada URL.
+ */
+public class LecturaCuradoresBenchmark {
+
+    private static final Duration CALENTAMIENTO = Duration.ofSeconds(5);
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("Uso: LecturaCuradoresBenchmark <urlBloqueante> <urlReactiva> [concurrencia] [segundos] [maxId]");
+            System.exit(1);
+        }
+        int concurrencia = args.length > 2 ? Integer.parseInt(args[2]) : 256;
+        int segundos = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+        long maxId = args.length > 4 ? Long.parseLong(args[4]) : 1000;
+
+        for (String base : Arrays.asList(args[0], args[1])) {
+            medir(base, concurrencia, CALENTAMIENTO, maxId);
+            Resultado resultado = medir(base, concurrencia, Duration.ofSeconds(segundos), maxId);
+            System.out.printf("%s -> %.0f req/s, p50 %.2f ms, p99 %.2f ms, errores %d (concurrencia %d)%n",
+                    base, resultado.porSegundo(), resultado.percentil(50), resultado.percentil(99),
+                    resultado.errores, concurrencia);
+        }
+    }
+
+    private static Resultado medir(String base, int concurrencia, Duration duracion, long maxId) throws Exception {
+        // HttpClient no se cierra en Java 17: su ejecutor se apaga al terminar cada medición
+        ExecutorService ejecutorHttp = Executors.newFixedThreadPool(Math.max(4, concurrencia / 8));
+        ExecutorService clientes = Executors.newFixedThreadPool(concurrencia);
+        try {
+            return medir(base, concurrencia, duracion, maxId, ejecutorHttp, clientes);
+        } finally {
+            clientes.shutdownNow();
+            ejecutorHttp.shutdownNow();
+            clientes.awaitTermination(10, TimeUnit.SECONDS);
+            ejecutorHttp.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Resultado medir(String base, int concurrencia, Duration duracion, long maxId,
+                                   ExecutorService ejecutorHttp, ExecutorService clientes) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .executor(ejecutorHttp)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long fin = System.nanoTime() + duracion.toNanos();
+        List<Future<Resultado>> parciales = new ArrayList<>();
+        for (int i = 0; i < concurrencia; i++) {
+            parciales.add(clientes.submit(() -> {
+                Resultado parcial = new Resultado();
+                while (System.nanoTime() < fin) {
+                    long id = ThreadLocalRandom.current().nextLong(1, maxId + 1);
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(base + "/api/curadores/" + id))
+                            .timeout(Duration.ofSeconds(10))
+                            .GET()
+                            .build();
+                    long inicio = System.nanoTime();
+                    try {
+                        int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        parcial.registrar(System.nanoTime() - inicio, status == 200 || status == 404);
+                    } catch (Exception e) {
+                        parcial.registrar(System.nanoTime() - inicio, false);
+                    }
+                }
+                return parcial;
+            }));
+        }
+        Resultado total = new Resultado();
+        for (Future<Resultado> parcial : parciales) {
+            total.sumar(parcial.get());
+        }
+        total.segundos = duracion.toNanos() / 1e9;
+        return total;
+    }
+
+    private static class Resultado {
+        // Un histograma por cliente (no es seguro entre hilos); se suman al final
+        private final Histogram latencias = new Histogram(TimeUnit.MINUTES.toNanos(1), 3);
+        private long errores;
+        private double segundos;
+
+        void registrar(long nanos, boolean ok) {
+            latencias.recordValue(Math.min(nanos, latencias.getHighestTrackableValue()));
+            if (!ok) {
+                errores++;
+            }
+        }
+
+        void sumar(Resultado otro) {
+            latencias.add(otro.latencias);
+            errores += otro.errores;
+        }
+
+        double porSegundo() {
+            return (latencias.getTotalCount() - errores) / segundos;
+        }
+
+        double percentil(int p) {
+            return latencias.getValueAtPercentile(p) / 1e6;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.espe.micro_curadores.busqueda;
+
+import com.espe.micro_curadores.models.entities.Curador;
+import com.espe.micro_curadores.repositories.CuradorRepository;
+import com.espe.micro_curadores.repositories.EventoCuradorRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lo que escribe otra instancia (aquí, directamente en las tablas) llega al índice por curador_eventos.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class IndiceCuradoresTest {
+
+    @Autowired
+    private IndiceCuradores indice;
+
+    @Autowired
+    private CuradorRepository curadorRepository;
+
+    @Autowired
+    private EventoCuradorRepository eventoRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void aplicaLasEscriturasDeOtrasInstancias() throws Exception {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!indice.isListo() && System.nanoTime() < limite) {
+            Thread.sleep(50);
+        }
+        assertTrue(indice.isListo());
+
+        Curador curador = new Curador();
+        curador.setNombre("Teodora Quishpe");
+        curador.setEspecialidad("Orfebreria");
+        curador.setFechaNacimiento(LocalDate.of(1975, 3, 8));
+        Long id = transactionTemplate.execute(status -> {
+            Curador guardado = curadorRepository.save(curador);
+            entityManager.flush();
+            eventoRepository.registrarGuardados(Collections.singletonList(guardado.getId()));
+            return guardado.getId();
+        });
+        assertTrue(indice.buscar("orfebreria", false, null, 0, 10).isEmpty());
+
+        indice.aplicarEventos();
+        assertEquals(Collections.singletonList(id), indice.buscar("orfebreria", false, null, 0, 10));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            curadorRepository.deleteById(id);
+            eventoRepository.registrarEliminacion(id);
+        });
+        indice.aplicarEventos();
+        assertTrue(indice.buscar("orfebreria", false, null, 0, 10).isEmpty());
+    }
+}
@@ -0,0 +1,78 @@
+package com.espe.micro_curadores.controller;
+
+import com.espe.micro_curadores.models.entities.Curador;
+import com.espe.micro_curadores.services.CuradorService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * /batch devuelve en una respuesta los curadores pedidos, sin repetidos ni inexistentes, y limita cuántos IDs se piden.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CuradorControllerBatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CuradorService service;
+
+    @Test
+    void devuelveLosCuradoresPedidosPorGetYPorPost() throws Exception {
+        Long ana = guardar("Ana").getId();
+        Long luis = guardar("Luis").getId();
+
+        mockMvc.perform(get("/api/curadores/batch").param("ids", ana + "," + luis + "," + ana + "," + Long.MAX_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[*].nombre", containsInAnyOrder("Ana", "Luis")));
+
+        mockMvc.perform(post("/api/curadores/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + luis + "," + Long.MAX_VALUE + "]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id").value(luis));
+    }
+
+    @Test
+    void rechazaDemasiadosIds() throws Exception {
+        String ids = LongStream.rangeClosed(1, 1001).mapToObj(String::valueOf).collect(Collectors.joining(","));
+
+        mockMvc.perform(post("/api/curadores/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[" + ids + "]"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/curadores/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    private Curador guardar(String nombre) {
+        Curador curador = new Curador();
+        curador.setNombre(nombre);
+        curador.setEspecialidad("Ceramica");
+        curador.setFechaNacimiento(LocalDate.of(1975, 3, 14));
+        return service.save(curador);
+    }
+}
@@ -0,0 +1,69 @@
+package com.espe.micro_curadores.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Importación masiva: se guardan los curadores válidos y cada rechazado se informa con su posición, tanto en un
+ * arreglo JSON como en NDJSON.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CuradorControllerBulkTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void guardaLosValidosEInformaLosRechazados() throws Exception {
+        String ndjson = "{\"nombre\":\"Ana\",\"especialidad\":\"Textiles\",\"fechaNacimiento\":\"1980-01-02\"}\n"
+                + "{\"nombre\":\"Luis\",\"especialidad\":\"Textiles\"}\n"
+                + "{\"nombre\":\"Sara\",\"especialidad\":\"Textiles\",\"fechaNacimiento\":\"no-es-fecha\"}\n"
+                + "{\"nombre\":\"Marta\",\"especialidad\":\"Textiles\",\"fechaNacimiento\":\"1990-11-30\"}\n";
+
+        mockMvc.perform(post("/api/curadores/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.recibidos").value(4))
+                .andExpect(jsonPath("$.creados").value(2))
+                .andExpect(jsonPath("$.rechazados").value(2))
+                .andExpect(jsonPath("$.errores", hasSize(2)))
+                .andExpect(jsonPath("$.errores[0].indice").value(1))
+                .andExpect(jsonPath("$.errores[0].errores", hasKey("fechaNacimiento")))
+                .andExpect(jsonPath("$.errores[1].indice").value(2))
+                .andExpect(jsonPath("$.errores[1].errores", hasKey("json")));
+
+        mockMvc.perform(post("/api/curadores/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"nombre\":\"Pablo\",\"especialidad\":\"Grabado\",\"fechaNacimiento\":\"1975-05-05\"},"
+                                + "{\"especialidad\":\"Grabado\",\"fechaNacimiento\":\"1975-05-05\"}]"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.recibidos").value(2))
+                .andExpect(jsonPath("$.creados").value(1))
+                .andExpect(jsonPath("$.errores[0].indice").value(1))
+                .andExpect(jsonPath("$.errores[0].errores", hasKey("nombre")));
+    }
+
+    @Test
+    void unCuerpoMalFormadoDevuelveLoProcesadoHastaElError() throws Exception {
+        mockMvc.perform(post("/api/curadores/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"nombre\":\"Ana\",\"especialidad\":\"Textiles\",\"fechaNacimiento\":\"1980-01-02\"}\n{\"nombre\":"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").exists())
+                .andExpect(jsonPath("$.resultado.recibidos").value(1));
+    }
+}
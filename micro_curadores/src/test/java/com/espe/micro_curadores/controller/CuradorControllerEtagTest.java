@@ -0,0 +1,92 @@
+package com.espe.micro_curadores.controller;
+
+import com.espe.micro_curadores.models.entities.Curador;
+import com.espe.micro_curadores.services.CuradorService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETag de la lista de curadores: un If-None-Match vigente recibe 304 sin cuerpo, y crear, editar o borrar un
+ * curador cambia el ETag.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CuradorControllerEtagTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CuradorService service;
+
+    @Test
+    void laListaRespondeNoModificadaHastaQueCambiaUnCurador() throws Exception {
+        Curador curador = guardar("Ana");
+        String etag = etagDeLaLista();
+
+        mockMvc.perform(get("/api/curadores").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        // Editar no cambia el total ni el mayor ID, pero sí la suma de versiones
+        mockMvc.perform(patch("/api/curadores/{id}", curador.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"especialidad\":\"Escultura\",\"version\":" + curador.getVersion() + "}"))
+                .andExpect(status().isOk());
+        String trasEditar = etagDeLaLista();
+        assertNotEquals(etag, trasEditar);
+        mockMvc.perform(get("/api/curadores").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+
+        guardar("Luis");
+        String trasCrear = etagDeLaLista();
+        assertNotEquals(trasEditar, trasCrear);
+
+        mockMvc.perform(delete("/api/curadores/{id}", curador.getId())).andExpect(status().isOk());
+        assertNotEquals(trasCrear, etagDeLaLista());
+    }
+
+    @Test
+    void laPaginaRespondeNoModificadaConSuEtag() throws Exception {
+        Long id = guardar("Marta").getId();
+        String etag = mockMvc.perform(get("/api/curadores").param("cursor", String.valueOf(id - 1)).param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/curadores").param("cursor", String.valueOf(id - 1)).param("size", "1")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    private String etagDeLaLista() throws Exception {
+        return mockMvc.perform(get("/api/curadores"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private Curador guardar(String nombre) {
+        Curador curador = new Curador();
+        curador.setNombre(nombre);
+        curador.setEspecialidad("Pintura");
+        curador.setFechaNacimiento(LocalDate.of(1985, 9, 9));
+        return service.save(curador);
+    }
+}
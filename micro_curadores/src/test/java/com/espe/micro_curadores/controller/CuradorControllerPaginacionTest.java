@@ -0,0 +1,75 @@
+package com.espe.micro_curadores.controller;
+
+import com.espe.micro_curadores.models.entities.Curador;
+import com.espe.micro_curadores.services.CuradorService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.nullValue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Paginación por cursor de GET /api/curadores: cada página trae los curadores con ID mayor que el cursor y, si hay
+ * más, el cursor next con el que se pide la siguiente.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CuradorControllerPaginacionTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CuradorService service;
+
+    @Test
+    void recorreLosCuradoresConElCursorNext() throws Exception {
+        Long primero = guardar("Ana").getId();
+        Long segundo = guardar("Luis").getId();
+        Long tercero = guardar("Sara").getId();
+
+        mockMvc.perform(get("/api/curadores").param("cursor", String.valueOf(primero - 1)).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(2)))
+                .andExpect(jsonPath("$.content[0].id").value(primero))
+                .andExpect(jsonPath("$.content[1].id").value(segundo))
+                .andExpect(jsonPath("$.next").value(segundo));
+
+        // La última página no trae next
+        mockMvc.perform(get("/api/curadores").param("cursor", String.valueOf(segundo)).param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(tercero))
+                .andExpect(jsonPath("$.next").value(nullValue()));
+    }
+
+    @Test
+    void ajustaElTamanioDePaginaAlMinimo() throws Exception {
+        Long id = guardar("Marta").getId();
+        guardar("Pablo");
+
+        mockMvc.perform(get("/api/curadores").param("cursor", String.valueOf(id - 1)).param("size", "0"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(id))
+                .andExpect(jsonPath("$.next").value(id));
+    }
+
+    private Curador guardar(String nombre) {
+        Curador curador = new Curador();
+        curador.setNombre(nombre);
+        curador.setEspecialidad("Pintura");
+        curador.setFechaNacimiento(LocalDate.of(1982, 7, 1));
+        return service.save(curador);
+    }
+}
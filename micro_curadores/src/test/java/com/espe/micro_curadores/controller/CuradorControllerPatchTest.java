@@ -0,0 +1,75 @@
+package com.espe.micro_curadores.controller;
+
+import com.espe.micro_curadores.models.entities.Curador;
+import com.espe.micro_curadores.services.CuradorService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PATCH con If-Match: cualquier ETag que no sea el de la versión actual del curador recibe 412.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CuradorControllerPatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CuradorService service;
+
+    @Test
+    void unIfMatchQueNoCoincideDaPrecondicionFallida() throws Exception {
+        Curador curador = new Curador();
+        curador.setNombre("Carla");
+        curador.setEspecialidad("Orfebreria");
+        curador.setFechaNacimiento(LocalDate.of(1980, 5, 20));
+        curador = service.save(curador);
+        String etag = "\"" + curador.getId() + "-" + curador.getVersion() + "\"";
+        String etagNuevo = "\"" + curador.getId() + "-" + (curador.getVersion() + 1) + "\"";
+
+        mockMvc.perform(patch("/api/curadores/{id}", curador.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"especialidad\":\"Textiles\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etagNuevo));
+
+        // Versión anterior, ETag de otro curador y ETag débil: ninguno coincide
+        mockMvc.perform(patch("/api/curadores/{id}", curador.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"Otra\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, etagNuevo));
+        mockMvc.perform(patch("/api/curadores/{id}", curador.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + Long.MAX_VALUE + "-" + (curador.getVersion() + 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"Otra\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/curadores/{id}", curador.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/" + etagNuevo)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"Otra\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        // Con el campo version desactualizado sigue siendo un conflicto
+        mockMvc.perform(patch("/api/curadores/{id}", curador.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"Otra\",\"version\":" + curador.getVersion() + "}"))
+                .andExpect(status().isConflict());
+    }
+}
@@ -0,0 +1,51 @@
+package com.espe.micro_curadores.importacion;
+
+import com.espe.importacion.AlineadorIdGeneradores;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tras filas creadas fuera del generador de tabla (p. ej. con el antiguo AUTO_INCREMENT), el alineador adelanta
+ * id_generadores para que el siguiente bloque reservado empiece después del mayor ID, y nunca lo retrasa.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class AlineadorIdGeneradoresTest {
+
+    @Autowired
+    private AlineadorIdGeneradores alineador;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void adelantaElGeneradorPorEncimaDelMayorId() {
+        long heredado = siguienteValor() + 10_000;
+        jdbcTemplate.update("INSERT INTO curadores (id, nombre, especialidad, fecha_nacimiento, version) VALUES (?, ?, ?, ?, 0)",
+                heredado, "Heredado", "Numismatica", Date.valueOf("1970-01-01"));
+        try {
+            alineador.afterSingletonsInstantiated();
+            long alineado = siguienteValor();
+            // El bloque que entrega el optimizador pooled es (valor - 50, valor]
+            assertTrue(alineado - 50 > heredado, "El siguiente bloque incluye IDs ya usados: " + alineado);
+
+            jdbcTemplate.update("DELETE FROM curadores WHERE id = ?", heredado);
+            alineador.afterSingletonsInstantiated();
+            assertEquals(alineado, siguienteValor());
+        } finally {
+            jdbcTemplate.update("DELETE FROM curadores WHERE id = ?", heredado);
+        }
+    }
+
+    private long siguienteValor() {
+        return jdbcTemplate.queryForObject("SELECT siguiente_valor FROM id_generadores WHERE entidad = 'curadores'", Long.class);
+    }
+}
@@ -0,0 +1,45 @@
+package com.espe.micro_curadores.services;
+
+import com.espe.micro_curadores.models.CambiosCurador;
+import com.espe.micro_curadores.models.entities.Curador;
+import com.espe.micro_curadores.repositories.CuradorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * PATCH con versión: solo se aplica sobre la versión indicada.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CuradorServiceImplTest {
+
+    @Autowired
+    private CuradorService service;
+
+    @Autowired
+    private CuradorRepository repository;
+
+    @Test
+    void elPatchSoloSeAplicaSobreLaVersionIndicada() {
+        Curador curador = service.save(EventosCuradoresTest.curador("Carla", "Orfebreria"));
+        CambiosCurador cambios = new CambiosCurador();
+        cambios.setEspecialidad("Textiles");
+        assertEquals(1, service.actualizarParcial(curador.getId(), curador.getVersion(), cambios));
+
+        // Segunda edición sobre la misma versión: no se aplica
+        CambiosCurador tardios = new CambiosCurador();
+        tardios.setNombre("Otra");
+        assertEquals(0, service.actualizarParcial(curador.getId(), curador.getVersion(), tardios));
+        assertEquals(0, service.actualizarParcial(Long.MAX_VALUE, 0, tardios));
+
+        Curador guardado = repository.findById(curador.getId()).get();
+        assertEquals("Carla", guardado.getNombre());
+        assertEquals("Textiles", guardado.getEspecialidad());
+        assertEquals(curador.getVersion() + 1, guardado.getVersion());
+        assertEquals(guardado.getVersion(), service.findVersion(curador.getId()).get());
+    }
+}
@@ -0,0 +1,60 @@
+package com.espe.micro_curadores.services;
+
+import com.espe.micro_curadores.models.CambiosCurador;
+import com.espe.micro_curadores.models.EstadisticasCuradores;
+import com.espe.micro_curadores.models.entities.Curador;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Las estadísticas por especialidad que se mantienen en cada alta, cambio y borrado coinciden con un recálculo
+ * completo.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EstadisticasEspecialidadesTest {
+
+    @Autowired
+    private CuradorService service;
+
+    @Autowired
+    private EstadisticasEspecialidades estadisticas;
+
+    @Test
+    void lasEstadisticasIncrementalesCoincidenConUnRecalculo() throws InterruptedException {
+        EstadisticasCuradores inicial = esperarCalculo();
+
+        Curador carla = service.save(EventosCuradoresTest.curador("Carla", "Filatelia"));
+        Curador pedro = service.save(EventosCuradoresTest.curador("Pedro", "Numismatica"));
+        CambiosCurador cambios = new CambiosCurador();
+        cambios.setEspecialidad("Numismatica");
+        assertEquals(1, service.actualizarParcial(carla.getId(), carla.getVersion(), cambios));
+        service.deleteById(pedro.getId());
+
+        EstadisticasCuradores incrementales = estadisticas.getEstadisticas();
+        assertEquals(inicial.getCuradores() + 1, incrementales.getCuradores());
+        assertEquals(Long.valueOf(1), incrementales.getPorEspecialidad().get("Numismatica"));
+        assertNull(incrementales.getPorEspecialidad().get("Filatelia"));
+
+        estadisticas.recalcular();
+        EstadisticasCuradores recalculadas = estadisticas.getEstadisticas();
+        assertEquals(recalculadas.getCuradores(), incrementales.getCuradores());
+        assertEquals(recalculadas.getPorEspecialidad(), incrementales.getPorEspecialidad());
+    }
+
+    // El primer cálculo se lanza en segundo plano al arrancar
+    private EstadisticasCuradores esperarCalculo() throws InterruptedException {
+        for (int i = 0; i < 100 && estadisticas.getEstadisticas() == null; i++) {
+            Thread.sleep(50);
+        }
+        EstadisticasCuradores stats = estadisticas.getEstadisticas();
+        assertNotNull(stats);
+        return stats;
+    }
+}
@@ -0,0 +1,142 @@
+package com.espe.micro_curadores.services;
+
+import com.espe.micro_curadores.models.CambiosCurador;
+import com.espe.micro_curadores.models.entities.Curador;
+import com.espe.micro_curadores.models.entities.EventoCurador;
+import com.espe.micro_curadores.repositories.CuradorRepository;
+import com.espe.micro_curadores.repositories.EventoCuradorRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tabla de salida curador_eventos: un evento por escritura, en su misma transacción y en el orden en que se
+ * hicieron, retenido mientras es más reciente que el retraso, compactado al último de cada curador y sembrado
+ * cuando la tabla está vacía.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EventosCuradoresTest {
+
+    @Autowired
+    private CuradorService service;
+
+    @Autowired
+    private CuradorRepository curadorRepository;
+
+    @Autowired
+    private EventoCuradorRepository eventoRepository;
+
+    @Autowired
+    private MantenimientoEventos mantenimiento;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void cadaEscrituraDejaSuEventoEnOrdenYLaCompactacionConservaElUltimo() {
+        long desde = ultimoEvento();
+        Curador ana = service.save(curador("Ana", "Pintura"));
+        Curador luis = service.save(curador("Luis", "Escultura"));
+        CambiosCurador cambios = new CambiosCurador();
+        cambios.setNombre("Ana Maria");
+        assertEquals(1, service.actualizarParcial(ana.getId(), ana.getVersion(), cambios));
+        service.deleteById(luis.getId());
+
+        List<EventoCurador> eventos = service.findEventos(desde, 10);
+        assertEquals(4, eventos.size());
+        assertEvento(eventos.get(0), ana.getId(), EventoCurador.GUARDADO, "Ana", ana.getVersion());
+        assertEvento(eventos.get(1), luis.getId(), EventoCurador.GUARDADO, "Luis", luis.getVersion());
+        // El INSERT ... SELECT copia el estado ya actualizado, con la versión nueva
+        assertEvento(eventos.get(2), ana.getId(), EventoCurador.GUARDADO, "Ana Maria", ana.getVersion() + 1);
+        assertEvento(eventos.get(3), luis.getId(), EventoCurador.ELIMINADO, null, null);
+        for (int i = 1; i < eventos.size(); i++) {
+            assertTrue(eventos.get(i - 1).getId() < eventos.get(i).getId());
+        }
+
+        // Más recientes que el retraso: todavía no se entregan, pero sí se releen por ID
+        assertTrue(eventoRepository.findDesde(desde, 3600, Limit.of(10)).isEmpty());
+        assertEquals(2, service.findEventosPorId(Arrays.asList(eventos.get(0).getId(), eventos.get(3).getId())).size());
+
+        mantenimiento.compactar();
+        List<EventoCurador> compactados = service.findEventos(desde, 10);
+        assertEquals(2, compactados.size());
+        assertEvento(compactados.get(0), ana.getId(), EventoCurador.GUARDADO, "Ana Maria", ana.getVersion() + 1);
+        assertEvento(compactados.get(1), luis.getId(), EventoCurador.ELIMINADO, null, null);
+    }
+
+    @Test
+    void elEventoSeEscribeEnLaMismaTransaccionQueElCambio() {
+        Curador ana = service.save(curador("Ana", "Pintura"));
+        long desde = ultimoEvento();
+
+        // Dentro de una transacción que luego se deshace: el evento se ve junto al cambio y desaparece con él
+        transactionTemplate.executeWithoutResult(status -> {
+            CambiosCurador cambios = new CambiosCurador();
+            cambios.setNombre("Ana Maria");
+            assertEquals(1, service.actualizarParcial(ana.getId(), ana.getVersion(), cambios));
+            List<EventoCurador> pendientes = eventoRepository.findDesde(desde, 0, Limit.of(10));
+            assertEquals(1, pendientes.size());
+            assertEvento(pendientes.get(0), ana.getId(), EventoCurador.GUARDADO, "Ana Maria", ana.getVersion() + 1);
+            status.setRollbackOnly();
+        });
+
+        assertTrue(service.findEventos(desde, 10).isEmpty());
+        Curador guardado = curadorRepository.findById(ana.getId()).get();
+        assertEquals("Ana", guardado.getNombre());
+        assertEquals(ana.getVersion(), guardado.getVersion());
+    }
+
+    @Test
+    void conLaTablaVaciaSiembraUnEventoPorCurador() {
+        service.save(curador("Rosa", "Ceramica"));
+        service.save(curador("Pedro", "Grabado"));
+        eventoRepository.deleteAll();
+
+        mantenimiento.sembrar();
+        List<EventoCurador> sembrados = service.findEventos(0, 1000);
+        assertEquals(curadorRepository.count(), sembrados.size());
+        for (EventoCurador evento : sembrados) {
+            assertEquals(EventoCurador.GUARDADO, evento.getTipo());
+        }
+
+        // Con eventos ya registrados no vuelve a sembrar
+        mantenimiento.sembrar();
+        assertEquals(sembrados.size(), eventoRepository.count());
+    }
+
+    private long ultimoEvento() {
+        List<EventoCurador> eventos = service.findEventos(0, 1000);
+        return eventos.isEmpty() ? 0 : eventos.get(eventos.size() - 1).getId();
+    }
+
+    private static void assertEvento(EventoCurador evento, Long curadorId, String tipo, String nombre, Long version) {
+        assertEquals(curadorId, evento.getCuradorId());
+        assertEquals(tipo, evento.getTipo());
+        assertEquals(nombre, evento.getNombre());
+        if (version == null) {
+            assertNull(evento.getVersion());
+        } else {
+            assertEquals(version, evento.getVersion());
+        }
+    }
+
+    static Curador curador(String nombre, String especialidad) {
+        Curador curador = new Curador();
+        curador.setNombre(nombre);
+        curador.setEspecialidad(especialidad);
+        curador.setFechaNacimiento(LocalDate.of(1980, 5, 20));
+        return curador;
+    }
+}
@@ -0,0 +1,40 @@
+package com.espe.micro_museos;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import feign.RequestInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Respuestas en CBOR (application/cbor) para los clientes que lo pidan en Accept, con la misma
+ * configuración de Jackson que JSON. El mismo conversor lo usa Feign para leer las respuestas de
+ * micro_curadores, a las que se pide el formato de {@code curadores.client.formato} comprimido con gzip.
+ * Las respuestas CBOR llevan su propio ETag (ver {@link com.espe.formatos.EtagPorFormato}).
+ */
+@Configuration
+public class CborConfig {
+
+    // El builder de Spring Boot ya trae los módulos y las propiedades spring.jackson.*
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+
+    /*
+     * Sustituye el Accept de los produces de CuradorClientRest; la respuesta se decodifica según su Content-Type.
+     * El cliente por defecto de Feign descomprime gzip y deflate, pero spring.cloud.openfeign.compression.response
+     * solo se activa con un bean feign.Client, así que Accept-Encoding también se añade aquí.
+     */
+    @Bean
+    public RequestInterceptor formatoCuradores(@Value("${curadores.client.formato:application/cbor}") String formato) {
+        return template -> {
+            template.removeHeader(HttpHeaders.ACCEPT);
+            template.header(HttpHeaders.ACCEPT, formato);
+            template.header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate");
+        };
+    }
+}
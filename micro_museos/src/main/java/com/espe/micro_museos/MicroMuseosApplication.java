@@ -5,7 +5,8 @@ import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
 
 @EnableFeignClients
-@SpringBootApplication
+// Además del propio paquete, los componentes de los módulos compartidos
+@SpringBootApplication(scanBasePackages = {"com.espe.micro_museos", "com.espe.admision", "com.espe.basedatos", "com.espe.monitoreo", "com.espe.importacion", "com.espe.formatos"})
 public class MicroMuseosApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,399 @@
+package com.espe.micro_museos.busqueda;
+
+import com.espe.micro_museos.colecciones.MapaLongs;
+import com.espe.micro_museos.repositories.MuseoCuradorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice en memoria de las asignaciones museo-curador en ambos sentidos (museo → curadores y
+ * curador → museos), con claves long primitivas y listas de IDs ordenadas en long[].
+ * <p>
+ * MuseoServiceImpl lo actualiza en cada asignación o baja. Cada {@code asignaciones.snapshot.intervalo}, si hubo
+ * cambios, y al detener el servicio se vuelca a un archivo mapeado en memoria. Al arrancar se carga ese archivo
+ * solo si su recuento y sus sumas de control coinciden con la tabla museo_curador; si no, se reconstruye leyendo
+ * la tabla por lotes. Mientras tanto {@link #isListo()} es falso y las consultas deben ir a la base de datos.
+ * Cada instancia mantiene su propio índice y su propio volcado (el nombre por defecto lleva el puerto); los
+ * cambios hechos en otra instancia llegan con CambiosAsignaciones, que llama a {@link #reemplazar}.
+ */
+@Component
+public class IndiceAsignaciones implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceAsignaciones.class);
+
+    private static final long MAGIA = 0x4D55534541534731L; // "MUSEASG1"
+    private static final int CABECERA = 5; // magia, asignaciones y tres sumas de control
+
+    private final MuseoCuradorRepository repository;
+    private final Path archivo;
+    private final int lote;
+    private final ScheduledExecutorService volcador;
+
+    private final MapaLongs curadoresPorMuseo = new MapaLongs();
+    private final MapaLongs museosPorCurador = new MapaLongs();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long asignaciones;
+    private long sumaMuseos;
+    private long sumaCuradores;
+    private long sumaProductos;
+    // Durante la carga se recuerdan las bajas para no volver a agregarlas desde el archivo o la tabla
+    private Set<Asignacion> quitadasDuranteCarga;
+    private volatile boolean listo;
+    private volatile boolean cambios;
+
+    public IndiceAsignaciones(MuseoCuradorRepository repository,
+                              @Value("${asignaciones.snapshot.archivo:${java.io.tmpdir}/micro_museos-${server.port:8005}-asignaciones.idx}") String archivo,
+                              @Value("${asignaciones.snapshot.intervalo:PT1M}") Duration intervalo,
+                              @Value("${busqueda.carga.lote:5000}") int lote) {
+        this.repository = repository;
+        this.archivo = Paths.get(archivo);
+        this.lote = lote;
+        this.volcador = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread hilo = new Thread(runnable, "indice-asignaciones");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        long periodo = Math.max(1, intervalo.getSeconds());
+        volcador.scheduleWithFixedDelay(this::volcarSiHayCambios, periodo, periodo, TimeUnit.SECONDS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        volcador.execute(this::cargar);
+    }
+
+    private void cargar() {
+        long inicio = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            quitadasDuranteCarga = new HashSet<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            Object[] tabla = repository.findSumasDeControl().get(0);
+            long[] esperadas = {numero(tabla[0]), numero(tabla[1]), numero(tabla[2]), numero(tabla[3])};
+            String origen;
+            if (cargarArchivo(esperadas)) {
+                origen = "archivo " + archivo;
+            } else {
+                cargarTabla();
+                origen = "tabla museo_curador";
+                cambios = true;
+            }
+            listo = true;
+            log.info("Índice de asignaciones cargado desde {} con {} asignaciones en {} ms",
+                    origen, asignaciones, (System.nanoTime() - inicio) / 1_000_000);
+        } catch (Exception e) {
+            log.error("No se pudo construir el índice de asignaciones; las consultas seguirán yendo a la base de datos", e);
+        } finally {
+            lock.writeLock().lock();
+            try {
+                quitadasDuranteCarga = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    private boolean cargarArchivo(long[] esperadas) {
+        if (!Files.isRegularFile(archivo)) {
+            return false;
+        }
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            LongBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()).asLongBuffer();
+            if (datos.remaining() < CABECERA || datos.get(0) != MAGIA) {
+                log.warn("El archivo {} no es un volcado válido del índice de asignaciones", archivo);
+                return false;
+            }
+            long[] guardadas = {datos.get(1), datos.get(2), datos.get(3), datos.get(4)};
+            if (!Arrays.equals(guardadas, esperadas) || datos.remaining() != CABECERA + 2 * guardadas[0]) {
+                log.info("El volcado {} no coincide con la tabla museo_curador; se reconstruye el índice", archivo);
+                return false;
+            }
+            for (int i = CABECERA; i < datos.limit(); i += 2) {
+                agregar(datos.get(i), datos.get(i + 1), true);
+            }
+            return true;
+        } catch (IOException e) {
+            log.warn("No se pudo leer el volcado {}: {}", archivo, e.getMessage());
+            return false;
+        }
+    }
+
+    private void cargarTabla() {
+        long cursor = 0;
+        List<Object[]> filas;
+        do {
+            filas = repository.findAsignacionesDesde(cursor, Limit.of(lote));
+            for (Object[] fila : filas) {
+                cursor = (Long) fila[0];
+                agregar((Long) fila[1], (Long) fila[2], true);
+            }
+        } while (filas.size() == lote);
+    }
+
+    public boolean isListo() {
+        return listo;
+    }
+
+    /**
+     * Descarta el índice y lo vuelve a cargar en segundo plano; mientras tanto {@link #isListo()} es falso.
+     */
+    public void reconstruir() {
+        listo = false;
+        volcador.execute(() -> {
+            lock.writeLock().lock();
+            try {
+                curadoresPorMuseo.limpiar();
+                museosPorCurador.limpiar();
+                asignaciones = 0;
+                sumaMuseos = 0;
+                sumaCuradores = 0;
+                sumaProductos = 0;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            cargar();
+        });
+    }
+
+    public void agregar(long museoId, long curadorId) {
+        agregar(museoId, curadorId, false);
+    }
+
+    public void agregar(long museoId, Collection<Long> curadorIds) {
+        for (Long curadorId : curadorIds) {
+            agregar(museoId, curadorId, false);
+        }
+    }
+
+    private void agregar(long museoId, long curadorId, boolean desdeCarga) {
+        lock.writeLock().lock();
+        try {
+            Asignacion asignacion = new Asignacion(museoId, curadorId);
+            if (quitadasDuranteCarga != null) {
+                if (desdeCarga && quitadasDuranteCarga.contains(asignacion)) {
+                    return;
+                }
+                if (!desdeCarga) {
+                    quitadasDuranteCarga.remove(asignacion);
+                }
+            }
+            long[] curadores = curadoresPorMuseo.get(museoId);
+            long[] conCurador = ListasOrdenadas.agregar(curadores, curadorId);
+            if (conCurador == curadores) {
+                return; // Ya estaba
+            }
+            curadoresPorMuseo.put(museoId, conCurador);
+            museosPorCurador.put(curadorId, ListasOrdenadas.agregar(museosPorCurador.get(curadorId), museoId));
+            contar(museoId, curadorId, 1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void quitar(long museoId, long curadorId) {
+        lock.writeLock().lock();
+        try {
+            if (quitadasDuranteCarga != null) {
+                quitadasDuranteCarga.add(new Asignacion(museoId, curadorId));
+            }
+            long[] curadores = curadoresPorMuseo.get(museoId);
+            long[] sinCurador = ListasOrdenadas.quitar(curadores, curadorId);
+            if (sinCurador == curadores) {
+                return;
+            }
+            curadoresPorMuseo.put(museoId, sinCurador);
+            museosPorCurador.put(curadorId, ListasOrdenadas.quitar(museosPorCurador.get(curadorId), museoId));
+            contar(museoId, curadorId, -1);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita todas las asignaciones de un museo (al eliminarlo o al reemplazar su lista de curadores).
+     */
+    public void quitarMuseo(long museoId) {
+        for (long curadorId : curadoresDeMuseo(museoId)) {
+            quitar(museoId, curadorId);
+        }
+    }
+
+    /**
+     * Deja al museo exactamente con los curadores indicados, leídos de la base de datos.
+     */
+    public void reemplazar(long museoId, long[] curadorIds) {
+        long[] nuevos = curadorIds.clone();
+        Arrays.sort(nuevos);
+        lock.writeLock().lock();
+        try {
+            for (long curadorId : curadoresPorMuseo.get(museoId)) {
+                if (Arrays.binarySearch(nuevos, curadorId) < 0) {
+                    quitar(museoId, curadorId);
+                }
+            }
+            for (long curadorId : nuevos) {
+                agregar(museoId, curadorId, false);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void contar(long museoId, long curadorId, int signo) {
+        asignaciones += signo;
+        sumaMuseos += signo * museoId;
+        sumaCuradores += signo * curadorId;
+        sumaProductos += signo * museoId * curadorId;
+        cambios = true;
+    }
+
+    /**
+     * IDs de los museos donde trabaja el curador, en orden ascendente. El arreglo no se modifica después
+     * de devolverlo: cada cambio crea uno nuevo.
+     */
+    public long[] museosDeCurador(long curadorId) {
+        lock.readLock().lock();
+        try {
+            return museosPorCurador.get(curadorId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long[] curadoresDeMuseo(long museoId) {
+        lock.readLock().lock();
+        try {
+            return curadoresPorMuseo.get(museoId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void volcarSiHayCambios() {
+        if (listo && cambios) {
+            try {
+                volcar();
+            } catch (Exception e) {
+                cambios = true; // Se reintenta en el siguiente intervalo
+                log.warn("No se pudo volcar el índice de asignaciones a {}: {}", archivo, e.getMessage());
+            }
+        }
+    }
+
+    // Se escribe en un archivo temporal y se renombra, para que un reinicio nunca lea un volcado a medias
+    private void volcar() throws IOException {
+        Path temporal = archivo.resolveSibling(archivo.getFileName() + ".tmp");
+        if (archivo.getParent() != null) {
+            Files.createDirectories(archivo.getParent());
+        }
+        lock.readLock().lock();
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            cambios = false;
+            MappedByteBuffer mapa = canal.map(FileChannel.MapMode.READ_WRITE, 0, (CABECERA + 2 * asignaciones) * Long.BYTES);
+            LongBuffer datos = mapa.asLongBuffer();
+            datos.put(MAGIA).put(asignaciones).put(sumaMuseos).put(sumaCuradores).put(sumaProductos);
+            curadoresPorMuseo.recorrer((museoId, curadores) -> {
+                for (long curadorId : curadores) {
+                    datos.put(museoId).put(curadorId);
+                }
+            });
+            mapa.force();
+        } finally {
+            lock.readLock().unlock();
+        }
+        Files.move(temporal, archivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        volcador.shutdown();
+        volcador.awaitTermination(5, TimeUnit.SECONDS);
+        volcarSiHayCambios();
+    }
+
+    private static long numero(Object valor) {
+        return valor == null ? 0 : ((Number) valor).longValue();
+    }
+
+    private static final class Asignacion {
+        private final long museoId;
+        private final long curadorId;
+
+        private Asignacion(long museoId, long curadorId) {
+            this.museoId = museoId;
+            this.curadorId = curadorId;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Asignacion)) {
+                return false;
+            }
+            Asignacion otra = (Asignacion) o;
+            return museoId == otra.museoId && curadorId == otra.curadorId;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(museoId * 31 + curadorId);
+        }
+    }
+
+    private static final class ListasOrdenadas {
+
+        private static long[] agregar(long[] ids, long id) {
+            int posicion = Arrays.binarySearch(ids, id);
+            if (posicion >= 0) {
+                return ids;
+            }
+            int insercion = -posicion - 1;
+            long[] nuevos = new long[ids.length + 1];
+            System.arraycopy(ids, 0, nuevos, 0, insercion);
+            nuevos[insercion] = id;
+            System.arraycopy(ids, insercion, nuevos, insercion + 1, ids.length - insercion);
+            return nuevos;
+        }
+
+        private static long[] quitar(long[] ids, long id) {
+            int posicion = Arrays.binarySearch(ids, id);
+            if (posicion < 0) {
+                return ids;
+            }
+            long[] nuevos = new long[ids.length - 1];
+            System.arraycopy(ids, 0, nuevos, 0, posicion);
+            System.arraycopy(ids, posicion + 1, nuevos, posicion, ids.length - posicion - 1);
+            return nuevos;
+        }
+    }
+}
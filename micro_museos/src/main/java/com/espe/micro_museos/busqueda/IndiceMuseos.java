@@ -0,0 +1,68 @@
+package com.espe.micro_museos.busqueda;
+
+import com.espe.busqueda.IndiceEntidades;
+import com.espe.micro_museos.models.CambiosMuseo;
+import com.espe.micro_museos.models.entities.Museo;
+import com.espe.micro_museos.repositories.MuseoRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Índice de búsqueda de museos por nombre y ubicación, que MuseoServiceImpl mantiene al día en cada escritura.
+ * Los museos no tienen tabla de eventos, así que con varias instancias lo que escriben las demás solo aparece al
+ * reconstruir el índice cada {@code busqueda.reconstruccion.intervalo} (vacío, nunca): hasta entonces la búsqueda
+ * puede no encontrar un museo nuevo o devolver el ID de uno eliminado, que el listado final ya no incluye.
+ */
+@Component
+public class IndiceMuseos extends IndiceEntidades implements DisposableBean {
+
+    public static final List<String> CAMPOS = Arrays.asList("nombre", "ubicacion");
+
+    @Autowired
+    private MuseoRepository repository;
+
+    @Value("${busqueda.carga.lote:5000}")
+    private int lote;
+
+    @Value("${busqueda.reconstruccion.intervalo:}")
+    private Duration intervaloReconstruccion;
+
+    public IndiceMuseos() {
+        super("museos", CAMPOS);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        construirEnSegundoPlano(lote);
+        if (intervaloReconstruccion != null) {
+            cadaCierto(intervaloReconstruccion, () -> reconstruir(lote));
+        }
+    }
+
+    @Override
+    protected List<Object[]> leerDesde(long cursor, int lote) {
+        return repository.findTextosDesde(cursor, Limit.of(lote));
+    }
+
+    public void indexar(Museo museo) {
+        indexar(museo.getId(), museo.getVersion(), museo.getNombre(), museo.getUbicacion());
+    }
+
+    public void actualizar(Long id, long version, CambiosMuseo cambios) {
+        indexar(id, version, cambios.getNombre(), cambios.getUbicacion());
+    }
+
+    @Override
+    public void destroy() {
+        detener();
+    }
+}
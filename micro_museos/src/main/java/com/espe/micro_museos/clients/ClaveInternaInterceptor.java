@@ -0,0 +1,27 @@
+package com.espe.micro_museos.clients;
+
+import com.espe.admision.LlamadasInternas;
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Identifica las llamadas de micro_museos ante micro_curadores con la clave interna compartida, para que vayan a
+ * su clase de admisión interna y no al límite por cliente de su IP.
+ */
+@Component
+public class ClaveInternaInterceptor implements RequestInterceptor {
+
+    private final LlamadasInternas llamadasInternas;
+
+    public ClaveInternaInterceptor(LlamadasInternas llamadasInternas) {
+        this.llamadasInternas = llamadasInternas;
+    }
+
+    @Override
+    public void apply(RequestTemplate template) {
+        if (llamadasInternas.isConfigurada()) {
+            template.header(llamadasInternas.getCabecera(), llamadasInternas.getClave());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.espe.micro_museos.clients;
+
+import com.espe.micro_museos.models.Curador;
+import feign.FeignException;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Caché local de lectura delante de {@link CuradorClientResiliente}.
+ * Acotada en tamaño (desalojo W-TinyLFU de Caffeine) y con expiración por TTL,
+ * de modo que un curador eliminado nunca se sirve más allá de {@code curadores.cache.ttl}
+ * aunque se pierda la notificación de invalidación.
+ * <p>
+ * Pasado {@code curadores.cache.refresh} desde la última carga, el siguiente acceso devuelve la copia
+ * actual y la revalida en segundo plano con If-None-Match: si micro_curadores responde 304 la entrada
+ * se renueva sin transferir el cuerpo.
+ * <p>
+ * Caffeine solo deja pasar una carga por ID, pero si falla no la comparte: cada hilo que esperaba la repite
+ * (con sus reintentos). Por eso las búsquedas de un ID que no está en caché pasan además por
+ * {@link VuelosCompartidos}, y todas las que coinciden reciben el mismo curador o el mismo error.
+ */
+@Component
+public class CuradorCache {
+
+    // Límite de IDs que acepta micro_curadores en /batch
+    private static final int MAX_BATCH_CURADORES = 1000;
+
+    private final CuradorClientResiliente client;
+    private final LoadingCache<Long, Curador> cache;
+    private final VuelosCompartidos<Long, Curador> vuelos;
+
+    public CuradorCache(CuradorClientResiliente client,
+                        @Value("${curadores.cache.maximum-size:10000}") long maximumSize,
+                        @Value("${curadores.cache.ttl:PT5M}") Duration ttl,
+                        @Value("${curadores.cache.refresh:PT1M}") Duration refresh,
+                        MeterRegistry registry) {
+        this.client = client;
+        this.vuelos = new VuelosCompartidos<>("curadores.busquedas", registry);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refresh)
+                .recordStats()
+                .build(new CacheLoader<Long, Curador>() {
+                    @Override
+                    public Curador load(Long id) {
+                        return client.findById(id);
+                    }
+
+                    @Override
+                    public Map<Long, Curador> loadAll(Set<? extends Long> ids) {
+                        return cargarFaltantes(ids);
+                    }
+
+                    @Override
+                    public Curador reload(Long id, Curador actual) {
+                        try {
+                            return client.revalidar(actual);
+                        } catch (FeignException.NotFound e) {
+                            // Devolver null elimina la entrada: el curador ya no existe
+                            return null;
+                        }
+                    }
+                });
+    }
+
+    /**
+     * Busca un curador, consultando al microservicio solo si no está en caché.
+     * Los errores remotos (incluido el 404) se propagan y no se guardan en caché.
+     */
+    public Optional<Curador> findById(Long id) {
+        // getIfPresentQuietly no cuenta en las estadísticas: el acierto o fallo lo registra cache.get
+        if (cache.policy().getIfPresentQuietly(id) != null) {
+            return Optional.ofNullable(cache.get(id));
+        }
+        return Optional.ofNullable(vuelos.ejecutar(id, () -> cache.get(id)));
+    }
+
+    /**
+     * Busca varios curadores; los que faltan en caché se piden en una sola llamada a /batch.
+     */
+    public List<Curador> findAllById(Collection<Long> ids) {
+        Map<Long, Curador> encontrados = cache.getAll(ids);
+        return new ArrayList<>(encontrados.values());
+    }
+
+    private Map<Long, Curador> cargarFaltantes(Set<? extends Long> faltantes) {
+        List<Long> pendientes = new ArrayList<>(faltantes);
+        Map<Long, Curador> cargados = new HashMap<>();
+        for (int desde = 0; desde < pendientes.size(); desde += MAX_BATCH_CURADORES) {
+            int hasta = Math.min(desde + MAX_BATCH_CURADORES, pendientes.size());
+            for (Curador curador : client.findAllById(pendientes.subList(desde, hasta))) {
+                cargados.put(curador.getId(), curador);
+            }
+        }
+        return cargados;
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public Map<String, Object> estadisticas() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("tamanio", cache.estimatedSize());
+        resultado.put("aciertos", stats.hitCount());
+        resultado.put("fallos", stats.missCount());
+        resultado.put("tasaAciertos", stats.hitRate());
+        resultado.put("desalojos", stats.evictionCount());
+        resultado.put("cargasFallidas", stats.loadFailureCount());
+        resultado.put("busquedasCoalescidas", vuelos.getCoalescidas());
+        return resultado;
+    }
+}
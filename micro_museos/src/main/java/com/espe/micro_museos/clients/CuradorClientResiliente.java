@@ -0,0 +1,141 @@
+package com.espe.micro_museos.clients;
+
+import com.espe.micro_museos.models.Curador;
+import com.espe.micro_museos.models.EventoCurador;
+import feign.FeignException;
+import feign.Request;
+import io.github.resilience4j.bulkhead.annotation.Bulkhead;
+import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
+import io.github.resilience4j.retry.annotation.Retry;
+import io.micrometer.core.annotation.Counted;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Llamadas a micro_curadores protegidas para que un servicio lento no agote los hilos de Tomcat:
+ * tiempos de espera por método, circuit breaker, bulkhead de concurrencia y reintentos con
+ * espera exponencial aleatoria solo en las lecturas. La configuración está bajo
+ * {@code resilience4j.*.instances.curadores} en application.properties.
+ * <p>
+ * Cada intento se mide en {@code curadores.cliente} y los fallidos se cuentan en
+ * {@code curadores.cliente.errores}, ambos con el tag {@code method}; las llamadas rechazadas
+ * por el circuit breaker o el bulkhead aparecen en las métricas {@code resilience4j.*}.
+ */
+@Component
+public class CuradorClientResiliente {
+
+    public static final String INSTANCIA = "curadores";
+    private static final String METRICA = "curadores.cliente";
+    private static final String METRICA_ERRORES = "curadores.cliente.errores";
+
+    private final CuradorClientRest clientRest;
+    private final EscriturasCuradores escrituras;
+    private final Request.Options opcionesFindById;
+    private final Request.Options opcionesFindAllById;
+    private final Request.Options opcionesCreate;
+    private final Request.Options opcionesEventos;
+
+    public CuradorClientResiliente(CuradorClientRest clientRest, EscriturasCuradores escrituras,
+                                   @Value("${curadores.client.connect-timeout:PT1S}") Duration connectTimeout,
+                                   @Value("${curadores.client.timeouts.find-by-id:PT2S}") Duration findByIdTimeout,
+                                   @Value("${curadores.client.timeouts.find-all-by-id:PT5S}") Duration findAllByIdTimeout,
+                                   @Value("${curadores.client.timeouts.create:PT5S}") Duration createTimeout,
+                                   @Value("${curadores.client.timeouts.eventos:PT5S}") Duration eventosTimeout) {
+        this.clientRest = clientRest;
+        this.escrituras = escrituras;
+        this.opcionesFindById = opciones(connectTimeout, findByIdTimeout);
+        this.opcionesFindAllById = opciones(connectTimeout, findAllByIdTimeout);
+        this.opcionesCreate = opciones(connectTimeout, createTimeout);
+        this.opcionesEventos = opciones(connectTimeout, eventosTimeout);
+    }
+
+    private static Request.Options opciones(Duration connectTimeout, Duration readTimeout) {
+        return new Request.Options(connectTimeout.toMillis(), TimeUnit.MILLISECONDS,
+                readTimeout.toMillis(), TimeUnit.MILLISECONDS, true);
+    }
+
+    @Retry(name = INSTANCIA)
+    @CircuitBreaker(name = INSTANCIA)
+    @Bulkhead(name = INSTANCIA)
+    @Timed(METRICA)
+    @Counted(value = METRICA_ERRORES, recordFailuresOnly = true)
+    public Curador findById(Long id) {
+        return conEtag(clientRest.findById(id, escrituras.horaDe(id), opcionesFindById));
+    }
+
+    /**
+     * Revalida un curador en caché. Si micro_curadores responde 304 se devuelve la misma instancia,
+     * sin haber transferido ni deserializado el cuerpo.
+     */
+    @Retry(name = INSTANCIA)
+    @CircuitBreaker(name = INSTANCIA)
+    @Bulkhead(name = INSTANCIA)
+    @Timed(METRICA)
+    @Counted(value = METRICA_ERRORES, recordFailuresOnly = true)
+    public Curador revalidar(Curador actual) {
+        if (actual.getEtag() == null) {
+            // Los curadores cargados por /batch no traen ETag; esta carga completa lo obtiene
+            return conEtag(clientRest.findById(actual.getId(), escrituras.horaDe(actual.getId()), opcionesFindById));
+        }
+        try {
+            return conEtag(clientRest.findByIdSiCambio(actual.getId(), actual.getEtag(), escrituras.horaDe(actual.getId()),
+                    opcionesFindById));
+        } catch (FeignException e) {
+            // Se resuelve aquí para que el circuit breaker y los reintentos no lo cuenten como fallo
+            if (e.status() == HttpStatus.NOT_MODIFIED.value()) {
+                return actual;
+            }
+            throw e;
+        }
+    }
+
+    private static Curador conEtag(ResponseEntity<Curador> respuesta) {
+        Curador curador = respuesta.getBody();
+        if (curador != null) {
+            curador.setEtag(respuesta.getHeaders().getETag());
+        }
+        return curador;
+    }
+
+    // POST /batch no modifica datos, así que también es seguro reintentarlo
+    @Retry(name = INSTANCIA)
+    @CircuitBreaker(name = INSTANCIA)
+    @Bulkhead(name = INSTANCIA)
+    @Timed(METRICA)
+    @Counted(value = METRICA_ERRORES, recordFailuresOnly = true)
+    public List<Curador> findAllById(Collection<Long> ids) {
+        return clientRest.findAllById(ids, escrituras.horaDe(ids), opcionesFindAllById);
+    }
+
+    // Sin reintentos: repetir la creación podría duplicar el curador
+    @CircuitBreaker(name = INSTANCIA)
+    @Bulkhead(name = INSTANCIA)
+    @Timed(METRICA)
+    @Counted(value = METRICA_ERRORES, recordFailuresOnly = true)
+    public Curador createCurador(Curador curador) {
+        return clientRest.createCurador(curador, opcionesCreate);
+    }
+
+    // Sin reintentos ni bulkhead: ReplicaCuradores ya vuelve a leer en cada ciclo y hace una sola llamada a la vez
+    @CircuitBreaker(name = INSTANCIA)
+    @Timed(METRICA)
+    @Counted(value = METRICA_ERRORES, recordFailuresOnly = true)
+    public List<EventoCurador> findEventos(long desde, int size) {
+        return clientRest.findEventos(desde, size, opcionesEventos);
+    }
+
+    @CircuitBreaker(name = INSTANCIA)
+    @Timed(METRICA)
+    @Counted(value = METRICA_ERRORES, recordFailuresOnly = true)
+    public List<EventoCurador> findEventosPorId(Collection<Long> ids) {
+        return clientRest.findEventosPorId(ids, opcionesEventos);
+    }
+}
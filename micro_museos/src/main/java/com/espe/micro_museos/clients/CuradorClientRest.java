@@ -1,28 +1,92 @@
 package com.espe.micro_museos.clients;
 
+import com.espe.basedatos.EnrutadorDataSource;
 import com.espe.micro_museos.models.Curador;
+import com.espe.micro_museos.models.EventoCurador;
+import feign.Request;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 
-@FeignClient(name = "micro-curadores", url = "http://localhost:8004/api/curadores")
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Cliente Feign de micro_curadores. Cada método recibe sus propios tiempos de espera;
+ * no usarlo directamente sino a través de {@link CuradorClientResiliente}.
+ */
+@FeignClient(name = "micro-curadores", url = "${curadores.url:http://localhost:8004/api/curadores}")
 public interface CuradorClientRest {
 
     /**
      * Busca un curador por su ID.
      * @param id Identificador del curador.
-     * @return Curador encontrado.
+     * @param ultimaEscritura Hora de su última escritura si acaba de cambiar (ver {@link EscriturasCuradores}), o nulo.
+     * @param options Tiempos de espera de la llamada.
+     * @return Curador encontrado, con su ETag en las cabeceras.
+     */
+    @GetMapping(value = "/{id}", produces = "application/json")
+    ResponseEntity<Curador> findById(@PathVariable Long id,
+                                     @RequestHeader(value = EnrutadorDataSource.CABECERA, required = false) Long ultimaEscritura,
+                                     Request.Options options);
+
+    /**
+     * Petición condicional de un curador ya conocido. Si no cambió, micro_curadores responde
+     * 304 sin cuerpo, que Feign entrega como una FeignException con status 304.
+     * @param id Identificador del curador.
+     * @param etag ETag de la copia en caché.
+     * @param ultimaEscritura Hora de su última escritura si acaba de cambiar, o nulo.
+     * @param options Tiempos de espera de la llamada.
+     * @return Curador actualizado, con su nuevo ETag.
      */
     @GetMapping(value = "/{id}", produces = "application/json")
-    Curador findById(@PathVariable Long id);
+    ResponseEntity<Curador> findByIdSiCambio(@PathVariable Long id, @RequestHeader(HttpHeaders.IF_NONE_MATCH) String etag,
+                                             @RequestHeader(value = EnrutadorDataSource.CABECERA, required = false) Long ultimaEscritura,
+                                             Request.Options options);
+
+    /**
+     * Busca varios curadores en una sola llamada.
+     * @param ids Identificadores de los curadores.
+     * @param ultimaEscritura Hora de la última escritura más reciente entre ellos, o nulo.
+     * @param options Tiempos de espera de la llamada.
+     * @return Curadores encontrados; los IDs inexistentes se omiten.
+     */
+    @PostMapping(value = "/batch", produces = "application/json", consumes = "application/json")
+    List<Curador> findAllById(@RequestBody Collection<Long> ids,
+                              @RequestHeader(value = EnrutadorDataSource.CABECERA, required = false) Long ultimaEscritura,
+                              Request.Options options);
 
     /**
      * Crea un nuevo curador en el sistema.
      * @param curador Información del curador a crear.
+     * @param options Tiempos de espera de la llamada.
      * @return Curador creado.
      */
     @PostMapping(produces = "application/json", consumes = "application/json")
-    Curador createCurador(@RequestBody Curador curador);
+    Curador createCurador(@RequestBody Curador curador, Request.Options options);
+
+    /**
+     * Lee los eventos de cambios de curadores posteriores a uno dado.
+     * @param desde ID del último evento ya aplicado.
+     * @param size Máximo de eventos a devolver.
+     * @param options Tiempos de espera de la llamada.
+     * @return Eventos en orden de ID.
+     */
+    @GetMapping(value = "/eventos", produces = "application/json")
+    List<EventoCurador> findEventos(@RequestParam("desde") long desde, @RequestParam("size") int size, Request.Options options);
+
+    /**
+     * Lee los eventos indicados que existen, sin el retraso de /eventos.
+     * @param ids IDs de eventos que faltaban entre dos recibidos (máximo 1000).
+     * @param options Tiempos de espera de la llamada.
+     * @return Eventos encontrados en orden de ID.
+     */
+    @PostMapping(value = "/eventos/batch", produces = "application/json", consumes = "application/json")
+    List<EventoCurador> findEventosPorId(@RequestBody Collection<Long> ids, Request.Options options);
 }
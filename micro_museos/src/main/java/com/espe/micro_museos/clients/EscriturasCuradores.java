@@ -0,0 +1,77 @@
+package com.espe.micro_museos.clients;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hora de la última escritura de cada curador recién cambiado, la que llega con su invalidación de la caché.
+ * Las lecturas de ese curador a micro_curadores la reenvían en X-Ultima-Escritura para que, dentro de su ventana
+ * de lectura tras escritura, micro_curadores las atienda desde su primario y el curador invalidado no se vuelva a
+ * cargar desde una réplica que aún tiene la versión anterior.
+ * <p>
+ * Se guarda por curador y solo mientras dura la ventana: la lectura de otros curadores sigue yendo a la réplica.
+ * Una hora futura se recorta a la actual, así que una invalidación no puede llevar las lecturas al primario más
+ * allá de la ventana.
+ */
+@Component
+public class EscriturasCuradores {
+
+    // Por encima de este tamaño se descartan las entradas caducadas al registrar
+    private static final int LIMPIAR_DESDE = 1000;
+
+    private final long ventanaMillis;
+    private final Map<Long, Long> escrituras = new ConcurrentHashMap<>();
+
+    public EscriturasCuradores(@Value("${datasource.enrutamiento.ventana-escritura:PT1S}") Duration ventana) {
+        this.ventanaMillis = ventana.toMillis();
+    }
+
+    public void registrar(Long curadorId, long hora) {
+        long ahora = System.currentTimeMillis();
+        long acotada = Math.min(hora, ahora);
+        if (acotada + ventanaMillis <= ahora) {
+            return;
+        }
+        if (escrituras.size() >= LIMPIAR_DESDE) {
+            escrituras.values().removeIf(registrada -> registrada + ventanaMillis <= ahora);
+        }
+        escrituras.merge(curadorId, acotada, Math::max);
+    }
+
+    /**
+     * @return hora de la última escritura del curador si aún está dentro de la ventana; si no, nulo.
+     */
+    public Long horaDe(Long curadorId) {
+        Long hora = escrituras.get(curadorId);
+        if (hora == null) {
+            return null;
+        }
+        if (hora + ventanaMillis <= System.currentTimeMillis()) {
+            escrituras.remove(curadorId, hora);
+            return null;
+        }
+        return hora;
+    }
+
+    /**
+     * @return la más reciente de las horas vigentes de esos curadores, o nulo si ninguno tiene una.
+     */
+    public Long horaDe(Collection<Long> curadorIds) {
+        if (escrituras.isEmpty()) {
+            return null;
+        }
+        Long maxima = null;
+        for (Long id : curadorIds) {
+            Long hora = horaDe(id);
+            if (hora != null && (maxima == null || hora > maxima)) {
+                maxima = hora;
+            }
+        }
+        return maxima;
+    }
+}
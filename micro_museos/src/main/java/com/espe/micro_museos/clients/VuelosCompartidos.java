@@ -0,0 +1,75 @@
+package com.espe.micro_museos.clients;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las llamadas simultáneas con la misma clave en una sola: la primera hace la llamada y las que llegan
+ * mientras está en curso esperan su resultado, o su excepción, en lugar de repetirla. Al terminar la llamada la
+ * clave se libera, así que no guarda nada: la siguiente petición vuelve a llamar.
+ * <p>
+ * Métricas: {@code <nombre>.llamadas} (las que se hicieron de verdad) y {@code <nombre>.coalescidas} (las que
+ * reutilizaron una llamada en curso).
+ */
+public class VuelosCompartidos<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> enCurso = new ConcurrentHashMap<>();
+    private final Counter llamadas;
+    private final Counter coalescidas;
+
+    public VuelosCompartidos(String nombre, MeterRegistry registry) {
+        this.llamadas = Counter.builder(nombre + ".llamadas").register(registry);
+        this.coalescidas = Counter.builder(nombre + ".coalescidas").register(registry);
+    }
+
+    public V ejecutar(K clave, Supplier<V> llamada) {
+        CompletableFuture<V> propia = new CompletableFuture<>();
+        CompletableFuture<V> existente = enCurso.putIfAbsent(clave, propia);
+        if (existente != null) {
+            coalescidas.increment();
+            return esperar(existente);
+        }
+        llamadas.increment();
+        try {
+            V valor = llamada.get();
+            propia.complete(valor);
+            return valor;
+        } catch (RuntimeException | Error e) {
+            propia.completeExceptionally(e);
+            throw e;
+        } finally {
+            enCurso.remove(clave, propia);
+        }
+    }
+
+    private static <V> V esperar(CompletableFuture<V> futuro) {
+        try {
+            return futuro.join();
+        } catch (CompletionException e) {
+            // Se relanza la misma excepción que recibió la primera llamada para que los catch de quien llama
+            // (404, circuito abierto...) funcionen igual en todas
+            Throwable causa = e.getCause();
+            if (causa instanceof RuntimeException) {
+                throw (RuntimeException) causa;
+            }
+            if (causa instanceof Error) {
+                throw (Error) causa;
+            }
+            throw e;
+        }
+    }
+
+    public long getLlamadas() {
+        return (long) llamadas.count();
+    }
+
+    public long getCoalescidas() {
+        return (long) coalescidas.count();
+    }
+}
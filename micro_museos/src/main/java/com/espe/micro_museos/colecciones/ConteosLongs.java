@@ -0,0 +1,59 @@
+package com.espe.micro_museos.colecciones;
+
+/**
+ * Mapa long → int de recuentos sin objetos por clave. Un recuento 0 equivale a que la clave no existe.
+ */
+public final class ConteosLongs extends TablaLongs {
+
+    private int[] valores = new int[CAPACIDAD_INICIAL];
+
+    public int get(long clave) {
+        int posicion = posicionDe(clave);
+        return posicion < 0 ? 0 : valores[posicion];
+    }
+
+    /**
+     * Suma {@code delta} al recuento de la clave sin bajar de 0 y devuelve el valor anterior.
+     */
+    public int sumar(long clave, int delta) {
+        int posicion = posicionDe(clave);
+        int antes = posicion < 0 ? 0 : valores[posicion];
+        int despues = Math.max(0, antes + delta);
+        if (despues == 0) {
+            if (posicion >= 0) {
+                quitarEn(posicion);
+            }
+        } else {
+            // reservar puede cambiar el arreglo de valores: la posición se obtiene antes de leerlo
+            int destino = posicion >= 0 ? posicion : reservar(clave);
+            valores[destino] = despues;
+        }
+        return antes;
+    }
+
+    @Override
+    protected boolean ocupada(int posicion) {
+        return valores[posicion] != 0;
+    }
+
+    @Override
+    protected void mover(int desde, int hasta) {
+        valores[hasta] = valores[desde];
+    }
+
+    @Override
+    protected void liberar(int posicion) {
+        valores[posicion] = 0;
+    }
+
+    @Override
+    protected void reubicar(int capacidad, int[] destinos) {
+        int[] nuevos = new int[capacidad];
+        for (int i = 0; i < destinos.length; i++) {
+            if (destinos[i] >= 0) {
+                nuevos[destinos[i]] = valores[i];
+            }
+        }
+        valores = nuevos;
+    }
+}
@@ -0,0 +1,67 @@
+package com.espe.micro_museos.colecciones;
+
+/**
+ * Mapa long → long[] sin objetos Long por clave. Un arreglo vacío equivale a que la clave no existe.
+ */
+public final class MapaLongs extends TablaLongs {
+
+    private static final long[] VACIO = new long[0];
+
+    private long[][] valores = new long[CAPACIDAD_INICIAL][];
+
+    public long[] get(long clave) {
+        int posicion = posicionDe(clave);
+        return posicion < 0 ? VACIO : valores[posicion];
+    }
+
+    public void put(long clave, long[] valor) {
+        if (valor.length == 0) {
+            int posicion = posicionDe(clave);
+            if (posicion >= 0) {
+                quitarEn(posicion);
+            }
+            return;
+        }
+        // reservar puede cambiar el arreglo de valores: la posición se obtiene antes de leerlo
+        int posicion = reservar(clave);
+        valores[posicion] = valor;
+    }
+
+    public void recorrer(Visitante visitante) {
+        for (int i = 0; i < capacidad(); i++) {
+            if (valores[i] != null) {
+                visitante.visitar(claveEn(i), valores[i]);
+            }
+        }
+    }
+
+    @Override
+    protected boolean ocupada(int posicion) {
+        return valores[posicion] != null;
+    }
+
+    @Override
+    protected void mover(int desde, int hasta) {
+        valores[hasta] = valores[desde];
+    }
+
+    @Override
+    protected void liberar(int posicion) {
+        valores[posicion] = null;
+    }
+
+    @Override
+    protected void reubicar(int capacidad, int[] destinos) {
+        long[][] nuevos = new long[capacidad][];
+        for (int i = 0; i < destinos.length; i++) {
+            if (destinos[i] >= 0) {
+                nuevos[destinos[i]] = valores[i];
+            }
+        }
+        valores = nuevos;
+    }
+
+    public interface Visitante {
+        void visitar(long clave, long[] valores);
+    }
+}
@@ -0,0 +1,131 @@
+package com.espe.micro_museos.colecciones;
+
+/**
+ * Base de los mapas con claves long primitivas: direccionamiento abierto con sondeo lineal sobre una tabla de
+ * tamaño potencia de 2, con a lo sumo 3/4 de posiciones ocupadas. Los borrados desplazan hacia atrás las claves
+ * siguientes, así que no quedan marcas de borrado que alarguen las búsquedas.
+ * <p>
+ * La subclase guarda los valores en un arreglo paralelo a las claves y decide qué valor marca una posición
+ * libre (null, 0...); esta clase solo mueve las claves y le indica cómo mover sus valores.
+ */
+public abstract class TablaLongs {
+
+    protected static final int CAPACIDAD_INICIAL = 16;
+
+    private long[] claves = new long[CAPACIDAD_INICIAL];
+    private int tamanio;
+
+    public final int tamanio() {
+        return tamanio;
+    }
+
+    protected final int capacidad() {
+        return claves.length;
+    }
+
+    protected final long claveEn(int posicion) {
+        return claves[posicion];
+    }
+
+    /**
+     * Posición de la clave, o -1 si no está.
+     */
+    protected final int posicionDe(long clave) {
+        int mascara = claves.length - 1;
+        for (int i = posicion(clave, mascara); ocupada(i); i = (i + 1) & mascara) {
+            if (claves[i] == clave) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Posición de la clave, reservando una libre si no está. La subclase debe dejar en ella un valor no libre
+     * antes de cualquier otra operación; la posición de las demás claves puede cambiar.
+     */
+    protected final int reservar(long clave) {
+        int encontrada = posicionDe(clave);
+        if (encontrada >= 0) {
+            return encontrada;
+        }
+        // Se crece antes de insertar para que la posición devuelta siga siendo válida
+        if ((tamanio + 1) * 4 > claves.length * 3) {
+            redimensionar();
+        }
+        int mascara = claves.length - 1;
+        int i = posicion(clave, mascara);
+        while (ocupada(i)) {
+            i = (i + 1) & mascara;
+        }
+        claves[i] = clave;
+        tamanio++;
+        return i;
+    }
+
+    /**
+     * Libera la posición de una clave existente.
+     */
+    protected final void quitarEn(int posicion) {
+        int mascara = claves.length - 1;
+        int libre = posicion;
+        for (int j = (posicion + 1) & mascara; ocupada(j); j = (j + 1) & mascara) {
+            int ideal = posicion(claves[j], mascara);
+            if (((j - ideal) & mascara) >= ((j - libre) & mascara)) {
+                claves[libre] = claves[j];
+                mover(j, libre);
+                libre = j;
+            }
+        }
+        liberar(libre);
+        tamanio--;
+    }
+
+    /**
+     * Vacía el mapa y vuelve a la capacidad inicial.
+     */
+    public void limpiar() {
+        claves = new long[CAPACIDAD_INICIAL];
+        tamanio = 0;
+        reubicar(CAPACIDAD_INICIAL, new int[0]);
+    }
+
+    private void redimensionar() {
+        long[] anteriores = claves;
+        int[] destinos = new int[anteriores.length];
+        boolean[] ocupadas = new boolean[anteriores.length * 2];
+        claves = new long[anteriores.length * 2];
+        int mascara = claves.length - 1;
+        for (int i = 0; i < anteriores.length; i++) {
+            if (!ocupada(i)) {
+                destinos[i] = -1;
+                continue;
+            }
+            int j = posicion(anteriores[i], mascara);
+            while (ocupadas[j]) {
+                j = (j + 1) & mascara;
+            }
+            ocupadas[j] = true;
+            claves[j] = anteriores[i];
+            destinos[i] = j;
+        }
+        reubicar(claves.length, destinos);
+    }
+
+    private static int posicion(long clave, int mascara) {
+        long mezcla = clave * 0x9E3779B97F4A7C15L;
+        return (int) (mezcla ^ (mezcla >>> 32)) & mascara;
+    }
+
+    protected abstract boolean ocupada(int posicion);
+
+    protected abstract void mover(int desde, int hasta);
+
+    protected abstract void liberar(int posicion);
+
+    /**
+     * Crea el arreglo de valores con la nueva capacidad y lleva el valor de cada posición anterior i a
+     * {@code destinos[i]} (-1 si estaba libre).
+     */
+    protected abstract void reubicar(int capacidad, int[] destinos);
+}
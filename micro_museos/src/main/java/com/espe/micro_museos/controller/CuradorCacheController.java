@@ -0,0 +1,90 @@
+package com.espe.micro_museos.controller;
+
+import com.espe.admision.LlamadasInternas;
+import com.espe.basedatos.EnrutadorDataSource;
+import com.espe.micro_museos.clients.CuradorCache;
+import com.espe.micro_museos.clients.EscriturasCuradores;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+
+@RestController
+@RequestMapping("/api/cache/curadores")
+@Tag(name = "Caché de curadores", description = "Invalidación y estadísticas de la caché local de curadores")
+public class CuradorCacheController {
+
+    @Autowired
+    private CuradorCache curadorCache;
+
+    @Autowired
+    private EscriturasCuradores escriturasCuradores;
+
+    @Autowired
+    private LlamadasInternas llamadasInternas;
+
+    @DeleteMapping("/{curadorId}")
+    @Operation(
+            summary = "Invalidar un curador en caché",
+            description = "Lo invoca micro_curadores al actualizar o eliminar un curador, con la hora de la escritura en "
+                    + "X-Ultima-Escritura para que la siguiente lectura del curador no vaya a su réplica. "
+                    + "Solo para llamadas internas (cabecera X-Clave-Interna).",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Entrada invalidada"),
+                    @ApiResponse(responseCode = "403", description = "Falta la clave interna o no es válida")
+            }
+    )
+    public ResponseEntity<?> invalidate(@PathVariable Long curadorId,
+                                        @RequestHeader(value = EnrutadorDataSource.CABECERA, required = false) Long ultimaEscritura,
+                                        HttpServletRequest request) {
+        if (!llamadasInternas.esInterna(request)) {
+            return soloInterna();
+        }
+        if (ultimaEscritura != null) {
+            escriturasCuradores.registrar(curadorId, ultimaEscritura);
+        }
+        curadorCache.invalidate(curadorId);
+        return ResponseEntity.ok(Collections.singletonMap("message", "Curador invalidado en caché"));
+    }
+
+    @DeleteMapping
+    @Operation(
+            summary = "Vaciar la caché de curadores",
+            description = "Solo para llamadas internas (cabecera X-Clave-Interna).",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Caché vaciada"),
+                    @ApiResponse(responseCode = "403", description = "Falta la clave interna o no es válida")
+            }
+    )
+    public ResponseEntity<?> invalidateAll(HttpServletRequest request) {
+        if (!llamadasInternas.esInterna(request)) {
+            return soloInterna();
+        }
+        curadorCache.invalidateAll();
+        return ResponseEntity.ok(Collections.singletonMap("message", "Caché de curadores vaciada"));
+    }
+
+    @GetMapping("/estadisticas")
+    @Operation(
+            summary = "Estadísticas de la caché de curadores",
+            description = "Devuelve tamaño, aciertos, fallos y desalojos de la caché.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente")
+            }
+    )
+    public ResponseEntity<?> estadisticas() {
+        return ResponseEntity.ok(curadorCache.estadisticas());
+    }
+
+    // Vaciar la caché desde fuera obligaría a recargar todos los curadores de micro_curadores a la vez
+    private static ResponseEntity<?> soloInterna() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(Collections.singletonMap("message", "Operación reservada a los microservicios"));
+    }
+}
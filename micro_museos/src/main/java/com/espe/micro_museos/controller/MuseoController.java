@@ -1,21 +1,42 @@
 package com.espe.micro_museos.controller;
 
+import com.espe.micro_museos.busqueda.IndiceMuseos;
+import com.espe.micro_museos.models.CambiosMuseo;
 import com.espe.micro_museos.models.Curador;
+import com.espe.micro_museos.models.EstadisticasMuseos;
+import com.espe.micro_museos.models.EstadoColeccion;
+import com.espe.micro_museos.models.MuseoResumen;
+import com.espe.micro_museos.models.Pagina;
+import com.espe.micro_museos.models.ResultadoAsignacion;
+import com.espe.importacion.ResultadoImportacion;
 import com.espe.micro_museos.models.entities.Museo;
+import com.espe.micro_museos.services.EstadisticasAsignaciones;
+import com.espe.importacion.ImportadorMasivo;
 import com.espe.micro_museos.services.MuseoService;
+import com.espe.micro_museos.services.ServicioCuradoresNoDisponibleException;
 import feign.FeignException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.*;
 
 @RestController
@@ -26,6 +47,21 @@ public class MuseoController {
     @Autowired
     private MuseoService service;
 
+    @Autowired
+    private ImportadorMasivo importador;
+
+    @Autowired
+    private EstadisticasAsignaciones estadisticas;
+
+    @Value("${resilience4j.circuitbreaker.instances.curadores.wait-duration-in-open-state:PT10S}")
+    private Duration curadoresRetryAfter;
+
+    @Value("${paginacion.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${paginacion.max-size:500}")
+    private int maxPageSize;
+
     @PostMapping
     @Operation(
             summary = "Crear un nuevo museo",
@@ -47,37 +83,242 @@ public class MuseoController {
         return ResponseEntity.status(HttpStatus.CREATED).body(museoDb);
     }
 
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    @Operation(
+            summary = "Importar museos de forma masiva",
+            description = "Recibe un arreglo JSON o NDJSON (un museo por línea), valida cada museo y guarda los válidos en lotes. "
+                    + "Devuelve cuántos se crearon y los errores de validación de cada elemento rechazado según su posición.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Importación procesada",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ResultadoImportacion.class))),
+                    @ApiResponse(responseCode = "400", description = "El cuerpo no es JSON válido; los lotes anteriores al error quedan guardados")
+            }
+    )
+    public ResponseEntity<?> createBulk(HttpServletRequest request) {
+        ResultadoImportacion resultado = new ResultadoImportacion();
+        try {
+            importador.importar(request.getInputStream(), Museo.class, service::saveLote, resultado);
+        } catch (IOException e) {
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("message", "El cuerpo de la solicitud no es JSON válido: " + e.getMessage());
+            body.put("resultado", resultado);
+            return ResponseEntity.badRequest().body(body);
+        }
+        return ResponseEntity.status(HttpStatus.CREATED).body(resultado);
+    }
+
     @GetMapping
     @Operation(
             summary = "Listar todos los museos",
-            description = "Devuelve una lista de todos los museos registrados.",
+            description = "Devuelve una lista de todos los museos registrados. Si se indica cursor o size, devuelve una página ordenada por ID "
+                    + "y el cursor next para pedir la siguiente. Con expand=curadores incluye los datos completos de los curadores de cada museo, "
+                    + "obtenidos en una sola llamada al servicio de curadores. Sin expand devuelve un ETag y responde 304 si coincide con If-None-Match. "
+                    + "Con fields (p. ej. fields=id,nombre) cada museo trae solo esos campos, leídos sin cargar el museo completo; "
+                    + "se admiten id, nombre, ubicacion, fechaCreacion y version, y no se combina con expand.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Lista obtenida correctamente"),
+                    @ApiResponse(responseCode = "304", description = "La lista no cambió desde el ETag indicado en If-None-Match"),
+                    @ApiResponse(responseCode = "400", description = "fields incluye un campo no admitido o se combina con expand"),
+                    @ApiResponse(responseCode = "500", description = "Error en la comunicación con el servicio de curadores"),
+                    @ApiResponse(responseCode = "503", description = "Servicio de curadores no disponible (circuit breaker abierto o bulkhead lleno)")
+            }
+    )
+    public ResponseEntity<?> listAll(@RequestParam(required = false) Long cursor,
+                                     @RequestParam(required = false) Integer size,
+                                     @RequestParam(required = false) String expand,
+                                     @RequestParam(required = false) String fields,
+                                     WebRequest request) {
+        if (fields != null) {
+            return listarResumen(cursor, size, expand, fields, request);
+        }
+        try {
+            if (cursor == null && size == null) {
+                if (expandirCuradores(expand)) {
+                    return ResponseEntity.ok(service.toDetalles(service.findAll()));
+                }
+                // El ETag sale de una consulta agregada, así que un 304 no carga ningún museo
+                String etag = etagColeccion(service.findEstadoColeccion());
+                if (noModificado(request, etag)) {
+                    return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+                }
+                return ResponseEntity.ok().eTag(etag).body(service.findAll());
+            }
+            int tamanio = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+            Pagina<Museo> pagina = service.findPagina(cursor, tamanio);
+            if (!expandirCuradores(expand)) {
+                // Spring responde 304 sin serializar la página si el ETag coincide con If-None-Match
+                return ResponseEntity.ok().eTag(etagPagina(pagina)).body(pagina);
+            }
+            return ResponseEntity.ok(new Pagina<>(service.toDetalles(pagina.getContent()), pagina.getNext()));
+        } catch (ServicioCuradoresNoDisponibleException e) {
+            return servicioCuradoresNoDisponible(e);
+        } catch (FeignException e) {
+            return errorServicioCuradores();
+        }
+    }
+
+    private ResponseEntity<?> listarResumen(Long cursor, Integer size, String expand, String fields, WebRequest request) {
+        Optional<String> error = validarCampos(fields, expand);
+        if (error.isPresent()) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", error.get()));
+        }
+        Set<String> campos = campos(fields);
+        if (cursor == null && size == null) {
+            String etag = etagConCampos(etagColeccion(service.findEstadoColeccion()), campos);
+            if (noModificado(request, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            return ResponseEntity.ok().eTag(etag).body(service.findAllResumen(campos));
+        }
+        int tamanio = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        Pagina<MuseoResumen> pagina = service.findPaginaResumen(campos, cursor, tamanio);
+        return ResponseEntity.ok().eTag(etagPaginaResumen(pagina, campos)).body(pagina);
+    }
+
+    @GetMapping("/search")
+    @Operation(
+            summary = "Buscar museos por nombre o ubicación",
+            description = "Busca sin distinguir mayúsculas ni tildes en un índice en memoria. Con modo=contiene (por defecto) "
+                    + "el texto debe contener la consulta; con modo=prefijo, alguna palabra debe empezar por ella. Las consultas "
+                    + "de menos de tres letras se tratan como prefijo. campo limita la búsqueda a nombre o ubicacion. "
+                    + "Los resultados se paginan por cursor igual que GET /api/museos.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Página de museos encontrados"),
+                    @ApiResponse(responseCode = "400", description = "Consulta vacía, campo o modo no válidos"),
+                    @ApiResponse(responseCode = "503", description = "El índice de búsqueda se está construyendo")
+            }
+    )
+    public ResponseEntity<?> search(@RequestParam String q,
+                                    @RequestParam(required = false) String campo,
+                                    @RequestParam(defaultValue = "contiene") String modo,
+                                    @RequestParam(required = false) Long cursor,
+                                    @RequestParam(required = false) Integer size) {
+        if (q.trim().isEmpty()) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "La consulta no puede estar vacía"));
+        }
+        if (campo != null && !IndiceMuseos.CAMPOS.contains(campo)) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "El campo debe ser uno de " + IndiceMuseos.CAMPOS));
+        }
+        if (!"contiene".equals(modo) && !"prefijo".equals(modo)) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "El modo debe ser contiene o prefijo"));
+        }
+        int tamanio = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        Optional<Pagina<Museo>> pagina = service.buscar(q, "prefijo".equals(modo), campo, cursor, tamanio);
+        if (!pagina.isPresent()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Collections.singletonMap("message", "El índice de búsqueda se está construyendo, intente más tarde"));
+        }
+        return ResponseEntity.ok(pagina.get());
+    }
+
+    @GetMapping("/stats")
+    @Operation(
+            summary = "Estadísticas de museos y asignaciones",
+            description = "Devuelve el total de museos y asignaciones y cuántos museos tienen cada número de curadores y "
+                    + "cuántos curadores trabajan en cada número de museos. Se sirven desde memoria, sin consultar la base de datos.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Estadísticas obtenidas correctamente",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = EstadisticasMuseos.class))),
+                    @ApiResponse(responseCode = "503", description = "Las estadísticas se están calculando")
+            }
+    )
+    public ResponseEntity<?> stats() {
+        EstadisticasMuseos stats = estadisticas.getEstadisticas();
+        if (stats == null) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body(Collections.singletonMap("message", "Las estadísticas se están calculando, intente más tarde"));
+        }
+        return ResponseEntity.ok(stats);
+    }
+
+    @PostMapping("/stats/recalcular")
+    @Operation(
+            summary = "Recalcular las estadísticas",
+            description = "Vuelve a calcular en segundo plano las estadísticas a partir de la tabla museo_curador. "
+                    + "Mientras tanto GET /api/museos/stats sigue devolviendo los valores actuales.",
             responses = {
-                    @ApiResponse(responseCode = "200", description = "Lista obtenida correctamente")
+                    @ApiResponse(responseCode = "202", description = "Recálculo iniciado"),
+                    @ApiResponse(responseCode = "409", description = "Ya hay un recálculo en curso")
             }
     )
-    public ResponseEntity<List<Museo>> listAll() {
-        return ResponseEntity.ok(service.findAll());
+    public ResponseEntity<?> recalcularStats() {
+        if (!estadisticas.recalcularAhora()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Collections.singletonMap("message", "Ya hay un recálculo de estadísticas en curso"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(Collections.singletonMap("message", "Recálculo de estadísticas iniciado"));
     }
 
     @GetMapping("/{id}")
     @Operation(
             summary = "Obtener museo por ID",
-            description = "Devuelve los datos de un museo basado en su ID.",
+            description = "Devuelve los datos de un museo basado en su ID. Con expand=curadores incluye los datos completos de sus curadores. "
+                    + "Sin expand devuelve un ETag y responde 304 si coincide con If-None-Match. Con fields devuelve solo esos campos, "
+                    + "como en el listado.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Museo encontrado",
                             content = @Content(mediaType = "application/json",
                                     schema = @Schema(implementation = Museo.class))),
-                    @ApiResponse(responseCode = "404", description = "Museo no encontrado")
+                    @ApiResponse(responseCode = "304", description = "El museo no cambió desde el ETag indicado en If-None-Match"),
+                    @ApiResponse(responseCode = "400", description = "fields incluye un campo no admitido o se combina con expand"),
+                    @ApiResponse(responseCode = "404", description = "Museo no encontrado"),
+                    @ApiResponse(responseCode = "500", description = "Error en la comunicación con el servicio de curadores"),
+                    @ApiResponse(responseCode = "503", description = "Servicio de curadores no disponible (circuit breaker abierto o bulkhead lleno)")
             }
     )
-    public ResponseEntity<?> getById(@PathVariable Long id) {
+    public ResponseEntity<?> getById(@PathVariable Long id, @RequestParam(required = false) String expand,
+                                     @RequestParam(required = false) String fields, WebRequest request) {
+        if (fields != null) {
+            return obtenerResumen(id, expand, fields, request);
+        }
+        if (!expandirCuradores(expand) && request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            // Revalidación con solo la columna version, antes de cargar el museo y sus curadores
+            Optional<Long> version = service.findVersion(id);
+            if (version.isPresent() && noModificado(request, etagMuseo(id, version.get()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etagMuseo(id, version.get())).build();
+            }
+        }
         Optional<Museo> museoOptional = service.findById(id);
         if (museoOptional.isPresent()) {
-            return ResponseEntity.ok(museoOptional.get());
+            if (!expandirCuradores(expand)) {
+                Museo museo = museoOptional.get();
+                return ResponseEntity.ok().eTag(etagMuseo(museo.getId(), museo.getVersion())).body(museo);
+            }
+            try {
+                return ResponseEntity.ok(service.toDetalles(Collections.singletonList(museoOptional.get())).get(0));
+            } catch (ServicioCuradoresNoDisponibleException e) {
+                return servicioCuradoresNoDisponible(e);
+            } catch (FeignException e) {
+                return errorServicioCuradores();
+            }
         }
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("message", "Museo no encontrado"));
     }
 
+    private ResponseEntity<?> obtenerResumen(Long id, String expand, String fields, WebRequest request) {
+        Optional<String> error = validarCampos(fields, expand);
+        if (error.isPresent()) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", error.get()));
+        }
+        Set<String> campos = campos(fields);
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Long> version = service.findVersion(id);
+            if (version.isPresent() && noModificado(request, etagConCampos(etagMuseo(id, version.get()), campos))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etagConCampos(etagMuseo(id, version.get()), campos)).build();
+            }
+        }
+        Optional<MuseoResumen> museo = service.findResumenById(id, campos);
+        if (!museo.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("message", "Museo no encontrado"));
+        }
+        return ResponseEntity.ok().eTag(etagConCampos(etagMuseo(id, museo.get().getVersion()), campos)).body(museo.get());
+    }
+
     @PutMapping("/{id}")
     @Operation(
             summary = "Actualizar un museo existente",
@@ -106,6 +347,79 @@ public class MuseoController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("message", "Museo no encontrado"));
     }
 
+    @PatchMapping("/{id}")
+    @Operation(
+            summary = "Actualizar parcialmente un museo",
+            description = "Actualiza solo los campos enviados con una única sentencia UPDATE condicionada a la versión del museo. "
+                    + "La versión esperada se toma del ETag en If-Match o, si no se envía, del campo version del cuerpo. "
+                    + "Un If-Match que no coincide con la versión actual responde 412; un campo version desactualizado, 409.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Museo actualizado; el nuevo ETag va en la cabecera"),
+                    @ApiResponse(responseCode = "400", description = "Errores de validación o ningún campo para actualizar"),
+                    @ApiResponse(responseCode = "404", description = "Museo no encontrado"),
+                    @ApiResponse(responseCode = "409", description = "El museo fue modificado por otra petición (campo version)"),
+                    @ApiResponse(responseCode = "412", description = "If-Match no coincide con la versión actual o trae un ETag débil (W/\"...\")"),
+                    @ApiResponse(responseCode = "428", description = "Falta If-Match o el campo version")
+            }
+    )
+    public ResponseEntity<?> patch(@PathVariable Long id, @Valid @RequestBody CambiosMuseo cambios, BindingResult result,
+                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        if (result.hasErrors()) {
+            Map<String, String> errors = new HashMap<>();
+            result.getFieldErrors().forEach(err -> errors.put(err.getField(), err.getDefaultMessage()));
+            return ResponseEntity.badRequest().body(errors);
+        }
+        if (cambios.isVacio()) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "No se indicó ningún campo para actualizar"));
+        }
+        Long version;
+        if (ifMatch != null) {
+            if (esEtagDebil(ifMatch)) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                        .body(Collections.singletonMap("message", "If-Match no admite ETags débiles (W/\"...\")"));
+            }
+            List<Long> versiones = versionesDeEtag(id, ifMatch);
+            if (versiones != null && versiones.size() == 1) {
+                version = versiones.get(0);
+            } else {
+                // * o varios ETags: se comparan con la versión actual, que pasa a ser la esperada
+                Optional<Long> actual = service.findVersion(id);
+                if (!actual.isPresent()) {
+                    return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("message", "Museo no encontrado"));
+                }
+                if (versiones != null && !versiones.contains(actual.get())) {
+                    return precondicionFallida(id, actual.get());
+                }
+                version = actual.get();
+            }
+        } else {
+            version = cambios.getVersion();
+            if (version == null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_REQUIRED)
+                        .body(Collections.singletonMap("message", "Indique la versión del museo en If-Match o en el campo version"));
+            }
+        }
+        if (service.actualizarParcial(id, version, cambios) > 0) {
+            return ResponseEntity.ok().eTag(etagMuseo(id, version + 1))
+                    .body(Collections.singletonMap("message", "Museo actualizado correctamente"));
+        }
+        // Solo en el caso de fallo se consulta la versión, para distinguir 404 de 412 o 409
+        Optional<Long> actual = service.findVersion(id);
+        if (!actual.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("message", "Museo no encontrado"));
+        }
+        if (ifMatch != null) {
+            return precondicionFallida(id, actual.get());
+        }
+        return ResponseEntity.status(HttpStatus.CONFLICT).eTag(etagMuseo(id, actual.get()))
+                .body(Collections.singletonMap("message", "El museo fue modificado por otra petición; vuelva a leerlo e intente de nuevo"));
+    }
+
+    private static ResponseEntity<?> precondicionFallida(Long id, long version) {
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(etagMuseo(id, version))
+                .body(Collections.singletonMap("message", "If-Match no coincide con la versión actual del museo; vuelva a leerlo e intente de nuevo"));
+    }
+
     @DeleteMapping("/{id}")
     @Operation(
             summary = "Eliminar un museo",
@@ -132,7 +446,8 @@ public class MuseoController {
                     @ApiResponse(responseCode = "201", description = "Curador asignado correctamente al museo"),
                     @ApiResponse(responseCode = "404", description = "Curador o museo no encontrado"),
                     @ApiResponse(responseCode = "409", description = "El curador ya está asignado a este museo"),
-                    @ApiResponse(responseCode = "500", description = "Error en la comunicación con el servicio de curadores")
+                    @ApiResponse(responseCode = "500", description = "Error en la comunicación con el servicio de curadores"),
+                    @ApiResponse(responseCode = "503", description = "Servicio de curadores no disponible (circuit breaker abierto o bulkhead lleno)")
             }
     )
     public ResponseEntity<?> assignCurador(@PathVariable Long id, @RequestBody Map<String, Long> request) {
@@ -151,11 +466,50 @@ public class MuseoController {
             return ResponseEntity.status(HttpStatus.CREATED).body(Collections.singletonMap("message", "Curador asignado correctamente"));
         } catch (IllegalStateException e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(Collections.singletonMap("message", e.getMessage()));
+        } catch (ServicioCuradoresNoDisponibleException e) {
+            return servicioCuradoresNoDisponible(e);
         } catch (FeignException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("message", "Error en la comunicación con el servicio de curadores"));
         }
     }
 
+    @PostMapping("/{id}/curadores/bulk")
+    @Operation(
+            summary = "Asignar varios curadores a un museo",
+            description = "Asigna en una sola transacción los curadores indicados en ids, validándolos con una única llamada al servicio de curadores. "
+                    + "Devuelve qué curadores se asignaron, cuáles ya estaban asignados y cuáles no existen.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Asignación procesada",
+                            content = @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ResultadoAsignacion.class))),
+                    @ApiResponse(responseCode = "400", description = "Lista de IDs vacía"),
+                    @ApiResponse(responseCode = "404", description = "Museo no encontrado"),
+                    @ApiResponse(responseCode = "409", description = "Asignación concurrente de alguno de los curadores"),
+                    @ApiResponse(responseCode = "500", description = "Error en la comunicación con el servicio de curadores"),
+                    @ApiResponse(responseCode = "503", description = "Servicio de curadores no disponible (circuit breaker abierto o bulkhead lleno)")
+            }
+    )
+    public ResponseEntity<?> assignCuradores(@PathVariable Long id, @RequestBody Map<String, List<Long>> request) {
+        List<Long> curadorIds = request.get("ids");
+        if (curadorIds == null || curadorIds.isEmpty()) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "La lista de IDs de curadores es obligatoria"));
+        }
+
+        try {
+            Optional<ResultadoAsignacion> resultado = service.addCuradoresToMuseo(id, curadorIds);
+            if (resultado.isEmpty()) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("message", "Museo no encontrado"));
+            }
+            return ResponseEntity.status(HttpStatus.CREATED).body(resultado.get());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Collections.singletonMap("message", e.getMessage()));
+        } catch (ServicioCuradoresNoDisponibleException e) {
+            return servicioCuradoresNoDisponible(e);
+        } catch (FeignException e) {
+            return errorServicioCuradores();
+        }
+    }
+
     @DeleteMapping("/{id}/curadores/{curadorId}")
     @Operation(
             summary = "Desasignar un curador de un museo",
@@ -166,8 +520,7 @@ public class MuseoController {
             }
     )
     public ResponseEntity<?> unassignCurador(@PathVariable Long id, @PathVariable Long curadorId) {
-        Optional<Museo> museoOptional = service.findById(id);
-        if (museoOptional.isPresent()) {
+        if (service.existsById(id)) {
             service.removeCuradorFromMuseo(id, curadorId);
             return ResponseEntity.ok(Collections.singletonMap("message", "Curador desasignado correctamente"));
         }
@@ -191,4 +544,148 @@ public class MuseoController {
         return ResponseEntity.ok(museos);
     }
 
+    @GetMapping("/curadores/{curadorId}/museos/ids")
+    @Operation(
+            summary = "IDs de los museos donde trabaja un curador",
+            description = "Devuelve solo los IDs, en orden ascendente, desde el índice de asignaciones en memoria.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "IDs obtenidos correctamente (lista vacía si no trabaja en ningún museo)")
+            }
+    )
+    public ResponseEntity<?> listarIdsMuseosDeCurador(@PathVariable Long curadorId) {
+        return ResponseEntity.ok(service.findMuseoIdsByCuradorId(curadorId));
+    }
+
+    @GetMapping("/{id}/curadores")
+    @Operation(
+            summary = "IDs de los curadores de un museo",
+            description = "Devuelve los IDs de los curadores asignados al museo, en orden ascendente, desde el índice de asignaciones "
+                    + "en memoria. Para los datos completos de los curadores use GET /api/museos/{id}?expand=curadores.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "IDs obtenidos correctamente"),
+                    @ApiResponse(responseCode = "404", description = "Museo no encontrado")
+            }
+    )
+    public ResponseEntity<?> listarIdsCuradoresDeMuseo(@PathVariable Long id) {
+        Optional<List<Long>> curadorIds = service.findCuradorIdsByMuseoId(id);
+        if (!curadorIds.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(Collections.singletonMap("message", "Museo no encontrado"));
+        }
+        return ResponseEntity.ok(curadorIds.get());
+    }
+
+    private boolean expandirCuradores(String expand) {
+        return "curadores".equalsIgnoreCase(expand);
+    }
+
+    private Optional<String> validarCampos(String fields, String expand) {
+        if (expandirCuradores(expand)) {
+            return Optional.of("fields no se puede combinar con expand");
+        }
+        Set<String> campos = campos(fields);
+        if (campos.isEmpty() || !MuseoResumen.CAMPOS.containsAll(campos)) {
+            return Optional.of("fields debe ser una lista separada por comas de " + MuseoResumen.CAMPOS);
+        }
+        return Optional.empty();
+    }
+
+    private static Set<String> campos(String fields) {
+        Set<String> campos = new LinkedHashSet<>();
+        for (String campo : fields.split(",")) {
+            if (!campo.trim().isEmpty()) {
+                campos.add(campo.trim());
+            }
+        }
+        return campos;
+    }
+
+    // Comparación débil de If-None-Match (RFC 9110), como la que hace Spring con los ResponseEntity
+    private static boolean noModificado(WebRequest request, String etag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        ETag actual = ETag.create(etag);
+        for (ETag recibido : ETag.parse(ifNoneMatch)) {
+            if (recibido.isWildcard() || recibido.compare(actual, false)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ETags fuertes: la versión cambia con cualquier modificación del museo o de sus asignaciones
+    private static String etagMuseo(Long id, long version) {
+        return "\"" + id + "-" + version + "\"";
+    }
+
+    // If-Match compara en modo fuerte: un ETag débil nunca coincide
+    private static boolean esEtagDebil(String ifMatch) {
+        for (ETag etag : ETag.parse(ifMatch)) {
+            if (etag.weak()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Extrae las versiones de los ETags "id-version" de If-Match; un ETag de otro museo o mal formado nunca
+    // coincide. Nulo si es *, que coincide con cualquier versión
+    private static List<Long> versionesDeEtag(Long id, String ifMatch) {
+        List<Long> versiones = new ArrayList<>();
+        String prefijo = id + "-";
+        for (ETag etag : ETag.parse(ifMatch)) {
+            if (etag.isWildcard()) {
+                return null;
+            }
+            String valor = etag.tag();
+            if (valor.startsWith(prefijo)) {
+                try {
+                    versiones.add(Long.parseLong(valor.substring(prefijo.length())));
+                } catch (NumberFormatException e) {
+                    // No es un ETag de este museo
+                }
+            }
+        }
+        return versiones;
+    }
+
+    private static String etagColeccion(EstadoColeccion estado) {
+        return "\"museos-" + estado.getTotal() + "-" + estado.getMaxId() + "-" + estado.getSumaVersiones() + "\"";
+    }
+
+    private static String etagPagina(Pagina<Museo> pagina) {
+        StringBuilder firma = new StringBuilder();
+        for (Museo museo : pagina.getContent()) {
+            firma.append(museo.getId()).append(':').append(museo.getVersion()).append(',');
+        }
+        firma.append(pagina.getNext());
+        return "\"" + DigestUtils.md5DigestAsHex(firma.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    private static String etagPaginaResumen(Pagina<MuseoResumen> pagina, Set<String> campos) {
+        StringBuilder firma = new StringBuilder();
+        for (MuseoResumen museo : pagina.getContent()) {
+            firma.append(museo.getId()).append(':').append(museo.getVersion()).append(',');
+        }
+        firma.append(pagina.getNext());
+        return etagConCampos("\"" + DigestUtils.md5DigestAsHex(firma.toString().getBytes(StandardCharsets.UTF_8)) + "\"", campos);
+    }
+
+    // Cada combinación de fields es una representación distinta y necesita su propio ETag
+    private static String etagConCampos(String etag, Set<String> campos) {
+        return etag.substring(0, etag.length() - 1) + ";" + String.join("+", campos) + "\"";
+    }
+
+    private ResponseEntity<?> errorServicioCuradores() {
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.singletonMap("message", "Error en la comunicación con el servicio de curadores"));
+    }
+
+    // Falla rápido sin esperar a micro_curadores e indica cuándo volver a intentar
+    private ResponseEntity<?> servicioCuradoresNoDisponible(ServicioCuradoresNoDisponibleException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, curadoresRetryAfter.getSeconds())))
+                .body(Collections.singletonMap("message", e.getMessage()));
+    }
+
 }
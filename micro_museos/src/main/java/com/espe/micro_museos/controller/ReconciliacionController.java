@@ -0,0 +1,59 @@
+package com.espe.micro_museos.controller;
+
+import com.espe.micro_museos.models.ResultadoReconciliacion;
+import com.espe.micro_museos.services.ReconciliadorAsignaciones;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+
+@RestController
+@RequestMapping("/api/admin/reconciliacion-asignaciones")
+@Tag(name = "Reconciliación de asignaciones", description = "Limpieza de asignaciones de curadores eliminados")
+public class ReconciliacionController {
+
+    @Autowired
+    private ReconciliadorAsignaciones reconciliador;
+
+    @GetMapping
+    @Operation(
+            summary = "Resultado de la última reconciliación",
+            description = "Devuelve los contadores de la ejecución en curso o de la última terminada.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Resultado obtenido correctamente"),
+                    @ApiResponse(responseCode = "404", description = "Todavía no se ha ejecutado ninguna reconciliación")
+            }
+    )
+    public ResponseEntity<?> ultimoResultado() {
+        ResultadoReconciliacion resultado = reconciliador.getUltimoResultado();
+        if (resultado == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                    .body(Collections.singletonMap("message", "Todavía no se ha ejecutado ninguna reconciliación"));
+        }
+        return ResponseEntity.ok(resultado);
+    }
+
+    @PostMapping
+    @Operation(
+            summary = "Ejecutar la reconciliación ahora",
+            description = "Lanza en segundo plano la búsqueda y el borrado de asignaciones de curadores que ya no existen. "
+                    + "El progreso se consulta con GET.",
+            responses = {
+                    @ApiResponse(responseCode = "202", description = "Reconciliación iniciada"),
+                    @ApiResponse(responseCode = "409", description = "Ya hay una reconciliación en curso")
+            }
+    )
+    public ResponseEntity<?> ejecutar() {
+        if (!reconciliador.ejecutarAhora()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(Collections.singletonMap("message", "Ya hay una reconciliación en curso"));
+        }
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(Collections.singletonMap("message", "Reconciliación iniciada"));
+    }
+}
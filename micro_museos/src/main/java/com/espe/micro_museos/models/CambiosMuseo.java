@@ -0,0 +1,49 @@
+package com.espe.micro_museos.models;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.Size;
+
+/**
+ * Cuerpo de PATCH /api/museos/{id}. Solo se actualizan los campos no nulos; {@code version}
+ * es la versión que el cliente leyó y se usa si la petición no trae If-Match.
+ */
+public class CambiosMuseo {
+
+    @Size(min = 1, message = "El nombre del museo no puede estar vacío")
+    private String nombre;
+
+    @Size(min = 1, message = "La ubicación no puede estar vacía")
+    private String ubicacion;
+
+    private Long version;
+
+    @JsonIgnore
+    public boolean isVacio() {
+        return nombre == null && ubicacion == null;
+    }
+
+    // Getters y Setters
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getUbicacion() {
+        return ubicacion;
+    }
+
+    public void setUbicacion(String ubicacion) {
+        this.ubicacion = ubicacion;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+}
@@ -6,16 +6,20 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
+/**
+ * Curador de micro_curadores. Como entidad es la réplica local (tabla curadores_replica) que mantiene
+ * ReplicaCuradores a partir de los eventos de micro_curadores; los IDs son los de origen.
+ */
 @Entity
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
-@Table(name = "curadores")
+@Table(name = "curadores_replica")
 public class Curador {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @NotEmpty(message = "El nombre del curador no puede estar vacío")
@@ -24,9 +28,21 @@ public class Curador {
     @NotEmpty(message = "La especialidad no puede estar vacía")
     private String especialidad;
 
+    @Column(name = "fecha_nacimiento")
+    private LocalDate fechaNacimiento;
+
+    // Versión del curador en micro_curadores: un evento con una versión anterior no pisa la réplica
+    @Column(nullable = false)
+    private long version;
+
     @Column(name = "fecha_creacion", nullable = false, updatable = false)
     private LocalDateTime fechaCreacion;
 
+    // ETag con el que micro_curadores devolvió este curador; permite revalidarlo con If-None-Match
+    @Transient
+    @JsonIgnore
+    private String etag;
+
     @PrePersist
     protected void onCreate() {
         this.fechaCreacion = LocalDateTime.now();
@@ -58,6 +74,22 @@ public class Curador {
         this.especialidad = especialidad;
     }
 
+    public LocalDate getFechaNacimiento() {
+        return fechaNacimiento;
+    }
+
+    public void setFechaNacimiento(LocalDate fechaNacimiento) {
+        this.fechaNacimiento = fechaNacimiento;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public LocalDateTime getFechaCreacion() {
         return fechaCreacion;
     }
@@ -66,4 +98,12 @@ public class Curador {
         this.fechaCreacion = fechaCreacion;
     }
 
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
 }
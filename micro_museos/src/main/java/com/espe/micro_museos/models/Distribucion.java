@@ -0,0 +1,33 @@
+package com.espe.micro_museos.models;
+
+import java.util.Map;
+
+/**
+ * Distribución de un recuento (curadores por museo o museos por curador): cuántos elementos tienen
+ * cada valor, solo con los valores presentes y en orden ascendente.
+ */
+public class Distribucion {
+
+    private final double promedio;
+    private final int maximo;
+    private final Map<Integer, Long> histograma;
+
+    public Distribucion(double promedio, int maximo, Map<Integer, Long> histograma) {
+        this.promedio = promedio;
+        this.maximo = maximo;
+        this.histograma = histograma;
+    }
+
+    // Getters
+    public double getPromedio() {
+        return promedio;
+    }
+
+    public int getMaximo() {
+        return maximo;
+    }
+
+    public Map<Integer, Long> getHistograma() {
+        return histograma;
+    }
+}
@@ -0,0 +1,53 @@
+package com.espe.micro_museos.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Respuesta de GET /api/museos/stats. {@code recalculadas} es el momento de la última reconstrucción
+ * completa; desde entonces los valores se han mantenido con cada alta, baja o asignación.
+ */
+public class EstadisticasMuseos {
+
+    private final long museos;
+    private final long asignaciones;
+    private final long curadoresAsignados;
+    private final Distribucion curadoresPorMuseo;
+    private final Distribucion museosPorCurador;
+    private final LocalDateTime recalculadas;
+
+    public EstadisticasMuseos(long museos, long asignaciones, long curadoresAsignados,
+                              Distribucion curadoresPorMuseo, Distribucion museosPorCurador,
+                              LocalDateTime recalculadas) {
+        this.museos = museos;
+        this.asignaciones = asignaciones;
+        this.curadoresAsignados = curadoresAsignados;
+        this.curadoresPorMuseo = curadoresPorMuseo;
+        this.museosPorCurador = museosPorCurador;
+        this.recalculadas = recalculadas;
+    }
+
+    // Getters
+    public long getMuseos() {
+        return museos;
+    }
+
+    public long getAsignaciones() {
+        return asignaciones;
+    }
+
+    public long getCuradoresAsignados() {
+        return curadoresAsignados;
+    }
+
+    public Distribucion getCuradoresPorMuseo() {
+        return curadoresPorMuseo;
+    }
+
+    public Distribucion getMuseosPorCurador() {
+        return museosPorCurador;
+    }
+
+    public LocalDateTime getRecalculadas() {
+        return recalculadas;
+    }
+}
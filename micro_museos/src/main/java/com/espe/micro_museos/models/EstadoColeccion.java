@@ -0,0 +1,14 @@
+package com.espe.micro_museos.models;
+
+/**
+ * Resumen de una tabla para calcular el ETag de un listado sin cargarlo: los IDs solo crecen,
+ * así que cualquier alta, baja o modificación cambia el total, el ID máximo o la suma de versiones.
+ */
+public interface EstadoColeccion {
+
+    long getTotal();
+
+    Long getMaxId();
+
+    Long getSumaVersiones();
+}
@@ -0,0 +1,89 @@
+package com.espe.micro_museos.models;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de cambio de un curador leído de GET /api/curadores/eventos. Los de tipo GUARDADO traen
+ * el curador completo tras el cambio; los ELIMINADO solo su ID.
+ */
+public class EventoCurador {
+
+    public static final String GUARDADO = "GUARDADO";
+    public static final String ELIMINADO = "ELIMINADO";
+
+    private Long id;
+    private Long curadorId;
+    private String tipo;
+    private Long version;
+    private String nombre;
+    private String especialidad;
+    private LocalDate fechaNacimiento;
+    private LocalDateTime creadoEn;
+
+    // Getters y Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getCuradorId() {
+        return curadorId;
+    }
+
+    public void setCuradorId(Long curadorId) {
+        this.curadorId = curadorId;
+    }
+
+    public String getTipo() {
+        return tipo;
+    }
+
+    public void setTipo(String tipo) {
+        this.tipo = tipo;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getEspecialidad() {
+        return especialidad;
+    }
+
+    public void setEspecialidad(String especialidad) {
+        this.especialidad = especialidad;
+    }
+
+    public LocalDate getFechaNacimiento() {
+        return fechaNacimiento;
+    }
+
+    public void setFechaNacimiento(LocalDate fechaNacimiento) {
+        this.fechaNacimiento = fechaNacimiento;
+    }
+
+    public LocalDateTime getCreadoEn() {
+        return creadoEn;
+    }
+
+    public void setCreadoEn(LocalDateTime creadoEn) {
+        this.creadoEn = creadoEn;
+    }
+}
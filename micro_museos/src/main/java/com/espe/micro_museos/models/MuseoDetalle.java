@@ -0,0 +1,70 @@
+package com.espe.micro_museos.models;
+
+import com.espe.micro_museos.models.entities.Museo;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Vista de un museo con los datos completos de sus curadores,
+ * obtenidos del microservicio de curadores en una sola llamada.
+ */
+public class MuseoDetalle {
+
+    private Long id;
+    private String nombre;
+    private String ubicacion;
+    private LocalDateTime fechaCreacion;
+    private List<Curador> curadores;
+
+    public MuseoDetalle() {}
+
+    public MuseoDetalle(Museo museo, List<Curador> curadores) {
+        this.id = museo.getId();
+        this.nombre = museo.getNombre();
+        this.ubicacion = museo.getUbicacion();
+        this.fechaCreacion = museo.getFechaCreacion();
+        this.curadores = curadores;
+    }
+
+    // Getters y Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public String getUbicacion() {
+        return ubicacion;
+    }
+
+    public void setUbicacion(String ubicacion) {
+        this.ubicacion = ubicacion;
+    }
+
+    public LocalDateTime getFechaCreacion() {
+        return fechaCreacion;
+    }
+
+    public void setFechaCreacion(LocalDateTime fechaCreacion) {
+        this.fechaCreacion = fechaCreacion;
+    }
+
+    public List<Curador> getCuradores() {
+        return curadores;
+    }
+
+    public void setCuradores(List<Curador> curadores) {
+        this.curadores = curadores;
+    }
+}
@@ -0,0 +1,43 @@
+package com.espe.micro_museos.models;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Museo con solo los campos pedidos en fields=, leídos con una consulta que selecciona esas columnas.
+ * Se serializa como un objeto con esos campos; el ID y la versión se leen siempre para el cursor y el ETag.
+ */
+public class MuseoResumen {
+
+    // museoCuradores no está: vive en otra tabla y sin fields se sigue devolviendo completo
+    public static final List<String> CAMPOS = Arrays.asList("id", "nombre", "ubicacion", "fechaCreacion", "version");
+
+    private final Long id;
+    private final long version;
+    private final Map<String, Object> campos;
+
+    public MuseoResumen(Long id, long version, Map<String, Object> campos) {
+        this.id = id;
+        this.version = version;
+        this.campos = campos;
+    }
+
+    @JsonIgnore
+    public Long getId() {
+        return id;
+    }
+
+    @JsonIgnore
+    public long getVersion() {
+        return version;
+    }
+
+    @JsonAnyGetter
+    public Map<String, Object> getCampos() {
+        return campos;
+    }
+}
@@ -0,0 +1,47 @@
+package com.espe.micro_museos.models;
+
+import java.util.List;
+
+/**
+ * Página de resultados paginada por cursor (keyset sobre el ID).
+ * {@code next} es el cursor a enviar para pedir la página siguiente; es nulo en la última página.
+ */
+public class Pagina<T> {
+
+    private List<T> content;
+    private int size;
+    private Long next;
+
+    public Pagina() {}
+
+    public Pagina(List<T> content, Long next) {
+        this.content = content;
+        this.size = content.size();
+        this.next = next;
+    }
+
+    // Getters y Setters
+    public List<T> getContent() {
+        return content;
+    }
+
+    public void setContent(List<T> content) {
+        this.content = content;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+
+    public Long getNext() {
+        return next;
+    }
+
+    public void setNext(Long next) {
+        this.next = next;
+    }
+}
@@ -0,0 +1,39 @@
+package com.espe.micro_museos.models;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de asignar varios curadores a un museo en una sola operación.
+ */
+public class ResultadoAsignacion {
+
+    private List<Long> asignados = new ArrayList<>();
+    private List<Long> yaAsignados = new ArrayList<>();
+    private List<Long> noEncontrados = new ArrayList<>();
+
+    // Getters y Setters
+    public List<Long> getAsignados() {
+        return asignados;
+    }
+
+    public void setAsignados(List<Long> asignados) {
+        this.asignados = asignados;
+    }
+
+    public List<Long> getYaAsignados() {
+        return yaAsignados;
+    }
+
+    public void setYaAsignados(List<Long> yaAsignados) {
+        this.yaAsignados = yaAsignados;
+    }
+
+    public List<Long> getNoEncontrados() {
+        return noEncontrados;
+    }
+
+    public void setNoEncontrados(List<Long> noEncontrados) {
+        this.noEncontrados = noEncontrados;
+    }
+}
@@ -0,0 +1,75 @@
+package com.espe.micro_museos.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Resumen de una ejecución de la reconciliación de asignaciones: cuántos curadores asignados se
+ * revisaron, cuántos ya no existen en micro_curadores y cuántas filas de museo_curador se borraron.
+ */
+public class ResultadoReconciliacion {
+
+    private LocalDateTime inicio;
+    private LocalDateTime fin;
+    private long curadoresRevisados;
+    private long consultadosRemotamente;
+    private long curadoresEliminados;
+    private long asignacionesEliminadas;
+    private long museosAfectados;
+    private boolean completa;
+    private String error;
+
+    public ResultadoReconciliacion() {
+        this.inicio = LocalDateTime.now();
+    }
+
+    public void registrarLote(int revisados, int consultados, int eliminados, int asignaciones, int museos) {
+        curadoresRevisados += revisados;
+        consultadosRemotamente += consultados;
+        curadoresEliminados += eliminados;
+        asignacionesEliminadas += asignaciones;
+        museosAfectados += museos;
+    }
+
+    public void terminar(String error) {
+        this.fin = LocalDateTime.now();
+        this.completa = error == null;
+        this.error = error;
+    }
+
+    // Getters
+    public LocalDateTime getInicio() {
+        return inicio;
+    }
+
+    public LocalDateTime getFin() {
+        return fin;
+    }
+
+    public long getCuradoresRevisados() {
+        return curadoresRevisados;
+    }
+
+    public long getConsultadosRemotamente() {
+        return consultadosRemotamente;
+    }
+
+    public long getCuradoresEliminados() {
+        return curadoresEliminados;
+    }
+
+    public long getAsignacionesEliminadas() {
+        return asignacionesEliminadas;
+    }
+
+    public long getMuseosAfectados() {
+        return museosAfectados;
+    }
+
+    public boolean isCompleta() {
+        return completa;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
@@ -0,0 +1,60 @@
+package com.espe.micro_museos.models.entities;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aviso de que cambiaron los curadores de un museo. Se inserta en la misma transacción que el cambio en
+ * museo_curador; las demás instancias lo leen para volver a cargar ese museo en su índice de asignaciones.
+ * No lleva el cambio en sí: quien lo aplica lee el estado actual del museo, así que el orden y las
+ * repeticiones no importan.
+ */
+@Entity
+@Table(name = "asignacion_cambios", indexes = @Index(name = "idx_asignacion_cambios_creado_en", columnList = "creado_en"))
+public class CambioAsignacion {
+
+    // IDENTITY: el orden de los IDs es el orden en que las instancias leen los cambios
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "museo_id", nullable = false)
+    private Long museoId;
+
+    @Column(name = "creado_en", nullable = false)
+    private LocalDateTime creadoEn;
+
+    public CambioAsignacion() {}
+
+    public CambioAsignacion(Long museoId) {
+        this.museoId = museoId;
+        this.creadoEn = LocalDateTime.now();
+    }
+
+    // Getters y Setters
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getMuseoId() {
+        return museoId;
+    }
+
+    public void setMuseoId(Long museoId) {
+        this.museoId = museoId;
+    }
+
+    public LocalDateTime getCreadoEn() {
+        return creadoEn;
+    }
+
+    public void setCreadoEn(LocalDateTime creadoEn) {
+        this.creadoEn = creadoEn;
+    }
+}
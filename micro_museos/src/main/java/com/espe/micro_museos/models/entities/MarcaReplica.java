@@ -0,0 +1,55 @@
+package com.espe.micro_museos.models.entities;
+
+import jakarta.persistence.*;
+
+/**
+ * Último evento aplicado de una réplica local. Se actualiza en la misma transacción que los cambios
+ * del lote, así que tras un reinicio la lectura continúa justo después del último lote confirmado.
+ */
+@Entity
+@Table(name = "replica_marcas")
+public class MarcaReplica {
+
+    @Id
+    @Column(length = 64)
+    private String nombre;
+
+    @Column(name = "ultimo_evento", nullable = false)
+    private long ultimoEvento;
+
+    // Si dos instancias aplican el mismo lote a la vez, solo una confirma
+    @Version
+    private long version;
+
+    public MarcaReplica() {}
+
+    public MarcaReplica(String nombre) {
+        this.nombre = nombre;
+    }
+
+    // Getters y Setters
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public long getUltimoEvento() {
+        return ultimoEvento;
+    }
+
+    public void setUltimoEvento(long ultimoEvento) {
+        this.ultimoEvento = ultimoEvento;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotEmpty;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -11,10 +12,13 @@ import java.util.List;
 
 @Entity
 @Table(name = "museos")
+@DynamicUpdate // Los UPDATE solo incluyen las columnas que cambiaron
 public class Museo {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "museos_gen")
+    @TableGenerator(name = "museos_gen", table = "id_generadores", pkColumnName = "entidad",
+            valueColumnName = "siguiente_valor", pkColumnValue = "museos", allocationSize = 50)
     private Long id;
 
     @NotEmpty(message = "El nombre del museo no puede estar vacío")
@@ -26,6 +30,10 @@ public class Museo {
     @Column(name = "fecha_creacion", nullable = false, updatable = false)
     private LocalDateTime fechaCreacion;
 
+    // Cambia con cada modificación del museo o de sus asignaciones; de ella sale el ETag
+    @Version
+    private long version;
+
     @OneToMany(mappedBy = "museo", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
     @JsonManagedReference // Para evitar la serialización infinita con MuseoCurador
     private List<MuseoCurador> museoCuradores = new ArrayList<>();
@@ -68,6 +76,14 @@ public class Museo {
         this.fechaCreacion = fechaCreacion;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public List<MuseoCurador> getMuseoCuradores() {
         return museoCuradores;
     }
@@ -9,14 +9,18 @@ import jakarta.validation.constraints.NotNull;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "museo_curador")
+@Table(name = "museo_curador",
+        uniqueConstraints = @UniqueConstraint(name = "uk_museo_curador", columnNames = {"museo_id", "curador_id"}),
+        indexes = @Index(name = "idx_museo_curador_curador", columnList = "curador_id"))
 public class MuseoCurador {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "museo_curador_gen")
+    @TableGenerator(name = "museo_curador_gen", table = "id_generadores", pkColumnName = "entidad",
+            valueColumnName = "siguiente_valor", pkColumnValue = "museo_curador", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "museo_id", nullable = false)
     @JsonBackReference // Evita la serialización infinita
     private Museo museo;
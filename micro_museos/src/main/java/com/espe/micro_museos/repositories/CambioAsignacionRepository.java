@@ -0,0 +1,32 @@
+package com.espe.micro_museos.repositories;
+
+import com.espe.micro_museos.models.entities.CambioAsignacion;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface CambioAsignacionRepository extends CrudRepository<CambioAsignacion, Long> {
+
+    // Pares (id, museo_id)
+    @Query("SELECT c.id, c.museoId FROM CambioAsignacion c WHERE c.id > :desde ORDER BY c.id")
+    List<Object[]> findDesde(@Param("desde") Long desde, Limit limit);
+
+    // Relectura de los IDs saltados, por si eran transacciones aún abiertas
+    @Query("SELECT c.id, c.museoId FROM CambioAsignacion c WHERE c.id IN :ids")
+    List<Object[]> findByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT MAX(c.id) FROM CambioAsignacion c")
+    Long findUltimoId();
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM CambioAsignacion c WHERE c.creadoEn < :limite")
+    int deleteAnteriores(@Param("limite") LocalDateTime limite);
+}
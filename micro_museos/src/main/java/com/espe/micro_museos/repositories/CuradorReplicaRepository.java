@@ -0,0 +1,8 @@
+package com.espe.micro_museos.repositories;
+
+import com.espe.micro_museos.models.Curador;
+import org.springframework.data.repository.CrudRepository;
+
+// Réplica local de los curadores; solo la escribe ReplicaCuradores
+public interface CuradorReplicaRepository extends CrudRepository<Curador, Long> {
+}
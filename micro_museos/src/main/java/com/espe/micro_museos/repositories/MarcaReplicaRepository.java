@@ -0,0 +1,7 @@
+package com.espe.micro_museos.repositories;
+
+import com.espe.micro_museos.models.entities.MarcaReplica;
+import org.springframework.data.repository.CrudRepository;
+
+public interface MarcaReplicaRepository extends CrudRepository<MarcaReplica, String> {
+}
@@ -0,0 +1,69 @@
+package com.espe.micro_museos.repositories;
+
+import com.espe.micro_museos.models.entities.MuseoCurador;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface MuseoCuradorRepository extends CrudRepository<MuseoCurador, Long> {
+
+    // Resuelto con el índice único (museo_id, curador_id), sin cargar la colección del museo
+    boolean existsByMuseoIdAndCuradorId(Long museoId, Long curadorId);
+
+    @Query("SELECT mc.curadorId FROM MuseoCurador mc WHERE mc.museo.id = :museoId AND mc.curadorId IN :curadorIds")
+    List<Long> findCuradorIdsAsignados(@Param("museoId") Long museoId, @Param("curadorIds") Collection<Long> curadorIds);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM MuseoCurador mc WHERE mc.museo.id = :museoId AND mc.curadorId = :curadorId")
+    int deleteByMuseoIdAndCuradorId(@Param("museoId") Long museoId, @Param("curadorId") Long curadorId);
+
+    @Query("SELECT mc.curadorId FROM MuseoCurador mc GROUP BY mc.curadorId ORDER BY COUNT(mc) DESC")
+    List<Long> findCuradorIdsMasAsignados(Pageable pageable);
+
+    // Consultas directas mientras el índice de asignaciones no está listo
+    @Query("SELECT mc.museo.id FROM MuseoCurador mc WHERE mc.curadorId = :curadorId ORDER BY mc.museo.id")
+    List<Long> findMuseoIdsByCuradorId(@Param("curadorId") Long curadorId);
+
+    @Query("SELECT mc.curadorId FROM MuseoCurador mc WHERE mc.museo.id = :museoId ORDER BY mc.curadorId")
+    List<Long> findCuradorIdsByMuseoId(@Param("museoId") Long museoId);
+
+    // Carga y verificación del índice de asignaciones en memoria
+    @Query("SELECT mc.id, mc.museo.id, mc.curadorId FROM MuseoCurador mc WHERE mc.id > :cursor ORDER BY mc.id")
+    List<Object[]> findAsignacionesDesde(@Param("cursor") Long cursor, Limit limit);
+
+    // Estado actual de los museos que otra instancia cambió
+    @Query("SELECT mc.museo.id, mc.curadorId FROM MuseoCurador mc WHERE mc.museo.id IN :museoIds")
+    List<Object[]> findAsignacionesDeMuseos(@Param("museoIds") Collection<Long> museoIds);
+
+    @Query("SELECT COUNT(mc), SUM(mc.museo.id), SUM(mc.curadorId), SUM(mc.museo.id * mc.curadorId) FROM MuseoCurador mc")
+    List<Object[]> findSumasDeControl();
+
+    // Reconciliación: recorre los curadores asignados por el índice de curador_id, sin cargar las filas
+    @Query("SELECT DISTINCT mc.curadorId FROM MuseoCurador mc WHERE mc.curadorId > :cursor ORDER BY mc.curadorId")
+    List<Long> findCuradorIdsDesde(@Param("cursor") Long cursor, Limit limit);
+
+    @Query("SELECT mc.museo.id, mc.curadorId FROM MuseoCurador mc WHERE mc.curadorId IN :curadorIds")
+    List<Object[]> findAsignacionesDeCuradores(@Param("curadorIds") Collection<Long> curadorIds);
+
+    @Modifying
+    @Query("DELETE FROM MuseoCurador mc WHERE mc.curadorId IN :curadorIds")
+    int deleteByCuradorIdIn(@Param("curadorIds") Collection<Long> curadorIds);
+
+    // Reconstrucción de las estadísticas: número de asignaciones por museo y por curador, por lotes de claves
+    @Query("SELECT mc.museo.id, COUNT(mc) FROM MuseoCurador mc WHERE mc.museo.id > :cursor " +
+            "GROUP BY mc.museo.id ORDER BY mc.museo.id")
+    List<Object[]> findConteosPorMuseoDesde(@Param("cursor") Long cursor, Limit limit);
+
+    @Query("SELECT mc.curadorId, COUNT(mc) FROM MuseoCurador mc WHERE mc.curadorId > :cursor " +
+            "GROUP BY mc.curadorId ORDER BY mc.curadorId")
+    List<Object[]> findConteosPorCuradorDesde(@Param("cursor") Long cursor, Limit limit);
+
+}
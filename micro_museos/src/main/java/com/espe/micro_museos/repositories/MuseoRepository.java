@@ -1,14 +1,63 @@
 package com.espe.micro_museos.repositories;
 
+import com.espe.micro_museos.models.EstadoColeccion;
 import com.espe.micro_museos.models.entities.Museo;
-import feign.Param;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface MuseoRepository extends CrudRepository<Museo, Long> {
-    @Query("SELECT m FROM Museo m JOIN m.museoCuradores mc WHERE mc.curadorId = :curadorId")
+public interface MuseoRepository extends CrudRepository<Museo, Long>, PagingAndSortingRepository<Museo, Long> {
+
+    // Las lecturas que se serializan cargan museoCuradores en la misma consulta para evitar N+1
+
+    @Override
+    @EntityGraph(attributePaths = "museoCuradores")
+    List<Museo> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "museoCuradores")
+    Optional<Museo> findById(Long id);
+
+    // Paginación keyset: primero los IDs de la página (LIMIT sobre la clave primaria)...
+    @Query("SELECT m.id FROM Museo m WHERE m.id > :cursor ORDER BY m.id")
+    List<Long> findIdsDesde(@Param("cursor") Long cursor, Limit limit);
+
+    // ...y después los museos de esos IDs con sus curadores, sin paginar sobre el JOIN FETCH
+    @EntityGraph(attributePaths = "museoCuradores")
+    List<Museo> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Query("SELECT DISTINCT m FROM Museo m LEFT JOIN FETCH m.museoCuradores " +
+            "WHERE m.id IN (SELECT mc.museo.id FROM MuseoCurador mc WHERE mc.curadorId = :curadorId) ORDER BY m.id")
     List<Museo> findMuseosByCuradorId(@Param("curadorId") Long curadorId);
 
+    // Carga del índice de búsqueda: solo las columnas indexadas, por lotes sobre la clave primaria
+    @Query("SELECT m.id, m.version, m.nombre, m.ubicacion FROM Museo m WHERE m.id > :cursor ORDER BY m.id")
+    List<Object[]> findTextosDesde(@Param("cursor") Long cursor, Limit limit);
+
+    // Consultas de ETag: solo leen la columna version, sin cargar el museo ni sus curadores
+    @Query("SELECT m.version FROM Museo m WHERE m.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query("SELECT COUNT(m) AS total, MAX(m.id) AS maxId, SUM(m.version) AS sumaVersiones FROM Museo m")
+    EstadoColeccion findEstadoColeccion();
+
+    // Las asignaciones se insertan sin pasar por la colección del museo, así que su versión se sube aparte
+    @Modifying
+    @Transactional
+    @Query("UPDATE Museo m SET m.version = m.version + 1 WHERE m.id = :id")
+    int incrementarVersion(@Param("id") Long id);
+
+    @Modifying
+    @Query("UPDATE Museo m SET m.version = m.version + 1 WHERE m.id IN :ids")
+    int incrementarVersiones(@Param("ids") Collection<Long> ids);
+
 }
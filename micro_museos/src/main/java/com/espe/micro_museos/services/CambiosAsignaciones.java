@@ -0,0 +1,253 @@
+package com.espe.micro_museos.services;
+
+import com.espe.micro_museos.busqueda.IndiceAsignaciones;
+import com.espe.micro_museos.models.entities.CambioAsignacion;
+import com.espe.micro_museos.repositories.CambioAsignacionRepository;
+import com.espe.micro_museos.repositories.MuseoCuradorRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lleva al índice de asignaciones de esta instancia los cambios hechos por las demás.
+ * <p>
+ * MuseoServiceImpl y ReconciliadorAsignaciones llaman a {@link #registrar} en la misma transacción que cambia
+ * museo_curador, lo que deja una fila en asignacion_cambios con el ID del museo. Cada
+ * {@code asignaciones.cambios.intervalo} se leen las filas posteriores a la última leída y se vuelven a cargar
+ * de la base de datos primaria los curadores de esos museos; aplicar dos veces el mismo museo no tiene efecto.
+ * <p>
+ * Un ID que falta entre dos leídos puede ser una transacción que tomó su ID antes y aún no confirma: se vuelve
+ * a buscar en cada ciclo durante {@code asignaciones.cambios.espera-huecos} y después se descarta contándolo en
+ * {@code asignaciones.cambios.huecos.descartados} (casi siempre es un rollback). {@link #isAlDia()} es falso si
+ * la última lectura fue hace más de {@code asignaciones.cambios.max-retraso}; entonces MuseoServiceImpl consulta
+ * la tabla. Las filas con más de {@code asignaciones.cambios.retencion} se borran, y una instancia que pasó más
+ * tiempo sin leerlas reconstruye su índice completo.
+ */
+@Component
+public class CambiosAsignaciones implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(CambiosAsignaciones.class);
+
+    // Huecos pendientes como máximo; más allá se descartan al momento
+    private static final int MAX_HUECOS = 1000;
+
+    private final CambioAsignacionRepository repository;
+    private final MuseoCuradorRepository museoCuradorRepository;
+    private final IndiceAsignaciones indice;
+    private final TransactionTemplate transactionTemplate;
+    private final Counter descartados;
+
+    @Value("${asignaciones.cambios.activa:true}")
+    private boolean activa;
+
+    @Value("${asignaciones.cambios.intervalo:PT1S}")
+    private Duration intervalo;
+
+    @Value("${asignaciones.cambios.max-retraso:PT30S}")
+    private Duration maxRetraso;
+
+    @Value("${asignaciones.cambios.espera-huecos:PT1M}")
+    private Duration esperaHuecos;
+
+    @Value("${asignaciones.cambios.retencion:PT1H}")
+    private Duration retencion;
+
+    @Value("${busqueda.carga.lote:5000}")
+    private int lote;
+
+    private final ScheduledExecutorService ejecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread hilo = new Thread(runnable, "cambios-asignaciones");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    // Solo los usa el hilo del ejecutor
+    private long marca = -1;
+    private final Map<Long, Long> huecos = new LinkedHashMap<>();
+
+    private volatile int huecosPendientes;
+    // Momento (System.nanoTime) de la última lectura completa; 0 si nunca
+    private volatile long ultimaLectura;
+
+    public CambiosAsignaciones(CambioAsignacionRepository repository,
+                               MuseoCuradorRepository museoCuradorRepository,
+                               IndiceAsignaciones indice,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry registry) {
+        this.repository = repository;
+        this.museoCuradorRepository = museoCuradorRepository;
+        this.indice = indice;
+        this.transactionTemplate = transactionTemplate;
+        this.descartados = Counter.builder("asignaciones.cambios.huecos.descartados").register(registry);
+        Gauge.builder("asignaciones.cambios.huecos", this, cambios -> cambios.huecosPendientes).register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!activa) {
+            return;
+        }
+        ejecutor.scheduleWithFixedDelay(this::sincronizar, 0, Math.max(1, intervalo.toMillis()), TimeUnit.MILLISECONDS);
+        long periodo = Math.max(1, retencion.getSeconds() / 10);
+        ejecutor.scheduleWithFixedDelay(this::compactar, periodo, periodo, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Debe llamarse dentro de la transacción que cambia las asignaciones de los museos.
+     */
+    public void registrar(Long museoId) {
+        repository.save(new CambioAsignacion(museoId));
+    }
+
+    public void registrar(Collection<Long> museoIds) {
+        List<CambioAsignacion> cambios = new ArrayList<>(museoIds.size());
+        for (Long museoId : museoIds) {
+            cambios.add(new CambioAsignacion(museoId));
+        }
+        repository.saveAll(cambios);
+    }
+
+    public boolean isAlDia() {
+        if (!activa) {
+            return true;
+        }
+        long lectura = ultimaLectura;
+        return lectura != 0 && System.nanoTime() - lectura < maxRetraso.toNanos();
+    }
+
+    void sincronizar() {
+        try {
+            long ahora = System.nanoTime();
+            if (ultimaLectura != 0 && ahora - ultimaLectura > retencion.toNanos()) {
+                // Los cambios de ese tiempo pueden estar ya borrados: no basta con seguir leyendo
+                log.warn("Sin leer cambios de asignaciones durante más de {}; se reconstruye el índice", retencion);
+                indice.reconstruir();
+                marca = -1;
+            }
+            boolean inicial = marca < 0;
+            if (inicial) {
+                // Se empieza un lote antes del último ID, por si alguna transacción anterior aún no confirmaba
+                // mientras el índice leía la tabla
+                Long ultimo = transactionTemplate.execute(status -> repository.findUltimoId());
+                marca = Math.max(0, (ultimo == null ? 0 : ultimo) - lote);
+                huecos.clear();
+            }
+            Set<Long> museoIds = new LinkedHashSet<>();
+            releerHuecos(museoIds, ahora);
+            List<Object[]> filas;
+            do {
+                long desde = marca;
+                filas = transactionTemplate.execute(status -> repository.findDesde(desde, Limit.of(lote)));
+                for (Object[] fila : filas) {
+                    long id = (Long) fila[0];
+                    if (!inicial) {
+                        registrarHuecos(marca, id, ahora);
+                    }
+                    inicial = false;
+                    marca = id;
+                    museoIds.add((Long) fila[1]);
+                }
+            } while (filas.size() == lote);
+            aplicar(museoIds);
+            huecosPendientes = huecos.size();
+            ultimaLectura = System.nanoTime();
+        } catch (Exception e) {
+            // Se reintenta en el siguiente ciclo; una excepción cancelaría la tarea periódica
+            log.warn("No se pudieron leer los cambios de asignaciones: {}", e.getMessage());
+        }
+    }
+
+    private void registrarHuecos(long anterior, long id, long ahora) {
+        for (long hueco = anterior + 1; hueco < id; hueco++) {
+            if (huecos.size() >= MAX_HUECOS) {
+                descartados.increment(id - hueco);
+                log.warn("Demasiados huecos en asignacion_cambios; se descartan los IDs {} a {}", hueco, id - 1);
+                return;
+            }
+            huecos.put(hueco, ahora);
+        }
+    }
+
+    private void releerHuecos(Set<Long> museoIds, long ahora) {
+        if (huecos.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(huecos.keySet());
+        List<Object[]> filas = transactionTemplate.execute(status -> repository.findByIds(ids));
+        for (Object[] fila : filas) {
+            huecos.remove((Long) fila[0]);
+            museoIds.add((Long) fila[1]);
+        }
+        for (Iterator<Long> detectados = huecos.values().iterator(); detectados.hasNext(); ) {
+            if (ahora - detectados.next() > esperaHuecos.toNanos()) {
+                detectados.remove();
+                descartados.increment();
+            }
+        }
+    }
+
+    /**
+     * Reemplaza en el índice los curadores de cada museo por los que tiene ahora en la base de datos primaria.
+     * Si una escritura de esta misma instancia confirma entre la lectura y el reemplazo, el índice la pierde
+     * solo hasta el siguiente ciclo, que lee el cambio que ella registró.
+     */
+    private void aplicar(Set<Long> museoIds) {
+        List<Long> pendientes = new ArrayList<>(museoIds);
+        for (int desde = 0; desde < pendientes.size(); desde += MAX_HUECOS) {
+            List<Long> bloque = pendientes.subList(desde, Math.min(desde + MAX_HUECOS, pendientes.size()));
+            List<Object[]> filas = transactionTemplate.execute(status -> museoCuradorRepository.findAsignacionesDeMuseos(bloque));
+            Map<Long, List<Long>> curadores = new HashMap<>();
+            for (Object[] fila : filas) {
+                curadores.computeIfAbsent((Long) fila[0], id -> new ArrayList<>()).add((Long) fila[1]);
+            }
+            for (Long museoId : bloque) {
+                List<Long> actuales = curadores.get(museoId);
+                long[] ids = new long[actuales == null ? 0 : actuales.size()];
+                for (int i = 0; i < ids.length; i++) {
+                    ids[i] = actuales.get(i);
+                }
+                indice.reemplazar(museoId, ids);
+            }
+        }
+    }
+
+    private void compactar() {
+        try {
+            int borrados = repository.deleteAnteriores(LocalDateTime.now().minus(retencion));
+            if (borrados > 0) {
+                log.debug("Borrados {} cambios de asignaciones anteriores a {}", borrados, retencion);
+            }
+        } catch (Exception e) {
+            log.warn("No se pudieron borrar los cambios de asignaciones antiguos: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        ejecutor.shutdown();
+    }
+}
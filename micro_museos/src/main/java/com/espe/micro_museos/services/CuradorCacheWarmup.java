@@ -0,0 +1,48 @@
+package com.espe.micro_museos.services;
+
+import com.espe.micro_museos.clients.CuradorCache;
+import com.espe.micro_museos.repositories.MuseoCuradorRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Precarga en la caché los curadores con más asignaciones al arrancar,
+ * para que la primera ráfaga de peticiones no vaya toda a micro_curadores.
+ */
+@Component
+public class CuradorCacheWarmup {
+
+    private static final Logger log = LoggerFactory.getLogger(CuradorCacheWarmup.class);
+
+    @Autowired
+    private MuseoCuradorRepository museoCuradorRepository;
+
+    @Autowired
+    private CuradorCache curadorCache;
+
+    @Value("${curadores.cache.warmup-size:0}")
+    private int warmupSize;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void precargar() {
+        if (warmupSize <= 0) {
+            return;
+        }
+        try {
+            List<Long> ids = museoCuradorRepository.findCuradorIdsMasAsignados(PageRequest.of(0, warmupSize));
+            int cargados = curadorCache.findAllById(ids).size();
+            log.info("Caché de curadores precargada con {} de {} curadores", cargados, ids.size());
+        } catch (Exception e) {
+            // La caché se llenará bajo demanda
+            log.warn("No se pudo precargar la caché de curadores: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.espe.micro_museos.services;
+
+import com.espe.micro_museos.colecciones.ConteosLongs;
+import com.espe.micro_museos.models.Distribucion;
+import com.espe.micro_museos.models.EstadisticasMuseos;
+import com.espe.micro_museos.repositories.MuseoCuradorRepository;
+import com.espe.micro_museos.repositories.MuseoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Estadísticas de GET /api/museos/stats: número de museos y asignaciones y las distribuciones de curadores
+ * por museo y de museos por curador.
+ * <p>
+ * Se calculan con consultas GROUP BY sobre museo_curador al arrancar y cuando se piden con
+ * POST /api/museos/stats/recalcular; a partir de ahí MuseoServiceImpl y la reconciliación las mantienen con
+ * cada alta, baja o asignación. Para eso se guarda en memoria el recuento de cada museo y de cada curador
+ * (mapas long → int sin objetos por clave) y un histograma por recuento, así que leerlas no depende del
+ * tamaño de las tablas. Si algo cambia mientras se recalculan, el cálculo se repite hasta
+ * {@value #INTENTOS} veces. Como el índice de asignaciones, cada instancia mantiene sus propias estadísticas.
+ */
+@Component
+public class EstadisticasAsignaciones implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(EstadisticasAsignaciones.class);
+
+    private static final int INTENTOS = 3;
+
+    private final MuseoRepository museoRepository;
+    private final MuseoCuradorRepository museoCuradorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int lote;
+    private final ScheduledExecutorService ejecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread hilo = new Thread(runnable, "estadisticas-museos");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final AtomicBoolean recalculando = new AtomicBoolean();
+
+    // Protegidos por this
+    private Estado estado = new Estado();
+    private long cambios;
+    private LocalDateTime recalculadas;
+
+    public EstadisticasAsignaciones(MuseoRepository museoRepository,
+                                    MuseoCuradorRepository museoCuradorRepository,
+                                    TransactionTemplate transactionTemplate,
+                                    @Value("${busqueda.carga.lote:5000}") int lote) {
+        this.museoRepository = museoRepository;
+        this.museoCuradorRepository = museoCuradorRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.lote = lote;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        recalcularAhora();
+    }
+
+    /**
+     * Lanza el recálculo en segundo plano. Devuelve false si ya hay uno en curso.
+     */
+    public boolean recalcularAhora() {
+        if (recalculando.get()) {
+            return false;
+        }
+        ejecutor.execute(this::recalcular);
+        return true;
+    }
+
+    /**
+     * Devuelve null hasta que termina el primer cálculo.
+     */
+    public synchronized EstadisticasMuseos getEstadisticas() {
+        if (recalculadas == null) {
+            return null;
+        }
+        long museosConCuradores = estado.curadoresPorMuseo.tamanio();
+        long curadoresAsignados = estado.museosPorCurador.tamanio();
+        return new EstadisticasMuseos(estado.museos, estado.asignaciones, curadoresAsignados,
+                estado.porMuseo.distribucion(estado.asignaciones, estado.museos, estado.museos - museosConCuradores),
+                estado.porCurador.distribucion(estado.asignaciones, curadoresAsignados, 0),
+                recalculadas);
+    }
+
+    public synchronized void museoCreado(long museoId, Collection<Long> curadorIds) {
+        estado.museos++;
+        asignados(museoId, curadorIds);
+    }
+
+    public synchronized void museoEliminado(long museoId, Collection<Long> curadorIds) {
+        estado.museos--;
+        for (Long curadorId : curadorIds) {
+            quitado(museoId, curadorId);
+        }
+    }
+
+    public synchronized void asignados(long museoId, Collection<Long> curadorIds) {
+        for (Long curadorId : curadorIds) {
+            asignado(museoId, curadorId);
+        }
+    }
+
+    public synchronized void asignado(long museoId, long curadorId) {
+        estado.cambiar(museoId, curadorId, 1);
+        cambios++;
+    }
+
+    public synchronized void quitado(long museoId, long curadorId) {
+        estado.cambiar(museoId, curadorId, -1);
+        cambios++;
+    }
+
+    void recalcular() {
+        if (!recalculando.compareAndSet(false, true)) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            for (int intento = 1; ; intento++) {
+                long cambiosAntes;
+                synchronized (this) {
+                    cambiosAntes = cambios;
+                }
+                // Una sola transacción de escritura: las tres lecturas ven la misma foto y salen del primario
+                Estado nuevo = transactionTemplate.execute(status -> leer());
+                synchronized (this) {
+                    if (cambios == cambiosAntes || intento == INTENTOS) {
+                        if (cambios != cambiosAntes) {
+                            log.warn("Las asignaciones cambiaron durante {} recálculos seguidos; las estadísticas "
+                                    + "pueden desviarse hasta el siguiente", INTENTOS);
+                        }
+                        estado = nuevo;
+                        recalculadas = LocalDateTime.now();
+                        log.info("Estadísticas de museos recalculadas: {} museos, {} asignaciones en {} ms",
+                                nuevo.museos, nuevo.asignaciones, (System.nanoTime() - inicio) / 1_000_000);
+                        return;
+                    }
+                }
+            }
+        } catch (Exception e) {
+            log.error("No se pudieron recalcular las estadísticas de museos", e);
+        } finally {
+            recalculando.set(false);
+        }
+    }
+
+    private Estado leer() {
+        Estado nuevo = new Estado();
+        nuevo.museos = museoRepository.count();
+        long cursor = 0;
+        List<Object[]> filas;
+        do {
+            filas = museoCuradorRepository.findConteosPorMuseoDesde(cursor, Limit.of(lote));
+            for (Object[] fila : filas) {
+                cursor = (Long) fila[0];
+                int asignaciones = ((Number) fila[1]).intValue();
+                nuevo.curadoresPorMuseo.sumar(cursor, asignaciones);
+                nuevo.porMuseo.mover(0, asignaciones);
+                nuevo.asignaciones += asignaciones;
+            }
+        } while (filas.size() == lote);
+        cursor = 0;
+        do {
+            filas = museoCuradorRepository.findConteosPorCuradorDesde(cursor, Limit.of(lote));
+            for (Object[] fila : filas) {
+                cursor = (Long) fila[0];
+                int asignaciones = ((Number) fila[1]).intValue();
+                nuevo.museosPorCurador.sumar(cursor, asignaciones);
+                nuevo.porCurador.mover(0, asignaciones);
+            }
+        } while (filas.size() == lote);
+        return nuevo;
+    }
+
+    @Override
+    public void destroy() {
+        ejecutor.shutdown();
+    }
+
+    private static final class Estado {
+        private final ConteosLongs curadoresPorMuseo = new ConteosLongs();
+        private final ConteosLongs museosPorCurador = new ConteosLongs();
+        private final Histograma porMuseo = new Histograma();
+        private final Histograma porCurador = new Histograma();
+        private long museos;
+        private long asignaciones;
+
+        private void cambiar(long museoId, long curadorId, int signo) {
+            int antes = curadoresPorMuseo.sumar(museoId, signo);
+            // Una baja de algo que no estaba contado (p. ej. borrada por otra instancia) no deja recuentos negativos
+            if (antes + signo < 0) {
+                return;
+            }
+            porMuseo.mover(antes, antes + signo);
+            int antesCurador = museosPorCurador.sumar(curadorId, signo);
+            porCurador.mover(antesCurador, Math.max(0, antesCurador + signo));
+            asignaciones += signo;
+        }
+    }
+
+    /**
+     * Cuántos elementos tienen cada recuento, a partir de 1 (los de recuento 0 no se guardan).
+     */
+    private static final class Histograma {
+        private long[] frecuencias = new long[16];
+
+        private void mover(int desde, int hasta) {
+            if (desde > 0) {
+                frecuencias[desde]--;
+            }
+            if (hasta > 0) {
+                if (hasta >= frecuencias.length) {
+                    frecuencias = Arrays.copyOf(frecuencias, Math.max(hasta + 1, frecuencias.length * 2));
+                }
+                frecuencias[hasta]++;
+            }
+        }
+
+        private Distribucion distribucion(long total, long elementos, long sinAsignaciones) {
+            Map<Integer, Long> histograma = new LinkedHashMap<>();
+            if (sinAsignaciones > 0) {
+                histograma.put(0, sinAsignaciones);
+            }
+            int maximo = 0;
+            for (int i = 1; i < frecuencias.length; i++) {
+                if (frecuencias[i] > 0) {
+                    histograma.put(i, frecuencias[i]);
+                    maximo = i;
+                }
+            }
+            return new Distribucion(elementos == 0 ? 0 : (double) total / elementos, maximo, histograma);
+        }
+    }
+}
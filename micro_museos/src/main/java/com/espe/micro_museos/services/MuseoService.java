@@ -1,25 +1,48 @@
 package com.espe.micro_museos.services;
 
+import com.espe.micro_museos.models.CambiosMuseo;
 import com.espe.micro_museos.models.Curador;
+import com.espe.micro_museos.models.EstadoColeccion;
+import com.espe.micro_museos.models.MuseoDetalle;
+import com.espe.micro_museos.models.MuseoResumen;
+import com.espe.micro_museos.models.Pagina;
+import com.espe.micro_museos.models.ResultadoAsignacion;
 import com.espe.micro_museos.models.entities.Museo;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface MuseoService {
 
     // Métodos para Museos
     List<Museo> findAll();
+    Pagina<Museo> findPagina(Long cursor, int size);
+    Optional<Pagina<Museo>> buscar(String consulta, boolean prefijo, String campo, Long cursor, int size);
     Optional<Museo> findById(Long id);
+    boolean existsById(Long id);
+    Optional<Long> findVersion(Long id);
+    EstadoColeccion findEstadoColeccion();
+    List<MuseoResumen> findAllResumen(Set<String> campos);
+    Pagina<MuseoResumen> findPaginaResumen(Set<String> campos, Long cursor, int size);
+    Optional<MuseoResumen> findResumenById(Long id, Set<String> campos);
     Museo save(Museo museo);
+    int saveLote(List<Museo> museos);
+    int actualizarParcial(Long id, long version, CambiosMuseo cambios);
     void delete(Long id);
 
     // Métodos para Curadores
     Optional<Curador> findCuradorById(Long id);
+    List<Curador> findCuradoresByIds(Collection<Long> ids);
+    List<MuseoDetalle> toDetalles(List<Museo> museos);
     Optional<Curador> addCurador(Curador curador, Long museoId);
     Optional<Curador> addCuradorToMuseo(Long museoId, Long curadorId);
+    Optional<ResultadoAsignacion> addCuradoresToMuseo(Long museoId, Collection<Long> curadorIds);
     void removeCuradorFromMuseo(Long museoId, Long curadorId);
     Curador addCuradorToSystem(Curador curador);
     List<Museo> findMuseosByCuradorId(Long curadorId);
+    List<Long> findMuseoIdsByCuradorId(Long curadorId);
+    Optional<List<Long>> findCuradorIdsByMuseoId(Long museoId);
 
 }
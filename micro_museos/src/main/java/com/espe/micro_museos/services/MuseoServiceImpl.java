@@ -1,18 +1,53 @@
 package com.espe.micro_museos.services;
 
-import com.espe.micro_museos.clients.CuradorClientRest;
+import com.espe.micro_museos.busqueda.IndiceAsignaciones;
+import com.espe.micro_museos.busqueda.IndiceMuseos;
+import com.espe.micro_museos.clients.CuradorCache;
+import com.espe.micro_museos.clients.CuradorClientResiliente;
+import com.espe.micro_museos.models.CambiosMuseo;
 import com.espe.micro_museos.models.Curador;
+import com.espe.micro_museos.models.EstadoColeccion;
+import com.espe.micro_museos.models.MuseoDetalle;
+import com.espe.micro_museos.models.MuseoResumen;
+import com.espe.micro_museos.models.Pagina;
+import com.espe.micro_museos.models.ResultadoAsignacion;
 import com.espe.micro_museos.models.entities.Museo;
 import com.espe.micro_museos.models.entities.MuseoCurador;
+import com.espe.micro_museos.repositories.CuradorReplicaRepository;
+import com.espe.micro_museos.repositories.MuseoCuradorRepository;
 import com.espe.micro_museos.repositories.MuseoRepository;
-import jakarta.transaction.Transactional;
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.Set;
 
 @Service
 public class MuseoServiceImpl implements MuseoService {
@@ -21,111 +56,542 @@ public class MuseoServiceImpl implements MuseoService {
     private MuseoRepository repository;
 
     @Autowired
-    private CuradorClientRest clientRest;
+    private CuradorClientResiliente clientRest;
+
+    @Autowired
+    private MuseoCuradorRepository museoCuradorRepository;
+
+    @Autowired
+    private CuradorCache curadorCache;
+
+    @Autowired
+    private ReplicaCuradores replica;
+
+    @Autowired
+    private CuradorReplicaRepository curadorReplicaRepository;
+
+    @Autowired
+    private IndiceMuseos indice;
+
+    @Autowired
+    private IndiceAsignaciones indiceAsignaciones;
+
+    @Autowired
+    private CambiosAsignaciones cambiosAsignaciones;
+
+    @Autowired
+    private EstadisticasAsignaciones estadisticas;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
 
     @Override
+    @Transactional(readOnly = true)
     public List<Museo> findAll() {
-        return StreamSupport.stream(repository.findAll().spliterator(), false)
-                .collect(Collectors.toList());
+        return repository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Pagina<Museo> findPagina(Long cursor, int size) {
+        // Se pide un elemento de más para saber si existe una página siguiente
+        List<Long> ids = repository.findIdsDesde(cursor == null ? 0L : cursor, Limit.of(size + 1));
+        Long next = null;
+        if (ids.size() > size) {
+            ids = ids.subList(0, size);
+            next = ids.get(size - 1);
+        }
+        if (ids.isEmpty()) {
+            return new Pagina<>(Collections.<Museo>emptyList(), null);
+        }
+        return new Pagina<>(repository.findByIdInOrderByIdAsc(ids), next);
+    }
+
+    /**
+     * Busca en el índice en memoria y carga de la base de datos solo los museos de la página.
+     * Devuelve vacío mientras el índice se está construyendo.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Pagina<Museo>> buscar(String consulta, boolean prefijo, String campo, Long cursor, int size) {
+        if (!indice.isListo()) {
+            return Optional.empty();
+        }
+        List<Long> ids = indice.buscar(consulta, prefijo, campo, cursor == null ? 0L : cursor, size + 1);
+        Long next = null;
+        if (ids.size() > size) {
+            ids = ids.subList(0, size);
+            next = ids.get(size - 1);
+        }
+        if (ids.isEmpty()) {
+            return Optional.of(new Pagina<>(Collections.<Museo>emptyList(), null));
+        }
+        return Optional.of(new Pagina<>(repository.findByIdInOrderByIdAsc(ids), next));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     public Optional<Museo> findById(Long id) {
         return repository.findById(id);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public boolean existsById(Long id) {
+        return repository.existsById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Long> findVersion(Long id) {
+        return repository.findVersionById(id);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EstadoColeccion findEstadoColeccion() {
+        return repository.findEstadoColeccion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MuseoResumen> findAllResumen(Set<String> campos) {
+        return resumir(campos, null, null, 0);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Pagina<MuseoResumen> findPaginaResumen(Set<String> campos, Long cursor, int size) {
+        // Se pide un elemento de más para saber si existe una página siguiente
+        List<MuseoResumen> museos = resumir(campos, cursor == null ? 0L : cursor, null, size + 1);
+        if (museos.size() <= size) {
+            return new Pagina<>(museos, null);
+        }
+        List<MuseoResumen> pagina = new ArrayList<>(museos.subList(0, size));
+        return new Pagina<>(pagina, pagina.get(size - 1).getId());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<MuseoResumen> findResumenById(Long id, Set<String> campos) {
+        List<MuseoResumen> museos = resumir(campos, null, id, 1);
+        return museos.isEmpty() ? Optional.<MuseoResumen>empty() : Optional.of(museos.get(0));
+    }
+
+    /**
+     * SELECT de las columnas pedidas, más id y version, como tuplas: Hibernate no crea entidades ni las guarda
+     * en el contexto de persistencia. Se arma con Criteria porque fields admite cualquier combinación de
+     * {@link MuseoResumen#CAMPOS}, y una proyección por interfaz fija las columnas en el tipo.
+     */
+    private List<MuseoResumen> resumir(Set<String> campos, Long cursor, Long id, int limite) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Museo> museo = query.from(Museo.class);
+        Set<String> columnas = new LinkedHashSet<>(campos);
+        columnas.add("id");
+        columnas.add("version");
+        List<Selection<?>> seleccion = new ArrayList<>();
+        for (String columna : columnas) {
+            seleccion.add(museo.get(columna).alias(columna));
+        }
+        query.multiselect(seleccion);
+        if (id != null) {
+            query.where(cb.equal(museo.get("id"), id));
+        } else if (cursor != null) {
+            query.where(cb.greaterThan(museo.<Long>get("id"), cursor));
+        }
+        query.orderBy(cb.asc(museo.get("id")));
+        TypedQuery<Tuple> consulta = entityManager.createQuery(query);
+        if (limite > 0) {
+            consulta.setMaxResults(limite);
+        }
+        List<MuseoResumen> museos = new ArrayList<>();
+        for (Tuple fila : consulta.getResultList()) {
+            Map<String, Object> valores = new LinkedHashMap<>();
+            for (String campo : campos) {
+                valores.put(campo, fila.get(campo));
+            }
+            museos.add(new MuseoResumen(fila.get("id", Long.class), fila.get("version", Long.class), valores));
+        }
+        return museos;
+    }
+
     @Override
     public Museo save(Museo museo) {
-        return repository.save(museo);
+        boolean nuevo = museo.getId() == null;
+        Museo guardado = transactionTemplate.execute(status -> {
+            Museo resultado = repository.save(museo);
+            if (nuevo && !resultado.getMuseoCuradores().isEmpty()) {
+                cambiosAsignaciones.registrar(resultado.getId());
+            }
+            return resultado;
+        });
+        indice.indexar(guardado);
+        if (nuevo) {
+            // Un museo creado puede traer sus curadores en el cuerpo de la petición
+            List<Long> curadorIds = new ArrayList<>(guardado.getMuseoCuradores().size());
+            for (MuseoCurador museoCurador : guardado.getMuseoCuradores()) {
+                indiceAsignaciones.agregar(guardado.getId(), museoCurador.getCuradorId());
+                curadorIds.add(museoCurador.getCuradorId());
+            }
+            estadisticas.museoCreado(guardado.getId(), curadorIds);
+        }
+        return guardado;
+    }
+
+    @Override
+    @Transactional
+    public int saveLote(List<Museo> museos) {
+        for (Museo museo : museos) {
+            // Las importaciones siempre crean museos nuevos; los curadores se asignan aparte
+            museo.setId(null);
+            museo.getMuseoCuradores().clear();
+            entityManager.persist(museo);
+        }
+        // flush envía los INSERT agrupados según hibernate.jdbc.batch_size; clear vacía el contexto de persistencia
+        entityManager.flush();
+        // El índice y las estadísticas se tocan tras el commit: un lote que falla al confirmar no debe contar
+        List<Museo> guardados = new ArrayList<>(museos);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                for (Museo museo : guardados) {
+                    indice.indexar(museo);
+                    estadisticas.museoCreado(museo.getId(), Collections.<Long>emptyList());
+                }
+            }
+        });
+        entityManager.clear();
+        return museos.size();
+    }
+
+    /**
+     * Actualiza solo los campos no nulos con un único UPDATE ... WHERE id = ? AND version = ?,
+     * sin leer antes el museo. Devuelve 0 si no existe o si su versión ya no es la indicada.
+     */
+    @Override
+    @Transactional
+    public int actualizarParcial(Long id, long version, CambiosMuseo cambios) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Museo> update = cb.createCriteriaUpdate(Museo.class);
+        Root<Museo> museo = update.from(Museo.class);
+        if (cambios.getNombre() != null) {
+            update.set(museo.<String>get("nombre"), cambios.getNombre());
+        }
+        if (cambios.getUbicacion() != null) {
+            update.set(museo.<String>get("ubicacion"), cambios.getUbicacion());
+        }
+        update.set(museo.<Long>get("version"), cb.sum(museo.<Long>get("version"), 1L));
+        update.where(cb.equal(museo.get("id"), id), cb.equal(museo.get("version"), version));
+        int actualizados = entityManager.createQuery(update).executeUpdate();
+        if (actualizados > 0) {
+            // Tras el commit, como en saveLote: un UPDATE que no llega a confirmarse no debe verse en las búsquedas
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    indice.actualizar(id, version + 1, cambios);
+                }
+            });
+        }
+        return actualizados;
     }
 
     @Override
     public void delete(Long id) {
-        repository.deleteById(id);
+        // Los curadores se leen en la misma transacción del borrado para descontarlos de las estadísticas
+        List<Long> curadorIds = transactionTemplate.execute(status -> {
+            if (!repository.existsById(id)) {
+                return null;
+            }
+            List<Long> asignados = museoCuradorRepository.findCuradorIdsByMuseoId(id);
+            repository.deleteById(id);
+            if (!asignados.isEmpty()) {
+                cambiosAsignaciones.registrar(id);
+            }
+            return asignados;
+        });
+        indice.eliminar(id);
+        indiceAsignaciones.quitarMuseo(id);
+        if (curadorIds != null) {
+            estadisticas.museoEliminado(id, curadorIds);
+        }
     }
 
+    /**
+     * Con la réplica al día los curadores se leen de la tabla local. Un ID que no está en ella (creado hace
+     * menos de lo que tarda en replicarse, o inexistente) se consulta a micro_curadores a través de la caché.
+     */
     @Override
     public Optional<Curador> findCuradorById(Long id) {
+        if (replica.isAlDia()) {
+            Optional<Curador> local = curadorReplicaRepository.findById(id);
+            if (local.isPresent()) {
+                return local;
+            }
+        }
         try {
-            Curador curador = clientRest.findById(id);
-            return Optional.ofNullable(curador);
-        } catch (Exception e) {
-            e.printStackTrace();
+            return curadorCache.findById(id);
+        } catch (FeignException.NotFound e) {
             return Optional.empty();
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw new ServicioCuradoresNoDisponibleException("El servicio de curadores no está disponible en este momento", e);
         }
     }
 
     @Override
-    public Optional<Curador> addCurador(Curador curador, Long museoId) {
-        Optional<Museo> optionalMuseo = repository.findById(museoId);
-        if (optionalMuseo.isPresent()) {
-            Museo museo = optionalMuseo.get();
-            MuseoCurador museoCurador = new MuseoCurador();
-            museoCurador.setCuradorId(curador.getId()); // Asigna solo el ID del curador
-            museoCurador.setMuseo(museo);
+    public List<Curador> findCuradoresByIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<Long> unicos = new LinkedHashSet<>(ids);
+        Set<Long> pendientes = new LinkedHashSet<>(unicos);
+        Map<Long, Curador> encontrados = new HashMap<>();
+        if (replica.isAlDia()) {
+            for (Curador curador : curadorReplicaRepository.findAllById(pendientes)) {
+                encontrados.put(curador.getId(), curador);
+            }
+            pendientes.removeAll(encontrados.keySet());
+        }
+        if (!pendientes.isEmpty()) {
+            try {
+                for (Curador curador : curadorCache.findAllById(pendientes)) {
+                    encontrados.put(curador.getId(), curador);
+                }
+            } catch (CallNotPermittedException | BulkheadFullException e) {
+                throw new ServicioCuradoresNoDisponibleException("El servicio de curadores no está disponible en este momento", e);
+            }
+        }
+        // Mismo orden que los IDs recibidos
+        List<Curador> curadores = new ArrayList<>(encontrados.size());
+        for (Long id : unicos) {
+            Curador curador = encontrados.get(id);
+            if (curador != null) {
+                curadores.add(curador);
+            }
+        }
+        return curadores;
+    }
+
+    @Override
+    public List<MuseoDetalle> toDetalles(List<Museo> museos) {
+        // Reunir los IDs de todos los museos para resolverlos en una sola llamada remota
+        Set<Long> curadorIds = new LinkedHashSet<>();
+        for (Museo museo : museos) {
+            for (MuseoCurador museoCurador : museo.getMuseoCuradores()) {
+                curadorIds.add(museoCurador.getCuradorId());
+            }
+        }
+
+        Map<Long, Curador> curadoresPorId = new HashMap<>();
+        for (Curador curador : findCuradoresByIds(curadorIds)) {
+            curadoresPorId.put(curador.getId(), curador);
+        }
+
+        List<MuseoDetalle> detalles = new ArrayList<>(museos.size());
+        for (Museo museo : museos) {
+            List<Curador> curadores = new ArrayList<>(museo.getMuseoCuradores().size());
+            for (MuseoCurador museoCurador : museo.getMuseoCuradores()) {
+                Curador curador = curadoresPorId.get(museoCurador.getCuradorId());
+                if (curador != null) {
+                    curadores.add(curador);
+                }
+            }
+            detalles.add(new MuseoDetalle(museo, curadores));
+        }
+        return detalles;
+    }
 
-            museo.getMuseoCuradores().add(museoCurador);
-            repository.save(museo);
-            return Optional.of(curador);
+    @Override
+    public Optional<Curador> addCurador(Curador curador, Long museoId) {
+        if (!repository.existsById(museoId)) {
+            return Optional.empty();
         }
-        return Optional.empty();
+        insertarAsignacion(museoId, curador.getId());
+        return Optional.of(curador);
     }
 
     @Override
     public Optional<Curador> addCuradorToMuseo(Long museoId, Long curadorId) {
-        Optional<Museo> optionalMuseo = repository.findById(museoId);
-        if (optionalMuseo.isPresent()) {
-            Museo museo = optionalMuseo.get();
+        if (!repository.existsById(museoId)) {
+            return Optional.empty();
+        }
 
-            // Verificar si el curador ya está asignado al museo
-            boolean alreadyExists = museo.getMuseoCuradores().stream()
-                    .anyMatch(museoCurador -> museoCurador.getCuradorId().equals(curadorId));
+        // Verificar si el curador ya está asignado al museo (consulta por índice, sin cargar la colección)
+        if (museoCuradorRepository.existsByMuseoIdAndCuradorId(museoId, curadorId)) {
+            throw new IllegalStateException("El curador con ID " + curadorId + " ya está asignado a este museo.");
+        }
 
-            if (alreadyExists) {
-                throw new IllegalStateException("El curador con ID " + curadorId + " ya está asignado a este museo.");
-            }
+        // Buscar el curador en el microservicio de curadores
+        Optional<Curador> curadorOptional = findCuradorById(curadorId);
+        if (curadorOptional.isEmpty()) {
+            return Optional.empty();
+        }
 
-            // Buscar el curador en el microservicio de curadores
-            Optional<Curador> curadorOptional = findCuradorById(curadorId);
-            if (curadorOptional.isEmpty()) {
-                return Optional.empty();
-            }
+        if (!insertarAsignacion(museoId, curadorId)) {
+            return Optional.empty();
+        }
+        return curadorOptional;
+    }
+
+    @Override
+    public Optional<ResultadoAsignacion> addCuradoresToMuseo(Long museoId, Collection<Long> curadorIds) {
+        if (!repository.existsById(museoId)) {
+            return Optional.empty();
+        }
+
+        ResultadoAsignacion resultado = new ResultadoAsignacion();
+        Set<Long> pendientes = new LinkedHashSet<>(curadorIds);
+        pendientes.remove(null);
+        if (pendientes.isEmpty()) {
+            return Optional.of(resultado);
+        }
 
-            Curador curador = curadorOptional.get();
-            MuseoCurador museoCurador = new MuseoCurador();
-            museoCurador.setCuradorId(curador.getId()); // Solo asignamos el ID del curador
-            museoCurador.setMuseo(museo);
+        List<Long> yaAsignados = museoCuradorRepository.findCuradorIdsAsignados(museoId, pendientes);
+        pendientes.removeAll(yaAsignados);
+        resultado.getYaAsignados().addAll(yaAsignados);
+
+        // Una sola validación remota para todos los curadores pendientes
+        Set<Long> existentes = new HashSet<>();
+        for (Curador curador : findCuradoresByIds(pendientes)) {
+            existentes.add(curador.getId());
+        }
 
-            museo.getMuseoCuradores().add(museoCurador);
-            repository.save(museo);
+        Museo museo = entityManager.getReference(Museo.class, museoId);
+        List<MuseoCurador> asignaciones = new ArrayList<>(existentes.size());
+        for (Long curadorId : pendientes) {
+            if (existentes.contains(curadorId)) {
+                asignaciones.add(new MuseoCurador(museo, curadorId));
+                resultado.getAsignados().add(curadorId);
+            } else {
+                resultado.getNoEncontrados().add(curadorId);
+            }
+        }
 
-            return Optional.of(curador);
+        if (asignaciones.isEmpty()) {
+            return Optional.of(resultado);
+        }
+        try {
+            // Todas las filas, la versión y el aviso a las demás instancias en una única transacción
+            transactionTemplate.execute(status -> {
+                museoCuradorRepository.saveAll(asignaciones);
+                repository.incrementarVersion(museoId);
+                cambiosAsignaciones.registrar(museoId);
+                return null;
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalStateException("Otro proceso asignó alguno de los curadores a este museo al mismo tiempo; reintente la operación.");
+        }
+        indiceAsignaciones.agregar(museoId, resultado.getAsignados());
+        estadisticas.asignados(museoId, resultado.getAsignados());
+        return Optional.of(resultado);
+    }
+
+    /**
+     * Inserta directamente la fila de museo_curador. La restricción única (museo_id, curador_id)
+     * resuelve de forma atómica las asignaciones concurrentes del mismo curador.
+     * @return false si el museo dejó de existir antes de la inserción.
+     */
+    private boolean insertarAsignacion(Long museoId, Long curadorId) {
+        try {
+            transactionTemplate.execute(status -> {
+                museoCuradorRepository.save(new MuseoCurador(entityManager.getReference(Museo.class, museoId), curadorId));
+                // Después de insertar: un ETag nuevo nunca debe corresponder a la lista de curadores anterior
+                repository.incrementarVersion(museoId);
+                cambiosAsignaciones.registrar(museoId);
+                return null;
+            });
+            indiceAsignaciones.agregar(museoId, curadorId);
+            estadisticas.asignado(museoId, curadorId);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            if (!repository.existsById(museoId)) {
+                return false;
+            }
+            throw new IllegalStateException("El curador con ID " + curadorId + " ya está asignado a este museo.");
         }
-        return Optional.empty();
     }
 
     @Override
     public void removeCuradorFromMuseo(Long museoId, Long curadorId) {
-        Optional<Museo> optionalMuseo = repository.findById(museoId);
-        if (optionalMuseo.isPresent()) {
-            Museo museo = optionalMuseo.get();
-            boolean removed = museo.getMuseoCuradores().removeIf(museoCurador ->
-                    curadorId != null && curadorId.equals(museoCurador.getCuradorId()));
-
-            if (removed) {
-                repository.save(museo); // Guardar el museo después de eliminar el curador
+        if (curadorId == null) {
+            return;
+        }
+        Boolean quitado = transactionTemplate.execute(status -> {
+            if (museoCuradorRepository.deleteByMuseoIdAndCuradorId(museoId, curadorId) == 0) {
+                return false;
             }
+            repository.incrementarVersion(museoId);
+            cambiosAsignaciones.registrar(museoId);
+            return true;
+        });
+        if (Boolean.TRUE.equals(quitado)) {
+            indiceAsignaciones.quitar(museoId, curadorId);
+            estadisticas.quitado(museoId, curadorId);
         }
     }
 
     @Override
     public Curador addCuradorToSystem(Curador curador) {
-        return clientRest.createCurador(curador); // Usamos createCurador, que está disponible en el cliente Feign
+        try {
+            return clientRest.createCurador(curador);
+        } catch (CallNotPermittedException | BulkheadFullException e) {
+            throw new ServicioCuradoresNoDisponibleException("El servicio de curadores no está disponible en este momento", e);
+        }
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public List<Museo> findMuseosByCuradorId(Long curadorId) {
-        return repository.findMuseosByCuradorId(curadorId);
+        if (!indiceAlDia()) {
+            return repository.findMuseosByCuradorId(curadorId);
+        }
+        // Los IDs salen del índice en memoria; solo se leen los museos, por clave primaria
+        List<Long> ids = findMuseoIdsByCuradorId(curadorId);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return repository.findByIdInOrderByIdAsc(ids);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Long> findMuseoIdsByCuradorId(Long curadorId) {
+        if (!indiceAlDia()) {
+            return museoCuradorRepository.findMuseoIdsByCuradorId(curadorId);
+        }
+        return aLista(indiceAsignaciones.museosDeCurador(curadorId));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<List<Long>> findCuradorIdsByMuseoId(Long museoId) {
+        if (!indiceAlDia()) {
+            if (!repository.existsById(museoId)) {
+                return Optional.empty();
+            }
+            return Optional.of(museoCuradorRepository.findCuradorIdsByMuseoId(museoId));
+        }
+        long[] curadorIds = indiceAsignaciones.curadoresDeMuseo(museoId);
+        // El índice no guarda los museos sin curadores: solo en ese caso hace falta la base de datos
+        if (curadorIds.length == 0 && !repository.existsById(museoId)) {
+            return Optional.empty();
+        }
+        return Optional.of(aLista(curadorIds));
+    }
+
+    // Sin los cambios de las demás instancias al día el índice puede no tener sus asignaciones recientes
+    private boolean indiceAlDia() {
+        return indiceAsignaciones.isListo() && cambiosAsignaciones.isAlDia();
+    }
+
+    private static List<Long> aLista(long[] ids) {
+        List<Long> lista = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            lista.add(id);
+        }
+        return lista;
     }
 }
@@ -0,0 +1,222 @@
+package com.espe.micro_museos.services;
+
+import com.espe.micro_museos.busqueda.IndiceAsignaciones;
+import com.espe.micro_museos.clients.CuradorClientResiliente;
+import com.espe.micro_museos.models.Curador;
+import com.espe.micro_museos.models.ResultadoReconciliacion;
+import com.espe.micro_museos.repositories.CuradorReplicaRepository;
+import com.espe.micro_museos.repositories.MuseoCuradorRepository;
+import com.espe.micro_museos.repositories.MuseoRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Borra las asignaciones de curadores que ya no existen en micro_curadores.
+ * <p>
+ * Recorre los curador_id distintos de museo_curador por lotes de {@code asignaciones.reconciliacion.lote}
+ * en orden ascendente (keyset sobre el índice de curador_id), así que la memoria usada no depende del tamaño
+ * de la tabla. Los IDs de cada lote que no están en la réplica local se confirman con una sola llamada a
+ * /batch de micro_curadores; solo los que tampoco devuelve micro_curadores se consideran eliminados. Sus filas
+ * se borran con un DELETE ... WHERE curador_id IN (...) por lote, subiendo antes la versión de los museos
+ * afectados. Si micro_curadores falla, la ejecución se detiene sin borrar nada de ese lote.
+ * <p>
+ * Se ejecuta cada {@code asignaciones.reconciliacion.intervalo} o bajo demanda desde
+ * /api/admin/reconciliacion-asignaciones. Publica {@code asignaciones.reconciliacion} (duración de cada
+ * ejecución), {@code asignaciones.reconciliacion.curadores} (revisados) y
+ * {@code asignaciones.reconciliacion.eliminadas} (filas borradas).
+ */
+@Component
+public class ReconciliadorAsignaciones implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReconciliadorAsignaciones.class);
+
+    private final MuseoCuradorRepository museoCuradorRepository;
+    private final MuseoRepository museoRepository;
+    private final CuradorReplicaRepository curadorReplicaRepository;
+    private final ReplicaCuradores replica;
+    private final CuradorClientResiliente client;
+    private final IndiceAsignaciones indiceAsignaciones;
+    private final EstadisticasAsignaciones estadisticas;
+    private final CambiosAsignaciones cambiosAsignaciones;
+    private final TransactionTemplate transactionTemplate;
+    private final Timer duracion;
+    private final Counter revisados;
+    private final Counter eliminadas;
+
+    @Value("${asignaciones.reconciliacion.activa:true}")
+    private boolean activa;
+
+    @Value("${asignaciones.reconciliacion.intervalo:PT6H}")
+    private Duration intervalo;
+
+    // micro_curadores acepta como máximo 1000 IDs en /batch
+    @Value("${asignaciones.reconciliacion.lote:1000}")
+    private int lote;
+
+    private final ScheduledExecutorService ejecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread hilo = new Thread(runnable, "reconciliacion-asignaciones");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private final AtomicBoolean enEjecucion = new AtomicBoolean();
+    private volatile ResultadoReconciliacion ultimoResultado;
+
+    public ReconciliadorAsignaciones(MuseoCuradorRepository museoCuradorRepository,
+                                     MuseoRepository museoRepository,
+                                     CuradorReplicaRepository curadorReplicaRepository,
+                                     ReplicaCuradores replica,
+                                     CuradorClientResiliente client,
+                                     IndiceAsignaciones indiceAsignaciones,
+                                     EstadisticasAsignaciones estadisticas,
+                                     CambiosAsignaciones cambiosAsignaciones,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry registry) {
+        this.museoCuradorRepository = museoCuradorRepository;
+        this.museoRepository = museoRepository;
+        this.curadorReplicaRepository = curadorReplicaRepository;
+        this.replica = replica;
+        this.client = client;
+        this.indiceAsignaciones = indiceAsignaciones;
+        this.estadisticas = estadisticas;
+        this.cambiosAsignaciones = cambiosAsignaciones;
+        this.transactionTemplate = transactionTemplate;
+        this.duracion = Timer.builder("asignaciones.reconciliacion").register(registry);
+        this.revisados = Counter.builder("asignaciones.reconciliacion.curadores").register(registry);
+        this.eliminadas = Counter.builder("asignaciones.reconciliacion.eliminadas").register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!activa) {
+            return;
+        }
+        long periodo = Math.max(1, intervalo.getSeconds());
+        ejecutor.scheduleWithFixedDelay(this::reconciliar, periodo, periodo, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Lanza una ejecución en segundo plano. Devuelve false si ya hay una en curso.
+     */
+    public boolean ejecutarAhora() {
+        if (enEjecucion.get()) {
+            return false;
+        }
+        ejecutor.execute(this::reconciliar);
+        return true;
+    }
+
+    public boolean isEnEjecucion() {
+        return enEjecucion.get();
+    }
+
+    public ResultadoReconciliacion getUltimoResultado() {
+        return ultimoResultado;
+    }
+
+    void reconciliar() {
+        if (!enEjecucion.compareAndSet(false, true)) {
+            return;
+        }
+        ResultadoReconciliacion resultado = new ResultadoReconciliacion();
+        ultimoResultado = resultado;
+        long inicio = System.nanoTime();
+        String error = null;
+        try {
+            long cursor = 0;
+            List<Long> curadorIds;
+            do {
+                curadorIds = museoCuradorRepository.findCuradorIdsDesde(cursor, Limit.of(lote));
+                if (!curadorIds.isEmpty()) {
+                    reconciliarLote(curadorIds, resultado);
+                    cursor = curadorIds.get(curadorIds.size() - 1);
+                }
+            } while (curadorIds.size() == lote);
+        } catch (Exception e) {
+            error = e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+            log.warn("Reconciliación de asignaciones interrumpida: {}", error);
+        } finally {
+            long nanos = System.nanoTime() - inicio;
+            duracion.record(nanos, TimeUnit.NANOSECONDS);
+            resultado.terminar(error);
+            enEjecucion.set(false);
+            double segundos = Math.max(nanos / 1e9, 0.001);
+            log.info("Reconciliación de asignaciones: {} curadores revisados ({} consultados a micro_curadores, {}/s), "
+                            + "{} eliminados, {} asignaciones borradas de {} museos en {} ms",
+                    resultado.getCuradoresRevisados(), resultado.getConsultadosRemotamente(),
+                    Math.round(resultado.getCuradoresRevisados() / segundos), resultado.getCuradoresEliminados(),
+                    resultado.getAsignacionesEliminadas(), resultado.getMuseosAfectados(), nanos / 1_000_000);
+        }
+    }
+
+    private void reconciliarLote(List<Long> curadorIds, ResultadoReconciliacion resultado) {
+        // La réplica puede ir atrasada: sirve para descartar existentes, nunca para dar uno por eliminado
+        Set<Long> sospechosos = new LinkedHashSet<>(curadorIds);
+        if (replica.isAlDia()) {
+            for (Curador curador : curadorReplicaRepository.findAllById(curadorIds)) {
+                sospechosos.remove(curador.getId());
+            }
+        }
+        int consultados = sospechosos.size();
+        if (!sospechosos.isEmpty()) {
+            for (Curador curador : client.findAllById(sospechosos)) {
+                sospechosos.remove(curador.getId());
+            }
+        }
+        List<Object[]> borradas = sospechosos.isEmpty()
+                ? new ArrayList<Object[]>()
+                : transactionTemplate.execute(status -> borrar(sospechosos));
+        // El índice y las estadísticas en memoria se actualizan tras el commit, como en MuseoServiceImpl
+        Set<Long> museoIds = new HashSet<>();
+        for (Object[] fila : borradas) {
+            indiceAsignaciones.quitar((Long) fila[0], (Long) fila[1]);
+            estadisticas.quitado((Long) fila[0], (Long) fila[1]);
+            museoIds.add((Long) fila[0]);
+        }
+        revisados.increment(curadorIds.size());
+        eliminadas.increment(borradas.size());
+        resultado.registrarLote(curadorIds.size(), consultados, sospechosos.size(), borradas.size(), museoIds.size());
+    }
+
+    // Devuelve los pares (museo, curador) borrados
+    private List<Object[]> borrar(Set<Long> curadorIds) {
+        List<Object[]> filas = museoCuradorRepository.findAsignacionesDeCuradores(curadorIds);
+        if (filas.isEmpty()) {
+            return filas;
+        }
+        Set<Long> museoIds = new HashSet<>();
+        for (Object[] fila : filas) {
+            museoIds.add((Long) fila[0]);
+        }
+        // Antes de borrar: un ETag nuevo nunca debe corresponder a la lista de curadores anterior
+        museoRepository.incrementarVersiones(museoIds);
+        museoCuradorRepository.deleteByCuradorIdIn(curadorIds);
+        cambiosAsignaciones.registrar(museoIds);
+        return filas;
+    }
+
+    @Override
+    public void destroy() {
+        ejecutor.shutdown();
+    }
+}
@@ -0,0 +1,287 @@
+package com.espe.micro_museos.services;
+
+import com.espe.micro_museos.clients.CuradorClientResiliente;
+import com.espe.micro_museos.models.Curador;
+import com.espe.micro_museos.models.EventoCurador;
+import com.espe.micro_museos.models.entities.MarcaReplica;
+import com.espe.micro_museos.repositories.CuradorReplicaRepository;
+import com.espe.micro_museos.repositories.MarcaReplicaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mantiene la tabla curadores_replica a partir de los eventos de micro_curadores (GET /api/curadores/eventos).
+ * <p>
+ * Cada {@code curadores.replica.intervalo} lee los eventos posteriores a la marca guardada en replica_marcas y
+ * los aplica en una transacción junto con la nueva marca; mientras lleguen lotes completos sigue leyendo sin
+ * esperar. Un evento cuya versión es anterior a la de la réplica se ignora, así que aplicar un lote dos veces
+ * no tiene efecto. {@link #isAlDia()} es verdadero cuando la última lectura llegó al final de los eventos hace
+ * menos de {@code curadores.replica.max-retraso}; si no, MuseoServiceImpl vuelve a consultar micro_curadores.
+ * <p>
+ * micro_curadores retiene los eventos recientes para que no se confirme uno anterior a los ya entregados, pero
+ * una transacción abierta más que ese retraso deja un hueco en los IDs recibidos. Los huecos se vuelven a pedir
+ * en cada ciclo (POST /eventos/batch) durante {@code curadores.replica.espera-huecos}; si aparecen, sus curadores
+ * se copian en su estado actual. Pasado ese tiempo se descartan con un aviso en el log y en
+ * {@code curadores.replica.huecos.descartados}: si no era un rollback, ese cambio no llega a la réplica hasta el
+ * siguiente del mismo curador. Los huecos se guardan en memoria de la instancia que leyó el lote.
+ */
+@Component
+public class ReplicaCuradores implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaCuradores.class);
+
+    private static final String MARCA = "curadores";
+
+    // Huecos pendientes como máximo, y límite de IDs de POST /eventos/batch
+    private static final int MAX_HUECOS = 1000;
+
+    @Autowired
+    private CuradorClientResiliente client;
+
+    @Autowired
+    private CuradorReplicaRepository replicaRepository;
+
+    @Autowired
+    private MarcaReplicaRepository marcaRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Value("${curadores.replica.activa:true}")
+    private boolean activa;
+
+    @Value("${curadores.replica.intervalo:PT1S}")
+    private Duration intervalo;
+
+    @Value("${curadores.replica.max-retraso:PT1M}")
+    private Duration maxRetraso;
+
+    @Value("${curadores.replica.lote:500}")
+    private int lote;
+
+    @Value("${curadores.replica.espera-huecos:PT5M}")
+    private Duration esperaHuecos;
+
+    private final ScheduledExecutorService ejecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread hilo = new Thread(runnable, "replica-curadores");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    // Momento (System.nanoTime) en que la réplica alcanzó por última vez el final de los eventos; 0 si nunca
+    private volatile long alDiaDesde;
+
+    // ID de evento saltado → momento (System.nanoTime) en que se detectó; solo lo usa el hilo del ejecutor
+    private final Map<Long, Long> huecos = new LinkedHashMap<>();
+    private final Counter huecosDescartados;
+
+    public ReplicaCuradores(MeterRegistry registry) {
+        this.huecosDescartados = Counter.builder("curadores.replica.huecos.descartados").register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        if (!activa) {
+            return;
+        }
+        ejecutor.scheduleWithFixedDelay(this::sincronizar, 0, Math.max(1, intervalo.toMillis()), TimeUnit.MILLISECONDS);
+    }
+
+    public boolean isAlDia() {
+        long desde = alDiaDesde;
+        return desde != 0 && System.nanoTime() - desde < maxRetraso.toNanos();
+    }
+
+    private void sincronizar() {
+        try {
+            // La marca se lee una vez por ciclo (puede venir de la réplica de lectura, algo atrasada); dentro
+            // del ciclo se sigue con la que deja cada lote aplicado
+            long marca = marcaRepository.findById(MARCA).map(MarcaReplica::getUltimoEvento).orElse(0L);
+            releerHuecos();
+            List<EventoCurador> eventos;
+            do {
+                eventos = client.findEventos(marca, lote);
+                if (eventos.isEmpty()) {
+                    break;
+                }
+                if (!aplicar(marca, eventos)) {
+                    // Otra instancia movió la marca: se retoma en el siguiente ciclo
+                    return;
+                }
+                registrarHuecos(marca, eventos);
+                marca = eventos.get(eventos.size() - 1).getId();
+            } while (eventos.size() == lote);
+            alDiaDesde = System.nanoTime();
+        } catch (Exception e) {
+            // Se reintenta en el siguiente ciclo; una excepción cancelaría la tarea periódica
+            log.warn("No se pudo sincronizar la réplica de curadores: {}", e.getMessage());
+        }
+    }
+
+    private void registrarHuecos(long marca, List<EventoCurador> eventos) {
+        long ahora = System.nanoTime();
+        // Un hueco anterior a un evento ya viejo viene de la compactación, no de una transacción abierta
+        LocalDateTime recientes = LocalDateTime.now().minus(esperaHuecos);
+        long anterior = marca;
+        for (EventoCurador evento : eventos) {
+            if (evento.getId() > anterior + 1 && (evento.getCreadoEn() == null || evento.getCreadoEn().isAfter(recientes))) {
+                for (long id = anterior + 1; id < evento.getId(); id++) {
+                    if (huecos.size() >= MAX_HUECOS) {
+                        huecosDescartados.increment(evento.getId() - id);
+                        log.warn("Demasiados huecos en los eventos de curadores; se descartan los IDs {} a {}", id, evento.getId() - 1);
+                        break;
+                    }
+                    huecos.put(id, ahora);
+                }
+            }
+            anterior = evento.getId();
+        }
+    }
+
+    private void releerHuecos() {
+        if (huecos.isEmpty()) {
+            return;
+        }
+        List<EventoCurador> aparecidos = client.findEventosPorId(new ArrayList<>(huecos.keySet()));
+        if (!aparecidos.isEmpty()) {
+            Set<Long> curadorIds = new LinkedHashSet<>();
+            for (EventoCurador evento : aparecidos) {
+                curadorIds.add(evento.getCuradorId());
+            }
+            // El evento pudo quedar reemplazado mientras tanto (incluso por una eliminación ya aplicada):
+            // se copia el estado actual del curador en lugar del evento
+            copiarEstadoActual(curadorIds, client.findAllById(curadorIds));
+            for (EventoCurador evento : aparecidos) {
+                huecos.remove(evento.getId());
+            }
+        }
+        long ahora = System.nanoTime();
+        for (Iterator<Map.Entry<Long, Long>> pendientes = huecos.entrySet().iterator(); pendientes.hasNext(); ) {
+            Map.Entry<Long, Long> hueco = pendientes.next();
+            if (ahora - hueco.getValue() > esperaHuecos.toNanos()) {
+                pendientes.remove();
+                huecosDescartados.increment();
+                log.warn("El evento de curadores {} no apareció en {}: si no era un rollback, su cambio no llegó a la réplica",
+                        hueco.getKey(), esperaHuecos);
+            }
+        }
+    }
+
+    /**
+     * Deja en la réplica los curadores indicados tal como los devuelve ahora micro_curadores; los que no
+     * devuelve se borran. Una versión anterior a la replicada no la pisa.
+     */
+    void copiarEstadoActual(Set<Long> curadorIds, List<Curador> actuales) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Map<Long, Curador> existentes = new HashMap<>();
+            for (Curador curador : replicaRepository.findAllById(curadorIds)) {
+                existentes.put(curador.getId(), curador);
+            }
+            for (Curador actual : actuales) {
+                Curador curador = existentes.remove(actual.getId());
+                if (curador == null) {
+                    curador = new Curador();
+                    curador.setId(actual.getId());
+                    copiar(actual, curador);
+                    entityManager.persist(curador);
+                } else if (actual.getVersion() >= curador.getVersion()) {
+                    copiar(actual, curador);
+                }
+            }
+            // Los que micro_curadores ya no devuelve fueron eliminados
+            for (Curador eliminado : existentes.values()) {
+                entityManager.remove(eliminado);
+            }
+        });
+    }
+
+    /**
+     * Aplica un lote leído a partir de {@code marca}. Si otra instancia ya movió la marca, el lote se descarta
+     * y se devuelve false para volver a leer desde la marca actual.
+     */
+    boolean aplicar(long marca, List<EventoCurador> eventos) {
+        return transactionTemplate.execute(status -> {
+            MarcaReplica actual = marcaRepository.findById(MARCA).orElse(null);
+            if (actual == null) {
+                actual = new MarcaReplica(MARCA);
+                entityManager.persist(actual);
+            }
+            if (actual.getUltimoEvento() != marca) {
+                return false;
+            }
+            // Solo cuenta el último evento de cada curador del lote
+            Map<Long, EventoCurador> ultimos = new LinkedHashMap<>();
+            for (EventoCurador evento : eventos) {
+                ultimos.put(evento.getCuradorId(), evento);
+            }
+            Map<Long, Curador> existentes = new HashMap<>();
+            for (Curador curador : replicaRepository.findAllById(ultimos.keySet())) {
+                existentes.put(curador.getId(), curador);
+            }
+            for (EventoCurador evento : ultimos.values()) {
+                Curador curador = existentes.get(evento.getCuradorId());
+                if (EventoCurador.ELIMINADO.equals(evento.getTipo())) {
+                    if (curador != null) {
+                        entityManager.remove(curador);
+                    }
+                } else if (curador == null) {
+                    curador = new Curador();
+                    curador.setId(evento.getCuradorId());
+                    copiar(evento, curador);
+                    entityManager.persist(curador);
+                } else if (evento.getVersion() >= curador.getVersion()) {
+                    copiar(evento, curador);
+                }
+            }
+            actual.setUltimoEvento(eventos.get(eventos.size() - 1).getId());
+            return true;
+        });
+    }
+
+    private static void copiar(Curador origen, Curador curador) {
+        curador.setNombre(origen.getNombre());
+        curador.setEspecialidad(origen.getEspecialidad());
+        curador.setFechaNacimiento(origen.getFechaNacimiento());
+        curador.setVersion(origen.getVersion());
+    }
+
+    private static void copiar(EventoCurador evento, Curador curador) {
+        curador.setNombre(evento.getNombre());
+        curador.setEspecialidad(evento.getEspecialidad());
+        curador.setFechaNacimiento(evento.getFechaNacimiento());
+        curador.setVersion(evento.getVersion());
+    }
+
+    @Override
+    public void destroy() {
+        ejecutor.shutdown();
+    }
+}
@@ -0,0 +1,12 @@
+package com.espe.micro_museos.services;
+
+/**
+ * Se lanza cuando no se intenta la llamada a micro_curadores porque el circuit breaker
+ * está abierto o el bulkhead está lleno, para responder 503 de inmediato.
+ */
+public class ServicioCuradoresNoDisponibleException extends RuntimeException {
+
+    public ServicioCuradoresNoDisponibleException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
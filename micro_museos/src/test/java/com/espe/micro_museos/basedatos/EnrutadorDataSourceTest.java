@@ -0,0 +1,78 @@
+package com.espe.micro_museos.basedatos;
+
+import com.espe.micro_museos.models.entities.Museo;
+import com.espe.micro_museos.services.MuseoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lecturas y escrituras con dos bases H2: la réplica solo tiene lo copiado explícitamente del primario,
+ * así que una lectura que devuelve datos no copiados habría ido al primario.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primaria_museos;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "datasource.replica.jdbc-url=" + EnrutadorDataSourceTest.URL_REPLICA,
+        "datasource.replica.username=sa",
+        "datasource.enrutamiento.ventana-escritura=PT0S"
+})
+@ActiveProfiles("test")
+class EnrutadorDataSourceTest {
+
+    static final String URL_REPLICA = "jdbc:h2:mem:replica_museos;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MuseoService service;
+
+    @Autowired
+    @Qualifier("primaria")
+    private DataSource primaria;
+
+    @AfterEach
+    void limpiar() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    @Test
+    void leeDeLaReplicaYEscribeEnElPrimario() throws Exception {
+        Museo copiado = service.save(museo("Museo Copiado"));
+        replicar();
+        Museo nuevo = service.save(museo("Museo Nuevo"));
+
+        assertTrue(service.findById(copiado.getId()).isPresent());
+        assertFalse(service.findById(nuevo.getId()).isPresent());
+        assertEquals(2L, (long) new JdbcTemplate(primaria).queryForObject("SELECT COUNT(*) FROM museos", Long.class));
+    }
+
+    // Copia el esquema y los datos actuales del primario a la réplica
+    private void replicar() throws Exception {
+        new JdbcTemplate(primaria).execute("SCRIPT DROP TO 'target/replica_museos.sql'");
+        try (Connection conexion = DriverManager.getConnection(URL_REPLICA, "sa", "");
+             Statement sentencia = conexion.createStatement()) {
+            sentencia.execute("RUNSCRIPT FROM 'target/replica_museos.sql'");
+        }
+    }
+
+    private static Museo museo(String nombre) {
+        Museo museo = new Museo();
+        museo.setNombre(nombre);
+        museo.setUbicacion("Quito");
+        return museo;
+    }
+}
@@ -0,0 +1,75 @@
+package com.espe.micro_museos.busqueda;
+
+import com.espe.micro_museos.repositories.MuseoCuradorRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Limit;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class IndiceAsignacionesTest {
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    void reconstruyeDesdeLaTablaYArrancaDesdeElVolcado() throws Exception {
+        Path archivo = directorio.resolve("asignaciones.idx");
+
+        MuseoCuradorRepository tabla = mock(MuseoCuradorRepository.class);
+        when(tabla.findSumasDeControl()).thenReturn(sumas(3, 1 + 1 + 2, 10 + 20 + 10, 10 + 20 + 20));
+        when(tabla.findAsignacionesDesde(anyLong(), any(Limit.class))).thenReturn(filas(
+                new Object[]{1L, 1L, 10L}, new Object[]{2L, 1L, 20L}, new Object[]{3L, 2L, 10L}));
+
+        IndiceAsignaciones indice = iniciar(tabla, archivo);
+        assertArrayEquals(new long[]{1, 2}, indice.museosDeCurador(10));
+        assertArrayEquals(new long[]{10, 20}, indice.curadoresDeMuseo(1));
+
+        indice.quitar(1, 20);
+        indice.agregar(3, 30);
+        indice.destroy();
+
+        // La tabla coincide con el volcado: se arranca sin leer museo_curador
+        MuseoCuradorRepository mismaTabla = mock(MuseoCuradorRepository.class);
+        when(mismaTabla.findSumasDeControl()).thenReturn(sumas(3, 1 + 2 + 3, 10 + 10 + 30, 10 + 20 + 90));
+        IndiceAsignaciones reiniciado = iniciar(mismaTabla, archivo);
+        verify(mismaTabla, never()).findAsignacionesDesde(anyLong(), any(Limit.class));
+        assertArrayEquals(new long[]{10}, reiniciado.curadoresDeMuseo(1));
+        assertArrayEquals(new long[]{30}, reiniciado.curadoresDeMuseo(3));
+        assertArrayEquals(new long[0], reiniciado.museosDeCurador(20));
+        reiniciado.destroy();
+    }
+
+    private static IndiceAsignaciones iniciar(MuseoCuradorRepository tabla, Path archivo) throws InterruptedException {
+        IndiceAsignaciones indice = new IndiceAsignaciones(tabla, archivo.toString(), Duration.ofHours(1), 1000);
+        indice.iniciar();
+        for (int i = 0; i < 100 && !indice.isListo(); i++) {
+            Thread.sleep(20);
+        }
+        assertTrue(indice.isListo());
+        return indice;
+    }
+
+    private static List<Object[]> sumas(long asignaciones, long sumaMuseos, long sumaCuradores, long sumaProductos) {
+        return Collections.singletonList(new Object[]{asignaciones, sumaMuseos, sumaCuradores, sumaProductos});
+    }
+
+    private static List<Object[]> filas(Object[]... filas) {
+        List<Object[]> lista = new ArrayList<>();
+        Collections.addAll(lista, filas);
+        return lista;
+    }
+}
@@ -0,0 +1,155 @@
+package com.espe.micro_museos.clients;
+
+import com.espe.micro_museos.models.entities.Museo;
+import com.espe.micro_museos.repositories.MuseoRepository;
+import com.sun.net.httpserver.HttpServer;
+import feign.RetryableException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Prueba el cliente de micro_curadores contra un servidor local que simula latencia.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CuradorClientResilienteTest {
+
+    private static HttpServer stub;
+    private static volatile long latenciaMs;
+    private static volatile String ultimaEscrituraRecibida;
+    private static volatile String claveRecibida;
+
+    @Autowired
+    private CuradorClientResiliente client;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private MuseoRepository museoRepository;
+
+    @Autowired
+    private EscriturasCuradores escrituras;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @BeforeAll
+    static void iniciarStub() throws IOException {
+        stub = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        stub.createContext("/api/curadores/", exchange -> {
+            try {
+                ultimaEscrituraRecibida = exchange.getRequestHeaders().getFirst("X-Ultima-Escritura");
+            claveRecibida = exchange.getRequestHeaders().getFirst("X-Clave-Interna");
+            Thread.sleep(latenciaMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"id\":1,\"nombre\":\"Ana\",\"especialidad\":\"Arte\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        stub.setExecutor(Executors.newCachedThreadPool());
+        stub.start();
+    }
+
+    @AfterAll
+    static void detenerStub() {
+        stub.stop(0);
+    }
+
+    @DynamicPropertySource
+    static void propiedades(DynamicPropertyRegistry registry) {
+        registry.add("curadores.url", () -> "http://localhost:" + stub.getAddress().getPort() + "/api/curadores");
+        registry.add("curadores.client.timeouts.find-by-id", () -> "PT0.2S");
+        registry.add("resilience4j.circuitbreaker.instances.curadores.sliding-window-size", () -> "4");
+        registry.add("resilience4j.circuitbreaker.instances.curadores.minimum-number-of-calls", () -> "4");
+        registry.add("resilience4j.retry.instances.curadores.max-attempts", () -> "2");
+        registry.add("resilience4j.retry.instances.curadores.wait-duration", () -> "PT0.01S");
+    }
+
+    @BeforeEach
+    void reiniciar() {
+        latenciaMs = 0;
+        circuitBreakerRegistry.circuitBreaker(CuradorClientResiliente.INSTANCIA).reset();
+    }
+
+    @Test
+    void respondeCuandoMicroCuradoresEsRapido() {
+        assertEquals("Ana", client.findById(1L).getNombre());
+    }
+
+    @Test
+    void soloLeeDelPrimarioElCuradorRecienEscrito() {
+        long ahora = System.currentTimeMillis();
+        escrituras.registrar(1L, ahora);
+        // Una hora futura no alarga la ventana: se recorta a la actual
+        escrituras.registrar(2L, ahora + 3_600_000L);
+
+        client.findById(1L);
+        assertEquals(String.valueOf(ahora), ultimaEscrituraRecibida);
+        assertEquals("clave-interna-local", claveRecibida);
+        client.findById(2L);
+        assertTrue(Long.parseLong(ultimaEscrituraRecibida) <= System.currentTimeMillis());
+        client.findById(3L);
+        assertNull(ultimaEscrituraRecibida);
+    }
+
+    @Test
+    void abreElCircuitoCuandoMicroCuradoresEsLento() {
+        latenciaMs = 1000;
+
+        // Cada llamada hace dos intentos que agotan el tiempo de espera: dos llamadas llenan la ventana de 4
+        assertThrows(RetryableException.class, () -> client.findById(1L));
+        assertThrows(RetryableException.class, () -> client.findById(1L));
+
+        long inicio = System.nanoTime();
+        assertThrows(CallNotPermittedException.class, () -> client.findById(1L));
+        assertTrue(System.nanoTime() - inicio < 100_000_000L, "Con el circuito abierto la llamada debe fallar sin esperar");
+    }
+
+    @Test
+    void asignarCuradorResponde503ConElCircuitoAbierto() throws Exception {
+        Museo museo = new Museo();
+        museo.setNombre("Museo Nacional");
+        museo.setUbicacion("Quito");
+        museo = museoRepository.save(museo);
+        circuitBreakerRegistry.circuitBreaker(CuradorClientResiliente.INSTANCIA).transitionToOpenState();
+
+        mockMvc.perform(post("/api/museos/{id}/curadores", museo.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\": 99}"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists("Retry-After"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.espe.micro_museos.clients;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VuelosCompartidosTest {
+
+    private static final int HILOS = 8;
+
+    private final ExecutorService hilos = Executors.newFixedThreadPool(HILOS);
+
+    @AfterEach
+    void tearDown() {
+        hilos.shutdownNow();
+    }
+
+    @Test
+    void lasLlamadasSimultaneasCompartenResultadoYError() throws Exception {
+        VuelosCompartidos<Long, String> vuelos = new VuelosCompartidos<>("prueba", new SimpleMeterRegistry());
+        AtomicInteger remotas = new AtomicInteger();
+        CountDownLatch liberar = new CountDownLatch(1);
+
+        List<Future<Object>> resultados = lanzar(vuelos, 1L, () -> {
+            remotas.incrementAndGet();
+            esperar(liberar);
+            return "curador";
+        }, liberar, HILOS - 1);
+        for (Future<Object> resultado : resultados) {
+            assertEquals("curador", resultado.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, remotas.get());
+        assertEquals(HILOS - 1, vuelos.getCoalescidas());
+
+        IllegalStateException error = new IllegalStateException("sin conexión");
+        CountDownLatch liberarError = new CountDownLatch(1);
+        List<Future<Object>> fallos = lanzar(vuelos, 1L, () -> {
+            remotas.incrementAndGet();
+            esperar(liberarError);
+            throw error;
+        }, liberarError, 2 * (HILOS - 1));
+        for (Future<Object> fallo : fallos) {
+            assertSame(error, fallo.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(2, remotas.get());
+        assertEquals(2, vuelos.getLlamadas());
+
+        // Terminada la llamada no queda nada guardado
+        assertEquals("otra", vuelos.ejecutar(1L, () -> "otra"));
+    }
+
+    private List<Future<Object>> lanzar(VuelosCompartidos<Long, String> vuelos, Long clave, Supplier<String> llamada,
+                                        CountDownLatch liberar, long coalescidas) throws InterruptedException {
+        List<Future<Object>> resultados = new ArrayList<>();
+        for (int i = 0; i < HILOS; i++) {
+            resultados.add(hilos.submit(() -> {
+                try {
+                    return (Object) vuelos.ejecutar(clave, llamada);
+                } catch (RuntimeException e) {
+                    return e;
+                }
+            }));
+        }
+        // Se libera la llamada cuando todos los hilos ya se han unido a ella
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (vuelos.getCoalescidas() < coalescidas && System.nanoTime() < limite) {
+            Thread.sleep(5);
+        }
+        liberar.countDown();
+        assertTrue(System.nanoTime() < limite, "No todos los hilos llegaron a la llamada en curso");
+        return resultados;
+    }
+
+    private static void esperar(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.espe.micro_museos.colecciones;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TablaLongsTest {
+
+    @Test
+    void mapaLongsConservaLasClavesTrasBorrados() {
+        MapaLongs mapa = new MapaLongs();
+        for (long clave = 1; clave <= 10_000; clave++) {
+            mapa.put(clave, new long[]{clave});
+        }
+        for (long clave = 1; clave <= 10_000; clave += 2) {
+            mapa.put(clave, new long[0]);
+        }
+        assertEquals(5_000, mapa.tamanio());
+        for (long clave = 1; clave <= 10_000; clave++) {
+            assertArrayEquals(clave % 2 == 0 ? new long[]{clave} : new long[0], mapa.get(clave));
+        }
+    }
+
+    @Test
+    void conteosNoBajanDeCeroYLiberanLaClave() {
+        ConteosLongs conteos = new ConteosLongs();
+        for (long clave = 1; clave <= 10_000; clave++) {
+            assertEquals(0, conteos.sumar(clave, (int) (clave % 3) + 1));
+        }
+        for (long clave = 1; clave <= 10_000; clave += 2) {
+            conteos.sumar(clave, -5);
+        }
+        assertEquals(5_000, conteos.tamanio());
+        for (long clave = 1; clave <= 10_000; clave++) {
+            assertEquals(clave % 2 == 0 ? (int) (clave % 3) + 1 : 0, conteos.get(clave));
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.espe.micro_museos.controller;
+
+import com.espe.admision.LlamadasInternas;
+import com.espe.micro_museos.clients.CuradorCache;
+import com.espe.micro_museos.clients.CuradorClientResiliente;
+import com.espe.micro_museos.models.Curador;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * La invalidación saca al curador de la caché, y solo la aceptan las llamadas con la clave interna.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CuradorCacheControllerTest {
+
+    @MockitoBean
+    private CuradorClientResiliente client;
+
+    @Autowired
+    private CuradorCache curadorCache;
+
+    @Autowired
+    private LlamadasInternas llamadasInternas;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void invalidarObligaAVolverALeerElCurador() throws Exception {
+        Curador curador = new Curador();
+        curador.setId(7L);
+        curador.setNombre("Ana");
+        when(client.findById(7L)).thenReturn(curador);
+
+        curadorCache.findById(7L);
+        curadorCache.findById(7L);
+        verify(client, times(1)).findById(7L);
+
+        // Sin la clave (o con otra) no se invalida nada
+        mockMvc.perform(delete("/api/cache/curadores/{id}", 7L)).andExpect(status().isForbidden());
+        mockMvc.perform(delete("/api/cache/curadores").header(llamadasInternas.getCabecera(), "otra"))
+                .andExpect(status().isForbidden());
+        curadorCache.findById(7L);
+        verify(client, times(1)).findById(7L);
+
+        mockMvc.perform(delete("/api/cache/curadores/{id}", 7L)
+                        .header(llamadasInternas.getCabecera(), llamadasInternas.getClave()))
+                .andExpect(status().isOk());
+        curadorCache.findById(7L);
+        verify(client, times(2)).findById(7L);
+
+        mockMvc.perform(delete("/api/cache/curadores")
+                        .header(llamadasInternas.getCabecera(), llamadasInternas.getClave()))
+                .andExpect(status().isOk());
+        curadorCache.findById(7L);
+        verify(client, times(3)).findById(7L);
+    }
+}
@@ -0,0 +1,108 @@
+package com.espe.micro_museos.controller;
+
+import com.espe.micro_museos.clients.CuradorClientResiliente;
+import com.espe.micro_museos.models.Curador;
+import com.espe.micro_museos.models.entities.Museo;
+import com.espe.micro_museos.repositories.MuseoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Asignación masiva de curadores: una sola validación remota por petición, y cada ID se devuelve como asignado,
+ * ya asignado o no encontrado.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MuseoControllerAsignacionTest {
+
+    private static final Set<Long> EXISTENTES = Set.of(501L, 502L, 503L);
+
+    @MockitoBean
+    private CuradorClientResiliente client;
+
+    @Autowired
+    private MuseoRepository repository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void asignaLosCuradoresExistentesYOmiteLosRepetidos() throws Exception {
+        when(client.findAllById(anyCollection())).thenAnswer(invocacion -> {
+            List<Curador> curadores = new ArrayList<>();
+            for (Long id : invocacion.<Collection<Long>>getArgument(0)) {
+                if (EXISTENTES.contains(id)) {
+                    Curador curador = new Curador();
+                    curador.setId(id);
+                    curador.setNombre("Curador " + id);
+                    curadores.add(curador);
+                }
+            }
+            return curadores;
+        });
+        Museo museo = new Museo();
+        museo.setNombre("Museo de Arte Colonial");
+        museo.setUbicacion("Quito");
+        Long museoId = repository.save(museo).getId();
+
+        mockMvc.perform(post("/api/museos/{id}/curadores/bulk", museoId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[501,502,502,599]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.asignados", contains(501, 502)))
+                .andExpect(jsonPath("$.yaAsignados", hasSize(0)))
+                .andExpect(jsonPath("$.noEncontrados", contains(599)));
+        verify(client, times(1)).findAllById(anyCollection());
+
+        // Los ya asignados no se vuelven a validar ni a insertar
+        clearInvocations(client);
+        mockMvc.perform(post("/api/museos/{id}/curadores/bulk", museoId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[502,503]}"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.asignados", contains(503)))
+                .andExpect(jsonPath("$.yaAsignados", contains(502)))
+                .andExpect(jsonPath("$.noEncontrados", hasSize(0)));
+        verify(client, times(1)).findAllById(anyCollection());
+
+        mockMvc.perform(post("/api/museos/{id}/curadores", museoId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"id\":501}"))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    void rechazaUnaListaVaciaYUnMuseoInexistente() throws Exception {
+        mockMvc.perform(post("/api/museos/{id}/curadores/bulk", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[]}"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/api/museos/{id}/curadores/bulk", Long.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[501]}"))
+                .andExpect(status().isNotFound());
+    }
+}
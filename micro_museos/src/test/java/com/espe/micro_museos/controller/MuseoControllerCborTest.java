@@ -0,0 +1,117 @@
+package com.espe.micro_museos.controller;
+
+import com.espe.micro_museos.models.entities.Museo;
+import com.espe.micro_museos.repositories.MuseoRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * El mismo recurso se sirve en JSON o en CBOR según el Accept de la petición, cada formato con su propio ETag.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MuseoControllerCborTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MuseoRepository repository;
+
+    @Test
+    void negociaCborOJson() throws Exception {
+        Museo museo = new Museo();
+        museo.setNombre("Museo Nacional");
+        museo.setUbicacion("Quito");
+        museo = repository.save(museo);
+
+        byte[] cbor = mockMvc.perform(get("/api/museos/{id}", museo.getId()).accept(MediaType.APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] json = mockMvc.perform(get("/api/museos/{id}", museo.getId()).accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Con comodines se responde JSON, que es lo que supone EtagPorFormato
+        mockMvc.perform(get("/api/museos/{id}", museo.getId()).accept(MediaType.ALL))
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+
+        JsonNode desdeCbor = new ObjectMapper(new CBORFactory()).readTree(cbor);
+        assertEquals(new ObjectMapper().readTree(json), desdeCbor);
+        assertTrue(cbor.length < json.length);
+    }
+
+    @Test
+    void cadaFormatoTieneSuEtag() throws Exception {
+        Museo museo = new Museo();
+        museo.setNombre("Museo de la Ciudad");
+        museo.setUbicacion("Quito");
+        museo = repository.save(museo);
+
+        String etagJson = etag(get("/api/museos/{id}", museo.getId()), MediaType.APPLICATION_JSON);
+        String etagCbor = etag(get("/api/museos/{id}", museo.getId()), MediaType.APPLICATION_CBOR);
+        assertNotEquals(etagJson, etagCbor);
+
+        // El ETag de un formato no sirve para revalidar el otro
+        mockMvc.perform(get("/api/museos/{id}", museo.getId()).accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, etagJson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+        mockMvc.perform(get("/api/museos/{id}", museo.getId()).accept(MediaType.APPLICATION_JSON)
+                        .header(HttpHeaders.IF_NONE_MATCH, etagCbor))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/museos/{id}", museo.getId()).accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, etagCbor))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etagCbor));
+
+        // También la lista, y el If-Match de un PATCH pedido en CBOR
+        String listaCbor = etag(get("/api/museos"), MediaType.APPLICATION_CBOR);
+        assertNotEquals(etag(get("/api/museos"), MediaType.APPLICATION_JSON), listaCbor);
+        mockMvc.perform(get("/api/museos").accept(MediaType.APPLICATION_CBOR).header(HttpHeaders.IF_NONE_MATCH, listaCbor))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/museos/{id}", museo.getId()).accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_MATCH, etagJson)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ubicacion\":\"Cuenca\"}"))
+                .andExpect(status().isPreconditionFailed());
+        String etagNuevo = mockMvc.perform(patch("/api/museos/{id}", museo.getId()).accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_MATCH, etagCbor)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ubicacion\":\"Cuenca\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etagCbor, etagNuevo);
+        assertEquals(etagNuevo, etag(get("/api/museos/{id}", museo.getId()), MediaType.APPLICATION_CBOR));
+    }
+
+    private String etag(MockHttpServletRequestBuilder peticion, MediaType formato) throws Exception {
+        return mockMvc.perform(peticion.accept(formato))
+                .andExpect(status().isOk())
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
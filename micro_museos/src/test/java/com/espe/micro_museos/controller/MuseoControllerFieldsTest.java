@@ -0,0 +1,66 @@
+package com.espe.micro_museos.controller;
+
+import com.espe.micro_museos.models.entities.Museo;
+import com.espe.micro_museos.repositories.MuseoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * fields= devuelve solo los campos pedidos, con un ETag distinto del de la representación completa.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MuseoControllerFieldsTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MuseoRepository repository;
+
+    @Test
+    void devuelveSoloLosCamposPedidos() throws Exception {
+        Museo museo = new Museo();
+        museo.setNombre("Museo de la Ciudad");
+        museo.setUbicacion("Quito");
+        museo = repository.save(museo);
+        String etag = "\"" + museo.getId() + "-" + museo.getVersion() + ";nombre\"";
+
+        mockMvc.perform(get("/api/museos/{id}", museo.getId()).param("fields", "nombre"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(jsonPath("$.nombre").value("Museo de la Ciudad"))
+                .andExpect(jsonPath("$.id").doesNotExist())
+                .andExpect(jsonPath("$.museoCuradores").doesNotExist());
+        mockMvc.perform(get("/api/museos/{id}", museo.getId()).param("fields", "nombre")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(get("/api/museos").param("fields", "id, ubicacion").param("cursor", String.valueOf(museo.getId() - 1))
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(1)))
+                .andExpect(jsonPath("$.content[0].id").value(museo.getId()))
+                .andExpect(jsonPath("$.content[0].ubicacion").value("Quito"))
+                .andExpect(jsonPath("$.content[0].nombre").doesNotExist());
+
+        mockMvc.perform(get("/api/museos").param("fields", "nombre,museoCuradores"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/museos").param("fields", "nombre").param("expand", "curadores"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/museos/{id}", Long.MAX_VALUE).param("fields", "nombre"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,96 @@
+package com.espe.micro_museos.controller;
+
+import com.espe.micro_museos.models.entities.Museo;
+import com.espe.micro_museos.repositories.MuseoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * PATCH con bloqueo optimista: la segunda edición hecha sobre la misma versión recibe 412 si la indicó en If-Match
+ * y 409 si la indicó en el campo version.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MuseoControllerPatchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MuseoRepository repository;
+
+    @Test
+    void segundaEdicionSobreLaMismaVersionNoSeAplica() throws Exception {
+        Museo museo = new Museo();
+        museo.setNombre("Museo Nacional");
+        museo.setUbicacion("Quito");
+        museo = repository.save(museo);
+        String etag = "\"" + museo.getId() + "-" + museo.getVersion() + "\"";
+
+        // If-Match compara en modo fuerte: el mismo ETag marcado como débil no sirve
+        mockMvc.perform(patch("/api/museos/{id}", museo.getId())
+                        .header(HttpHeaders.IF_MATCH, "W/" + etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ubicacion\":\"Cuenca\"}"))
+                .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(patch("/api/museos/{id}", museo.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ubicacion\":\"Cuenca\"}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + museo.getId() + "-" + (museo.getVersion() + 1) + "\""));
+
+        String etagActual = "\"" + museo.getId() + "-" + (museo.getVersion() + 1) + "\"";
+        mockMvc.perform(patch("/api/museos/{id}", museo.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"Otro nombre\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string(HttpHeaders.ETAG, etagActual));
+        // El ETag de otro museo tampoco coincide, aunque su versión sea la actual
+        mockMvc.perform(patch("/api/museos/{id}", museo.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"" + (museo.getId() + 1) + "-" + (museo.getVersion() + 1) + "\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"Otro nombre\"}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/museos/{id}", museo.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"Otro nombre\",\"version\":" + museo.getVersion() + "}"))
+                .andExpect(status().isConflict());
+
+        Museo guardado = repository.findById(museo.getId()).get();
+        assertEquals("Museo Nacional", guardado.getNombre());
+        assertEquals("Cuenca", guardado.getUbicacion());
+
+        // Una lista de ETags o * se comparan con la versión actual
+        mockMvc.perform(patch("/api/museos/{id}", museo.getId())
+                        .header(HttpHeaders.IF_MATCH, etag + ", " + etagActual)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ubicacion\":\"Loja\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/museos/{id}", museo.getId())
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ubicacion\":\"Ambato\"}"))
+                .andExpect(status().isOk());
+        assertEquals("Ambato", repository.findById(museo.getId()).get().getUbicacion());
+
+        mockMvc.perform(patch("/api/museos/{id}", Long.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\":\"Otro nombre\",\"version\":0}"))
+                .andExpect(status().isNotFound());
+    }
+}
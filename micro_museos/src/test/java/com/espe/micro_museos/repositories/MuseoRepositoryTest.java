@@ -0,0 +1,96 @@
+package com.espe.micro_museos.repositories;
+
+import com.espe.micro_museos.models.entities.Museo;
+import com.espe.micro_museos.models.entities.MuseoCurador;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Verifica con las estadísticas de Hibernate que las lecturas de museos
+ * cuestan un número constante de consultas, sin importar cuántos museos se devuelvan.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class MuseoRepositoryTest {
+
+    private static final int MUSEOS = 200;
+    private static final int CURADORES_POR_MUSEO = 3;
+
+    @Autowired
+    private MuseoRepository repository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < MUSEOS; i++) {
+            Museo museo = new Museo();
+            museo.setNombre("Museo " + i);
+            museo.setUbicacion("Quito");
+            for (int j = 0; j < CURADORES_POR_MUSEO; j++) {
+                museo.getMuseoCuradores().add(new MuseoCurador(museo, (long) (i + j)));
+            }
+            entityManager.persist(museo);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findAllCargaLosCuradoresEnUnaSolaConsulta() {
+        List<Museo> museos = repository.findAll();
+
+        assertEquals(MUSEOS, museos.size());
+        assertEquals(MUSEOS * CURADORES_POR_MUSEO, contarCuradores(museos));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void paginaKeysetCuestaDosConsultas() {
+        List<Long> ids = repository.findIdsDesde(0L, Limit.of(100));
+        List<Museo> museos = repository.findByIdInOrderByIdAsc(ids);
+
+        assertEquals(100, museos.size());
+        assertEquals(100 * CURADORES_POR_MUSEO, contarCuradores(museos));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void findMuseosByCuradorIdNoDuplicaNiDisparaConsultasExtra() {
+        // El curador 2 está asignado a los museos 0, 1 y 2
+        List<Museo> museos = repository.findMuseosByCuradorId(2L);
+
+        assertEquals(3, museos.size());
+        assertEquals(3 * CURADORES_POR_MUSEO, contarCuradores(museos));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    private int contarCuradores(List<Museo> museos) {
+        int total = 0;
+        for (Museo museo : museos) {
+            total += museo.getMuseoCuradores().size();
+        }
+        return total;
+    }
+}
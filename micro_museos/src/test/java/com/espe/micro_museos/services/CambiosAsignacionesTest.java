@@ -0,0 +1,97 @@
+package com.espe.micro_museos.services;
+
+import com.espe.micro_museos.busqueda.IndiceAsignaciones;
+import com.espe.micro_museos.models.entities.Museo;
+import com.espe.micro_museos.models.entities.MuseoCurador;
+import com.espe.micro_museos.repositories.MuseoCuradorRepository;
+import com.espe.micro_museos.repositories.MuseoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Las asignaciones hechas por otra instancia llegan al índice, también las que confirman después de otra
+ * transacción con un ID de cambio posterior.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class CambiosAsignacionesTest {
+
+    @Autowired
+    private CambiosAsignaciones cambios;
+
+    @Autowired
+    private IndiceAsignaciones indice;
+
+    @Autowired
+    private MuseoRepository museoRepository;
+
+    @Autowired
+    private MuseoCuradorRepository museoCuradorRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void aplicaLosCambiosDeOtraInstanciaAunqueConfirmenFueraDeOrden() throws Exception {
+        for (int i = 0; i < 100 && !indice.isListo(); i++) {
+            Thread.sleep(20);
+        }
+        assertTrue(indice.isListo());
+        cambios.sincronizar();
+
+        Museo museo = new Museo();
+        museo.setNombre("Museo del Agua");
+        museo.setUbicacion("Quito");
+        Long museoId = museoRepository.save(museo).getId();
+
+        // Otra instancia asigna el curador 501 en una transacción que tarda en confirmar...
+        ExecutorService otraInstancia = Executors.newSingleThreadExecutor();
+        CountDownLatch registrado = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        try {
+            Future<?> lenta = otraInstancia.submit(() -> asignar(museoId, 501L, registrado, confirmar));
+            assertTrue(registrado.await(5, TimeUnit.SECONDS));
+
+            // ...y el 502 en otra que toma un ID de cambio posterior y confirma antes
+            asignar(museoId, 502L, new CountDownLatch(1), new CountDownLatch(0));
+            cambios.sincronizar();
+            assertArrayEquals(new long[]{502}, indice.curadoresDeMuseo(museoId));
+
+            confirmar.countDown();
+            lenta.get(5, TimeUnit.SECONDS);
+            cambios.sincronizar();
+            assertArrayEquals(new long[]{501, 502}, indice.curadoresDeMuseo(museoId));
+            assertArrayEquals(new long[]{museoId}, indice.museosDeCurador(501));
+        } finally {
+            otraInstancia.shutdownNow();
+            // Sin pasar por MuseoServiceImpl: las estadísticas de las demás pruebas no cuentan con este museo
+            museoRepository.deleteById(museoId);
+        }
+    }
+
+    private Void asignar(Long museoId, Long curadorId, CountDownLatch registrado, CountDownLatch confirmar) {
+        return transactionTemplate.execute(status -> {
+            museoCuradorRepository.save(new MuseoCurador(museoRepository.findById(museoId).get(), curadorId));
+            cambios.registrar(museoId);
+            registrado.countDown();
+            try {
+                confirmar.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        });
+    }
+}
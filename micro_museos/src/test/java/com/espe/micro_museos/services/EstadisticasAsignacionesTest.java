@@ -0,0 +1,72 @@
+package com.espe.micro_museos.services;
+
+import com.espe.micro_museos.models.EstadisticasMuseos;
+import com.espe.micro_museos.models.entities.Museo;
+import com.espe.micro_museos.models.entities.MuseoCurador;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Las estadísticas mantenidas con cada cambio coinciden con las recalculadas desde la base de datos.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class EstadisticasAsignacionesTest {
+
+    @Autowired
+    private MuseoService service;
+
+    @Autowired
+    private EstadisticasAsignaciones estadisticas;
+
+    @Test
+    void losCambiosIncrementalesCoincidenConElRecalculo() throws InterruptedException {
+        EstadisticasMuseos inicial = esperarCalculo();
+
+        Museo conDos = service.save(museo("Museo con dos", 900_001L, 900_002L));
+        Museo conUno = service.save(museo("Museo con uno", 900_001L));
+        service.save(museo("Museo sin curadores"));
+        EstadisticasMuseos trasAltas = estadisticas.getEstadisticas();
+        assertEquals(inicial.getMuseos() + 3, trasAltas.getMuseos());
+        assertEquals(inicial.getAsignaciones() + 3, trasAltas.getAsignaciones());
+
+        service.removeCuradorFromMuseo(conDos.getId(), 900_002L);
+        service.delete(conUno.getId());
+        EstadisticasMuseos incrementales = estadisticas.getEstadisticas();
+        assertEquals(inicial.getMuseos() + 2, incrementales.getMuseos());
+        assertEquals(inicial.getAsignaciones() + 1, incrementales.getAsignaciones());
+
+        estadisticas.recalcular();
+        EstadisticasMuseos recalculadas = estadisticas.getEstadisticas();
+        assertEquals(recalculadas.getMuseos(), incrementales.getMuseos());
+        assertEquals(recalculadas.getAsignaciones(), incrementales.getAsignaciones());
+        assertEquals(recalculadas.getCuradoresAsignados(), incrementales.getCuradoresAsignados());
+        assertEquals(recalculadas.getCuradoresPorMuseo().getHistograma(), incrementales.getCuradoresPorMuseo().getHistograma());
+        assertEquals(recalculadas.getMuseosPorCurador().getHistograma(), incrementales.getMuseosPorCurador().getHistograma());
+    }
+
+    // El primer cálculo se lanza en segundo plano al arrancar
+    private EstadisticasMuseos esperarCalculo() throws InterruptedException {
+        for (int i = 0; i < 100 && estadisticas.getEstadisticas() == null; i++) {
+            Thread.sleep(50);
+        }
+        EstadisticasMuseos stats = estadisticas.getEstadisticas();
+        assertNotNull(stats);
+        return stats;
+    }
+
+    private static Museo museo(String nombre, Long... curadorIds) {
+        Museo museo = new Museo();
+        museo.setNombre(nombre);
+        museo.setUbicacion("Quito");
+        for (Long curadorId : curadorIds) {
+            museo.getMuseoCuradores().add(new MuseoCurador(museo, curadorId));
+        }
+        return museo;
+    }
+}
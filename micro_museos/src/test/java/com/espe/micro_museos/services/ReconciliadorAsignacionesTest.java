@@ -0,0 +1,64 @@
+package com.espe.micro_museos.services;
+
+import com.espe.micro_museos.clients.CuradorClientResiliente;
+import com.espe.micro_museos.models.Curador;
+import com.espe.micro_museos.models.ResultadoReconciliacion;
+import com.espe.micro_museos.models.entities.Museo;
+import com.espe.micro_museos.models.entities.MuseoCurador;
+import com.espe.micro_museos.repositories.MuseoCuradorRepository;
+import com.espe.micro_museos.repositories.MuseoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+/**
+ * La reconciliación borra solo las asignaciones de los curadores que micro_curadores ya no devuelve.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReconciliadorAsignacionesTest {
+
+    @MockitoBean
+    private CuradorClientResiliente client;
+
+    @Autowired
+    private ReconciliadorAsignaciones reconciliador;
+
+    @Autowired
+    private MuseoRepository museoRepository;
+
+    @Autowired
+    private MuseoCuradorRepository museoCuradorRepository;
+
+    @Test
+    void borraLasAsignacionesDeCuradoresEliminados() {
+        Museo museo = new Museo();
+        museo.setNombre("Museo Nacional");
+        museo.setUbicacion("Quito");
+        museo = museoRepository.save(museo);
+        museoCuradorRepository.saveAll(Arrays.asList(new MuseoCurador(museo, 10L), new MuseoCurador(museo, 20L)));
+
+        Curador existente = new Curador();
+        existente.setId(10L);
+        when(client.findAllById(anyCollection())).thenReturn(Collections.singletonList(existente));
+
+        reconciliador.reconciliar();
+
+        ResultadoReconciliacion resultado = reconciliador.getUltimoResultado();
+        assertTrue(resultado.isCompleta());
+        assertEquals(1, resultado.getCuradoresEliminados());
+        assertEquals(1, resultado.getAsignacionesEliminadas());
+        assertEquals(Collections.singletonList(10L), museoCuradorRepository.findCuradorIdsByMuseoId(museo.getId()));
+        assertEquals(museo.getVersion() + 1, (long) museoRepository.findVersionById(museo.getId()).get());
+    }
+}
@@ -0,0 +1,89 @@
+package com.espe.micro_museos.services;
+
+import com.espe.micro_museos.models.Curador;
+import com.espe.micro_museos.models.EventoCurador;
+import com.espe.micro_museos.repositories.CuradorReplicaRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Aplicación de lotes de eventos a la réplica: versiones anteriores, eliminaciones, lotes repetidos y huecos.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class ReplicaCuradoresTest {
+
+    @Autowired
+    private ReplicaCuradores replica;
+
+    @Autowired
+    private CuradorReplicaRepository repository;
+
+    @Test
+    void aplicaLosEventosEnOrdenYUnaSolaVez() {
+        assertTrue(replica.aplicar(0, Arrays.asList(
+                guardado(1, 100, 0, "Ana"),
+                guardado(2, 101, 0, "Luis"),
+                guardado(3, 100, 1, "Ana Maria"))));
+        assertEquals("Ana Maria", repository.findById(100L).get().getNombre());
+
+        // Lote leído desde una marca que ya no es la actual: se descarta
+        assertFalse(replica.aplicar(0, Collections.singletonList(eliminado(4, 101))));
+        assertEquals("Luis", repository.findById(101L).get().getNombre());
+
+        assertTrue(replica.aplicar(3, Arrays.asList(eliminado(4, 101), guardado(5, 100, 0, "Ana"))));
+        assertFalse(repository.findById(101L).isPresent());
+        // La versión 0 es anterior a la replicada
+        assertEquals("Ana Maria", repository.findById(100L).get().getNombre());
+    }
+
+    @Test
+    void losHuecosReleidosCopianElEstadoActual() {
+        repository.saveAll(Arrays.asList(curador(200, 2, "Rosa"), curador(201, 0, "Pedro")));
+
+        // El 200 sigue con una versión anterior a la replicada, el 201 ya no existe y el 202 es nuevo
+        replica.copiarEstadoActual(new HashSet<>(Arrays.asList(200L, 201L, 202L)),
+                Arrays.asList(curador(200, 1, "Rosa Elena"), curador(202, 0, "Marta")));
+        assertEquals("Rosa", repository.findById(200L).get().getNombre());
+        assertFalse(repository.findById(201L).isPresent());
+        assertEquals("Marta", repository.findById(202L).get().getNombre());
+    }
+
+    private static Curador curador(long id, long version, String nombre) {
+        Curador curador = new Curador();
+        curador.setId(id);
+        curador.setVersion(version);
+        curador.setNombre(nombre);
+        curador.setEspecialidad("Arte");
+        return curador;
+    }
+
+    private static EventoCurador guardado(long id, long curadorId, long version, String nombre) {
+        EventoCurador evento = new EventoCurador();
+        evento.setId(id);
+        evento.setCuradorId(curadorId);
+        evento.setTipo(EventoCurador.GUARDADO);
+        evento.setVersion(version);
+        evento.setNombre(nombre);
+        evento.setEspecialidad("Arte");
+        return evento;
+    }
+
+    private static EventoCurador eliminado(long id, long curadorId) {
+        EventoCurador evento = new EventoCurador();
+        evento.setId(id);
+        evento.setCuradorId(curadorId);
+        evento.setTipo(EventoCurador.ELIMINADO);
+        return evento;
+    }
+}
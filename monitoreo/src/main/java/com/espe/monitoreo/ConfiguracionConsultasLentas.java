@@ -0,0 +1,37 @@
+package com.espe.monitoreo;
+
+/**
+ * Configuración del registro de consultas lentas. En las actualizaciones, los campos nulos
+ * conservan su valor actual.
+ */
+public class ConfiguracionConsultasLentas {
+
+    private Boolean activo;
+    private Long umbralMs;
+    private Integer muestreo;
+
+    // Getters y Setters
+    public Boolean getActivo() {
+        return activo;
+    }
+
+    public void setActivo(Boolean activo) {
+        this.activo = activo;
+    }
+
+    public Long getUmbralMs() {
+        return umbralMs;
+    }
+
+    public void setUmbralMs(Long umbralMs) {
+        this.umbralMs = umbralMs;
+    }
+
+    public Integer getMuestreo() {
+        return muestreo;
+    }
+
+    public void setMuestreo(Integer muestreo) {
+        this.muestreo = muestreo;
+    }
+}
@@ -0,0 +1,50 @@
+package com.espe.monitoreo;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Collections;
+
+@RestController
+@RequestMapping("/api/admin/consultas-lentas")
+@Tag(name = "Consultas lentas", description = "Configuración en caliente del registro de consultas SQL lentas")
+public class ConsultasLentasController {
+
+    @Autowired
+    private RegistroConsultasLentas registro;
+
+    @GetMapping
+    @Operation(
+            summary = "Estado del registro de consultas lentas",
+            description = "Devuelve la configuración actual y cuántas consultas se han registrado o descartado.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Estado obtenido correctamente")
+            }
+    )
+    public ResponseEntity<?> estado() {
+        return ResponseEntity.ok(registro.estadisticas());
+    }
+
+    @PutMapping
+    @Operation(
+            summary = "Cambiar la configuración del registro de consultas lentas",
+            description = "Activa o desactiva el registro y cambia el umbral (ms) o el muestreo (1 de cada N; 0 lo desactiva) "
+                    + "sin reiniciar. Los campos omitidos conservan su valor.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Configuración actualizada"),
+                    @ApiResponse(responseCode = "400", description = "Umbral o muestreo negativos")
+            }
+    )
+    public ResponseEntity<?> actualizar(@RequestBody ConfiguracionConsultasLentas configuracion) {
+        if ((configuracion.getUmbralMs() != null && configuracion.getUmbralMs() < 0)
+                || (configuracion.getMuestreo() != null && configuracion.getMuestreo() < 0)) {
+            return ResponseEntity.badRequest().body(Collections.singletonMap("message", "El umbral y el muestreo no pueden ser negativos"));
+        }
+        registro.actualizar(configuracion);
+        return ResponseEntity.ok(registro.getConfiguracion());
+    }
+}
@@ -0,0 +1,37 @@
+package com.espe.monitoreo;
+
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Envuelve el DataSource para que cada sentencia JDBC (incluidas las de Hibernate) pase por
+ * {@link RegistroConsultasLentas}. El proxy implementa unwrap, así que las métricas de Hikari
+ * siguen encontrando el pool real. Con réplica de lectura solo se envuelven los pools, no el enrutador
+ * que los reparte, para que cada sentencia se registre una vez y con el nombre de su pool.
+ */
+@Component
+public class ConsultasLentasDataSourcePostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<RegistroConsultasLentas> registro;
+
+    public ConsultasLentasDataSourcePostProcessor(ObjectProvider<RegistroConsultasLentas> registro) {
+        this.registro = registro;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource && !(bean instanceof DelegatingDataSource)
+                && !(bean instanceof AbstractRoutingDataSource)) {
+            return ProxyDataSourceBuilder.create(beanName, (DataSource) bean)
+                    .listener(registro.getObject())
+                    .build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,147 @@
+package com.espe.monitoreo;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Registro de consultas SQL lentas. Sustituye al log de org.hibernate.SQL/BasicBinder: en el hilo
+ * de la petición solo se mide la duración y se decide si la sentencia se registra (por superar el
+ * umbral o por caer en la muestra 1 de cada N); el formateo y la escritura se hacen en un hilo aparte.
+ * Si la cola de escritura se llena, las entradas se descartan y se cuentan en lugar de frenar la petición.
+ */
+@Component
+public class RegistroConsultasLentas implements QueryExecutionListener, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger("consultas-lentas");
+
+    private final ThreadPoolExecutor escritor;
+    private final AtomicLong registradas = new AtomicLong();
+    private final AtomicLong descartadas = new AtomicLong();
+
+    private volatile boolean activo;
+    private volatile long umbralMs;
+    private volatile int muestreo;
+
+    public RegistroConsultasLentas(@Value("${consultas-lentas.activo:true}") boolean activo,
+                                   @Value("${consultas-lentas.umbral:PT0.2S}") Duration umbral,
+                                   @Value("${consultas-lentas.muestreo:0}") int muestreo,
+                                   @Value("${consultas-lentas.cola:10000}") int cola) {
+        this.activo = activo;
+        this.umbralMs = umbral.toMillis();
+        this.muestreo = muestreo;
+        this.escritor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(cola),
+                runnable -> {
+                    Thread hilo = new Thread(runnable, "consultas-lentas");
+                    hilo.setDaemon(true);
+                    return hilo;
+                },
+                (runnable, executor) -> descartadas.incrementAndGet());
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (!activo) {
+            return;
+        }
+        long duracionMs = execInfo.getElapsedTime();
+        boolean lenta = duracionMs >= umbralMs;
+        int n = muestreo;
+        if (!lenta && (n <= 0 || ThreadLocalRandom.current().nextInt(n) != 0)) {
+            return;
+        }
+        // Se copia lo necesario en este hilo: el origen depende de la petición y datasource-proxy
+        // puede reutilizar los objetos de la consulta después de esta llamada
+        String origen = origen();
+        String sql = queryInfoList.isEmpty() ? "" : queryInfoList.get(0).getQuery();
+        int parametros = 0;
+        for (QueryInfo consulta : queryInfoList) {
+            for (List<?> conjunto : consulta.getParametersList()) {
+                parametros += conjunto.size();
+            }
+        }
+        int totalParametros = parametros;
+        boolean exito = execInfo.isSuccess();
+        int lote = execInfo.isBatch() ? execInfo.getBatchSize() : 0;
+        String pool = execInfo.getDataSourceName();
+        escritor.execute(() -> {
+            registradas.incrementAndGet();
+            log.info("{} {} ms | parametros={} | lote={} | exito={} | pool={} | origen={} | {}",
+                    lenta ? "LENTA" : "MUESTRA", duracionMs, totalParametros, lote, exito, pool, origen, sql);
+        });
+    }
+
+    private static String origen() {
+        RequestAttributes atributos = RequestContextHolder.getRequestAttributes();
+        if (atributos == null) {
+            return "-";
+        }
+        Object handler = atributos.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod metodo = (HandlerMethod) handler;
+            return metodo.getBeanType().getSimpleName() + "." + metodo.getMethod().getName();
+        }
+        return "-";
+    }
+
+    public ConfiguracionConsultasLentas getConfiguracion() {
+        ConfiguracionConsultasLentas configuracion = new ConfiguracionConsultasLentas();
+        configuracion.setActivo(activo);
+        configuracion.setUmbralMs(umbralMs);
+        configuracion.setMuestreo(muestreo);
+        return configuracion;
+    }
+
+    /**
+     * Aplica los valores no nulos de la configuración recibida; el cambio es inmediato.
+     */
+    public void actualizar(ConfiguracionConsultasLentas configuracion) {
+        if (configuracion.getUmbralMs() != null) {
+            umbralMs = configuracion.getUmbralMs();
+        }
+        if (configuracion.getMuestreo() != null) {
+            muestreo = configuracion.getMuestreo();
+        }
+        if (configuracion.getActivo() != null) {
+            activo = configuracion.getActivo();
+        }
+    }
+
+    public Map<String, Object> estadisticas() {
+        Map<String, Object> resultado = new LinkedHashMap<>();
+        resultado.put("configuracion", getConfiguracion());
+        resultado.put("registradas", registradas.get());
+        resultado.put("descartadas", descartadas.get());
+        resultado.put("pendientes", escritor.getQueue().size());
+        return resultado;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        escritor.shutdown();
+        escritor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
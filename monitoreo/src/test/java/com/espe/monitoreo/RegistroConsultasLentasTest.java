@@ -0,0 +1,77 @@
+package com.espe.monitoreo;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Solo se registran las sentencias que alcanzan el umbral (o las de la muestra), y un cambio de configuración se
+ * aplica a la siguiente sentencia.
+ */
+@ExtendWith(OutputCaptureExtension.class)
+class RegistroConsultasLentasTest {
+
+    @Test
+    void registraSoloLasQueAlcanzanElUmbral(CapturedOutput salida) throws Exception {
+        RegistroConsultasLentas registro = new RegistroConsultasLentas(true, Duration.ofMillis(100), 0, 10);
+
+        registro.afterQuery(ejecucion(99), consulta("SELECT rapida"));
+        registro.afterQuery(ejecucion(100), consulta("SELECT lenta"));
+        registro.destroy();
+
+        assertEquals(1L, registro.estadisticas().get("registradas"));
+        assertTrue(salida.getOut().contains("LENTA 100 ms"));
+        assertTrue(salida.getOut().contains("SELECT lenta"));
+        assertFalse(salida.getOut().contains("SELECT rapida"));
+    }
+
+    @Test
+    void aplicaLaNuevaConfiguracion(CapturedOutput salida) throws Exception {
+        RegistroConsultasLentas registro = new RegistroConsultasLentas(true, Duration.ofMillis(100), 0, 10);
+
+        ConfiguracionConsultasLentas configuracion = new ConfiguracionConsultasLentas();
+        configuracion.setUmbralMs(10L);
+        registro.actualizar(configuracion);
+        registro.afterQuery(ejecucion(50), consulta("SELECT con umbral bajo"));
+
+        configuracion = new ConfiguracionConsultasLentas();
+        configuracion.setActivo(false);
+        registro.actualizar(configuracion);
+        registro.afterQuery(ejecucion(500), consulta("SELECT desactivado"));
+
+        configuracion = new ConfiguracionConsultasLentas();
+        configuracion.setActivo(true);
+        configuracion.setUmbralMs(1_000L);
+        configuracion.setMuestreo(1);
+        registro.actualizar(configuracion);
+        registro.afterQuery(ejecucion(5), consulta("SELECT muestreada"));
+        registro.destroy();
+
+        assertEquals(2L, registro.estadisticas().get("registradas"));
+        assertTrue(salida.getOut().contains("LENTA 50 ms"));
+        assertTrue(salida.getOut().contains("MUESTRA 5 ms"));
+        assertFalse(salida.getOut().contains("SELECT desactivado"));
+    }
+
+    private static ExecutionInfo ejecucion(long duracionMs) {
+        ExecutionInfo ejecucion = new ExecutionInfo();
+        ejecucion.setElapsedTime(duracionMs);
+        ejecucion.setSuccess(true);
+        ejecucion.setDataSourceName("primario");
+        return ejecucion;
+    }
+
+    private static List<QueryInfo> consulta(String sql) {
+        return List.of(new QueryInfo(sql));
+    }
+}